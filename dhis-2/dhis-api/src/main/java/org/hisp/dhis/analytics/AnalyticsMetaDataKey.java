@@ -39,7 +39,8 @@ public enum AnalyticsMetaDataKey
     PAGER( "pager" ),
     ORG_UNIT_HIERARCHY( "ouHierarchy" ),
     ORG_UNIT_NAME_HIERARCHY( "ouNameHierarchy" ),
-    ORG_UNIT_ANCESTORS( "ouAncestors" );
+    ORG_UNIT_ANCESTORS( "ouAncestors" ),
+    QUERY_TIMINGS( "queryTimings" );
 
     private String key;
 
@@ -139,4 +139,12 @@ public interface CacheProvider
     <V> Cache<V> createDataIntegrityDetailsCache();
 
     <V> Cache<V> createSubExpressionCache();
+
+    <V> Cache<V> createExpressionParseTreeCache();
+
+    <V> Cache<V> createFieldFilterPlanCache();
+
+    <V> Cache<V> createProgramRuleEngineContextCache();
+
+    <V> Cache<V> createOrgUnitHierarchyIndexCache();
 }
@@ -181,6 +181,25 @@ public class GridHeader
         this.repeatableStageParams = repeatableStageParams;
     }
 
+    /**
+     * Copy constructor.
+     *
+     * @param header the header to copy.
+     */
+    public GridHeader( GridHeader header )
+    {
+        this.name = header.name;
+        this.column = header.column;
+        this.valueType = header.valueType;
+        this.type = header.type;
+        this.hidden = header.hidden;
+        this.meta = header.meta;
+        this.optionSet = header.optionSet;
+        this.legendSet = header.legendSet;
+        this.programStage = header.programStage;
+        this.repeatableStageParams = header.repeatableStageParams;
+    }
+
     // -------------------------------------------------------------------------
     // Logic
     // -------------------------------------------------------------------------
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.common;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Opaque token used for keyset pagination. A token points to the last item of
+ * a page by its database identifier, and the next page is made of the items
+ * with a greater identifier. Items are hence returned in the order they were
+ * created, and fetching a page takes the same time regardless of how far into
+ * the result set it is.
+ * <p>
+ * An empty token requests the first page.
+ */
+public final class PageToken
+{
+    private PageToken()
+    {
+        throw new UnsupportedOperationException( "utility" );
+    }
+
+    /**
+     * Encodes the given identifier of the last item of a page as a token.
+     *
+     * @param id the database identifier of the last item of the page.
+     * @return a token.
+     */
+    public static String encode( long id )
+    {
+        return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString( Long.toString( id ).getBytes( StandardCharsets.UTF_8 ) );
+    }
+
+    /**
+     * Decodes the given token into the identifier of the last item of the
+     * previous page. Returns 0 for an empty token, which represents the first
+     * page.
+     *
+     * @param token the token.
+     * @return the database identifier of the last item of the previous page.
+     * @throws IllegalQueryException if the token is not valid.
+     */
+    public static long decode( String token )
+    {
+        if ( StringUtils.isEmpty( token ) )
+        {
+            return 0L;
+        }
+
+        try
+        {
+            return Long.parseLong( new String( Base64.getUrlDecoder().decode( token ), StandardCharsets.UTF_8 ) );
+        }
+        catch ( IllegalArgumentException ex )
+        {
+            throw new IllegalQueryException( "Page token is invalid: `" + token + "`" );
+        }
+    }
+}
@@ -47,6 +47,8 @@ public class SlimPager extends Pager
 
     private Boolean lastPage;
 
+    private String nextPageToken;
+
     public SlimPager( final int page, final int pageSize, final Boolean lastPage )
     {
         // Total is always ZERO, as the main goal of this object it to never
@@ -55,6 +57,12 @@ public class SlimPager extends Pager
         this.lastPage = lastPage;
     }
 
+    public SlimPager( final int pageSize, final Boolean lastPage, final String nextPageToken )
+    {
+        this( FIRST_PAGE, pageSize, lastPage );
+        this.nextPageToken = nextPageToken;
+    }
+
     /**
      * Store a boolean value to indicate if this is the last page or not.
      *
@@ -66,4 +74,17 @@ public class SlimPager extends Pager
     {
         return lastPage;
     }
+
+    /**
+     * Token to pass as page token to fetch the next page, when paging by
+     * {@link PageToken}. Null if this is the last page.
+     *
+     * @return the token of the next page.
+     */
+    @JsonProperty
+    @JacksonXmlProperty( namespace = DXF_2_0 )
+    public String getNextPageToken()
+    {
+        return nextPageToken;
+    }
 }
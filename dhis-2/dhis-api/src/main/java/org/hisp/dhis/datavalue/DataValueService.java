@@ -27,6 +27,7 @@
  */
 package org.hisp.dhis.datavalue;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -160,6 +161,19 @@ public interface DataValueService
     void validate( DataExportParams params )
         throws IllegalQueryException;
 
+    /**
+     * Returns the persisted data values, including soft deleted ones, which
+     * match the identifying properties of the given data values. The lookup is
+     * done with a single query, and the returned data values reference the
+     * same data element, period, organisation unit and category option combo
+     * objects as the given data values.
+     *
+     * @param dataValues the data values to look up. The period, organisation
+     *        unit, data element and option combos must have identifiers.
+     * @return a list of persisted data values.
+     */
+    List<DataValue> getPersistedDataValues( Collection<DataValue> dataValues );
+
     /**
      * Returns all DataValues.
      *
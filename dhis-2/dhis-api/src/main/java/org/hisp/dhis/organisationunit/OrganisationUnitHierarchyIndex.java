@@ -0,0 +1,385 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.organisationunit;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, interval-encoded index of the organisation unit hierarchy keyed
+ * by organisation unit identifier.
+ * <p>
+ * Every organisation unit reachable from a root is assigned a pre-order number
+ * and the highest pre-order number within its sub-hierarchy. A unit is a
+ * descendant of another unit if its pre-order number falls within the interval
+ * of the other unit, which makes descendant and level lookups constant-time
+ * and allocation-free. Identifiers are resolved through an open addressing
+ * hash table backed by primitive arrays.
+ * <p>
+ * Organisation units which are not reachable from a root, i.e. which are part
+ * of a cyclic reference, are not contained in the index.
+ *
+ * @see OrganisationUnitService#getHierarchyIndex()
+ */
+public final class OrganisationUnitHierarchyIndex
+{
+    private static final OrganisationUnitHierarchyIndex EMPTY = of( new long[0], new long[0] );
+
+    private static final int NOT_FOUND = -1;
+
+    /**
+     * Organisation unit identifiers, by slot.
+     */
+    private final long[] ids;
+
+    /**
+     * Parent organisation unit identifiers, by slot, 0 for roots.
+     */
+    private final long[] parentIds;
+
+    /**
+     * Pre-order number, by slot, -1 if not reachable from a root.
+     */
+    private final int[] pre;
+
+    /**
+     * Highest pre-order number in the sub-hierarchy, by slot.
+     */
+    private final int[] last;
+
+    /**
+     * Hierarchy level, by slot, starting at 1 for roots.
+     */
+    private final int[] levels;
+
+    /**
+     * Hash table of identifiers, 0 marks an empty bucket.
+     */
+    private final long[] table;
+
+    /**
+     * Slot of the identifier in the corresponding hash table bucket.
+     */
+    private final int[] tableSlots;
+
+    private final int mask;
+
+    private final int size;
+
+    private OrganisationUnitHierarchyIndex( long[] ids, long[] parentIds )
+    {
+        this.ids = ids;
+        this.parentIds = parentIds;
+
+        int n = ids.length;
+        int capacity = Integer.highestOneBit( Math.max( 2, n * 2 ) - 1 ) << 1;
+
+        this.table = new long[capacity];
+        this.tableSlots = new int[capacity];
+        this.mask = capacity - 1;
+
+        for ( int i = 0; i < n; i++ )
+        {
+            insert( ids[i], i );
+        }
+
+        this.pre = new int[n];
+        this.last = new int[n];
+        this.levels = new int[n];
+        this.size = number( n );
+    }
+
+    /**
+     * Creates an index from the given organisation unit and parent identifiers.
+     * The arrays must be of equal length, a parent identifier of 0 denotes a
+     * root.
+     *
+     * @param ids the organisation unit identifiers.
+     * @param parentIds the parent identifiers, aligned with the identifiers.
+     * @return an {@link OrganisationUnitHierarchyIndex}.
+     */
+    public static OrganisationUnitHierarchyIndex of( long[] ids, long[] parentIds )
+    {
+        if ( ids.length != parentIds.length )
+        {
+            throw new IllegalArgumentException( "Identifiers and parent identifiers must be of equal length" );
+        }
+
+        return new OrganisationUnitHierarchyIndex( ids, parentIds );
+    }
+
+    /**
+     * Returns an empty index.
+     */
+    public static OrganisationUnitHierarchyIndex empty()
+    {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a new index with the given changes applied to the hierarchy of
+     * this index. Only the primitive arrays of this index are copied, no
+     * database access is required.
+     *
+     * @param parentIds map of organisation unit identifier to the new parent
+     *        identifier, 0 for roots. Units not in this index are added.
+     * @param removedIds identifiers of organisation units to remove.
+     * @return a new {@link OrganisationUnitHierarchyIndex}.
+     */
+    public OrganisationUnitHierarchyIndex apply( Map<Long, Long> parentIds, Set<Long> removedIds )
+    {
+        if ( parentIds.isEmpty() && removedIds.isEmpty() )
+        {
+            return this;
+        }
+
+        long[] newIds = new long[ids.length + parentIds.size()];
+        long[] newParentIds = new long[newIds.length];
+        int n = 0;
+
+        for ( int i = 0; i < ids.length; i++ )
+        {
+            long id = ids[i];
+
+            if ( !removedIds.contains( id ) && !parentIds.containsKey( id ) )
+            {
+                newIds[n] = id;
+                newParentIds[n++] = this.parentIds[i];
+            }
+        }
+
+        for ( Map.Entry<Long, Long> entry : parentIds.entrySet() )
+        {
+            if ( !removedIds.contains( entry.getKey() ) )
+            {
+                newIds[n] = entry.getKey();
+                newParentIds[n++] = entry.getValue() != null ? entry.getValue() : 0L;
+            }
+        }
+
+        return new OrganisationUnitHierarchyIndex( Arrays.copyOf( newIds, n ), Arrays.copyOf( newParentIds, n ) );
+    }
+
+    /**
+     * Returns the number of organisation units in this index.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Indicates whether the organisation unit with the given identifier is
+     * part of this index.
+     *
+     * @param id the organisation unit identifier.
+     */
+    public boolean contains( long id )
+    {
+        int slot = slot( id );
+        return slot != NOT_FOUND && pre[slot] != NOT_FOUND;
+    }
+
+    /**
+     * Returns the parent identifier of the given organisation unit, 0 if it is
+     * a root and -1 if it is not part of this index.
+     *
+     * @param id the organisation unit identifier.
+     */
+    public long getParentId( long id )
+    {
+        int slot = slot( id );
+        return slot != NOT_FOUND && pre[slot] != NOT_FOUND ? parentIds[slot] : NOT_FOUND;
+    }
+
+    /**
+     * Returns the hierarchy level of the given organisation unit, starting at
+     * 1 for roots, or 0 if it is not part of this index.
+     *
+     * @param id the organisation unit identifier.
+     */
+    public int getLevel( long id )
+    {
+        int slot = slot( id );
+        return slot != NOT_FOUND && pre[slot] != NOT_FOUND ? levels[slot] : 0;
+    }
+
+    /**
+     * Indicates whether the given organisation unit is equal to or a
+     * descendant of the given ancestor. Returns false if any of the units is
+     * not part of this index.
+     *
+     * @param id the organisation unit identifier.
+     * @param ancestorId the ancestor organisation unit identifier.
+     */
+    public boolean isDescendant( long id, long ancestorId )
+    {
+        int slot = slot( id );
+        int ancestorSlot = slot( ancestorId );
+
+        if ( slot == NOT_FOUND || ancestorSlot == NOT_FOUND || pre[slot] == NOT_FOUND
+            || pre[ancestorSlot] == NOT_FOUND )
+        {
+            return false;
+        }
+
+        return pre[ancestorSlot] <= pre[slot] && pre[slot] <= last[ancestorSlot];
+    }
+
+    // -------------------------------------------------------------------------
+    // Supportive methods
+    // -------------------------------------------------------------------------
+
+    private static int hash( long id )
+    {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private void insert( long id, int slot )
+    {
+        int bucket = hash( id ) & mask;
+
+        while ( table[bucket] != 0 && table[bucket] != id )
+        {
+            bucket = (bucket + 1) & mask;
+        }
+
+        table[bucket] = id;
+        tableSlots[bucket] = slot;
+    }
+
+    private int slot( long id )
+    {
+        if ( id == 0 )
+        {
+            return NOT_FOUND;
+        }
+
+        int bucket = hash( id ) & mask;
+
+        while ( table[bucket] != 0 )
+        {
+            if ( table[bucket] == id )
+            {
+                return tableSlots[bucket];
+            }
+
+            bucket = (bucket + 1) & mask;
+        }
+
+        return NOT_FOUND;
+    }
+
+    /**
+     * Assigns pre-order numbers, intervals and levels with an iterative depth
+     * first traversal from all roots.
+     *
+     * @param n the number of organisation units.
+     * @return the number of organisation units reachable from a root.
+     */
+    private int number( int n )
+    {
+        int[] parentSlots = new int[n];
+        int[] childStart = new int[n + 1];
+
+        for ( int i = 0; i < n; i++ )
+        {
+            parentSlots[i] = slot( parentIds[i] );
+
+            if ( parentSlots[i] != NOT_FOUND )
+            {
+                childStart[parentSlots[i] + 1]++;
+            }
+        }
+
+        for ( int i = 0; i < n; i++ )
+        {
+            childStart[i + 1] += childStart[i];
+        }
+
+        int[] children = new int[childStart[n]];
+        int[] fill = Arrays.copyOf( childStart, n );
+
+        for ( int i = 0; i < n; i++ )
+        {
+            if ( parentSlots[i] != NOT_FOUND )
+            {
+                children[fill[parentSlots[i]]++] = i;
+            }
+        }
+
+        Arrays.fill( pre, NOT_FOUND );
+
+        int[] stack = new int[n];
+        int[] next = new int[n];
+        int counter = 0;
+
+        for ( int root = 0; root < n; root++ )
+        {
+            if ( parentSlots[root] != NOT_FOUND )
+            {
+                continue;
+            }
+
+            int depth = 0;
+            stack[0] = root;
+            next[0] = childStart[root];
+            pre[root] = counter++;
+            levels[root] = 1;
+
+            while ( depth >= 0 )
+            {
+                int node = stack[depth];
+
+                if ( next[depth] < childStart[node + 1] )
+                {
+                    int child = children[next[depth]++];
+
+                    if ( pre[child] != NOT_FOUND )
+                    {
+                        continue;
+                    }
+
+                    pre[child] = counter++;
+                    levels[child] = levels[node] + 1;
+                    stack[++depth] = child;
+                    next[depth] = childStart[child];
+                }
+                else
+                {
+                    last[node] = counter - 1;
+                    depth--;
+                }
+            }
+        }
+
+        return counter;
+    }
+}
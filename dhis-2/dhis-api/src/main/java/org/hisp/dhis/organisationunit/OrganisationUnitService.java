@@ -404,10 +404,30 @@ public interface OrganisationUnitService extends OrganisationUnitDataIntegrityPr
      */
     boolean isInUserHierarchy( String uid, Set<OrganisationUnit> organisationUnits );
 
+    /**
+     * Indicates whether the given organisation unit is equal to or a
+     * descendant of any of the given ancestors. Uses the
+     * {@link OrganisationUnitHierarchyIndex} when all units are part of it,
+     * otherwise traverses the hierarchy.
+     *
+     * @param organisationUnit the organisation unit.
+     * @param ancestors the ancestors.
+     * @return true if the organisation unit is a descendant.
+     */
     boolean isDescendant( OrganisationUnit organisationUnit, Set<OrganisationUnit> ancestors );
 
     boolean isDescendant( OrganisationUnit organisationUnit, OrganisationUnit ancestor );
 
+    /**
+     * Returns the {@link OrganisationUnitHierarchyIndex} which allows for
+     * constant-time descendant and level lookups by organisation unit
+     * identifier. The index reflects hierarchy changes once organisation units
+     * are flushed.
+     *
+     * @return the {@link OrganisationUnitHierarchyIndex}.
+     */
+    OrganisationUnitHierarchyIndex getHierarchyIndex();
+
     /**
      * Indicates whether the given organisation unit is part of the hierarchy of
      * the data view organisation units of the current user.
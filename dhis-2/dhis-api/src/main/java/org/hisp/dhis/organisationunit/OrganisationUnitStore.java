@@ -135,6 +135,14 @@ public interface OrganisationUnitStore
      */
     int getMaxLevel();
 
+    /**
+     * Builds an {@link OrganisationUnitHierarchyIndex} from the identifier and
+     * parent identifier of all organisation units in the database.
+     *
+     * @return an {@link OrganisationUnitHierarchyIndex}.
+     */
+    OrganisationUnitHierarchyIndex getHierarchyIndex();
+
     /**
      * Check if the number of orgunits that satisfies the conditions in the
      * queryParams is greater than the threshold provided. Note: groups,
@@ -107,6 +107,15 @@ public interface ResourceTableService
      */
     void generateDataApprovalMinLevelTable();
 
+    /**
+     * Indicates whether the given resource table exists and none of its source
+     * tables have changed since it was last generated by this service.
+     *
+     * @param tableType the {@link ResourceTableType}.
+     * @return true if the resource table is up to date.
+     */
+    boolean isResourceTableUpToDate( ResourceTableType tableType );
+
     /**
      * Create all SQL views.
      */
@@ -55,6 +55,24 @@ public interface ResourceTableStore
      */
     void generateResourceTable( ResourceTable<?> resourceTable );
 
+    /**
+     * Loads the given rows into the given table through a COPY stream. Falls
+     * back to a batch update if the database connection does not support COPY.
+     *
+     * @param tableName the name of the table to load into.
+     * @param rows the rows, where the values must be in table column order.
+     */
+    void copy( String tableName, List<Object[]> rows );
+
+    /**
+     * Returns a fingerprint of the current content of the source tables of the
+     * given resource table type, see {@link ResourceTableType#getSourceTables()}.
+     *
+     * @param tableType the {@link ResourceTableType}.
+     * @return a fingerprint.
+     */
+    String getSourceFingerprint( ResourceTableType tableType );
+
     /**
      * Performs a batch update.
      *
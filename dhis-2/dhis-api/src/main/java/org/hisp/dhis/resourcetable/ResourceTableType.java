@@ -27,34 +27,83 @@
  */
 package org.hisp.dhis.resourcetable;
 
+import java.util.List;
+
 /**
  * @author Lars Helge Overland
  */
 public enum ResourceTableType
 {
-    ORG_UNIT_STRUCTURE( "_orgunitstructure" ),
-    DATA_SET_ORG_UNIT_CATEGORY( "_datasetorganisationunitcategory" ),
-    CATEGORY_OPTION_COMBO_NAME( "_categoryoptioncomboname" ),
-    DATA_ELEMENT_GROUP_SET_STRUCTURE( "_dataelementgroupsetstructure" ),
-    INDICATOR_GROUP_SET_STRUCTURE( "_indicatorgroupsetstructure" ),
-    ORG_UNIT_GROUP_SET_STRUCTURE( "_organisationunitgroupsetstructure" ),
-    CATEGORY_STRUCTURE( "_categorystructure" ),
-    DATA_ELEMENT_STRUCTURE( "_dataelementstructure" ),
-    PERIOD_STRUCTURE( "_periodstructure" ),
-    DATE_PERIOD_STRUCTURE( "_dateperiodstructure" ),
-    DATA_ELEMENT_CATEGORY_OPTION_COMBO( "_dataelementcategoryoptioncombo" ),
-    DATA_APPROVAL_REMAP_LEVEL( "_dataapprovalremaplevel" ),
-    DATA_APPROVAL_MIN_LEVEL( "_dataapprovalminlevel" );
-
-    private String tableName;
-
-    ResourceTableType( String tableName )
+    ORG_UNIT_STRUCTURE( "_orgunitstructure",
+        List.of( "organisationunit" ) ),
+    DATA_SET_ORG_UNIT_CATEGORY( "_datasetorganisationunitcategory",
+        List.of( "dataset", "organisationunit", "categorycombo", "categoryoptioncombo",
+            "dataelementcategoryoption" ) ),
+    CATEGORY_OPTION_COMBO_NAME( "_categoryoptioncomboname",
+        List.of( "categorycombo", "dataelementcategory", "categoryoptioncombo", "dataelementcategoryoption" ) ),
+    DATA_ELEMENT_GROUP_SET_STRUCTURE( "_dataelementgroupsetstructure",
+        List.of( "dataelement", "dataelementgroup", "dataelementgroupset" ) ),
+    INDICATOR_GROUP_SET_STRUCTURE( "_indicatorgroupsetstructure",
+        List.of( "indicator", "indicatorgroup", "indicatorgroupset" ) ),
+    ORG_UNIT_GROUP_SET_STRUCTURE( "_organisationunitgroupsetstructure",
+        List.of( "organisationunit", "orgunitgroup", "orgunitgroupset" ),
+        ORG_UNIT_STRUCTURE ),
+    CATEGORY_STRUCTURE( "_categorystructure",
+        List.of( "dataelementcategory", "dataelementcategoryoption", "categoryoptioncombo", "categoryoptiongroup",
+            "categoryoptiongroupset" ) ),
+    DATA_ELEMENT_STRUCTURE( "_dataelementstructure",
+        List.of( "dataelement", "dataset" ) ),
+    PERIOD_STRUCTURE( "_periodstructure",
+        List.of( "period" ) ),
+    DATE_PERIOD_STRUCTURE( "_dateperiodstructure",
+        List.of() ),
+    DATA_ELEMENT_CATEGORY_OPTION_COMBO( "_dataelementcategoryoptioncombo",
+        List.of( "dataelement", "categorycombo", "categoryoptioncombo" ) ),
+    DATA_APPROVAL_REMAP_LEVEL( "_dataapprovalremaplevel",
+        List.of( "dataapprovalworkflow", "dataapprovallevel" ) ),
+    DATA_APPROVAL_MIN_LEVEL( "_dataapprovalminlevel",
+        List.of( "dataapproval", "dataapprovallevel", "organisationunit" ),
+        ORG_UNIT_STRUCTURE, DATA_APPROVAL_REMAP_LEVEL );
+
+    private final String tableName;
+
+    private final List<String> sourceTables;
+
+    private final List<ResourceTableType> dependencies;
+
+    ResourceTableType( String tableName, List<String> sourceTables, ResourceTableType... dependencies )
     {
         this.tableName = tableName;
+        this.sourceTables = sourceTables;
+        this.dependencies = List.of( dependencies );
     }
 
     public String getTableName()
     {
         return tableName;
     }
+
+    /**
+     * Returns the names of the database tables which the content of this
+     * resource table is derived from, not including other resource tables.
+     * Membership join tables are represented by the tables owning them, as
+     * changes to the members update the owning objects.
+     *
+     * @return a list of database table names.
+     */
+    public List<String> getSourceTables()
+    {
+        return sourceTables;
+    }
+
+    /**
+     * Returns the resource tables which must be generated before this resource
+     * table, as this resource table is populated from their content.
+     *
+     * @return a list of {@link ResourceTableType}.
+     */
+    public List<ResourceTableType> getDependencies()
+    {
+        return dependencies;
+    }
 }
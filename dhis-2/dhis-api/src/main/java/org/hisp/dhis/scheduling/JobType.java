@@ -93,6 +93,7 @@ public enum JobType
         "predictorGroups", "/api/predictorGroups" ) ),
     DATA_SET_NOTIFICATION( false ),
     REMOVE_USED_OR_EXPIRED_RESERVED_VALUES( false ),
+    DATA_VALUE_STATISTICS( false ),
     TRACKER_IMPORT_JOB( false ),
     TRACKER_IMPORT_NOTIFICATION_JOB( false ),
     TRACKER_IMPORT_RULE_ENGINE_JOB( false ),
@@ -66,6 +66,13 @@ public class ContinuousAnalyticsJobParameters
      */
     private Set<AnalyticsTableType> skipTableTypes = new HashSet<>();
 
+    /**
+     * Indicates whether to apply changed data in place to the existing
+     * analytics tables between full updates, instead of updating the latest
+     * analytics partition.
+     */
+    private boolean incrementalUpdate = false;
+
     public ContinuousAnalyticsJobParameters()
     {
     }
@@ -115,6 +122,18 @@ public class ContinuousAnalyticsJobParameters
         this.skipTableTypes = skipTableTypes;
     }
 
+    @JsonProperty
+    @JacksonXmlProperty( namespace = DxfNamespaces.DXF_2_0 )
+    public boolean isIncrementalUpdate()
+    {
+        return incrementalUpdate;
+    }
+
+    public void setIncrementalUpdate( boolean incrementalUpdate )
+    {
+        this.incrementalUpdate = incrementalUpdate;
+    }
+
     @Override
     public Optional<ErrorReport> validate()
     {
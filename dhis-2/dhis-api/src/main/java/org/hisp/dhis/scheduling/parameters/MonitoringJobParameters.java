@@ -28,8 +28,12 @@
 package org.hisp.dhis.scheduling.parameters;
 
 import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.hisp.dhis.common.CodeGenerator;
@@ -64,6 +68,12 @@ public class MonitoringJobParameters
 
     private boolean persistResults;
 
+    private boolean incremental;
+
+    private Date lastIncrementalRun;
+
+    private Map<String, Set<String>> lastIncrementalRunPeriods = new HashMap<>();
+
     public MonitoringJobParameters()
     {
     }
@@ -139,6 +149,55 @@ public class MonitoringJobParameters
         this.persistResults = persistResults;
     }
 
+    /**
+     * If true, only data values changed since the last successful run are
+     * validated, the persisted results are kept for everything else. Only
+     * applies when results are persisted.
+     */
+    @JsonProperty
+    @JacksonXmlProperty( namespace = DxfNamespaces.DXF_2_0 )
+    public boolean isIncremental()
+    {
+        return incremental;
+    }
+
+    public void setIncremental( boolean incremental )
+    {
+        this.incremental = incremental;
+    }
+
+    /**
+     * The start time of the last successful incremental run, or null if there
+     * has been none, in which case the next run validates all data.
+     */
+    @JsonProperty
+    @JacksonXmlProperty( namespace = DxfNamespaces.DXF_2_0 )
+    public Date getLastIncrementalRun()
+    {
+        return lastIncrementalRun;
+    }
+
+    public void setLastIncrementalRun( Date lastIncrementalRun )
+    {
+        this.lastIncrementalRun = lastIncrementalRun;
+    }
+
+    /**
+     * The ISO periods by validation rule UID evaluated by the last successful
+     * incremental run. Rules which were not evaluated for all their periods
+     * are evaluated in full by the next run.
+     */
+    @JsonProperty
+    public Map<String, Set<String>> getLastIncrementalRunPeriods()
+    {
+        return lastIncrementalRunPeriods;
+    }
+
+    public void setLastIncrementalRunPeriods( Map<String, Set<String>> lastIncrementalRunPeriods )
+    {
+        this.lastIncrementalRunPeriods = lastIncrementalRunPeriods;
+    }
+
     @Override
     public Optional<ErrorReport> validate()
     {
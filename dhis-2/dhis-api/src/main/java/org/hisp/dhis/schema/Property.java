@@ -33,6 +33,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 import org.hisp.dhis.common.DxfNamespaces;
 import org.hisp.dhis.common.EmbeddedObject;
@@ -85,6 +87,16 @@ public class Property implements Ordered, Klass
      */
     private Method setterMethod;
 
+    /**
+     * Compiled accessor for {@link #getterMethod}, created on first use.
+     */
+    private transient volatile Function<Object, Object> getter;
+
+    /**
+     * Compiled accessor for {@link #setterMethod}, created on first use.
+     */
+    private transient volatile BiConsumer<Object, Object> setter;
+
     /**
      * Name for this property, if this class is a collection, it is the name of
      * the items -inside- the collection and not the collection wrapper itself.
@@ -379,6 +391,7 @@ public class Property implements Ordered, Klass
     public void setGetterMethod( Method getterMethod )
     {
         this.getterMethod = getterMethod;
+        this.getter = null;
     }
 
     public Method getSetterMethod()
@@ -389,6 +402,60 @@ public class Property implements Ordered, Klass
     public void setSetterMethod( Method setterMethod )
     {
         this.setterMethod = setterMethod;
+        this.setter = null;
+    }
+
+    /**
+     * Reads the value of this property from the given object without going
+     * through reflection.
+     *
+     * @param target the object to read from.
+     * @return the property value, or null if the target is null or the
+     *         property has no accessible getter.
+     */
+    @SuppressWarnings( "unchecked" )
+    public <T> T getValue( Object target )
+    {
+        if ( target == null )
+        {
+            return null;
+        }
+
+        Function<Object, Object> accessor = getter;
+
+        if ( accessor == null )
+        {
+            accessor = PropertyAccessors.createGetter( getterMethod );
+            getter = accessor;
+        }
+
+        return (T) accessor.apply( target );
+    }
+
+    /**
+     * Writes the value of this property to the given object without going
+     * through reflection. Does nothing if the target is null or the property
+     * has no accessible setter.
+     *
+     * @param target the object to write to.
+     * @param value the value to set.
+     */
+    public void setValue( Object target, Object value )
+    {
+        if ( target == null )
+        {
+            return;
+        }
+
+        BiConsumer<Object, Object> accessor = setter;
+
+        if ( accessor == null )
+        {
+            accessor = PropertyAccessors.createSetter( setterMethod );
+            setter = accessor;
+        }
+
+        accessor.accept( target, value );
     }
 
     @JsonProperty
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.schema;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates reflection-free accessor functions for property getter and setter
+ * methods. The accessors are generated with {@link LambdaMetafactory} so that
+ * invocations are as cheap as a regular interface call, falling back to a
+ * plain {@link MethodHandle} when a lambda cannot be spun for the declaring
+ * class.
+ * <p>
+ * Accessors follow the same rules as
+ * {@code ReflectionUtils.invokeMethod(Object, Method, Object...)}: a missing,
+ * protected or private method yields an accessor that returns {@code null}
+ * respectively does nothing.
+ */
+@Slf4j
+final class PropertyAccessors
+{
+    private static final Function<Object, Object> NO_GETTER = target -> null;
+
+    private static final BiConsumer<Object, Object> NO_SETTER = ( target, value ) -> {
+    };
+
+    private PropertyAccessors()
+    {
+        throw new UnsupportedOperationException( "util" );
+    }
+
+    @SuppressWarnings( "unchecked" )
+    static Function<Object, Object> createGetter( Method method )
+    {
+        if ( !isAccessible( method ) || method.getParameterCount() != 0 )
+        {
+            return NO_GETTER;
+        }
+
+        if ( Modifier.isStatic( method.getModifiers() ) )
+        {
+            return reflectiveGetter( method );
+        }
+
+        try
+        {
+            MethodHandles.Lookup lookup = lookup( method );
+            MethodHandle handle = lookup.unreflect( method );
+
+            try
+            {
+                CallSite site = LambdaMetafactory.metafactory( lookup, "apply",
+                    MethodType.methodType( Function.class ),
+                    MethodType.methodType( Object.class, Object.class ),
+                    handle, handle.type().wrap() );
+
+                return (Function<Object, Object>) site.getTarget().invokeExact();
+            }
+            catch ( Throwable ex )
+            {
+                log.debug( "Falling back to method handle getter for: " + method, ex );
+                return handleGetter( handle.asType( MethodType.methodType( Object.class, Object.class ) ) );
+            }
+        }
+        catch ( IllegalAccessException ex )
+        {
+            log.debug( "Falling back to reflective getter for: " + method, ex );
+            return reflectiveGetter( method );
+        }
+    }
+
+    @SuppressWarnings( "unchecked" )
+    static BiConsumer<Object, Object> createSetter( Method method )
+    {
+        if ( !isAccessible( method ) || method.getParameterCount() != 1 )
+        {
+            return NO_SETTER;
+        }
+
+        if ( Modifier.isStatic( method.getModifiers() ) )
+        {
+            return reflectiveSetter( method );
+        }
+
+        try
+        {
+            MethodHandles.Lookup lookup = lookup( method );
+            MethodHandle handle = lookup.unreflect( method );
+
+            try
+            {
+                CallSite site = LambdaMetafactory.metafactory( lookup, "accept",
+                    MethodType.methodType( BiConsumer.class ),
+                    MethodType.methodType( void.class, Object.class, Object.class ),
+                    handle, handle.type().wrap().changeReturnType( void.class ) );
+
+                return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+            }
+            catch ( Throwable ex )
+            {
+                log.debug( "Falling back to method handle setter for: " + method, ex );
+                return handleSetter(
+                    handle.asType( MethodType.methodType( void.class, Object.class, Object.class ) ) );
+            }
+        }
+        catch ( IllegalAccessException ex )
+        {
+            log.debug( "Falling back to reflective setter for: " + method, ex );
+            return reflectiveSetter( method );
+        }
+    }
+
+    private static boolean isAccessible( Method method )
+    {
+        return method != null && !Modifier.isProtected( method.getModifiers() )
+            && !Modifier.isPrivate( method.getModifiers() );
+    }
+
+    private static MethodHandles.Lookup lookup( Method method )
+        throws IllegalAccessException
+    {
+        return MethodHandles.privateLookupIn( method.getDeclaringClass(), MethodHandles.lookup() );
+    }
+
+    private static Function<Object, Object> handleGetter( MethodHandle handle )
+    {
+        return target -> {
+            try
+            {
+                return handle.invokeExact( target );
+            }
+            catch ( RuntimeException | Error ex )
+            {
+                throw ex;
+            }
+            catch ( Throwable ex )
+            {
+                throw new RuntimeException( ex );
+            }
+        };
+    }
+
+    private static BiConsumer<Object, Object> handleSetter( MethodHandle handle )
+    {
+        return ( target, value ) -> {
+            try
+            {
+                handle.invokeExact( target, value );
+            }
+            catch ( RuntimeException | Error ex )
+            {
+                throw ex;
+            }
+            catch ( Throwable ex )
+            {
+                throw new RuntimeException( ex );
+            }
+        };
+    }
+
+    private static Function<Object, Object> reflectiveGetter( Method method )
+    {
+        return target -> {
+            try
+            {
+                return method.invoke( target );
+            }
+            catch ( ReflectiveOperationException ex )
+            {
+                throw new RuntimeException( ex );
+            }
+        };
+    }
+
+    private static BiConsumer<Object, Object> reflectiveSetter( Method method )
+    {
+        return ( target, value ) -> {
+            try
+            {
+                method.invoke( target, value );
+            }
+            catch ( ReflectiveOperationException ex )
+            {
+                throw new RuntimeException( ex );
+            }
+        };
+    }
+}
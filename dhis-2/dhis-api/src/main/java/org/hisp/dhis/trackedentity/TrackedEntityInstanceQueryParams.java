@@ -244,6 +244,18 @@ public class TrackedEntityInstanceQueryParams
      */
     private boolean skipPaging;
 
+    /**
+     * Token of the page to return when paging by page token. An empty token
+     * requests the first page.
+     */
+    private String pageToken;
+
+    /**
+     * Token of the page following the returned page, set when paging by page
+     * token and more tracked entity instances are available.
+     */
+    private transient String nextPageToken;
+
     /**
      * Indicates if there is a maximum tei retrieval limit. 0 no limit.
      */
@@ -802,6 +814,14 @@ public class TrackedEntityInstanceQueryParams
         return !isSkipPaging();
     }
 
+    /**
+     * Indicates whether paging by page token is enabled.
+     */
+    public boolean isPageTokenPaging()
+    {
+        return pageToken != null && !isSkipPaging();
+    }
+
     /**
      * Returns the page number, falls back to default value of 1 if not
      * specified.
@@ -862,6 +882,7 @@ public class TrackedEntityInstanceQueryParams
             .add( "pageSize", pageSize )
             .add( "totalPages", totalPages )
             .add( "skipPaging", skipPaging )
+            .add( "pageToken", pageToken )
             .add( "includeDeleted", includeDeleted )
             .add( "includeAllAttributes", includeAllAttributes )
             .add( "internalSearch", internalSearch )
@@ -1152,6 +1173,28 @@ public class TrackedEntityInstanceQueryParams
         return this;
     }
 
+    public String getPageToken()
+    {
+        return pageToken;
+    }
+
+    public TrackedEntityInstanceQueryParams setPageToken( String pageToken )
+    {
+        this.pageToken = pageToken;
+        return this;
+    }
+
+    public String getNextPageToken()
+    {
+        return nextPageToken;
+    }
+
+    public TrackedEntityInstanceQueryParams setNextPageToken( String nextPageToken )
+    {
+        this.nextPageToken = nextPageToken;
+        return this;
+    }
+
     public int getMaxTeiLimit()
     {
         return maxTeiLimit;
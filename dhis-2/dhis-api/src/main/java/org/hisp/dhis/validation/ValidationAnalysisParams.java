@@ -28,6 +28,10 @@
 package org.hisp.dhis.validation;
 
 import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 
 import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
@@ -75,6 +79,10 @@ public final class ValidationAnalysisParams
 
     private int dayInPeriod = -1;
 
+    private Date dataChangedSince;
+
+    private Map<String, Set<String>> evaluatedRulePeriods = new HashMap<>();
+
     /**
      * Gets the rules selected for analysis
      *
@@ -162,6 +170,36 @@ public final class ValidationAnalysisParams
         return dayInPeriod;
     }
 
+    /**
+     * Gets the point in time from which data changes should be analysed. If
+     * set, the analysis is incremental: only the combinations of rule,
+     * organisation unit and period which are affected by data values changed
+     * since this date are evaluated, while results for all other combinations
+     * are taken from the persisted validation results. Rules which have been
+     * updated since this date, or which refer to data not stored as data
+     * values, are always evaluated in full.
+     *
+     * @return the date, or null if the analysis is not incremental.
+     */
+    public Date getDataChangedSince()
+    {
+        return dataChangedSince;
+    }
+
+    /**
+     * Gets the ISO periods by validation rule UID which have been evaluated
+     * by the analysis as of {@link #getDataChangedSince()}. For an incremental
+     * analysis, rules which have not been evaluated for all their periods, for
+     * instance because they have been added to the analysed rules or because
+     * the analysed periods have moved on, are evaluated in full.
+     *
+     * @return the ISO periods by validation rule UID, never null.
+     */
+    public Map<String, Set<String>> getEvaluatedRulePeriods()
+    {
+        return evaluatedRulePeriods;
+    }
+
     /**
      * Limits the number of results we should look for. This can help prevent
      * the analysis running too long by stopping after a set number of results,
@@ -254,6 +292,35 @@ public final class ValidationAnalysisParams
             return this;
         }
 
+        /**
+         * Makes the analysis incremental by only evaluating what is affected
+         * by data values changed since the given date. Null means a full
+         * analysis.
+         *
+         * @param dataChangedSince the date, or null for a full analysis.
+         * @return the updated builder object
+         */
+        public Builder withDataChangedSince( Date dataChangedSince )
+        {
+            this.params.dataChangedSince = dataChangedSince;
+            return this;
+        }
+
+        /**
+         * The ISO periods by validation rule UID which have been evaluated by
+         * the analysis as of the date given to
+         * {@link #withDataChangedSince(Date)}.
+         *
+         * @param evaluatedRulePeriods the ISO periods by validation rule UID.
+         * @return the updated builder object
+         */
+        public Builder withEvaluatedRulePeriods( Map<String, Set<String>> evaluatedRulePeriods )
+        {
+            this.params.evaluatedRulePeriods = evaluatedRulePeriods != null ? evaluatedRulePeriods
+                : new HashMap<>();
+            return this;
+        }
+
         /**
          * The max number of results we want from the analysis.
          *
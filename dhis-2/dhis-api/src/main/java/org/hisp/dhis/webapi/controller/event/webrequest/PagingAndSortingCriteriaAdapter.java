@@ -76,6 +76,12 @@ public abstract class PagingAndSortingCriteriaAdapter implements PagingCriteria,
      */
     private Boolean skipPaging;
 
+    /**
+     * Token of the page to return when paging by page token, as returned with
+     * the previous page. An empty token requests the first page.
+     */
+    private String pageToken;
+
     /**
      * order params
      */
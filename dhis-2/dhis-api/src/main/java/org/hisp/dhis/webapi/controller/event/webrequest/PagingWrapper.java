@@ -35,8 +35,11 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.Getter;
 
+import org.hisp.dhis.common.SlimPager;
+
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonUnwrapped;
 
@@ -101,6 +104,10 @@ public class PagingWrapper<T>
         @JsonProperty
         private String prevPage;
 
+        @JsonProperty
+        @JsonInclude( JsonInclude.Include.NON_NULL )
+        private String nextPageToken;
+
         public static Pager fromLegacy( PagingCriteria pagingCriteria, org.hisp.dhis.common.Pager pager )
         {
             return Pager.builder()
@@ -109,6 +116,7 @@ public class PagingWrapper<T>
                 .pageSize( pager.getPageSize() )
                 .total( pagingCriteria.isTotalPages() ? pager.getTotal() : null )
                 .nextPage( pager.getNextPage() )
+                .nextPageToken( pager instanceof SlimPager ? ((SlimPager) pager).getNextPageToken() : null )
                 .build();
         }
     }
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.organisationunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class OrganisationUnitHierarchyIndexTest
+{
+    /**
+     * Hierarchy with roots 1 and 7, where 2 and 3 are children of 1, 4 is a
+     * child of 2 and 5 and 6 reference each other.
+     */
+    private final OrganisationUnitHierarchyIndex index = OrganisationUnitHierarchyIndex.of(
+        new long[] { 4, 2, 3, 1, 5, 6, 7 },
+        new long[] { 2, 1, 1, 0, 6, 5, 0 } );
+
+    @Test
+    void testIsDescendant()
+    {
+        assertTrue( index.isDescendant( 4, 1 ) );
+        assertTrue( index.isDescendant( 4, 2 ) );
+        assertTrue( index.isDescendant( 1, 1 ) );
+        assertFalse( index.isDescendant( 4, 3 ) );
+        assertFalse( index.isDescendant( 1, 4 ) );
+        assertFalse( index.isDescendant( 4, 7 ) );
+        assertFalse( index.isDescendant( 8, 1 ) );
+    }
+
+    @Test
+    void testGetLevelAndParent()
+    {
+        assertEquals( 1, index.getLevel( 1 ) );
+        assertEquals( 2, index.getLevel( 3 ) );
+        assertEquals( 3, index.getLevel( 4 ) );
+        assertEquals( 0, index.getLevel( 8 ) );
+        assertEquals( 2, index.getParentId( 4 ) );
+        assertEquals( 0, index.getParentId( 7 ) );
+        assertEquals( -1, index.getParentId( 8 ) );
+    }
+
+    @Test
+    void testCyclicReferencesAreNotIndexed()
+    {
+        assertEquals( 5, index.size() );
+        assertFalse( index.contains( 5 ) );
+        assertFalse( index.contains( 6 ) );
+        assertFalse( index.isDescendant( 5, 6 ) );
+    }
+
+    @Test
+    void testApply()
+    {
+        OrganisationUnitHierarchyIndex updated = index.apply( Map.of( 2L, 7L, 8L, 4L ), Set.of( 3L ) );
+
+        assertEquals( 5, updated.size() );
+        assertTrue( updated.isDescendant( 8, 7 ) );
+        assertTrue( updated.isDescendant( 4, 7 ) );
+        assertFalse( updated.isDescendant( 4, 1 ) );
+        assertFalse( updated.contains( 3 ) );
+        assertEquals( 4, updated.getLevel( 8 ) );
+        assertTrue( index.isDescendant( 4, 1 ) );
+    }
+
+    @Test
+    void testEmpty()
+    {
+        assertEquals( 0, OrganisationUnitHierarchyIndex.empty().size() );
+        assertFalse( OrganisationUnitHierarchyIndex.empty().contains( 1 ) );
+    }
+
+    @Test
+    void testMismatchingArrays()
+    {
+        assertThrows( IllegalArgumentException.class,
+            () -> OrganisationUnitHierarchyIndex.of( new long[] { 1 }, new long[0] ) );
+    }
+}
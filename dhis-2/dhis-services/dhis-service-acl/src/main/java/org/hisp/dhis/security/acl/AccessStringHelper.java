@@ -63,8 +63,24 @@ public class AccessStringHelper
         {
             return position;
         }
+
+        /**
+         * Returns the bit of this permission in masks compiled by
+         * {@link AccessStringHelper#toMask(String)}.
+         */
+        public int getMask()
+        {
+            return 1 << position;
+        }
     }
 
+    private static final Permission[] PERMISSIONS = Permission.values();
+
+    /**
+     * Mask with all permissions enabled.
+     */
+    public static final int FULL_MASK = 0b1111;
+
     private char[] access = DEFAULT.toCharArray();
 
     public static final String DEFAULT = "--------";
@@ -199,8 +215,41 @@ public class AccessStringHelper
 
     public static boolean isEnabled( String access, Permission permission )
     {
-        return access == null
-            || (validateAccessString( access ) && access.charAt( permission.getPosition() ) == permission.getValue());
+        return (toMask( access ) & permission.getMask()) != 0;
+    }
+
+    /**
+     * Compiles the given access string into a bit mask of the enabled
+     * permissions, see {@link Permission#getMask()}. Consistent with
+     * {@link #isEnabled(String, Permission)}, a null access string enables all
+     * permissions and an invalid access string none. Does not allocate.
+     *
+     * @param access the access string.
+     * @return the bit mask of enabled permissions.
+     */
+    public static int toMask( String access )
+    {
+        if ( access == null )
+        {
+            return FULL_MASK;
+        }
+
+        if ( !validateAccessString( access ) )
+        {
+            return 0;
+        }
+
+        int mask = 0;
+
+        for ( Permission permission : PERMISSIONS )
+        {
+            if ( access.charAt( permission.getPosition() ) == permission.getValue() )
+            {
+                mask |= permission.getMask();
+            }
+        }
+
+        return mask;
     }
 
     public static boolean isValid( String access )
@@ -217,12 +266,10 @@ public class AccessStringHelper
             return false;
         }
 
-        byte[] bytes = access.getBytes();
-
-        return (bytes[0] == '-' || bytes[0] == 'r')
-            && (bytes[1] == '-' || bytes[1] == 'w')
-            && (bytes[2] == '-' || bytes[2] == 'r')
-            && (bytes[3] == '-' || bytes[3] == 'w');
+        return (access.charAt( 0 ) == '-' || access.charAt( 0 ) == 'r')
+            && (access.charAt( 1 ) == '-' || access.charAt( 1 ) == 'w')
+            && (access.charAt( 2 ) == '-' || access.charAt( 2 ) == 'r')
+            && (access.charAt( 3 ) == '-' || access.charAt( 3 ) == 'w');
     }
 
     public static boolean hasDataSharing( String access )
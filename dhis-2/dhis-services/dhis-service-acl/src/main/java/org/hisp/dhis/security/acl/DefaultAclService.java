@@ -33,9 +33,8 @@ import static org.springframework.util.CollectionUtils.containsAny;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
 
-import org.hisp.dhis.category.CategoryOption;
 import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.common.BaseIdentifiableObject;
 import org.hisp.dhis.common.IdentifiableObject;
@@ -180,13 +179,12 @@ public class DefaultAclService implements AclService
         {
             if ( object instanceof CategoryOptionCombo )
             {
-                return checkOptionComboSharingPermission( user, object, Permission.DATA_READ )
-                    || checkOptionComboSharingPermission( user, object, Permission.DATA_WRITE );
+                return checkOptionComboSharingPermission( user, object, Permission.DATA_READ,
+                    Permission.DATA_WRITE );
             }
 
-            if ( schema.isDataShareable() &&
-                (checkSharingPermission( user, object, Permission.DATA_READ )
-                    || checkSharingPermission( user, object, Permission.DATA_WRITE )) )
+            if ( schema.isDataShareable() && checkSharingPermission( user, object,
+                Permission.DATA_READ.getMask() | Permission.DATA_WRITE.getMask() ) )
             {
                 return true;
             }
@@ -755,46 +753,69 @@ public class DefaultAclService implements AclService
      * @return true if user can access object, false otherwise
      */
     private boolean checkSharingPermission( User user, IdentifiableObject object, Permission permission )
+    {
+        return checkSharingPermission( user, object, permission.getMask() );
+    }
+
+    /**
+     * If the given user is allowed to access the given object using any of the
+     * permissions in the given mask. Access strings are compiled to bit masks
+     * and sharing entries are looked up by the UIDs of the user and its
+     * groups, so the check neither allocates nor scans all sharing entries.
+     *
+     * @param user User to check against
+     * @param object Object to check against
+     * @param permissionMask mask of {@link Permission#getMask()} bits
+     * @return true if user can access object, false otherwise
+     */
+    private boolean checkSharingPermission( User user, IdentifiableObject object, int permissionMask )
     {
         Sharing sharing = object.getSharing();
-        if ( AccessStringHelper.isEnabled( sharing.getPublicAccess(), permission ) )
+
+        if ( (AccessStringHelper.toMask( sharing.getPublicAccess() ) & permissionMask) != 0 )
         {
             return true;
         }
 
-        if ( sharing.getUserGroups() != null && !CollectionUtils.isEmpty( user.getGroups() ) )
-        {
-            for ( UserGroupAccess userGroupAccess : sharing.getUserGroups().values() )
-            {
-                // Check if user is allowed to read this object through group
-                // access
-                if ( AccessStringHelper.isEnabled( userGroupAccess.getAccess(), permission )
-                    && hasUserGroupAccess( user.getGroups(), userGroupAccess.getId() ) )
-                {
-                    return true;
-                }
-            }
-        }
+        Map<String, UserGroupAccess> userGroupAccesses = sharing.getUserGroups();
 
-        if ( sharing.getUsers() != null )
+        if ( !userGroupAccesses.isEmpty() && !CollectionUtils.isEmpty( user.getGroups() ) )
         {
-            for ( UserAccess userAccess : sharing.getUsers().values() )
+            for ( UserGroup userGroup : user.getGroups() )
             {
-                // Check if user is allowed to read to this object through user
+                // Check if user is allowed to access this object through group
                 // access
 
-                if ( AccessStringHelper.isEnabled( userAccess.getAccess(), permission )
-                    && user.getUid().equals( userAccess.getId() ) )
+                UserGroupAccess userGroupAccess = userGroupAccesses.get( userGroup.getUid() );
+
+                if ( userGroupAccess != null
+                    && (AccessStringHelper.toMask( userGroupAccess.getAccess() ) & permissionMask) != 0 )
                 {
                     return true;
                 }
             }
         }
 
-        return false;
+        // Check if user is allowed to access this object through user access
+
+        UserAccess userAccess = sharing.getUsers().get( user.getUid() );
+
+        return userAccess != null && (AccessStringHelper.toMask( userAccess.getAccess() ) & permissionMask) != 0;
     }
 
-    private boolean checkOptionComboSharingPermission( User user, IdentifiableObject object, Permission permission )
+    /**
+     * If the given user is allowed to access the given category option combo
+     * with any of the given permissions, meaning that all of its category
+     * options grant the permission. The UIDs of the user groups are collected
+     * once for all category options.
+     *
+     * @param user User to check against
+     * @param object the {@link CategoryOptionCombo}
+     * @param permissions Permissions to check against
+     * @return true if user can access the object, false otherwise
+     */
+    private boolean checkOptionComboSharingPermission( User user, IdentifiableObject object,
+        Permission... permissions )
     {
         CategoryOptionCombo optionCombo = (CategoryOptionCombo) object;
 
@@ -803,17 +824,18 @@ public class DefaultAclService implements AclService
             return true;
         }
 
-        List<Long> accessibleOptions = new ArrayList<>();
+        UserAccessContext context = new UserAccessContext( user );
 
-        for ( CategoryOption option : optionCombo.getCategoryOptions() )
+        for ( Permission permission : permissions )
         {
-            if ( checkSharingPermission( user, option, permission ) )
+            if ( optionCombo.getCategoryOptions().stream()
+                .allMatch( option -> context.hasAnyPermission( option.getSharing(), permission.getMask() ) ) )
             {
-                accessibleOptions.add( option.getId() );
+                return true;
             }
         }
 
-        return accessibleOptions.size() == optionCombo.getCategoryOptions().size();
+        return false;
     }
 
     private boolean readWriteCommonCheck( User user, Class<?> objType )
@@ -837,17 +859,4 @@ public class DefaultAclService implements AclService
         return checkSharingAccess( user, object, objType ) &&
             (checkUser( user, object ) || checkSharingPermission( user, object, Permission.WRITE ));
     }
-
-    private boolean hasUserGroupAccess( Set<UserGroup> userGroups, String userGroupUid )
-    {
-        for ( UserGroup group : userGroups )
-        {
-            if ( group.getUid().equals( userGroupUid ) )
-            {
-                return true;
-            }
-        }
-
-        return false;
-    }
 }
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.security.acl;
+package org.hisp.dhis.security.acl;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.hisp.dhis.user.User;
+import org.hisp.dhis.user.UserGroup;
+import org.hisp.dhis.user.sharing.Sharing;
+import org.hisp.dhis.user.sharing.UserAccess;
+import org.hisp.dhis.user.sharing.UserGroupAccess;
+
+/**
+ * The UIDs of a user and its user groups, collected once to check the sharing
+ * of several objects for the same user. The user group sharing entries of an
+ * object are matched against the groups of the user, so that a check costs a
+ * lookup per user group entry of the object rather than per group of the
+ * user.
+ * <p>
+ * A context reflects the groups of the user at the time it is created. Groups
+ * of a {@link User} are mutable in place, so a context is only used within a
+ * single access check and is never cached across checks.
+ */
+final class UserAccessContext
+{
+    private final String userUid;
+
+    private final Set<String> userGroupUids;
+
+    UserAccessContext( User user )
+    {
+        this.userUid = user.getUid();
+        this.userGroupUids = new HashSet<>();
+
+        if ( user.getGroups() != null )
+        {
+            for ( UserGroup userGroup : user.getGroups() )
+            {
+                userGroupUids.add( userGroup.getUid() );
+            }
+        }
+    }
+
+    /**
+     * Indicates whether the given sharing grants the user any of the
+     * permissions in the given mask, through public access, a user group
+     * entry or a user entry.
+     *
+     * @param sharing the {@link Sharing}.
+     * @param permissionMask mask of {@link AccessStringHelper.Permission}
+     *        bits.
+     * @return true if any of the permissions is granted.
+     */
+    boolean hasAnyPermission( Sharing sharing, int permissionMask )
+    {
+        if ( (AccessStringHelper.toMask( sharing.getPublicAccess() ) & permissionMask) != 0 )
+        {
+            return true;
+        }
+
+        if ( !userGroupUids.isEmpty() )
+        {
+            for ( Map.Entry<String, UserGroupAccess> entry : sharing.getUserGroups().entrySet() )
+            {
+                if ( (AccessStringHelper.toMask( entry.getValue().getAccess() ) & permissionMask) != 0
+                    && userGroupUids.contains( entry.getKey() ) )
+                {
+                    return true;
+                }
+            }
+        }
+
+        UserAccess userAccess = sharing.getUsers().get( userUid );
+
+        return userAccess != null && (AccessStringHelper.toMask( userAccess.getAccess() ) & permissionMask) != 0;
+    }
+}
@@ -27,6 +27,7 @@
  */
 package org.hisp.dhis.security.acl;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -78,4 +79,16 @@ class AccessStringHelperTest
         assertTrue( AccessStringHelper.canRead( AccessStringHelper.READ_WRITE ) );
         assertTrue( AccessStringHelper.canWrite( AccessStringHelper.READ_WRITE ) );
     }
+
+    @Test
+    void testToMask()
+    {
+        assertEquals( AccessStringHelper.FULL_MASK, AccessStringHelper.toMask( null ) );
+        assertEquals( AccessStringHelper.FULL_MASK, AccessStringHelper.toMask( AccessStringHelper.FULL ) );
+        assertEquals( 0, AccessStringHelper.toMask( AccessStringHelper.DEFAULT ) );
+        assertEquals( 0, AccessStringHelper.toMask( "rwrw" ) );
+        assertEquals( 0, AccessStringHelper.toMask( "xw------" ) );
+        assertEquals( AccessStringHelper.Permission.READ.getMask() | AccessStringHelper.Permission.DATA_WRITE.getMask(),
+            AccessStringHelper.toMask( "r--w----" ) );
+    }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.security.acl;
+package org.hisp.dhis.security.acl;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.hisp.dhis.security.acl.AccessStringHelper.Permission;
+import org.hisp.dhis.user.User;
+import org.hisp.dhis.user.UserGroup;
+import org.hisp.dhis.user.sharing.Sharing;
+import org.hisp.dhis.user.sharing.UserAccess;
+import org.hisp.dhis.user.sharing.UserGroupAccess;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class UserAccessContextTest
+{
+    private User user;
+
+    @BeforeEach
+    void setUp()
+    {
+        UserGroup groupA = new UserGroup();
+        groupA.setUid( "groupabcdeA" );
+        UserGroup groupB = new UserGroup();
+        groupB.setUid( "groupabcdeB" );
+
+        user = new User();
+        user.setUid( "userabcdefA" );
+        user.setGroups( new HashSet<>( Set.of( groupA, groupB ) ) );
+    }
+
+    @Test
+    void testPublicAccess()
+    {
+        UserAccessContext context = new UserAccessContext( user );
+        Sharing sharing = Sharing.builder().publicAccess( AccessStringHelper.READ ).build();
+
+        assertTrue( context.hasAnyPermission( sharing, Permission.READ.getMask() ) );
+        assertFalse( context.hasAnyPermission( sharing, Permission.WRITE.getMask() ) );
+    }
+
+    @Test
+    void testUserGroupAccess()
+    {
+        UserAccessContext context = new UserAccessContext( user );
+        Sharing sharing = new Sharing( AccessStringHelper.DEFAULT,
+            new UserGroupAccess( AccessStringHelper.DATA_READ, "groupabcdeC" ),
+            new UserGroupAccess( AccessStringHelper.DATA_READ_WRITE, "groupabcdeB" ) );
+
+        assertTrue( context.hasAnyPermission( sharing, Permission.DATA_WRITE.getMask() ) );
+        assertFalse( context.hasAnyPermission( sharing, Permission.WRITE.getMask() ) );
+    }
+
+    @Test
+    void testUserGroupAccessOfOtherGroup()
+    {
+        UserAccessContext context = new UserAccessContext( user );
+        Sharing sharing = new Sharing( AccessStringHelper.DEFAULT,
+            new UserGroupAccess( AccessStringHelper.FULL, "groupabcdeC" ) );
+
+        assertFalse( context.hasAnyPermission( sharing, Permission.READ.getMask() ) );
+    }
+
+    @Test
+    void testUserAccess()
+    {
+        UserAccessContext context = new UserAccessContext( user );
+        Sharing sharing = new Sharing( AccessStringHelper.DEFAULT,
+            new UserAccess( AccessStringHelper.READ_WRITE, "userabcdefA" ) );
+
+        assertTrue( context.hasAnyPermission( sharing, Permission.WRITE.getMask() ) );
+        assertFalse( context.hasAnyPermission( sharing, Permission.DATA_READ.getMask() ) );
+    }
+
+    @Test
+    void testUserWithoutGroups()
+    {
+        user.setGroups( null );
+        UserAccessContext context = new UserAccessContext( user );
+        Sharing sharing = new Sharing( AccessStringHelper.DEFAULT,
+            new UserGroupAccess( AccessStringHelper.FULL, "groupabcdeA" ) );
+
+        assertFalse( context.hasAnyPermission( sharing, Permission.READ.getMask() ) );
+    }
+}
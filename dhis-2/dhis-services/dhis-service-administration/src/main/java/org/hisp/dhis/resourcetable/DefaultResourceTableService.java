@@ -29,10 +29,28 @@ package org.hisp.dhis.resourcetable;
 
 import static java.util.Comparator.reverseOrder;
 import static java.util.stream.Collectors.toList;
+import static org.hisp.dhis.resourcetable.ResourceTableType.CATEGORY_OPTION_COMBO_NAME;
+import static org.hisp.dhis.resourcetable.ResourceTableType.CATEGORY_STRUCTURE;
+import static org.hisp.dhis.resourcetable.ResourceTableType.DATA_APPROVAL_MIN_LEVEL;
+import static org.hisp.dhis.resourcetable.ResourceTableType.DATA_APPROVAL_REMAP_LEVEL;
+import static org.hisp.dhis.resourcetable.ResourceTableType.DATA_ELEMENT_CATEGORY_OPTION_COMBO;
+import static org.hisp.dhis.resourcetable.ResourceTableType.DATA_ELEMENT_GROUP_SET_STRUCTURE;
+import static org.hisp.dhis.resourcetable.ResourceTableType.DATA_ELEMENT_STRUCTURE;
+import static org.hisp.dhis.resourcetable.ResourceTableType.DATA_SET_ORG_UNIT_CATEGORY;
+import static org.hisp.dhis.resourcetable.ResourceTableType.DATE_PERIOD_STRUCTURE;
+import static org.hisp.dhis.resourcetable.ResourceTableType.INDICATOR_GROUP_SET_STRUCTURE;
+import static org.hisp.dhis.resourcetable.ResourceTableType.ORG_UNIT_GROUP_SET_STRUCTURE;
+import static org.hisp.dhis.resourcetable.ResourceTableType.ORG_UNIT_STRUCTURE;
+import static org.hisp.dhis.resourcetable.ResourceTableType.PERIOD_STRUCTURE;
 import static org.hisp.dhis.scheduling.JobProgress.FailurePolicy.SKIP_ITEM;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -47,6 +65,7 @@ import org.hisp.dhis.dataapproval.DataApprovalLevelService;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.dataelement.DataElementGroupSet;
 import org.hisp.dhis.dataset.DataSet;
+import org.hisp.dhis.dbms.DbmsManager;
 import org.hisp.dhis.indicator.IndicatorGroupSet;
 import org.hisp.dhis.jdbc.StatementBuilder;
 import org.hisp.dhis.organisationunit.OrganisationUnitGroupSet;
@@ -67,6 +86,8 @@ import org.hisp.dhis.resourcetable.table.OrganisationUnitGroupSetResourceTable;
 import org.hisp.dhis.resourcetable.table.OrganisationUnitStructureResourceTable;
 import org.hisp.dhis.resourcetable.table.PeriodResourceTable;
 import org.hisp.dhis.scheduling.JobProgress;
+import org.hisp.dhis.setting.SettingKey;
+import org.hisp.dhis.setting.SystemSettingManager;
 import org.hisp.dhis.sqlview.SqlView;
 import org.hisp.dhis.sqlview.SqlViewService;
 import org.springframework.stereotype.Service;
@@ -83,6 +104,13 @@ import com.google.common.collect.Lists;
 public class DefaultResourceTableService
     implements ResourceTableService
 {
+    /**
+     * Resource tables with content which depends on the calendar system
+     * setting.
+     */
+    private static final Set<ResourceTableType> CALENDAR_TABLES = EnumSet.of( PERIOD_STRUCTURE,
+        DATE_PERIOD_STRUCTURE );
+
     private final ResourceTableStore resourceTableStore;
 
     private final IdentifiableObjectManager idObjectManager;
@@ -99,11 +127,27 @@ public class DefaultResourceTableService
 
     private final StatementBuilder statementBuilder;
 
+    private final DbmsManager dbmsManager;
+
+    private final SystemSettingManager systemSettingManager;
+
+    /**
+     * Fingerprints of the sources of each resource table, taken right before
+     * the resource table was last generated.
+     */
+    private final Map<ResourceTableType, String> sourceFingerprints = new ConcurrentHashMap<>();
+
+    /**
+     * Fingerprints taken when a resource table was found to be out of date, to
+     * be used by the following generation of the resource table.
+     */
+    private final Map<ResourceTableType, String> pendingFingerprints = new ConcurrentHashMap<>();
+
     @Override
     @Transactional
     public void generateOrganisationUnitStructures()
     {
-        resourceTableStore.generateResourceTable( new OrganisationUnitStructureResourceTable(
+        generateResourceTable( ORG_UNIT_STRUCTURE, () -> new OrganisationUnitStructureResourceTable(
             null, organisationUnitService, organisationUnitService.getNumberOfOrganisationalLevels() ) );
     }
 
@@ -111,7 +155,7 @@ public class DefaultResourceTableService
     @Transactional
     public void generateDataSetOrganisationUnitCategoryTable()
     {
-        resourceTableStore.generateResourceTable( new DataSetOrganisationUnitCategoryResourceTable(
+        generateResourceTable( DATA_SET_ORG_UNIT_CATEGORY, () -> new DataSetOrganisationUnitCategoryResourceTable(
             idObjectManager.getAllNoAcl( DataSet.class ), categoryService.getDefaultCategoryOptionCombo() ) );
     }
 
@@ -119,7 +163,7 @@ public class DefaultResourceTableService
     @Transactional
     public void generateCategoryOptionComboNames()
     {
-        resourceTableStore.generateResourceTable( new CategoryOptionComboNameResourceTable(
+        generateResourceTable( CATEGORY_OPTION_COMBO_NAME, () -> new CategoryOptionComboNameResourceTable(
             idObjectManager.getAllNoAcl( CategoryCombo.class ) ) );
     }
 
@@ -127,7 +171,7 @@ public class DefaultResourceTableService
     @Transactional
     public void generateDataElementGroupSetTable()
     {
-        resourceTableStore.generateResourceTable( new DataElementGroupSetResourceTable(
+        generateResourceTable( DATA_ELEMENT_GROUP_SET_STRUCTURE, () -> new DataElementGroupSetResourceTable(
             idObjectManager.getDataDimensionsNoAcl( DataElementGroupSet.class ) ) );
     }
 
@@ -135,7 +179,7 @@ public class DefaultResourceTableService
     @Transactional
     public void generateIndicatorGroupSetTable()
     {
-        resourceTableStore.generateResourceTable( new IndicatorGroupSetResourceTable(
+        generateResourceTable( INDICATOR_GROUP_SET_STRUCTURE, () -> new IndicatorGroupSetResourceTable(
             idObjectManager.getAllNoAcl( IndicatorGroupSet.class ) ) );
     }
 
@@ -143,7 +187,7 @@ public class DefaultResourceTableService
     @Transactional
     public void generateOrganisationUnitGroupSetTable()
     {
-        resourceTableStore.generateResourceTable( new OrganisationUnitGroupSetResourceTable(
+        generateResourceTable( ORG_UNIT_GROUP_SET_STRUCTURE, () -> new OrganisationUnitGroupSetResourceTable(
             idObjectManager.getDataDimensionsNoAcl( OrganisationUnitGroupSet.class ),
             statementBuilder.supportsPartialIndexes(), organisationUnitService.getNumberOfOrganisationalLevels() ) );
     }
@@ -152,7 +196,7 @@ public class DefaultResourceTableService
     @Transactional
     public void generateCategoryTable()
     {
-        resourceTableStore.generateResourceTable( new CategoryResourceTable(
+        generateResourceTable( CATEGORY_STRUCTURE, () -> new CategoryResourceTable(
             idObjectManager.getDataDimensionsNoAcl( Category.class ),
             idObjectManager.getDataDimensionsNoAcl( CategoryOptionGroupSet.class ) ) );
     }
@@ -161,34 +205,34 @@ public class DefaultResourceTableService
     @Transactional
     public void generateDataElementTable()
     {
-        resourceTableStore.generateResourceTable( new DataElementResourceTable(
+        generateResourceTable( DATA_ELEMENT_STRUCTURE, () -> new DataElementResourceTable(
             idObjectManager.getAllNoAcl( DataElement.class ) ) );
     }
 
     @Override
     public void generateDatePeriodTable()
     {
-        resourceTableStore.generateResourceTable( new DatePeriodResourceTable( null ) );
+        generateResourceTable( DATE_PERIOD_STRUCTURE, () -> new DatePeriodResourceTable( null ) );
     }
 
     @Override
     @Transactional
     public void generatePeriodTable()
     {
-        resourceTableStore.generateResourceTable( new PeriodResourceTable( periodService.getAllPeriods() ) );
+        generateResourceTable( PERIOD_STRUCTURE, () -> new PeriodResourceTable( periodService.getAllPeriods() ) );
     }
 
     @Override
     @Transactional
     public void generateCategoryOptionComboTable()
     {
-        resourceTableStore.generateResourceTable( new CategoryOptionComboResourceTable( null ) );
+        generateResourceTable( DATA_ELEMENT_CATEGORY_OPTION_COMBO, () -> new CategoryOptionComboResourceTable( null ) );
     }
 
     @Override
     public void generateDataApprovalRemapLevelTable()
     {
-        resourceTableStore.generateResourceTable( new DataApprovalRemapLevelResourceTable( null ) );
+        generateResourceTable( DATA_APPROVAL_REMAP_LEVEL, () -> new DataApprovalRemapLevelResourceTable( null ) );
     }
 
     @Override
@@ -199,8 +243,61 @@ public class DefaultResourceTableService
 
         if ( !orgUnitLevels.isEmpty() )
         {
-            resourceTableStore.generateResourceTable( new DataApprovalMinLevelResourceTable( orgUnitLevels ) );
+            generateResourceTable( DATA_APPROVAL_MIN_LEVEL,
+                () -> new DataApprovalMinLevelResourceTable( orgUnitLevels ) );
+        }
+    }
+
+    @Override
+    public boolean isResourceTableUpToDate( ResourceTableType tableType )
+    {
+        String fingerprint = getSourceFingerprint( tableType );
+
+        if ( fingerprint.equals( sourceFingerprints.get( tableType ) )
+            && dbmsManager.tableExists( tableType.getTableName() ) )
+        {
+            return true;
         }
+
+        pendingFingerprints.put( tableType, fingerprint );
+
+        return false;
+    }
+
+    /**
+     * Generates the given resource table. The fingerprint of the sources is
+     * taken before the resource table content is read, so that changes made
+     * during generation are picked up by the next generation. A fingerprint
+     * taken by {@link #isResourceTableUpToDate(ResourceTableType)} is reused
+     * to avoid reading the source tables twice.
+     *
+     * @param tableType the {@link ResourceTableType}.
+     * @param resourceTable the supplier of the {@link ResourceTable}.
+     */
+    private void generateResourceTable( ResourceTableType tableType, Supplier<ResourceTable<?>> resourceTable )
+    {
+        String pendingFingerprint = pendingFingerprints.remove( tableType );
+        String fingerprint = pendingFingerprint != null ? pendingFingerprint : getSourceFingerprint( tableType );
+
+        resourceTableStore.generateResourceTable( resourceTable.get() );
+
+        sourceFingerprints.put( tableType, fingerprint );
+    }
+
+    /**
+     * Returns a fingerprint of the source tables of the given resource table,
+     * including the calendar system setting for period resource tables.
+     *
+     * @param tableType the {@link ResourceTableType}.
+     * @return a fingerprint.
+     */
+    private String getSourceFingerprint( ResourceTableType tableType )
+    {
+        String fingerprint = resourceTableStore.getSourceFingerprint( tableType );
+
+        return CALENDAR_TABLES.contains( tableType )
+            ? fingerprint + ":" + systemSettingManager.getStringSetting( SettingKey.CALENDAR )
+            : fingerprint;
     }
 
     // -------------------------------------------------------------------------
@@ -28,9 +28,17 @@
 package org.hisp.dhis.resourcetable.jdbc;
 
 import static com.google.common.base.Preconditions.checkNotNull;
-
+import static java.util.stream.Collectors.joining;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -41,7 +49,12 @@ import org.hisp.dhis.dbms.DbmsManager;
 import org.hisp.dhis.jdbc.StatementBuilder;
 import org.hisp.dhis.resourcetable.ResourceTable;
 import org.hisp.dhis.resourcetable.ResourceTableStore;
+import org.hisp.dhis.resourcetable.ResourceTableType;
 import org.hisp.dhis.system.util.Clock;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.core.BaseConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
@@ -53,6 +66,17 @@ import org.springframework.stereotype.Service;
 public class JdbcResourceTableStore
     implements ResourceTableStore
 {
+    /**
+     * Number of characters to buffer before writing to the COPY stream.
+     */
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Table holding analytics table hooks, which affect the content of every
+     * resource table.
+     */
+    private static final String TABLE_NAME_HOOK = "tablehook";
+
     // -------------------------------------------------------------------------
     // Dependencies
     // -------------------------------------------------------------------------
@@ -113,7 +137,7 @@ public class JdbcResourceTableStore
         jdbcTemplate.execute( createTableSql );
 
         // ---------------------------------------------------------------------
-        // Populate temporary table through SQL or object batch update
+        // Populate temporary table through SQL or object copy
         // ---------------------------------------------------------------------
 
         if ( populateTableSql.isPresent() )
@@ -130,9 +154,7 @@ public class JdbcResourceTableStore
 
             if ( content.size() > 0 )
             {
-                int columns = content.get( 0 ).length;
-
-                batchUpdate( columns, resourceTable.getTempTableName(), content );
+                copy( resourceTable.getTempTableName(), content );
             }
         }
 
@@ -192,6 +214,88 @@ public class JdbcResourceTableStore
             String.format( "Resource table '%s' update done: '%s'", resourceTable.getTableName(), clock.time() ) );
     }
 
+    @Override
+    public void copy( String tableName, List<Object[]> rows )
+    {
+        if ( tableName == null || rows.isEmpty() )
+        {
+            return;
+        }
+
+        Long copied = jdbcTemplate.execute( (ConnectionCallback<Long>) connection -> {
+            if ( !connection.isWrapperFor( BaseConnection.class ) )
+            {
+                return null;
+            }
+
+            CopyManager copyManager = new CopyManager( connection.unwrap( BaseConnection.class ) );
+            CopyIn copyIn = copyManager.copyIn( "copy " + tableName + " from stdin" );
+
+            try
+            {
+                StringBuilder buffer = new StringBuilder();
+
+                for ( Object[] row : rows )
+                {
+                    appendCopyRow( buffer, row );
+
+                    if ( buffer.length() >= COPY_BUFFER_SIZE )
+                    {
+                        writeToCopy( copyIn, buffer );
+                    }
+                }
+
+                writeToCopy( copyIn, buffer );
+
+                return copyIn.endCopy();
+            }
+            finally
+            {
+                if ( copyIn.isActive() )
+                {
+                    copyIn.cancelCopy();
+                }
+            }
+        } );
+
+        if ( copied == null )
+        {
+            log.debug( String.format( "Connection does not support copy, using batch update for: '%s'", tableName ) );
+
+            batchUpdate( rows.get( 0 ).length, tableName, rows );
+        }
+    }
+
+    @Override
+    public String getSourceFingerprint( ResourceTableType tableType )
+    {
+        List<String> sourceTables = new ArrayList<>( tableType.getSourceTables() );
+        sourceTables.add( TABLE_NAME_HOOK );
+
+        String tableNames = sourceTables.stream()
+            .map( table -> "'" + table + "'" )
+            .collect( joining( "," ) );
+
+        Set<String> lastUpdatedTables = new HashSet<>( jdbcTemplate.queryForList(
+            "select table_name from information_schema.columns " +
+                "where table_schema = current_schema() and column_name = 'lastupdated' " +
+                "and table_name in (" + tableNames + ")",
+            String.class ) );
+
+        // Tables are fingerprinted by row count and the latest update, changes
+        // to membership join tables are reflected in the last updated column
+        // of their owning tables
+
+        String fingerprintSql = sourceTables.stream()
+            .map( table -> "select '" + table + ":' || count(*) || ':' || " +
+                (lastUpdatedTables.contains( table ) ? "coalesce(max(t.lastupdated)::text, '')" : "''")
+                + " as fingerprint from " + table + " t" )
+            .collect( joining( " union all " ) );
+
+        return jdbcTemplate.queryForObject( "select md5(string_agg(fingerprint, ',' order by fingerprint)) " +
+            "from (" + fingerprintSql + ") as fingerprints", String.class );
+    }
+
     @Override
     public void batchUpdate( int columns, String tableName, List<Object[]> batchArgs )
     {
@@ -211,4 +315,83 @@ public class JdbcResourceTableStore
 
         jdbcTemplate.batchUpdate( builder.toString(), batchArgs );
     }
+
+    // -------------------------------------------------------------------------
+    // Supportive methods
+    // -------------------------------------------------------------------------
+
+    /**
+     * Appends the given row in the PostgreSQL COPY text format.
+     *
+     * @param buffer the buffer to append to.
+     * @param row the row values.
+     */
+    static void appendCopyRow( StringBuilder buffer, Object[] row )
+    {
+        for ( int i = 0; i < row.length; i++ )
+        {
+            if ( i > 0 )
+            {
+                buffer.append( '\t' );
+            }
+
+            appendCopyValue( buffer, row[i] );
+        }
+
+        buffer.append( '\n' );
+    }
+
+    /**
+     * Appends the given value in the PostgreSQL COPY text format. Null is
+     * written as {@code \N}, backslashes and control characters are escaped
+     * and dates other than {@link java.sql.Date} are written as timestamps.
+     *
+     * @param buffer the buffer to append to.
+     * @param value the value.
+     */
+    static void appendCopyValue( StringBuilder buffer, Object value )
+    {
+        if ( value == null )
+        {
+            buffer.append( "\\N" );
+            return;
+        }
+
+        String text = value instanceof Date && !(value instanceof java.sql.Date)
+            ? new Timestamp( ((Date) value).getTime() ).toString()
+            : value.toString();
+
+        for ( int i = 0; i < text.length(); i++ )
+        {
+            char c = text.charAt( i );
+
+            switch ( c )
+            {
+            case '\\':
+                buffer.append( "\\\\" );
+                break;
+            case '\n':
+                buffer.append( "\\n" );
+                break;
+            case '\r':
+                buffer.append( "\\r" );
+                break;
+            case '\t':
+                buffer.append( "\\t" );
+                break;
+            default:
+                buffer.append( c );
+            }
+        }
+    }
+
+    private void writeToCopy( CopyIn copyIn, StringBuilder buffer )
+        throws SQLException
+    {
+        byte[] bytes = buffer.toString().getBytes( StandardCharsets.UTF_8 );
+
+        copyIn.writeToCopy( bytes, 0, bytes.length );
+
+        buffer.setLength( 0 );
+    }
 }
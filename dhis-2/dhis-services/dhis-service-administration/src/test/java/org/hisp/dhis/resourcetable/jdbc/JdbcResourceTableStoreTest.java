@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.resourcetable.table;
+package org.hisp.dhis.resourcetable.jdbc;
+
+import static org.hisp.dhis.resourcetable.jdbc.JdbcResourceTableStore.appendCopyRow;
+import static org.hisp.dhis.resourcetable.jdbc.JdbcResourceTableStore.appendCopyValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Date;
+import java.util.GregorianCalendar;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the COPY text format written by {@link JdbcResourceTableStore}.
+ */
+class JdbcResourceTableStoreTest
+{
+    @Test
+    void testAppendCopyValueNull()
+    {
+        assertEquals( "\\N", copyValue( null ) );
+    }
+
+    @Test
+    void testAppendCopyValuePlain()
+    {
+        assertEquals( "Bo", copyValue( "Bo" ) );
+        assertEquals( "42", copyValue( 42 ) );
+        assertEquals( "3.5", copyValue( 3.5 ) );
+        assertEquals( "true", copyValue( true ) );
+        assertEquals( "", copyValue( "" ) );
+    }
+
+    @Test
+    void testAppendCopyValueEscapesControlCharacters()
+    {
+        assertEquals( "A\\tB", copyValue( "A\tB" ) );
+        assertEquals( "A\\nB", copyValue( "A\nB" ) );
+        assertEquals( "A\\rB", copyValue( "A\rB" ) );
+        assertEquals( "A\\r\\nB", copyValue( "A\r\nB" ) );
+    }
+
+    @Test
+    void testAppendCopyValueEscapesBackslashes()
+    {
+        assertEquals( "A\\\\B", copyValue( "A\\B" ) );
+        assertEquals( "\\\\N", copyValue( "\\N" ) );
+        assertEquals( "\\\\t", copyValue( "\\t" ) );
+    }
+
+    @Test
+    void testAppendCopyValueDates()
+    {
+        Date date = new GregorianCalendar( 2022, 0, 15, 10, 30, 5 ).getTime();
+
+        assertEquals( "2022-01-15 10:30:05.0", copyValue( date ) );
+        assertEquals( "2022-01-15", copyValue( java.sql.Date.valueOf( "2022-01-15" ) ) );
+    }
+
+    @Test
+    void testAppendCopyRow()
+    {
+        StringBuilder buffer = new StringBuilder();
+
+        appendCopyRow( buffer, new Object[] { 1, null, "A\tB" } );
+        appendCopyRow( buffer, new Object[] { 2, "C\\D", "" } );
+
+        assertEquals( "1\t\\N\tA\\tB\n2\tC\\\\D\t\n", buffer.toString() );
+    }
+
+    private static String copyValue( Object value )
+    {
+        StringBuilder buffer = new StringBuilder();
+
+        appendCopyValue( buffer, value );
+
+        return buffer.toString();
+    }
+}
@@ -28,7 +28,7 @@
 package org.hisp.dhis.analytics;
 
 import java.util.Map;
-import java.util.concurrent.Future;
+import java.util.concurrent.CompletableFuture;
 
 import org.hisp.dhis.common.DimensionalItemObject;
 import org.hisp.dhis.common.IllegalQueryException;
@@ -54,7 +54,7 @@ public interface AnalyticsManager
      * @return a map.
      * @throws IllegalQueryException if query result set exceeds the max limit.
      */
-    Future<Map<String, Object>> getAggregatedDataValues( DataQueryParams params, AnalyticsTableType tableType,
+    CompletableFuture<Map<String, Object>> getAggregatedDataValues( DataQueryParams params, AnalyticsTableType tableType,
         int maxLimit );
 
     /**
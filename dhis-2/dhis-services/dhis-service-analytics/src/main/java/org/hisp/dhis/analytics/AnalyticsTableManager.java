@@ -90,6 +90,43 @@ public interface AnalyticsTableManager
         // NOOP by default
     }
 
+    /**
+     * Indicates whether this manager supports incremental updates, i.e.
+     * applying changed and deleted data in place to the existing analytics
+     * tables without rebuilding indexes and swapping tables.
+     *
+     * @return true if incremental updates are supported.
+     */
+    default boolean isIncrementalUpdateSupported()
+    {
+        return false;
+    }
+
+    /**
+     * Creates the staging table for the given partition of an incremental
+     * update. The staging table is populated with the changed data through
+     * {@link #populateTablePartition(AnalyticsTableUpdateParams, AnalyticsTablePartition)}.
+     *
+     * @param partition the analytics table partition.
+     */
+    default void createStagingTable( AnalyticsTablePartition partition )
+    {
+        // NOOP by default
+    }
+
+    /**
+     * Applies the staged data of the given partition to the existing analytics
+     * table. Rows for data which was updated or deleted in the time range of
+     * the partition are removed, and the staged rows are inserted. The staging
+     * table is dropped afterwards.
+     *
+     * @param partition the analytics table partition.
+     */
+    default void applyIncrementalUpdate( AnalyticsTablePartition partition )
+    {
+        // NOOP by default
+    }
+
     /**
      * Attempts to drop and then create analytics table.
      *
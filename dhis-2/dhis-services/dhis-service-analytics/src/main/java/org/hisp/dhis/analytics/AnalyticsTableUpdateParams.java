@@ -55,6 +55,13 @@ public class AnalyticsTableUpdateParams
      */
     private Integer lastYears;
 
+    /**
+     * Indicates whether to apply data changed since the last update in place
+     * to the existing analytics tables, instead of populating and swapping a
+     * "latest" partition. Only applies to "latest" updates.
+     */
+    private boolean incrementalUpdate;
+
     /**
      * Indicates whether to skip update of resource tables.
      */
@@ -157,6 +164,15 @@ public class AnalyticsTableUpdateParams
         return Objects.equals( lastYears, AnalyticsTablePartition.LATEST_PARTITION );
     }
 
+    /**
+     * Indicates whether this is an incremental update, where changed data is
+     * applied in place to the existing analytics tables.
+     */
+    public boolean isIncrementalUpdate()
+    {
+        return isLatestUpdate() && incrementalUpdate;
+    }
+
     // -------------------------------------------------------------------------
     // toString
     // -------------------------------------------------------------------------
@@ -166,6 +182,7 @@ public class AnalyticsTableUpdateParams
     {
         return MoreObjects.toStringHelper( this )
             .add( "last years", lastYears )
+            .add( "incremental update", incrementalUpdate )
             .add( "skip resource tables", skipResourceTables )
             .add( "skip table types", skipTableTypes )
             .add( "skip programs", skipPrograms )
@@ -209,6 +226,7 @@ public class AnalyticsTableUpdateParams
         AnalyticsTableUpdateParams params = new AnalyticsTableUpdateParams();
 
         params.lastYears = this.lastYears;
+        params.incrementalUpdate = this.incrementalUpdate;
         params.skipResourceTables = this.skipResourceTables;
         params.skipTableTypes = new HashSet<>( this.skipTableTypes );
         params.skipPrograms = new HashSet<>( this.skipPrograms );
@@ -258,6 +276,13 @@ public class AnalyticsTableUpdateParams
             return this;
         }
 
+        public Builder withIncrementalUpdate()
+        {
+            this.params.lastYears = AnalyticsTablePartition.LATEST_PARTITION;
+            this.params.incrementalUpdate = true;
+            return this;
+        }
+
         public Builder withSkipResourceTables( boolean skipResourceTables )
         {
             this.params.skipResourceTables = skipResourceTables;
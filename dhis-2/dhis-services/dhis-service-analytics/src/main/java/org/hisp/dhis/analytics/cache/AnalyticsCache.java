@@ -34,11 +34,12 @@ import java.util.function.Function;
 
 import lombok.extern.slf4j.Slf4j;
 
-import org.apache.commons.lang3.SerializationUtils;
 import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.cache.Cache;
 import org.hisp.dhis.cache.CacheProvider;
 import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.system.grid.ColumnarGrid;
+import org.hisp.dhis.system.grid.ListGrid;
 import org.springframework.stereotype.Component;
 
 /**
@@ -92,7 +93,7 @@ public class AnalyticsCache
 
         if ( cachedGrid.isPresent() )
         {
-            return getGridClone( cachedGrid.get() );
+            return cachedGrid.get();
         }
         else
         {
@@ -100,7 +101,7 @@ public class AnalyticsCache
 
             put( params, grid );
 
-            return getGridClone( grid );
+            return grid;
         }
     }
 
@@ -157,11 +158,26 @@ public class AnalyticsCache
         return analyticsCacheSettings.isCachingEnabled();
     }
 
+    /**
+     * Returns a copy of the given grid. Cached grids are never handed out
+     * directly, as consumers are free to modify the returned grid. The copy is
+     * structural, meaning that rows and meta data are copied while cell values
+     * are shared, which avoids the cost of serialization based cloning. A
+     * {@link ColumnarGrid} is copied into a {@link ColumnarGrid}, any other
+     * grid into a {@link ListGrid}.
+     *
+     * @param grid the grid.
+     * @return a copy of the grid, or null if the given grid is null.
+     */
     private Grid getGridClone( Grid grid )
     {
-        if ( grid != null )
+        if ( grid instanceof ColumnarGrid )
+        {
+            return new ColumnarGrid( grid );
+        }
+        else if ( grid != null )
         {
-            return SerializationUtils.clone( grid );
+            return new ListGrid( grid );
         }
 
         return null;
@@ -169,6 +185,6 @@ public class AnalyticsCache
 
     private Optional<Grid> getGridClone( Optional<Grid> grid )
     {
-        return grid.map( SerializationUtils::clone );
+        return grid.map( this::getGridClone );
     }
 }
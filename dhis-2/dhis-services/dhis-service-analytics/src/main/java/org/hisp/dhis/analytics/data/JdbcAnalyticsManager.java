@@ -50,6 +50,8 @@ import static org.hisp.dhis.commons.util.TextUtils.getQuotedCommaDelimitedString
 import static org.hisp.dhis.commons.util.TextUtils.removeLastOr;
 import static org.hisp.dhis.util.DateUtils.getMediumDateString;
 
+import java.sql.ResultSet;
+import java.sql.Statement;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
@@ -57,11 +59,12 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.Future;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
 
+import org.apache.commons.lang3.mutable.MutableInt;
 import org.hisp.dhis.analytics.AggregationType;
 import org.hisp.dhis.analytics.AnalyticsAggregationType;
 import org.hisp.dhis.analytics.AnalyticsManager;
@@ -90,10 +93,10 @@ import org.hisp.dhis.period.PeriodType;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.support.rowset.SqlRowSet;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.scheduling.annotation.Async;
-import org.springframework.scheduling.annotation.AsyncResult;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 
@@ -148,8 +151,8 @@ public class JdbcAnalyticsManager
 
     @Override
     @Async
-    public Future<Map<String, Object>> getAggregatedDataValues( DataQueryParams params, AnalyticsTableType tableType,
-        int maxLimit )
+    public CompletableFuture<Map<String, Object>> getAggregatedDataValues( DataQueryParams params,
+        AnalyticsTableType tableType, int maxLimit )
     {
         assertQuery( params );
 
@@ -185,7 +188,7 @@ public class JdbcAnalyticsManager
             if ( params.analyzeOnly() )
             {
                 executionPlanStore.addExecutionPlan( params.getExplainOrderId(), sql );
-                return new AsyncResult<>( Maps.newHashMap() );
+                return CompletableFuture.completedFuture( Maps.newHashMap() );
             }
 
             Map<String, Object> map;
@@ -197,12 +200,12 @@ public class JdbcAnalyticsManager
             catch ( BadSqlGrammarException ex )
             {
                 log.info( AnalyticsUtils.ERR_MSG_TABLE_NOT_EXISTING, ex );
-                return new AsyncResult<>( Maps.newHashMap() );
+                return CompletableFuture.completedFuture( Maps.newHashMap() );
             }
 
             replaceDataPeriodsWithAggregationPeriods( map, params, dataPeriodAggregationPeriodMap );
 
-            return new AsyncResult<>( map );
+            return CompletableFuture.completedFuture( map );
         }
         catch ( DataAccessResourceFailureException ex )
         {
@@ -687,7 +690,9 @@ public class JdbcAnalyticsManager
 
     /**
      * Retrieves data from the database based on the given query and SQL and
-     * puts into a value key and value mapping.
+     * puts into a value key and value mapping. The result set is read through
+     * a database cursor in batches of the fetch size, and the query is aborted
+     * as soon as the max limit is exceeded.
      */
     private Map<String, Object> getKeyValueMap( DataQueryParams params, String sql, int maxLimit )
     {
@@ -695,49 +700,98 @@ public class JdbcAnalyticsManager
 
         log.debug( String.format( "Analytics SQL: %s", sql ) );
 
-        SqlRowSet rowSet = jdbcTemplate.queryForRowSet( sql );
+        List<DimensionalObject> dimensions = params.getDimensions();
 
-        int counter = 0;
+        String[] columns = new String[dimensions.size()];
+        String[] queryModsIds = new String[dimensions.size()];
 
-        while ( rowSet.next() )
+        for ( int i = 0; i < dimensions.size(); i++ )
         {
-            boolean exceedsMaxLimit = maxLimit > 0 && ++counter > maxLimit;
+            DimensionalObject dim = dimensions.get( i );
+
+            columns[i] = dim.isFixed() ? null : dim.getDimensionName();
+            queryModsIds[i] = params.getQueryModsId( dim );
+        }
+
+        boolean isText = params.isDataType( TEXT );
+
+        StringBuilder key = new StringBuilder();
+
+        MutableInt counter = new MutableInt();
+
+        queryWithCursor( sql, rs -> {
+            boolean exceedsMaxLimit = maxLimit > 0 && counter.incrementAndGet() > maxLimit;
 
             if ( exceedsMaxLimit )
             {
                 throwIllegalQueryEx( ErrorCode.E7128, maxLimit );
             }
 
-            StringBuilder key = new StringBuilder();
+            key.setLength( 0 );
 
-            for ( DimensionalObject dim : params.getDimensions() )
+            for ( int i = 0; i < columns.length; i++ )
             {
-                String value = dim.isFixed() ? dim.getDimensionName() : rowSet.getString( dim.getDimensionName() );
-
-                String queryModsId = params.getQueryModsId( dim );
+                String value = columns[i] == null ? dimensions.get( i ).getDimensionName()
+                    : rs.getString( columns[i] );
 
-                key.append( value ).append( queryModsId ).append( DIMENSION_SEP );
+                key.append( value ).append( queryModsIds[i] ).append( DIMENSION_SEP );
             }
 
             key.deleteCharAt( key.length() - 1 );
 
-            if ( params.isDataType( TEXT ) )
+            if ( isText )
             {
-                String value = rowSet.getString( VALUE_ID );
-
-                map.put( key.toString(), value );
+                map.put( key.toString(), rs.getString( VALUE_ID ) );
             }
             else // NUMERIC
             {
-                Double value = rowSet.getDouble( VALUE_ID );
-
-                map.put( key.toString(), value );
+                map.put( key.toString(), rs.getDouble( VALUE_ID ) );
             }
-        }
+        } );
 
         return map;
     }
 
+    /**
+     * Executes the given query and passes each row to the given handler. The
+     * PostgreSQL driver only reads a result set through a cursor in batches of
+     * the fetch size when auto-commit is off, and otherwise buffers the entire
+     * result set in memory. The query is hence executed in a read-only
+     * transaction which is rolled back when the result set has been read or
+     * the handler fails, after which auto-commit is restored.
+     *
+     * @param sql the SQL query.
+     * @param handler the {@link RowCallbackHandler}.
+     */
+    private void queryWithCursor( String sql, RowCallbackHandler handler )
+    {
+        jdbcTemplate.execute( (ConnectionCallback<Object>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+
+            connection.setAutoCommit( false );
+
+            try ( Statement statement = connection.createStatement() )
+            {
+                statement.setFetchSize( jdbcTemplate.getFetchSize() );
+
+                try ( ResultSet rs = statement.executeQuery( sql ) )
+                {
+                    while ( rs.next() )
+                    {
+                        handler.processRow( rs );
+                    }
+                }
+            }
+            finally
+            {
+                connection.rollback();
+                connection.setAutoCommit( autoCommit );
+            }
+
+            return null;
+        } );
+    }
+
     /**
      * Generates a comma-delimited string based on the dimension names of the
      * given dimensions where each dimension name is quoted.
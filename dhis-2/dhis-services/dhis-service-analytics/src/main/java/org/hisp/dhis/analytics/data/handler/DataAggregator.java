@@ -39,9 +39,9 @@ import static org.hisp.dhis.common.DimensionalObject.DATA_X_DIM_ID;
 import javax.annotation.PostConstruct;
 
 import org.hisp.dhis.analytics.DataQueryParams;
+import org.hisp.dhis.analytics.data.AnalyticsGridFactory;
 import org.hisp.dhis.common.DimensionalObject;
 import org.hisp.dhis.common.Grid;
-import org.hisp.dhis.system.grid.ListGrid;
 import org.springframework.stereotype.Component;
 
 /**
@@ -57,15 +57,20 @@ public class DataAggregator
 
     private final DataHandler dataHandler;
 
-    public DataAggregator( HeaderHandler headerHandler, MetadataHandler metadataHandler, DataHandler dataHandler )
+    private final AnalyticsGridFactory gridFactory;
+
+    public DataAggregator( HeaderHandler headerHandler, MetadataHandler metadataHandler, DataHandler dataHandler,
+        AnalyticsGridFactory gridFactory )
     {
         checkNotNull( headerHandler );
         checkNotNull( metadataHandler );
         checkNotNull( dataHandler );
+        checkNotNull( gridFactory );
 
         this.headerHandler = headerHandler;
         this.metaDataHandler = metadataHandler;
         this.dataHandler = dataHandler;
+        this.gridFactory = gridFactory;
     }
 
     /**
@@ -75,6 +80,27 @@ public class DataAggregator
      * @return a grid with aggregated data.
      */
     public Grid getAggregatedDataValueGrid( DataQueryParams params )
+    {
+        dataHandler.startQueryTimings();
+
+        try
+        {
+            return createAggregatedDataValueGrid( params );
+        }
+        finally
+        {
+            dataHandler.endQueryTimings();
+        }
+    }
+
+    /**
+     * Creates a grid with aggregated data. Sub-query timings are recorded
+     * while the grid is created.
+     *
+     * @param params the {@link DataQueryParams}.
+     * @return a grid with aggregated data.
+     */
+    private Grid createAggregatedDataValueGrid( DataQueryParams params )
     {
         params = preHandleQuery( params );
 
@@ -82,7 +108,7 @@ public class DataAggregator
         // Headers
         // ---------------------------------------------------------------------
 
-        Grid grid = new ListGrid();
+        Grid grid = gridFactory.createGrid();
 
         headerHandler.addHeaders( params, grid );
 
@@ -112,6 +138,8 @@ public class DataAggregator
 
         metaDataHandler.addMetaData( params, grid );
 
+        dataHandler.addQueryTimings( params, grid );
+
         metaDataHandler.handleDataValueSet( params, grid );
 
         metaDataHandler.applyIdScheme( params, grid );
@@ -129,7 +157,7 @@ public class DataAggregator
      */
     public Grid getRawDataGrid( DataQueryParams params )
     {
-        Grid grid = new ListGrid();
+        Grid grid = gridFactory.createGrid();
 
         params = dataHandler.prepareForRawDataQuery( params );
 
@@ -37,6 +37,7 @@ import static org.apache.commons.lang3.ArrayUtils.remove;
 import static org.apache.commons.lang3.StringUtils.join;
 import static org.hisp.dhis.analytics.AnalyticsAggregationType.COUNT;
 import static org.hisp.dhis.analytics.AnalyticsAggregationType.SUM;
+import static org.hisp.dhis.analytics.AnalyticsMetaDataKey.QUERY_TIMINGS;
 import static org.hisp.dhis.analytics.AnalyticsTableType.COMPLETENESS;
 import static org.hisp.dhis.analytics.AnalyticsTableType.COMPLETENESS_TARGET;
 import static org.hisp.dhis.analytics.AnalyticsTableType.DATA_VALUE;
@@ -62,6 +63,7 @@ import static org.hisp.dhis.analytics.util.AnalyticsUtils.getRoundedValue;
 import static org.hisp.dhis.analytics.util.AnalyticsUtils.getRoundedValueObject;
 import static org.hisp.dhis.analytics.util.AnalyticsUtils.hasPeriod;
 import static org.hisp.dhis.analytics.util.AnalyticsUtils.isPeriodInPeriods;
+import static org.hisp.dhis.analytics.util.AnalyticsUtils.throwIllegalQueryEx;
 import static org.hisp.dhis.analytics.util.PeriodOffsetUtils.getPeriodOffsetRow;
 import static org.hisp.dhis.analytics.util.ReportRatesHelper.getCalculatedTarget;
 import static org.hisp.dhis.common.DataDimensionItemType.DATA_ELEMENT;
@@ -104,12 +106,18 @@ import static org.hisp.dhis.system.util.MathUtils.getWithin;
 import static org.hisp.dhis.system.util.MathUtils.isZero;
 import static org.hisp.dhis.util.ObjectUtils.firstNonNull;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Future;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -138,11 +146,13 @@ import org.hisp.dhis.common.DimensionalItemObject;
 import org.hisp.dhis.common.DimensionalObject;
 import org.hisp.dhis.common.ExecutionPlan;
 import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.common.QueryTiming;
 import org.hisp.dhis.common.ReportingRateMetric;
 import org.hisp.dhis.constant.ConstantService;
 import org.hisp.dhis.dataelement.DataElementOperand;
 import org.hisp.dhis.dataelement.DataElementOperand.TotalType;
 import org.hisp.dhis.expression.ExpressionService;
+import org.hisp.dhis.feedback.ErrorCode;
 import org.hisp.dhis.indicator.Indicator;
 import org.hisp.dhis.indicator.IndicatorValue;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
@@ -189,6 +199,18 @@ public class DataHandler
 
     private final ExecutionPlanStore executionPlanStore;
 
+    /**
+     * Number of analytics sub-queries currently running across all requests,
+     * used as a measure of the current database load.
+     */
+    private final AtomicInteger runningQueries = new AtomicInteger();
+
+    /**
+     * Timings of the sub-queries executed for the request of the current
+     * thread, present only while a request is being handled.
+     */
+    private final ThreadLocal<QueryTimings> queryTimings = new ThreadLocal<>();
+
     public DataHandler( EventAnalyticsService eventAnalyticsService, RawAnalyticsManager rawAnalyticsManager,
         ExpressionResolvers resolvers, ExpressionService expressionService,
         QueryPlanner queryPlanner, QueryValidator queryValidator, SystemSettingManager systemSettingManager,
@@ -232,6 +254,59 @@ public class DataHandler
         }
     }
 
+    /**
+     * Starts recording sub-query timings for the current thread. Requests
+     * which are nested in another request share the timings of the outermost
+     * request. Must be followed by {@link #endQueryTimings()} in a finally
+     * block.
+     */
+    void startQueryTimings()
+    {
+        QueryTimings timings = queryTimings.get();
+
+        if ( timings == null )
+        {
+            timings = new QueryTimings();
+            queryTimings.set( timings );
+        }
+
+        timings.depth++;
+    }
+
+    /**
+     * Ends recording sub-query timings for the current thread. The timings are
+     * cleared when the outermost request ends.
+     */
+    void endQueryTimings()
+    {
+        QueryTimings timings = queryTimings.get();
+
+        if ( timings != null && --timings.depth == 0 )
+        {
+            queryTimings.remove();
+        }
+    }
+
+    /**
+     * Adds the sub-query timings recorded for the current thread to the meta
+     * data of the given grid. Does nothing if the query skips meta data. Must
+     * be invoked after the meta data has been added to the grid.
+     *
+     * @param params the {@link DataQueryParams}.
+     * @param grid the grid.
+     */
+    void addQueryTimings( DataQueryParams params, Grid grid )
+    {
+        QueryTimings timings = queryTimings.get();
+
+        if ( !params.isSkipMeta() && timings != null && !timings.timings.isEmpty() && grid.getMetaData() != null )
+        {
+            Map<String, Object> metaData = new HashMap<>( grid.getMetaData() );
+            metaData.put( QUERY_TIMINGS.getKey(), new ArrayList<>( timings.timings ) );
+            grid.setMetaData( metaData );
+        }
+    }
+
     /**
      * Adds indicator values to the given grid based on the given data query
      * parameters.
@@ -1094,7 +1169,7 @@ public class DataHandler
     {
         queryValidator.validateMaintenanceMode();
 
-        int optimalQueries = getWithin( getProcessNo(), 1, MAX_QUERIES );
+        int optimalQueries = getOptimalQueries();
 
         int maxLimit = params.isIgnoreLimit() ? 0
             : systemSettingManager.getIntSetting( ANALYTICS_MAX_LIMIT );
@@ -1123,43 +1198,174 @@ public class DataHandler
         return map;
     }
 
+    /**
+     * Executes the given queries in parallel and merges the partial results
+     * into the given map in order of completion. At most as many queries as
+     * the database currently has spare capacity for are in flight at any
+     * time, the remaining queries are submitted as earlier ones complete. If
+     * the merged result exceeds the max limit, or if a query fails, the
+     * remaining queries are not submitted. Queries in flight are not
+     * cancelled, as cancelling the future does not stop the database query,
+     * and keep counting as running until they complete.
+     *
+     * @param tableType the {@link AnalyticsTableType}.
+     * @param maxLimit the max number of records, 0 for no limit.
+     * @param map the map to merge the partial results into.
+     * @param queries the queries to execute.
+     */
     private void executeQueries( AnalyticsTableType tableType, int maxLimit, Map<String, Object> map,
         List<DataQueryParams> queries )
     {
-        List<Future<Map<String, Object>>> futures = new ArrayList<>();
+        Deque<DataQueryParams> pending = new ArrayDeque<>( queries );
+        BlockingQueue<SubQuery> completed = new LinkedBlockingQueue<>();
+        List<SubQuery> inFlight = new ArrayList<>();
 
-        for ( DataQueryParams query : queries )
+        int parallelism = min( getOptimalQueries(), queries.size() );
+
+        while ( !pending.isEmpty() && inFlight.size() < parallelism )
         {
-            futures.add( analyticsManager.getAggregatedDataValues( query, tableType, maxLimit ) );
+            inFlight.add( submitQuery( pending.poll(), tableType, maxLimit, completed ) );
         }
 
-        for ( Future<Map<String, Object>> future : futures )
+        try
         {
-            try
+            while ( !inFlight.isEmpty() )
             {
-                Map<String, Object> taskValues = future.get();
+                SubQuery subQuery = completed.take();
+
+                inFlight.remove( subQuery );
+
+                Map<String, Object> taskValues = getQueryResult( subQuery );
 
                 if ( taskValues != null )
                 {
                     map.putAll( taskValues );
                 }
-            }
-            catch ( Exception ex )
-            {
-                log.error( getStackTrace( ex ) );
-                log.error( getStackTrace( ex.getCause() ) );
 
-                if ( ex.getCause() instanceof RuntimeException )
+                addQueryTiming( subQuery, tableType, taskValues );
+
+                if ( maxLimit > 0 && map.size() > maxLimit )
                 {
-                    // Throw the real exception
-                    throw (RuntimeException) ex.getCause();
+                    throwIllegalQueryEx( ErrorCode.E7128, maxLimit );
                 }
-                else
+
+                if ( !pending.isEmpty() )
                 {
-                    throw new RuntimeException( "Error during execution of aggregation query task", ex );
+                    inFlight.add( submitQuery( pending.poll(), tableType, maxLimit, completed ) );
                 }
             }
         }
+        catch ( InterruptedException ex )
+        {
+            Thread.currentThread().interrupt();
+
+            throw new RuntimeException( "Interrupted during execution of aggregation query task", ex );
+        }
+    }
+
+    /**
+     * Submits the given query for asynchronous execution. The sub-query is
+     * added to the given queue when the query completes.
+     *
+     * @param query the {@link DataQueryParams}.
+     * @param tableType the {@link AnalyticsTableType}.
+     * @param maxLimit the max number of records, 0 for no limit.
+     * @param completed the queue of completed sub-queries.
+     * @return the submitted {@link SubQuery}.
+     */
+    private SubQuery submitQuery( DataQueryParams query, AnalyticsTableType tableType, int maxLimit,
+        BlockingQueue<SubQuery> completed )
+    {
+        runningQueries.incrementAndGet();
+
+        SubQuery subQuery = new SubQuery( query );
+
+        try
+        {
+            subQuery.future = analyticsManager.getAggregatedDataValues( query, tableType, maxLimit );
+        }
+        catch ( RuntimeException ex )
+        {
+            runningQueries.decrementAndGet();
+            throw ex;
+        }
+
+        subQuery.future.whenComplete( ( values, ex ) -> {
+            runningQueries.decrementAndGet();
+            subQuery.end();
+            completed.add( subQuery );
+        } );
+
+        return subQuery;
+    }
+
+    /**
+     * Returns the result of the given completed sub-query. Throws the cause of
+     * the failure if the sub-query failed.
+     *
+     * @param subQuery the completed {@link SubQuery}.
+     * @return the result of the sub-query.
+     */
+    private Map<String, Object> getQueryResult( SubQuery subQuery )
+    {
+        try
+        {
+            return subQuery.future.get();
+        }
+        catch ( Exception ex )
+        {
+            log.error( getStackTrace( ex ) );
+            log.error( getStackTrace( ex.getCause() ) );
+
+            if ( ex.getCause() instanceof RuntimeException )
+            {
+                // Throw the real exception
+                throw (RuntimeException) ex.getCause();
+            }
+            else
+            {
+                throw new RuntimeException( "Error during execution of aggregation query task", ex );
+            }
+        }
+    }
+
+    /**
+     * Records the timing of the given completed sub-query for the current
+     * request. Does nothing if no request is recording timings.
+     *
+     * @param subQuery the completed {@link SubQuery}.
+     * @param tableType the {@link AnalyticsTableType}.
+     * @param values the result of the sub-query.
+     */
+    private void addQueryTiming( SubQuery subQuery, AnalyticsTableType tableType, Map<String, Object> values )
+    {
+        QueryTiming timing = new QueryTiming();
+        timing.setTableType( tableType.name() );
+        timing.setPartitions( subQuery.query.hasPartitions()
+            ? new ArrayList<>( subQuery.query.getPartitions().getPartitions() )
+            : newArrayList() );
+        timing.setRows( values != null ? values.size() : 0 );
+        timing.setTimeInMillis( subQuery.getTimeInMillis() );
+
+        QueryTimings timings = queryTimings.get();
+
+        if ( timings != null )
+        {
+            timings.timings.add( timing );
+        }
+    }
+
+    /**
+     * Gets the number of queries to plan and run in parallel. This is the
+     * number of available database cores minus the number of analytics
+     * sub-queries currently running across all requests, within the range of
+     * 1 and {@link DataHandler#MAX_QUERIES}.
+     *
+     * @return the number of queries to run in parallel.
+     */
+    private int getOptimalQueries()
+    {
+        return getWithin( getProcessNo() - runningQueries.get(), 1, MAX_QUERIES );
     }
 
     /**
@@ -1193,4 +1399,44 @@ public class DataHandler
     {
         this.dataAggregator = dataAggregator;
     }
+
+    /**
+     * The sub-query timings of a request and the number of nested requests
+     * sharing them.
+     */
+    private static class QueryTimings
+    {
+        private final List<QueryTiming> timings = new ArrayList<>();
+
+        private int depth;
+    }
+
+    /**
+     * A sub-query submitted for asynchronous execution.
+     */
+    private static class SubQuery
+    {
+        private final DataQueryParams query;
+
+        private final long startTime = System.nanoTime();
+
+        private volatile long endTime;
+
+        private CompletableFuture<Map<String, Object>> future;
+
+        SubQuery( DataQueryParams query )
+        {
+            this.query = query;
+        }
+
+        void end()
+        {
+            endTime = System.nanoTime();
+        }
+
+        long getTimeInMillis()
+        {
+            return TimeUnit.NANOSECONDS.toMillis( endTime - startTime );
+        }
+    }
 }
@@ -64,6 +64,7 @@ import org.hisp.dhis.analytics.DataQueryParams;
 import org.hisp.dhis.analytics.EventAnalyticsDimensionalItem;
 import org.hisp.dhis.analytics.Rectangle;
 import org.hisp.dhis.analytics.cache.AnalyticsCache;
+import org.hisp.dhis.analytics.data.AnalyticsGridFactory;
 import org.hisp.dhis.analytics.data.handler.SchemaIdResponseMapper;
 import org.hisp.dhis.analytics.event.EnrollmentAnalyticsManager;
 import org.hisp.dhis.analytics.event.EventAnalyticsManager;
@@ -185,6 +186,8 @@ public class DefaultEventAnalyticsService
 
     private final AnalyticsCache analyticsCache;
 
+    private final AnalyticsGridFactory gridFactory;
+
     final SchemaIdResponseMapper schemaIdResponseMapper;
 
     public DefaultEventAnalyticsService( DataElementService dataElementService,
@@ -192,7 +195,7 @@ public class DefaultEventAnalyticsService
         EventDataQueryService eventDataQueryService, AnalyticsSecurityManager securityManager,
         EventQueryPlanner queryPlanner, EventQueryValidator queryValidator, DatabaseInfo databaseInfo,
         AnalyticsCache analyticsCache, EnrollmentAnalyticsManager enrollmentAnalyticsManager,
-        SchemaIdResponseMapper schemaIdResponseMapper )
+        SchemaIdResponseMapper schemaIdResponseMapper, AnalyticsGridFactory gridFactory )
     {
         super( securityManager, queryValidator, schemaIdResponseMapper );
 
@@ -204,6 +207,7 @@ public class DefaultEventAnalyticsService
         checkNotNull( databaseInfo );
         checkNotNull( analyticsCache );
         checkNotNull( schemaIdResponseMapper );
+        checkNotNull( gridFactory );
 
         this.dataElementService = dataElementService;
         this.trackedEntityAttributeService = trackedEntityAttributeService;
@@ -214,6 +218,7 @@ public class DefaultEventAnalyticsService
         this.analyticsCache = analyticsCache;
         this.enrollmentAnalyticsManager = enrollmentAnalyticsManager;
         this.schemaIdResponseMapper = schemaIdResponseMapper;
+        this.gridFactory = gridFactory;
     }
 
     // -------------------------------------------------------------------------
@@ -530,7 +535,7 @@ public class DefaultEventAnalyticsService
     {
         params.removeProgramIndicatorItems();
 
-        Grid grid = new ListGrid();
+        Grid grid = gridFactory.createGrid();
 
         int maxLimit = queryValidator.getMaxLimit();
 
@@ -715,7 +720,7 @@ public class DefaultEventAnalyticsService
     @Override
     protected Grid createGridWithHeaders( EventQueryParams params )
     {
-        Grid grid = new ListGrid();
+        Grid grid = gridFactory.createGrid();
 
         grid
             .addHeader( new GridHeader( ITEM_EVENT, NAME_EVENT, TEXT, false, true ) )
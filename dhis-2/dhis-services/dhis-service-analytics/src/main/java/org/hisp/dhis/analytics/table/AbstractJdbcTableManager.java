@@ -32,12 +32,14 @@ import static org.hisp.dhis.analytics.ColumnDataType.CHARACTER_11;
 import static org.hisp.dhis.analytics.ColumnDataType.TEXT;
 import static org.hisp.dhis.analytics.util.AnalyticsIndexHelper.createIndexStatement;
 import static org.hisp.dhis.analytics.util.AnalyticsIndexHelper.getIndexName;
+import static org.hisp.dhis.analytics.util.AnalyticsIndexHelper.getIndexes;
 import static org.hisp.dhis.analytics.util.AnalyticsSqlUtils.quote;
 import static org.hisp.dhis.util.DateUtils.getLongDateString;
 
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -258,6 +260,62 @@ public abstract class AbstractJdbcTableManager
         populateTable( params, partition );
     }
 
+    @Override
+    public void createStagingTable( AnalyticsTablePartition partition )
+    {
+        AnalyticsTable table = partition.getMasterTable();
+        String tableName = partition.getTempTableName();
+
+        String sql = "create table " + tableName + " (" +
+            ListUtils.union( table.getDimensionColumns(), table.getValueColumns() ).stream()
+                .map( col -> {
+                    String notNull = col.getNotNull().isNotNull() ? " not null" : "";
+                    return col.getName() + " " + col.getDataType().getValue() + notNull;
+                } )
+                .collect( Collectors.joining( "," ) )
+            + ")";
+
+        log.debug( "Create staging table: '{}' with SQL: '{}'", tableName, sql );
+
+        jdbcTemplate.execute( sql );
+    }
+
+    @Override
+    public void applyIncrementalUpdate( AnalyticsTablePartition partition )
+    {
+        AnalyticsTable table = partition.getMasterTable();
+        String stagingTableName = partition.getTempTableName();
+        Optional<String> removeUpdatedDataSql = getRemoveUpdatedDataSql( table, partition );
+
+        if ( !isIncrementalUpdateSupported() || removeUpdatedDataSql.isEmpty() )
+        {
+            log.warn( "Incremental update not supported for table type: '{}', ignoring staging table: '{}'",
+                getAnalyticsTableType(), stagingTableName );
+
+            dropTableCascade( stagingTableName );
+            return;
+        }
+
+        if ( getPartitionColumn() != null )
+        {
+            createMissingPartitions( table, stagingTableName );
+        }
+
+        String columns = ListUtils.union( table.getDimensionColumns(), table.getValueColumns() ).stream()
+            .map( AnalyticsTableColumn::getName )
+            .collect( Collectors.joining( "," ) );
+
+        // Remove and insert in one statement batch to not expose partial data
+
+        String sql = removeUpdatedDataSql.get() + ";" +
+            "insert into " + table.getTableName() + " (" + columns + ") " +
+            "select " + columns + " from " + stagingTableName + ";";
+
+        invokeTimeAndLog( sql, String.format( "Apply incremental update to table: '%s'", table.getTableName() ) );
+
+        dropTableCascade( stagingTableName );
+    }
+
     @Override
     public int invokeAnalyticsTableSqlHooks()
     {
@@ -304,6 +362,22 @@ public abstract class AbstractJdbcTableManager
      */
     protected abstract boolean hasUpdatedLatestData( Date startDate, Date endDate );
 
+    /**
+     * Returns a SQL statement which removes rows from the given analytics table
+     * for data which was created, updated or deleted in the time range of the
+     * given partition. Managers which support incremental updates must
+     * override this method.
+     *
+     * @param table the {@link AnalyticsTable}.
+     * @param partition the {@link AnalyticsTablePartition}.
+     * @return a SQL delete statement, or an empty {@link Optional} if the table
+     *         type does not support incremental updates.
+     */
+    protected Optional<String> getRemoveUpdatedDataSql( AnalyticsTable table, AnalyticsTablePartition partition )
+    {
+        return Optional.empty();
+    }
+
     // -------------------------------------------------------------------------
     // Protected supportive methods
     // -------------------------------------------------------------------------
@@ -427,7 +501,9 @@ public abstract class AbstractJdbcTableManager
      * Creates a {@link AnalyticsTable} with a partition for the "latest" data.
      * The start date of the partition is the time of the last successful full
      * analytics table update. The end date of the partition is the start time
-     * of this analytics table update process.
+     * of this analytics table update process. For incremental updates, the
+     * start date of the partition is the time of the last successful update of
+     * any kind, as earlier changes are already applied to the tables.
      *
      * @param params the {@link AnalyticsTableUpdateParams}.
      * @param dimensionColumns the list of dimension
@@ -446,6 +522,7 @@ public abstract class AbstractJdbcTableManager
         Assert.notNull( lastFullTableUpdate,
             "A full analytics table update process must be run prior to a latest partition update process" );
 
+        Date startDate = isIncrementalUpdate( params ) ? lastAnyTableUpdate : lastFullTableUpdate;
         Date endDate = params.getStartTime();
         boolean hasUpdatedData = hasUpdatedLatestData( lastAnyTableUpdate, endDate );
 
@@ -453,9 +530,9 @@ public abstract class AbstractJdbcTableManager
 
         if ( hasUpdatedData )
         {
-            table.addPartitionTable( AnalyticsTablePartition.LATEST_PARTITION, lastFullTableUpdate, endDate );
+            table.addPartitionTable( AnalyticsTablePartition.LATEST_PARTITION, startDate, endDate );
             log.info( "Added latest analytics partition with start: '{}' and end: '{}'",
-                getLongDateString( lastFullTableUpdate ), getLongDateString( endDate ) );
+                getLongDateString( startDate ), getLongDateString( endDate ) );
         }
         else
         {
@@ -466,6 +543,17 @@ public abstract class AbstractJdbcTableManager
         return table;
     }
 
+    /**
+     * Indicates whether the given parameters represent an incremental update
+     * which is supported by this manager.
+     *
+     * @param params the {@link AnalyticsTableUpdateParams}.
+     */
+    protected boolean isIncrementalUpdate( AnalyticsTableUpdateParams params )
+    {
+        return params.isIncrementalUpdate() && isIncrementalUpdateSupported();
+    }
+
     /**
      * Checks whether the given list of columns are valid.
      *
@@ -628,6 +716,54 @@ public abstract class AbstractJdbcTableManager
         executeSilently( sql );
     }
 
+    /**
+     * Creates the partitions of the given analytics table which do not exist
+     * but are required for the rows of the given staging table, including the
+     * indexes of the table.
+     *
+     * @param table the analytics table.
+     * @param stagingTableName the name of the staging table.
+     */
+    private void createMissingPartitions( AnalyticsTable table, String stagingTableName )
+    {
+        String sql = "select distinct cast(" + quote( getPartitionColumn() ) + " as integer) " +
+            "from " + stagingTableName;
+
+        List<Integer> years = jdbcTemplate.queryForList( sql, Integer.class );
+
+        for ( Integer year : years )
+        {
+            String partitionName = table.getTableName() + PartitionUtils.SEP + year;
+
+            if ( partitionExists( partitionName ) )
+            {
+                continue;
+            }
+
+            log.info( "Creating missing partition: '{}'", partitionName );
+
+            jdbcTemplate.execute( "create table " + partitionName +
+                " partition of " + table.getTableName() + " for values in (" + year + ")" );
+
+            getIndexes( partitionName, table.getDimensionColumns() ).forEach( this::createIndex );
+        }
+    }
+
+    /**
+     * Indicates whether the given analytics table partition exists.
+     *
+     * @param partitionName the partition table name.
+     */
+    private boolean partitionExists( String partitionName )
+    {
+        String sql = "select count(*) from information_schema.tables " +
+            "where table_schema = current_schema() and table_name = ?";
+
+        Integer count = jdbcTemplate.queryForObject( sql, Integer.class, partitionName );
+
+        return count != null && count > 0;
+    }
+
     /**
      * Create a analytics table (non partition)
      *
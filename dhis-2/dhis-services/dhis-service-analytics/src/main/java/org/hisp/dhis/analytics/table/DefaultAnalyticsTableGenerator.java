@@ -28,14 +28,28 @@
 package org.hisp.dhis.analytics.table;
 
 import static org.hisp.dhis.commons.collection.CollectionUtils.emptyIfNull;
+import static org.hisp.dhis.resourcetable.ResourceTableType.CATEGORY_OPTION_COMBO_NAME;
+import static org.hisp.dhis.resourcetable.ResourceTableType.CATEGORY_STRUCTURE;
+import static org.hisp.dhis.resourcetable.ResourceTableType.DATA_ELEMENT_CATEGORY_OPTION_COMBO;
+import static org.hisp.dhis.resourcetable.ResourceTableType.DATA_ELEMENT_GROUP_SET_STRUCTURE;
+import static org.hisp.dhis.resourcetable.ResourceTableType.DATA_ELEMENT_STRUCTURE;
+import static org.hisp.dhis.resourcetable.ResourceTableType.DATA_SET_ORG_UNIT_CATEGORY;
+import static org.hisp.dhis.resourcetable.ResourceTableType.DATE_PERIOD_STRUCTURE;
+import static org.hisp.dhis.resourcetable.ResourceTableType.INDICATOR_GROUP_SET_STRUCTURE;
+import static org.hisp.dhis.resourcetable.ResourceTableType.ORG_UNIT_GROUP_SET_STRUCTURE;
+import static org.hisp.dhis.resourcetable.ResourceTableType.ORG_UNIT_STRUCTURE;
+import static org.hisp.dhis.resourcetable.ResourceTableType.PERIOD_STRUCTURE;
 import static org.hisp.dhis.scheduling.JobProgress.FailurePolicy.SKIP_STAGE;
 import static org.hisp.dhis.util.DateUtils.getLongDateString;
 
+import java.util.ArrayList;
 import java.util.Date;
-import java.util.LinkedHashMap;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import lombok.AllArgsConstructor;
@@ -46,7 +60,9 @@ import org.hisp.dhis.analytics.AnalyticsTableService;
 import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.AnalyticsTableUpdateParams;
 import org.hisp.dhis.analytics.cache.AnalyticsCache;
+import org.hisp.dhis.commons.util.SystemUtils;
 import org.hisp.dhis.resourcetable.ResourceTableService;
+import org.hisp.dhis.resourcetable.ResourceTableType;
 import org.hisp.dhis.scheduling.JobProgress;
 import org.hisp.dhis.setting.SettingKey;
 import org.hisp.dhis.setting.SystemSettingManager;
@@ -92,8 +108,7 @@ public class DefaultAnalyticsTableGenerator
         log.info( "Last successful analytics table update: '{}'",
             getLongDateString( lastSuccessfulUpdate ) );
 
-        progress.startingProcess( "Analytics table update process"
-            + (params.isLatestUpdate() ? "(latest partition)" : "") );
+        progress.startingProcess( "Analytics table update process" + getUpdateTypeSuffix( params ) );
 
         if ( !params.isSkipResourceTables() && !params.isLatestUpdate() )
         {
@@ -120,6 +135,16 @@ public class DefaultAnalyticsTableGenerator
         progress.completedProcess( "Analytics tables updated" );
     }
 
+    private String getUpdateTypeSuffix( AnalyticsTableUpdateParams params )
+    {
+        if ( params.isIncrementalUpdate() )
+        {
+            return "(incremental)";
+        }
+
+        return params.isLatestUpdate() ? "(latest partition)" : "";
+    }
+
     private void updateLastSuccessfulSystemSettings( AnalyticsTableUpdateParams params, Clock clock )
     {
         if ( params.isLatestUpdate() )
@@ -169,27 +194,80 @@ public class DefaultAnalyticsTableGenerator
     {
         resourceTableService.dropAllSqlViews( progress );
 
-        Map<String, Runnable> generators = new LinkedHashMap<>();
-        generators.put( "generating OrganisationUnit structures",
-            resourceTableService::generateOrganisationUnitStructures );
-        generators.put( "generating DataSetOrganisationUnitCategory table",
+        Map<ResourceTableType, Runnable> generators = new EnumMap<>( ResourceTableType.class );
+        generators.put( ORG_UNIT_STRUCTURE, resourceTableService::generateOrganisationUnitStructures );
+        generators.put( DATA_SET_ORG_UNIT_CATEGORY,
             resourceTableService::generateDataSetOrganisationUnitCategoryTable );
-        generators.put( "generating CategoryOptionCombo names",
-            resourceTableService::generateCategoryOptionComboNames );
-        generators.put( "generating DataElementGroupSet table",
-            resourceTableService::generateDataElementGroupSetTable );
-        generators.put( "generating IndicatorGroupSet table", resourceTableService::generateIndicatorGroupSetTable );
-        generators.put( "generating OrganisationUnitGroupSet table",
-            resourceTableService::generateOrganisationUnitGroupSetTable );
-        generators.put( "generating Category table", resourceTableService::generateCategoryTable );
-        generators.put( "generating DataElement table", resourceTableService::generateDataElementTable );
-        generators.put( "generating Period table", resourceTableService::generatePeriodTable );
-        generators.put( "generating DatePeriod table", resourceTableService::generateDatePeriodTable );
-        generators.put( "generating CategoryOptionCombo table",
-            resourceTableService::generateCategoryOptionComboTable );
-        progress.startingStage( "Generating resource tables", generators.size() );
-        progress.runStage( generators );
+        generators.put( CATEGORY_OPTION_COMBO_NAME, resourceTableService::generateCategoryOptionComboNames );
+        generators.put( DATA_ELEMENT_GROUP_SET_STRUCTURE, resourceTableService::generateDataElementGroupSetTable );
+        generators.put( INDICATOR_GROUP_SET_STRUCTURE, resourceTableService::generateIndicatorGroupSetTable );
+        generators.put( ORG_UNIT_GROUP_SET_STRUCTURE, resourceTableService::generateOrganisationUnitGroupSetTable );
+        generators.put( CATEGORY_STRUCTURE, resourceTableService::generateCategoryTable );
+        generators.put( DATA_ELEMENT_STRUCTURE, resourceTableService::generateDataElementTable );
+        generators.put( PERIOD_STRUCTURE, resourceTableService::generatePeriodTable );
+        generators.put( DATE_PERIOD_STRUCTURE, resourceTableService::generateDatePeriodTable );
+        generators.put( DATA_ELEMENT_CATEGORY_OPTION_COMBO, resourceTableService::generateCategoryOptionComboTable );
+
+        Set<ResourceTableType> generated = ConcurrentHashMap.newKeySet();
+
+        for ( List<ResourceTableType> layer : getDependencyLayers( generators.keySet() ) )
+        {
+            List<ResourceTableType> tableTypes = layer.stream()
+                .filter( type -> type.getDependencies().stream().anyMatch( generated::contains )
+                    || !resourceTableService.isResourceTableUpToDate( type ) )
+                .collect( Collectors.toList() );
+
+            List<ResourceTableType> skipped = layer.stream()
+                .filter( type -> !tableTypes.contains( type ) )
+                .collect( Collectors.toList() );
+
+            if ( !skipped.isEmpty() )
+            {
+                log.info( "Skipping resource tables with unchanged source tables: {}", skipped );
+            }
+
+            progress.startingStage( "Generating resource tables " + tableTypes, tableTypes.size() );
+            progress.runStageInParallel( Math.min( SystemUtils.getCpuCores(), tableTypes.size() ), tableTypes,
+                ResourceTableType::getTableName, type -> {
+                    generators.get( type ).run();
+                    generated.add( type );
+                } );
+        }
 
         resourceTableService.createAllSqlViews( progress );
     }
+
+    /**
+     * Orders the given resource table types into layers, where each resource
+     * table only depends on resource tables in previous layers. The resource
+     * tables within a layer can be generated in parallel.
+     *
+     * @param tableTypes the {@link ResourceTableType} to order.
+     * @return a list of layers of {@link ResourceTableType}.
+     */
+    private List<List<ResourceTableType>> getDependencyLayers( Set<ResourceTableType> tableTypes )
+    {
+        List<List<ResourceTableType>> layers = new ArrayList<>();
+        Set<ResourceTableType> remaining = EnumSet.copyOf( tableTypes );
+        Set<ResourceTableType> ordered = EnumSet.noneOf( ResourceTableType.class );
+
+        while ( !remaining.isEmpty() )
+        {
+            List<ResourceTableType> layer = remaining.stream()
+                .filter( type -> type.getDependencies().stream()
+                    .allMatch( dependency -> ordered.contains( dependency ) || !tableTypes.contains( dependency ) ) )
+                .collect( Collectors.toList() );
+
+            if ( layer.isEmpty() )
+            {
+                throw new IllegalStateException( "Resource tables have cyclic dependencies: " + remaining );
+            }
+
+            layers.add( layer );
+            layer.forEach( remaining::remove );
+            ordered.addAll( layer );
+        }
+
+        return layers;
+    }
 }
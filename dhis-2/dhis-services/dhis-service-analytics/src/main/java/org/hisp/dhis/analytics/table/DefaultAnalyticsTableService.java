@@ -122,6 +122,12 @@ public class DefaultAnalyticsTableService
         progress.runStage( () -> tableManager.preCreateTables( params ) );
         clock.logTime( "Performed pre-create table work " + tableType );
 
+        if ( params.isIncrementalUpdate() && tableManager.isIncrementalUpdateSupported() )
+        {
+            applyIncrementalUpdate( params, tables, clock, progress );
+            return;
+        }
+
         dropTempTablesPartitions( tables, progress );
         progress.startingStage( "Dropping temp tables (if any) " + tableType, tables.size() );
         dropTempTables( tables, progress );
@@ -196,6 +202,41 @@ public class DefaultAnalyticsTableService
     // Supportive methods
     // -------------------------------------------------------------------------
 
+    /**
+     * Applies data changed since the last update in place to the existing
+     * analytics tables. Changed data is populated into staging tables, after
+     * which rows for updated and deleted data are removed from the existing
+     * tables and the staged rows are inserted. Indexes are not rebuilt and
+     * tables are not swapped.
+     */
+    private void applyIncrementalUpdate( AnalyticsTableUpdateParams params, List<AnalyticsTable> tables,
+        Clock clock, JobProgress progress )
+    {
+        AnalyticsTableType tableType = getAnalyticsTableType();
+
+        List<AnalyticsTablePartition> partitions = PartitionUtils.getTablePartitions( tables );
+
+        dropTempTablesPartitions( tables, progress );
+        clock.logTime( "Dropped staging tables" );
+
+        progress.startingStage( "Creating staging tables " + tableType, partitions.size() );
+        progress.runStage( partitions, AnalyticsTablePartition::getTableName, tableManager::createStagingTable );
+        clock.logTime( "Created staging tables" );
+
+        progress.startingStage( "Populating staging tables " + tableType, partitions.size() );
+        populateTables( params, partitions, progress );
+        clock.logTime( "Populated staging tables" );
+
+        applyAggregationLevels( tableType, partitions, progress );
+        clock.logTime( "Applied aggregation levels" );
+
+        progress.startingStage( "Applying incremental updates " + tableType, partitions.size() );
+        progress.runStage( partitions, AnalyticsTablePartition::getTableName, tableManager::applyIncrementalUpdate );
+        clock.logTime( "Applied incremental updates" );
+
+        clock.logTime( "Incremental table update done: " + tableType.getTableName() );
+    }
+
     /**
      * Drops the given temporary analytics tables.
      */
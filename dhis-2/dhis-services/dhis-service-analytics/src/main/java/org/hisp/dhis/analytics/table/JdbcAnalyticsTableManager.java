@@ -44,6 +44,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import lombok.extern.slf4j.Slf4j;
@@ -199,11 +200,24 @@ public class JdbcAnalyticsTableManager
         }
     }
 
+    @Override
+    public boolean isIncrementalUpdateSupported()
+    {
+        return true;
+    }
+
     @Override
     public void removeUpdatedData( List<AnalyticsTable> tables )
     {
         AnalyticsTablePartition partition = getLatestTablePartition( tables );
-        String sql = "delete from " + quote( getAnalyticsTableType().getTableName() ) + " ax " +
+        getRemoveUpdatedDataSql( partition.getMasterTable(), partition )
+            .ifPresent( sql -> invokeTimeAndLog( sql, "Remove updated data values" ) );
+    }
+
+    @Override
+    protected Optional<String> getRemoveUpdatedDataSql( AnalyticsTable table, AnalyticsTablePartition partition )
+    {
+        return Optional.of( "delete from " + quote( table.getTableName() ) + " ax " +
             "where ax.id in (" +
             "select (de.uid || '-' || ps.iso || '-' || ou.uid || '-' || co.uid || '-' || ao.uid) as id " +
             "from datavalue dv " +
@@ -213,9 +227,7 @@ public class JdbcAnalyticsTableManager
             "inner join categoryoptioncombo co on dv.categoryoptioncomboid=co.categoryoptioncomboid " +
             "inner join categoryoptioncombo ao on dv.attributeoptioncomboid=ao.categoryoptioncomboid " +
             "where dv.lastupdated >= '" + getLongDateString( partition.getStartDate() ) + "' " +
-            "and dv.lastupdated < '" + getLongDateString( partition.getEndDate() ) + "')";
-
-        invokeTimeAndLog( sql, "Remove updated data values" );
+            "and dv.lastupdated < '" + getLongDateString( partition.getEndDate() ) + "')" );
     }
 
     @Override
@@ -51,6 +51,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
@@ -238,8 +239,9 @@ public class JdbcEventAnalyticsTableManager
     /**
      * Creates a list of {@link AnalyticsTable} with a partition each or the
      * "latest" data. The start date of the partition is the time of the last
-     * successful full analytics table update. The end date of the partition is
-     * the start time of this analytics table update process.
+     * successful full analytics table update, or the time of the last
+     * successful update of any kind for incremental updates. The end date of
+     * the partition is the start time of this analytics table update process.
      *
      * @param params the {@link AnalyticsTableUpdateParams}.
      * @return a list of {@link AnalyticsTableUpdateParams}.
@@ -255,7 +257,7 @@ public class JdbcEventAnalyticsTableManager
         Assert.notNull( lastFullTableUpdate,
             "A full analytics table update process must be run prior to a latest partition update process" );
 
-        Date startDate = lastFullTableUpdate;
+        Date startDate = isIncrementalUpdate( params ) ? lastAnyTableUpdate : lastFullTableUpdate;
         Date endDate = params.getStartTime();
 
         List<AnalyticsTable> tables = new ArrayList<>();
@@ -313,26 +315,35 @@ public class JdbcEventAnalyticsTableManager
         return !jdbcTemplate.queryForList( sql ).isEmpty();
     }
 
+    @Override
+    public boolean isIncrementalUpdateSupported()
+    {
+        return true;
+    }
+
     @Override
     public void removeUpdatedData( List<AnalyticsTable> tables )
     {
         for ( AnalyticsTable table : tables )
         {
-            AnalyticsTablePartition partition = table.getLatestPartition();
-
-            String sql = "delete from " + quote( table.getTableName() ) + " ax " +
-                "where ax.psi in (" +
-                "select psi.uid " +
-                "from programstageinstance psi " +
-                "inner join programinstance pi on psi.programinstanceid=pi.programinstanceid " +
-                "where pi.programid = " + table.getProgram().getId() + " " +
-                "and psi.lastupdated >= '" + getLongDateString( partition.getStartDate() ) + "' " +
-                "and psi.lastupdated < '" + getLongDateString( partition.getEndDate() ) + "')";
-
-            invokeTimeAndLog( sql, String.format( "Remove updated events for table: '%s'", table.getTableName() ) );
+            getRemoveUpdatedDataSql( table, table.getLatestPartition() ).ifPresent( sql -> invokeTimeAndLog( sql,
+                String.format( "Remove updated events for table: '%s'", table.getTableName() ) ) );
         }
     }
 
+    @Override
+    protected Optional<String> getRemoveUpdatedDataSql( AnalyticsTable table, AnalyticsTablePartition partition )
+    {
+        return Optional.of( "delete from " + quote( table.getTableName() ) + " ax " +
+            "where ax.psi in (" +
+            "select psi.uid " +
+            "from programstageinstance psi " +
+            "inner join programinstance pi on psi.programinstanceid=pi.programinstanceid " +
+            "where pi.programid = " + table.getProgram().getId() + " " +
+            "and psi.lastupdated >= '" + getLongDateString( partition.getStartDate() ) + "' " +
+            "and psi.lastupdated < '" + getLongDateString( partition.getEndDate() ) + "')" );
+    }
+
     @Override
     public List<AnalyticsTableColumn> getFixedColumns()
     {
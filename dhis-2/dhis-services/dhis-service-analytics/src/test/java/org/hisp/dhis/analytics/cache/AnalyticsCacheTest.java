@@ -30,6 +30,9 @@ package org.hisp.dhis.analytics.cache;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
@@ -43,6 +46,7 @@ import org.hisp.dhis.common.Grid;
 import org.hisp.dhis.common.GridHeader;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.setting.SystemSettingManager;
+import org.hisp.dhis.system.grid.ColumnarGrid;
 import org.hisp.dhis.system.grid.ListGrid;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -122,4 +126,95 @@ class AnalyticsCacheTest
 
         assertEquals( 2, optCachedGrid.get().getRows().size() );
     }
+
+    @Test
+    @SuppressWarnings( "unchecked" )
+    void returnIsolatedCopyOnCacheHit()
+    {
+        // arrange
+        final AnalyticsCacheSettings settings = new AnalyticsCacheSettings( systemSettingManager );
+
+        final CacheBuilder<Grid> cacheBuilder = new SimpleCacheBuilder<>();
+
+        cacheBuilder.expireAfterWrite( 1L, TimeUnit.MINUTES );
+
+        final Cache<Grid> cache = new LocalCache<>( cacheBuilder );
+
+        Mockito.<Cache<Grid>> when( cacheProvider.createAnalyticsCache() )
+            .thenReturn( cache );
+
+        final AnalyticsCache analyticsCache = new AnalyticsCache( cacheProvider, settings );
+
+        final Map<String, Object> items = new HashMap<>();
+        items.put( "dataElementA", "Data element A" );
+
+        final Grid grid = new ListGrid();
+        grid.addHeader( new GridHeader( "Header1" ) )
+            .addRow()
+            .addValue( "Value11" )
+            .addMetaData( "items", items );
+
+        DataQueryParams params = DataQueryParams.newBuilder()
+            .withDataElements( Lists.newArrayList( new DataElement( "dataElementA" ) ) )
+            .build();
+
+        analyticsCache.put( params.getKey(), grid, 60 );
+
+        // act
+        Grid cachedGrid = analyticsCache.get( params.getKey() ).get();
+
+        cachedGrid.getHeaders().get( 0 ).setName( "Modified" );
+        cachedGrid.getRow( 0 ).set( 0, "Modified" );
+        ((Map<String, Object>) cachedGrid.getMetaData().get( "items" )).clear();
+
+        // assert
+        Grid otherGrid = analyticsCache.get( params.getKey() ).get();
+
+        assertEquals( "Header1", otherGrid.getHeaders().get( 0 ).getName() );
+        assertEquals( "Value11", otherGrid.getValue( 0, 0 ) );
+        assertEquals( 1, ((Map<String, Object>) otherGrid.getMetaData().get( "items" )).size() );
+    }
+
+    @Test
+    void returnColumnarCopyOfColumnarGrid()
+    {
+        // arrange
+        final AnalyticsCacheSettings settings = new AnalyticsCacheSettings( systemSettingManager );
+
+        final CacheBuilder<Grid> cacheBuilder = new SimpleCacheBuilder<>();
+
+        cacheBuilder.expireAfterWrite( 1L, TimeUnit.MINUTES );
+
+        final Cache<Grid> cache = new LocalCache<>( cacheBuilder );
+
+        Mockito.<Cache<Grid>> when( cacheProvider.createAnalyticsCache() )
+            .thenReturn( cache );
+
+        final AnalyticsCache analyticsCache = new AnalyticsCache( cacheProvider, settings );
+
+        final Grid grid = new ColumnarGrid();
+        grid.addHeader( new GridHeader( "Header1" ) )
+            .addRow()
+            .addValue( "Value11" )
+            .addRow()
+            .addValue( "Value21" );
+
+        DataQueryParams params = DataQueryParams.newBuilder()
+            .withDataElements( Lists.newArrayList( new DataElement( "dataElementA" ) ) )
+            .build();
+
+        analyticsCache.put( params.getKey(), grid, 60 );
+
+        // act
+        Grid cachedGrid = analyticsCache.get( params.getKey() ).get();
+
+        cachedGrid.sortGrid( 1, 1 );
+        cachedGrid.getRow( 0 ).set( 0, "Modified" );
+
+        // assert
+        Grid otherGrid = analyticsCache.get( params.getKey() ).get();
+
+        assertTrue( otherGrid instanceof ColumnarGrid );
+        assertEquals( List.of( "Value11", "Value21" ), otherGrid.getColumn( 0 ) );
+    }
 }
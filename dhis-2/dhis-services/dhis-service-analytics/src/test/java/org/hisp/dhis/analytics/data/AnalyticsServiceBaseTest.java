@@ -80,7 +80,7 @@ abstract class AnalyticsServiceBaseTest
     private AnalyticsSecurityManager securityManager;
 
     @Mock
-    private QueryPlanner queryPlanner;
+    protected QueryPlanner queryPlanner;
 
     @Mock
     private ExpressionService expressionService;
@@ -89,7 +89,7 @@ abstract class AnalyticsServiceBaseTest
     private OrganisationUnitService organisationUnitService;
 
     @Mock
-    private SystemSettingManager systemSettingManager;
+    protected SystemSettingManager systemSettingManager;
 
     @Mock
     protected EventAnalyticsService eventAnalyticsService;
@@ -131,7 +131,8 @@ abstract class AnalyticsServiceBaseTest
             resolvers, expressionService, queryPlanner, queryValidator, systemSettingManager, analyticsManager,
             organisationUnitService, executionPlanStore );
 
-        target = new DataAggregator( headerHandler, metadataHandler, dataHandler );
+        target = new DataAggregator( headerHandler, metadataHandler, dataHandler,
+            new AnalyticsGridFactory( systemSettingManager ) );
         target.feedHandlers();
 
         when( systemSettingManager.getBooleanSetting( SettingKey.ANALYTICS_MAINTENANCE_MODE ) )
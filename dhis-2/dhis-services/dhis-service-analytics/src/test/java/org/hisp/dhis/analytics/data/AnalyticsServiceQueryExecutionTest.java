@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.data;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static java.util.Collections.singletonList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hisp.dhis.DhisConvenienceTest.createDataSet;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import org.hisp.dhis.analytics.AnalyticsMetaDataKey;
+import org.hisp.dhis.analytics.AnalyticsTableType;
+import org.hisp.dhis.analytics.DataQueryGroups;
+import org.hisp.dhis.analytics.DataQueryParams;
+import org.hisp.dhis.analytics.QueryPlannerParams;
+import org.hisp.dhis.common.BaseDimensionalObject;
+import org.hisp.dhis.common.DimensionType;
+import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.common.IllegalQueryException;
+import org.hisp.dhis.common.QueryTiming;
+import org.hisp.dhis.common.ReportingRate;
+import org.hisp.dhis.common.ReportingRateMetric;
+import org.hisp.dhis.dataset.DataSet;
+import org.hisp.dhis.feedback.ErrorCode;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.period.MonthlyPeriodType;
+import org.hisp.dhis.setting.SettingKey;
+import org.joda.time.DateTime;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the parallel execution of analytics sub-queries.
+ */
+class AnalyticsServiceQueryExecutionTest extends AnalyticsServiceBaseTest
+{
+    private final DataSet dataSetA = createDataSet( 'A' );
+
+    private final OrganisationUnit ouA = new OrganisationUnit( "aaaa" );
+
+    @Test
+    @SuppressWarnings( "unchecked" )
+    void verifySubQueryTimingsAreAddedToMetaData()
+    {
+        DataQueryParams params = createParams( true );
+
+        initMock( params );
+
+        when( analyticsManager.getAggregatedDataValues( any( DataQueryParams.class ),
+            any( AnalyticsTableType.class ), anyInt() ) )
+                .thenReturn( CompletableFuture.completedFuture(
+                    Map.<String, Object> of( dataSetA.getUid() + "-" + ouA.getUid(), 10D ) ) );
+
+        Grid grid = target.getAggregatedDataValueGrid( params );
+
+        List<QueryTiming> timings = (List<QueryTiming>) grid.getMetaData()
+            .get( AnalyticsMetaDataKey.QUERY_TIMINGS.getKey() );
+
+        assertThat( timings, hasSize( 2 ) );
+        assertEquals( 1, timings.get( 0 ).getRows() );
+    }
+
+    @Test
+    void verifyMaxLimitIsAppliedAcrossSubQueries()
+    {
+        DataQueryParams params = createParams( false );
+
+        initMock( params );
+
+        when( queryPlanner.planQuery( any( DataQueryParams.class ), any( QueryPlannerParams.class ) ) ).thenReturn(
+            DataQueryGroups.newBuilder().withQueries( newArrayList( DataQueryParams.newBuilder().build(),
+                DataQueryParams.newBuilder().build() ) ).build() );
+
+        when( systemSettingManager.getIntSetting( SettingKey.ANALYTICS_MAX_LIMIT ) ).thenReturn( 1 );
+
+        when( analyticsManager.getAggregatedDataValues( any( DataQueryParams.class ),
+            any( AnalyticsTableType.class ), anyInt() ) )
+                .thenReturn( CompletableFuture.completedFuture( Map.<String, Object> of( "keyA", 10D ) ),
+                    CompletableFuture.completedFuture( Map.<String, Object> of( "keyB", 20D ) ) );
+
+        IllegalQueryException ex = assertThrows( IllegalQueryException.class,
+            () -> target.getAggregatedDataValueGrid( params ) );
+
+        assertEquals( ErrorCode.E7128, ex.getErrorCode() );
+    }
+
+    @Test
+    @SuppressWarnings( "unchecked" )
+    void verifySubQueryTimingsAreNotKeptAcrossRequests()
+    {
+        DataQueryParams params = createParams( true );
+        DataQueryParams skipMetaParams = DataQueryParams.newBuilder( params ).withSkipMeta( true ).build();
+
+        initMock( params );
+
+        when( analyticsManager.getAggregatedDataValues( any( DataQueryParams.class ),
+            any( AnalyticsTableType.class ), anyInt() ) )
+                .thenReturn( CompletableFuture.completedFuture(
+                    Map.<String, Object> of( dataSetA.getUid() + "-" + ouA.getUid(), 10D ) ) );
+
+        target.getAggregatedDataValueGrid( skipMetaParams );
+        target.getAggregatedDataValueGrid( skipMetaParams );
+
+        Grid grid = target.getAggregatedDataValueGrid( params );
+
+        List<QueryTiming> timings = (List<QueryTiming>) grid.getMetaData()
+            .get( AnalyticsMetaDataKey.QUERY_TIMINGS.getKey() );
+
+        assertThat( timings, hasSize( 2 ) );
+    }
+
+    @Test
+    void verifySubQueriesInFlightAreNotCancelledWhenMaxLimitIsExceeded()
+    {
+        DataQueryParams params = createParams( false );
+
+        initMock( params );
+
+        when( queryPlanner.planQuery( any( DataQueryParams.class ), any( QueryPlannerParams.class ) ) ).thenReturn(
+            DataQueryGroups.newBuilder().withQueries( newArrayList( DataQueryParams.newBuilder().build(),
+                DataQueryParams.newBuilder().build() ) ).build() );
+
+        when( systemSettingManager.getIntSetting( SettingKey.ANALYTICS_MAX_LIMIT ) ).thenReturn( 1 );
+        when( systemSettingManager.getIntegerSetting( SettingKey.DATABASE_SERVER_CPUS ) ).thenReturn( 4 );
+
+        CompletableFuture<Map<String, Object>> running = new CompletableFuture<>();
+
+        when( analyticsManager.getAggregatedDataValues( any( DataQueryParams.class ),
+            any( AnalyticsTableType.class ), anyInt() ) )
+                .thenReturn( CompletableFuture.completedFuture( Map.<String, Object> of( "keyA", 10D, "keyB", 20D ) ),
+                    running );
+
+        IllegalQueryException ex = assertThrows( IllegalQueryException.class,
+            () -> target.getAggregatedDataValueGrid( params ) );
+
+        assertEquals( ErrorCode.E7128, ex.getErrorCode() );
+        assertFalse( running.isCancelled() );
+    }
+
+    private DataQueryParams createParams( boolean ignoreLimit )
+    {
+        ReportingRate reportingRateA = new ReportingRate( dataSetA );
+        reportingRateA.setMetric( ReportingRateMetric.REPORTING_RATE );
+
+        return DataQueryParams.newBuilder().withOrganisationUnit( ouA )
+            .withDataElements( newArrayList( reportingRateA ) ).withIgnoreLimit( ignoreLimit )
+            .withFilters( singletonList( new BaseDimensionalObject( "pe", DimensionType.PERIOD,
+                newArrayList( new MonthlyPeriodType().createPeriod( new DateTime( 2014, 1, 1, 0, 0 ).toDate() ) ) ) ) )
+            .build();
+    }
+}
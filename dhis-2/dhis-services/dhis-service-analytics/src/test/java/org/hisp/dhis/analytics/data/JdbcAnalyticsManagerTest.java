@@ -35,8 +35,14 @@ import static org.hisp.dhis.common.DimensionalObject.DATA_X_DIM_ID;
 import static org.hisp.dhis.common.DimensionalObject.ORGUNIT_DIM_ID;
 import static org.hisp.dhis.common.DimensionalObject.PERIOD_DIM_ID;
 import static org.hisp.dhis.common.DimensionalObjectUtils.getList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.when;
 
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
 import org.hisp.dhis.analytics.AggregationType;
 import org.hisp.dhis.analytics.AnalyticsAggregationType;
 import org.hisp.dhis.analytics.AnalyticsTableType;
@@ -58,10 +64,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.support.rowset.SqlRowSet;
 
 /**
  * @author Luciano Fiandesio
@@ -80,7 +87,13 @@ class JdbcAnalyticsManagerTest
     private JdbcTemplate jdbcTemplate;
 
     @Mock
-    private SqlRowSet rowSet;
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet resultSet;
 
     @Mock
     private NestedIndicatorCyclicDependencyInspector nestedIndicatorCyclicDependencyInspector;
@@ -98,9 +111,16 @@ class JdbcAnalyticsManagerTest
     {
         QueryPlanner queryPlanner = new DefaultQueryPlanner( partitionManager );
 
-        mockRowSet();
+        when( jdbcTemplate.execute( any( ConnectionCallback.class ) ) )
+            .thenAnswer( invocation -> invocation.<ConnectionCallback<?>> getArgument( 0 )
+                .doInConnection( connection ) );
+        when( jdbcTemplate.getFetchSize() ).thenReturn( 1000 );
+        when( connection.getAutoCommit() ).thenReturn( true );
+        when( connection.createStatement() ).thenReturn( statement );
+        when( statement.executeQuery( sql.capture() ) ).thenReturn( resultSet );
 
-        when( jdbcTemplate.queryForRowSet( sql.capture() ) ).thenReturn( rowSet );
+        // Simulate no rows
+        when( resultSet.next() ).thenReturn( false );
 
         subject = new JdbcAnalyticsManager( queryPlanner, jdbcTemplate, executionPlanStore );
     }
@@ -145,10 +165,21 @@ class JdbcAnalyticsManagerTest
         assertExpectedLastSql( "desc" );
     }
 
-    private void mockRowSet()
+    @Test
+    void verifyQueryReadThroughCursorInTransaction()
+        throws Exception
     {
-        // Simulate no rows
-        when( rowSet.next() ).thenReturn( false );
+        DataQueryParams params = createParams( AggregationType.SUM );
+
+        subject.getAggregatedDataValues( params, AnalyticsTableType.DATA_VALUE, 20000 );
+
+        InOrder order = inOrder( connection, statement, resultSet );
+        order.verify( connection ).setAutoCommit( false );
+        order.verify( statement ).setFetchSize( 1000 );
+        order.verify( statement ).executeQuery( any() );
+        order.verify( resultSet ).close();
+        order.verify( connection ).rollback();
+        order.verify( connection ).setAutoCommit( true );
     }
 
     private DataQueryParams createParams( AggregationType aggregationType )
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.analytics.table;
+
+import static org.hisp.dhis.resourcetable.ResourceTableType.ORG_UNIT_GROUP_SET_STRUCTURE;
+import static org.hisp.dhis.resourcetable.ResourceTableType.ORG_UNIT_STRUCTURE;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.hisp.dhis.analytics.AnalyticsTableGenerator;
+import org.hisp.dhis.analytics.cache.AnalyticsCache;
+import org.hisp.dhis.resourcetable.ResourceTableService;
+import org.hisp.dhis.scheduling.NoopJobProgress;
+import org.hisp.dhis.setting.SystemSettingManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith( MockitoExtension.class )
+class DefaultAnalyticsTableGeneratorTest
+{
+    @Mock
+    private ResourceTableService resourceTableService;
+
+    @Mock
+    private SystemSettingManager systemSettingManager;
+
+    @Mock
+    private AnalyticsCache analyticsCache;
+
+    private AnalyticsTableGenerator subject;
+
+    @BeforeEach
+    public void setUp()
+    {
+        subject = new DefaultAnalyticsTableGenerator( List.of(), resourceTableService, systemSettingManager,
+            analyticsCache );
+    }
+
+    @Test
+    void testGenerateResourceTablesInDependencyOrder()
+    {
+        when( resourceTableService.isResourceTableUpToDate( any() ) ).thenReturn( false );
+
+        subject.generateResourceTables( NoopJobProgress.INSTANCE );
+
+        InOrder inOrder = inOrder( resourceTableService );
+        inOrder.verify( resourceTableService ).dropAllSqlViews( any() );
+        inOrder.verify( resourceTableService ).generateOrganisationUnitStructures();
+        inOrder.verify( resourceTableService ).generateOrganisationUnitGroupSetTable();
+        inOrder.verify( resourceTableService ).createAllSqlViews( any() );
+
+        verify( resourceTableService ).generateDataSetOrganisationUnitCategoryTable();
+        verify( resourceTableService ).generateCategoryOptionComboNames();
+        verify( resourceTableService ).generateDataElementGroupSetTable();
+        verify( resourceTableService ).generateIndicatorGroupSetTable();
+        verify( resourceTableService ).generateCategoryTable();
+        verify( resourceTableService ).generateDataElementTable();
+        verify( resourceTableService ).generatePeriodTable();
+        verify( resourceTableService ).generateDatePeriodTable();
+        verify( resourceTableService ).generateCategoryOptionComboTable();
+    }
+
+    @Test
+    void testSkipUpToDateResourceTables()
+    {
+        when( resourceTableService.isResourceTableUpToDate( any() ) ).thenReturn( true );
+
+        subject.generateResourceTables( NoopJobProgress.INSTANCE );
+
+        verify( resourceTableService ).dropAllSqlViews( any() );
+        verify( resourceTableService, times( 11 ) ).isResourceTableUpToDate( any() );
+        verify( resourceTableService ).createAllSqlViews( any() );
+        verifyNoMoreInteractions( resourceTableService );
+    }
+
+    @Test
+    void testRegenerateResourceTablesDependingOnRegeneratedTable()
+    {
+        when( resourceTableService.isResourceTableUpToDate( any() ) ).thenReturn( true );
+        when( resourceTableService.isResourceTableUpToDate( ORG_UNIT_STRUCTURE ) ).thenReturn( false );
+
+        subject.generateResourceTables( NoopJobProgress.INSTANCE );
+
+        verify( resourceTableService ).generateOrganisationUnitStructures();
+        verify( resourceTableService ).generateOrganisationUnitGroupSetTable();
+        verify( resourceTableService, never() ).isResourceTableUpToDate( ORG_UNIT_GROUP_SET_STRUCTURE );
+        verify( resourceTableService, never() ).generateDataElementGroupSetTable();
+        verify( resourceTableService, never() ).generatePeriodTable();
+        verify( resourceTableService, never() ).generateDatePeriodTable();
+    }
+}
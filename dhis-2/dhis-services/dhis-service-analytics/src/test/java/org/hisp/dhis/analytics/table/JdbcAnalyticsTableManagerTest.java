@@ -28,10 +28,16 @@
 package org.hisp.dhis.analytics.table;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.Date;
@@ -39,10 +45,13 @@ import java.util.List;
 import java.util.Map;
 
 import org.hisp.dhis.analytics.AnalyticsTable;
+import org.hisp.dhis.analytics.AnalyticsTableColumn;
 import org.hisp.dhis.analytics.AnalyticsTableHookService;
 import org.hisp.dhis.analytics.AnalyticsTableManager;
 import org.hisp.dhis.analytics.AnalyticsTablePartition;
+import org.hisp.dhis.analytics.AnalyticsTableType;
 import org.hisp.dhis.analytics.AnalyticsTableUpdateParams;
+import org.hisp.dhis.analytics.ColumnDataType;
 import org.hisp.dhis.analytics.partition.PartitionManager;
 import org.hisp.dhis.category.CategoryService;
 import org.hisp.dhis.common.IdentifiableObjectManager;
@@ -170,6 +179,91 @@ class JdbcAnalyticsTableManagerTest
         assertEquals( startTime, partition.getEndDate() );
     }
 
+    @Test
+    void testGetIncrementalAnalyticsTable()
+    {
+        Date lastFullTableUpdate = new DateTime( 2019, 3, 1, 2, 0 ).toDate();
+        Date lastLatestPartitionUpdate = new DateTime( 2019, 3, 1, 9, 0 ).toDate();
+        Date startTime = new DateTime( 2019, 3, 1, 10, 0 ).toDate();
+
+        AnalyticsTableUpdateParams params = AnalyticsTableUpdateParams.newBuilder()
+            .withStartTime( startTime )
+            .withIncrementalUpdate()
+            .build();
+
+        List<Map<String, Object>> queryResp = Lists.newArrayList();
+        queryResp.add( ImmutableMap.of( "dataelementid", 1 ) );
+
+        when( systemSettingManager.getDateSetting( SettingKey.LAST_SUCCESSFUL_ANALYTICS_TABLES_UPDATE ) )
+            .thenReturn( lastFullTableUpdate );
+        when( systemSettingManager.getDateSetting( SettingKey.LAST_SUCCESSFUL_LATEST_ANALYTICS_PARTITION_UPDATE ) )
+            .thenReturn( lastLatestPartitionUpdate );
+        when( jdbcTemplate.queryForList( Mockito.anyString() ) ).thenReturn( queryResp );
+
+        assertTrue( params.isLatestUpdate() );
+        assertTrue( params.isIncrementalUpdate() );
+        assertTrue( subject.isIncrementalUpdateSupported() );
+
+        List<AnalyticsTable> tables = subject.getAnalyticsTables( params );
+
+        assertEquals( 1, tables.size() );
+
+        AnalyticsTablePartition partition = tables.get( 0 ).getLatestPartition();
+
+        assertNotNull( partition );
+        assertTrue( partition.isLatestPartition() );
+        assertEquals( lastLatestPartitionUpdate, partition.getStartDate() );
+        assertEquals( startTime, partition.getEndDate() );
+    }
+
+    @Test
+    void testApplyIncrementalUpdateNotSupported()
+    {
+        AnalyticsTableManager manager = new JdbcCompletenessTableManager( mock( IdentifiableObjectManager.class ),
+            mock( OrganisationUnitService.class ),
+            mock( CategoryService.class ), systemSettingManager, mock( DataApprovalLevelService.class ),
+            mock( ResourceTableService.class ), mock( AnalyticsTableHookService.class ), mock( StatementBuilder.class ),
+            mock( PartitionManager.class ), mock( DatabaseInfo.class ), jdbcTemplate );
+
+        AnalyticsTable table = new AnalyticsTable( AnalyticsTableType.COMPLETENESS, Lists.newArrayList(),
+            Lists.newArrayList() );
+        AnalyticsTablePartition partition = new AnalyticsTablePartition( table, null,
+            new DateTime( 2019, 3, 1, 9, 0 ).toDate(), new DateTime( 2019, 3, 1, 10, 0 ).toDate(), false );
+
+        assertFalse( manager.isIncrementalUpdateSupported() );
+
+        manager.applyIncrementalUpdate( partition );
+
+        verify( jdbcTemplate ).execute( "drop table if exists " + partition.getTempTableName() + " cascade" );
+        verifyNoMoreInteractions( jdbcTemplate );
+    }
+
+    @Test
+    void testApplyIncrementalUpdateCreatesMissingPartitionWithIndexes()
+    {
+        AnalyticsTable table = new AnalyticsTable( AnalyticsTableType.DATA_VALUE,
+            Lists.newArrayList( new AnalyticsTableColumn( "\"dx\"", ColumnDataType.CHARACTER_11, "de.uid" ) ),
+            Lists.newArrayList() );
+        AnalyticsTablePartition partition = new AnalyticsTablePartition( table, null,
+            new DateTime( 2019, 3, 1, 9, 0 ).toDate(), new DateTime( 2019, 3, 1, 10, 0 ).toDate(), false );
+
+        when( jdbcTemplate.queryForList( startsWith( "select distinct cast" ), eq( Integer.class ) ) )
+            .thenReturn( Lists.newArrayList( 2018, 2019 ) );
+        when( jdbcTemplate.queryForObject( Mockito.anyString(), eq( Integer.class ), eq( "analytics_2018" ) ) )
+            .thenReturn( 1 );
+        when( jdbcTemplate.queryForObject( Mockito.anyString(), eq( Integer.class ), eq( "analytics_2019" ) ) )
+            .thenReturn( 0 );
+
+        subject.applyIncrementalUpdate( partition );
+
+        verify( jdbcTemplate ).execute( "create table analytics_2019 partition of analytics for values in (2019)" );
+        verify( jdbcTemplate ).execute( argThat( ( String sql ) -> sql.startsWith( "create index" )
+            && sql.contains( " on analytics_2019 " ) ) );
+        verify( jdbcTemplate, Mockito.never() ).execute( startsWith( "create table analytics_2018" ) );
+        verify( jdbcTemplate, Mockito.never() ).execute( argThat( ( String sql ) -> sql.startsWith( "create index" )
+            && sql.contains( " on analytics_2018 " ) ) );
+    }
+
     @Test
     void testGetLatestAnalyticsTableNoFullTableUpdate()
     {
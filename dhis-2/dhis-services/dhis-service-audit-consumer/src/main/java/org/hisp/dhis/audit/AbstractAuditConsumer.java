@@ -28,34 +28,207 @@
 package org.hisp.dhis.audit;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
+import javax.jms.Connection;
+import javax.jms.ConnectionFactory;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.MessageConsumer;
+import javax.jms.Session;
 import javax.jms.TextMessage;
 
 import lombok.extern.slf4j.Slf4j;
 
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.springframework.context.SmartLifecycle;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
+ * Consumes the audit messages of a topic in a transacted session on its own
+ * thread. Up to the configured batch size of messages which are available are
+ * received, their audits are persisted in a single batch, and the session is
+ * committed. If persisting fails, the session is rolled back so that the
+ * messages are redelivered, and they are then received and persisted one by
+ * one, so that a single failing message does not hold back the others.
+ * Messages stay on the broker until their audits are persisted.
+ *
  * @author Morten Olav Hansen <mortenoh@gmail.com>
  */
 @Slf4j
 public abstract class AbstractAuditConsumer
-    implements AuditConsumer
+    implements AuditConsumer, SmartLifecycle
 {
-    protected AuditService auditService;
+    private static final long RECEIVE_TIMEOUT_MILLIS = 1000;
+
+    private static final long RECOVERY_INTERVAL_MILLIS = 5000;
+
+    protected AuditBatchWriter auditBatchWriter;
 
     protected ObjectMapper objectMapper;
 
+    protected ConnectionFactory connectionFactory;
+
     protected boolean isAuditLogEnabled;
 
     protected boolean isAuditDatabaseEnabled;
 
-    protected void _consume( TextMessage message )
+    protected int batchSize;
+
+    /**
+     * Number of redelivered messages still to be received one by one after a
+     * batch failed.
+     */
+    private int singleMessages = 0;
+
+    private volatile boolean running = false;
+
+    private Thread consumerThread;
+
+    protected void init( AuditBatchWriter auditBatchWriter, ObjectMapper objectMapper,
+        ConnectionFactory connectionFactory, DhisConfigurationProvider dhisConfig )
+    {
+        this.auditBatchWriter = auditBatchWriter;
+        this.objectMapper = objectMapper;
+        this.connectionFactory = connectionFactory;
+
+        this.isAuditLogEnabled = dhisConfig.isEnabled( ConfigurationKey.AUDIT_LOGGER );
+        this.isAuditDatabaseEnabled = dhisConfig.isEnabled( ConfigurationKey.AUDIT_DATABASE );
+        this.batchSize = Math.max( 1,
+            Integer.parseInt( dhisConfig.getProperty( ConfigurationKey.AUDIT_CONSUMER_BATCH_SIZE ) ) );
+    }
+
+    /**
+     * Returns the name of the topic to consume audit messages from.
+     */
+    protected abstract String getTopicName();
+
+    @Override
+    public void start()
+    {
+        running = true;
+        consumerThread = new Thread( this::consume, "AUDIT-CONSUMER-" + getTopicName() );
+        consumerThread.setDaemon( true );
+        consumerThread.start();
+    }
+
+    @Override
+    public void stop()
+    {
+        running = false;
+
+        if ( consumerThread != null )
+        {
+            try
+            {
+                consumerThread.join( RECEIVE_TIMEOUT_MILLIS * 5 );
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning()
+    {
+        return running;
+    }
+
+    // -------------------------------------------------------------------------
+    // Supportive methods
+    // -------------------------------------------------------------------------
+
+    /**
+     * Receives and persists batches of audit messages until stopped, and
+     * reconnects after connection failures.
+     */
+    private void consume()
+    {
+        while ( running )
+        {
+            try ( Connection connection = connectionFactory.createConnection() )
+            {
+                Session session = connection.createSession( true, Session.SESSION_TRANSACTED );
+                MessageConsumer consumer = session.createConsumer( session.createTopic( getTopicName() ) );
+                connection.start();
+
+                while ( running )
+                {
+                    consumeBatch( session, consumer );
+                }
+            }
+            catch ( JMSException | RuntimeException e )
+            {
+                log.error( "Consuming audit messages from topic '" + getTopicName() + "' failed, reconnecting", e );
+
+                sleep( RECOVERY_INTERVAL_MILLIS );
+            }
+        }
+    }
+
+    /**
+     * Receives the available messages up to the batch size, waiting for the
+     * first one for a limited time, persists their audits and commits the
+     * session. Rolls the session back if persisting fails.
+     *
+     * @param session the transacted session.
+     * @param consumer the message consumer of the session.
+     */
+    void consumeBatch( Session session, MessageConsumer consumer )
+        throws JMSException
+    {
+        int maxMessages = singleMessages > 0 ? 1 : batchSize;
+
+        List<Message> messages = new ArrayList<>();
+        Message message = consumer.receive( RECEIVE_TIMEOUT_MILLIS );
+
+        while ( message != null )
+        {
+            messages.add( message );
+            message = messages.size() < maxMessages ? consumer.receiveNoWait() : null;
+        }
+
+        if ( messages.isEmpty() )
+        {
+            return;
+        }
+
+        List<Audit> audits = new ArrayList<>();
+        messages.forEach( m -> addAudit( audits, m ) );
+
+        try
+        {
+            if ( isAuditDatabaseEnabled && !audits.isEmpty() )
+            {
+                auditBatchWriter.write( audits );
+            }
+
+            session.commit();
+        }
+        catch ( RuntimeException e )
+        {
+            log.error( "Persisting " + audits.size() + " audits from topic '" + getTopicName()
+                + "' failed, rolling back for redelivery", e );
+
+            session.rollback();
+
+            singleMessages = Math.max( singleMessages, messages.size() + 1 );
+        }
+
+        singleMessages = Math.max( 0, singleMessages - 1 );
+    }
+
+    private void addAudit( List<Audit> audits, Message message )
     {
         try
         {
-            org.hisp.dhis.artemis.audit.Audit auditMessage = objectMapper.readValue( message.getText(),
-                org.hisp.dhis.artemis.audit.Audit.class );
+            org.hisp.dhis.artemis.audit.Audit auditMessage = objectMapper.readValue(
+                ((TextMessage) message).getText(), org.hisp.dhis.artemis.audit.Audit.class );
 
             if ( auditMessage.getData() != null && !(auditMessage.getData() instanceof String) )
             {
@@ -69,20 +242,25 @@ public abstract class AbstractAuditConsumer
                 log.info( objectMapper.writeValueAsString( audit ) );
             }
 
-            if ( isAuditDatabaseEnabled )
-            {
-                auditService.addAudit( audit );
-            }
+            audits.add( audit );
         }
-        catch ( IOException e )
+        catch ( IOException | JMSException | ClassCastException e )
         {
             log.error(
                 "An error occurred de-serializing the message payload. The message can not be de-serialized to an Audit object.",
                 e );
         }
-        catch ( Exception e )
+    }
+
+    private static void sleep( long millis )
+    {
+        try
+        {
+            Thread.sleep( millis );
+        }
+        catch ( InterruptedException e )
         {
-            log.error( "An error occurred persisting an Audit message of type 'TRACKER'", e );
+            Thread.currentThread().interrupt();
         }
     }
 }
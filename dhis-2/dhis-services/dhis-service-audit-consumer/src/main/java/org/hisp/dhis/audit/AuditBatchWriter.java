@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.audit;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Persists batches of audits received by the audit consumers. A batch is
+ * persisted in a single transaction, and failures are propagated so that the
+ * consumer can roll back its session and have the messages redelivered.
+ * <p>
+ * Identical audits within a batch, e.g. caused by messages being redelivered,
+ * are persisted only once.
+ */
+@Component
+public class AuditBatchWriter
+{
+    private final AuditService auditService;
+
+    private final AtomicLong persistedCount = new AtomicLong();
+
+    private volatile int lastBatchSize;
+
+    private volatile long lagMillis;
+
+    public AuditBatchWriter( AuditService auditService )
+    {
+        this.auditService = auditService;
+    }
+
+    /**
+     * Persists the given audits in a single batch.
+     *
+     * @param audits the list of {@link Audit}.
+     * @throws RuntimeException if the audits could not be persisted, in which
+     *         case none of them are persisted.
+     */
+    public void write( List<Audit> audits )
+    {
+        List<Audit> batch = new ArrayList<>( new LinkedHashSet<>( audits ) );
+
+        auditService.addAudits( batch );
+
+        persistedCount.addAndGet( batch.size() );
+        lastBatchSize = batch.size();
+        lagMillis = getLag( batch );
+    }
+
+    /**
+     * Returns the number of audits in the most recently written batch.
+     */
+    public int getLastBatchSize()
+    {
+        return lastBatchSize;
+    }
+
+    /**
+     * Returns the number of audits persisted since startup.
+     */
+    public long getPersistedCount()
+    {
+        return persistedCount.get();
+    }
+
+    /**
+     * Returns the time in milliseconds between the creation and the
+     * persistence of the oldest audit in the most recently written batch.
+     */
+    public long getLagMillis()
+    {
+        return lagMillis;
+    }
+
+    // -------------------------------------------------------------------------
+    // Supportive methods
+    // -------------------------------------------------------------------------
+
+    private long getLag( List<Audit> batch )
+    {
+        LocalDateTime oldest = null;
+
+        for ( Audit audit : batch )
+        {
+            if ( audit.getCreatedAt() != null && (oldest == null || audit.getCreatedAt().isBefore( oldest )) )
+            {
+                oldest = audit.getCreatedAt();
+            }
+        }
+
+        return oldest != null ? Math.max( 0, Duration.between( oldest, LocalDateTime.now() ).toMillis() ) : 0;
+    }
+}
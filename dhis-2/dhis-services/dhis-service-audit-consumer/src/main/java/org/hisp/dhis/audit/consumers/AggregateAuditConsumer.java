@@ -27,14 +27,12 @@
  */
 package org.hisp.dhis.audit.consumers;
 
-import javax.jms.TextMessage;
+import javax.jms.ConnectionFactory;
 
 import org.hisp.dhis.artemis.Topics;
 import org.hisp.dhis.audit.AbstractAuditConsumer;
-import org.hisp.dhis.audit.AuditService;
-import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.audit.AuditBatchWriter;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
-import org.springframework.jms.annotation.JmsListener;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -47,20 +45,17 @@ public class AggregateAuditConsumer
     extends AbstractAuditConsumer
 {
     public AggregateAuditConsumer(
-        AuditService auditService,
+        AuditBatchWriter auditBatchWriter,
         ObjectMapper objectMapper,
+        ConnectionFactory jmsConnectionFactory,
         DhisConfigurationProvider dhisConfig )
     {
-        this.auditService = auditService;
-        this.objectMapper = objectMapper;
-
-        this.isAuditLogEnabled = dhisConfig.isEnabled( ConfigurationKey.AUDIT_LOGGER );
-        this.isAuditDatabaseEnabled = dhisConfig.isEnabled( ConfigurationKey.AUDIT_DATABASE );
+        init( auditBatchWriter, objectMapper, jmsConnectionFactory, dhisConfig );
     }
 
-    @JmsListener( destination = Topics.AGGREGATE_TOPIC_NAME )
-    public void consume( TextMessage message )
+    @Override
+    protected String getTopicName()
     {
-        _consume( message );
+        return Topics.AGGREGATE_TOPIC_NAME;
     }
 }
@@ -29,14 +29,13 @@ package org.hisp.dhis.audit.consumers;
 
 import java.util.Objects;
 
-import javax.jms.TextMessage;
+import javax.jms.ConnectionFactory;
 
 import org.hisp.dhis.artemis.Topics;
 import org.hisp.dhis.audit.AbstractAuditConsumer;
-import org.hisp.dhis.audit.AuditService;
+import org.hisp.dhis.audit.AuditBatchWriter;
 import org.hisp.dhis.external.conf.ConfigurationKey;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
-import org.springframework.jms.annotation.JmsListener;
 import org.springframework.stereotype.Component;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -51,23 +50,22 @@ public class TrackerAuditConsumer
     extends AbstractAuditConsumer
 {
     public TrackerAuditConsumer(
-        AuditService auditService,
+        AuditBatchWriter auditBatchWriter,
         ObjectMapper objectMapper,
+        ConnectionFactory jmsConnectionFactory,
         DhisConfigurationProvider dhisConfig )
     {
-        this.auditService = auditService;
-        this.objectMapper = objectMapper;
+        init( auditBatchWriter, objectMapper, jmsConnectionFactory, dhisConfig );
 
         // for legacy reasons we are overriding the default here and using "off"
         // for tracking logger (we don't have a specific key for tracker logger)
         this.isAuditLogEnabled = Objects
             .equals( dhisConfig.getPropertyOrDefault( ConfigurationKey.AUDIT_LOGGER, "off" ), "on" );
-        this.isAuditDatabaseEnabled = dhisConfig.isEnabled( ConfigurationKey.AUDIT_DATABASE );
     }
 
-    @JmsListener( destination = Topics.TRACKER_TOPIC_NAME )
-    public void consume( TextMessage message )
+    @Override
+    protected String getTopicName()
     {
-        _consume( message );
+        return Topics.TRACKER_TOPIC_NAME;
     }
 }
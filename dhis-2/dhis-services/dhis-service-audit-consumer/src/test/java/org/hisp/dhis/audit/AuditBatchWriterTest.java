@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AuditBatchWriterTest
+{
+    private AuditService auditService;
+
+    private AuditBatchWriter writer;
+
+    @BeforeEach
+    void setUp()
+    {
+        auditService = mock( AuditService.class );
+        writer = new AuditBatchWriter( auditService );
+    }
+
+    @Test
+    void testWriteBatch()
+    {
+        Audit auditA = createAudit( "a" );
+        Audit auditB = createAudit( "b" );
+
+        writer.write( List.of( auditA, auditB ) );
+
+        verify( auditService ).addAudits( List.of( auditA, auditB ) );
+        assertEquals( 2, writer.getLastBatchSize() );
+        assertEquals( 2, writer.getPersistedCount() );
+    }
+
+    @Test
+    void testIdenticalAuditsInBatchArePersistedOnce()
+    {
+        Audit audit = createAudit( "a" );
+
+        writer.write( List.of( audit, createAudit( "a" ) ) );
+
+        verify( auditService ).addAudits( List.of( audit ) );
+        assertEquals( 1, writer.getPersistedCount() );
+    }
+
+    @Test
+    void testFailedBatchIsPropagated()
+    {
+        doThrow( new IllegalStateException( "Batch failed" ) ).when( auditService ).addAudits( anyList() );
+
+        List<Audit> audits = List.of( createAudit( "a" ) );
+
+        assertThrows( IllegalStateException.class, () -> writer.write( audits ) );
+        assertEquals( 0, writer.getPersistedCount() );
+    }
+
+    private static Audit createAudit( String uid )
+    {
+        return Audit.builder()
+            .auditType( AuditType.CREATE )
+            .auditScope( AuditScope.TRACKER )
+            .createdAt( LocalDateTime.of( 2022, 1, 1, 0, 0 ) )
+            .createdBy( "admin" )
+            .uid( uid )
+            .build();
+    }
+}
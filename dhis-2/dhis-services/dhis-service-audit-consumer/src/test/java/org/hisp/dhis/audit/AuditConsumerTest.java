@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.audit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import javax.jms.ConnectionFactory;
+import javax.jms.JMSException;
+import javax.jms.MessageConsumer;
+import javax.jms.Session;
+import javax.jms.TextMessage;
+
+import org.hisp.dhis.audit.consumers.AggregateAuditConsumer;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class AuditConsumerTest
+{
+    private AuditService auditService;
+
+    private Session session;
+
+    private MessageConsumer messageConsumer;
+
+    private AbstractAuditConsumer auditConsumer;
+
+    @BeforeEach
+    void setUp()
+    {
+        auditService = mock( AuditService.class );
+        session = mock( Session.class );
+        messageConsumer = mock( MessageConsumer.class );
+
+        DhisConfigurationProvider config = mock( DhisConfigurationProvider.class );
+        when( config.getProperty( ConfigurationKey.AUDIT_CONSUMER_BATCH_SIZE ) ).thenReturn( "3" );
+        when( config.isEnabled( ConfigurationKey.AUDIT_DATABASE ) ).thenReturn( true );
+
+        auditConsumer = new AggregateAuditConsumer( new AuditBatchWriter( auditService ), new ObjectMapper(),
+            mock( ConnectionFactory.class ), config );
+    }
+
+    @Test
+    void testAvailableMessagesAreConsumedUpToBatchSize()
+        throws JMSException
+    {
+        TextMessage messageA = createMessage( "a" );
+        when( messageConsumer.receive( anyLong() ) ).thenReturn( messageA );
+        when( messageConsumer.receiveNoWait() ).thenReturn( createMessage( "b" ), createMessage( "c" ),
+            createMessage( "d" ) );
+
+        auditConsumer.consumeBatch( session, messageConsumer );
+
+        assertEquals( List.of( "a", "b", "c" ), getPersistedUids( 1 ).get( 0 ) );
+        verify( messageConsumer, times( 2 ) ).receiveNoWait();
+        verify( session ).commit();
+    }
+
+    @Test
+    void testSessionIsCommittedAfterAuditsArePersisted()
+        throws JMSException
+    {
+        TextMessage message = createMessage( "a" );
+        when( messageConsumer.receive( anyLong() ) ).thenReturn( message );
+
+        auditConsumer.consumeBatch( session, messageConsumer );
+
+        InOrder inOrder = inOrder( auditService, session );
+        inOrder.verify( auditService ).addAudits( anyList() );
+        inOrder.verify( session ).commit();
+    }
+
+    @Test
+    void testNoMessageIsNotCommitted()
+        throws JMSException
+    {
+        auditConsumer.consumeBatch( session, messageConsumer );
+
+        verify( auditService, never() ).addAudits( anyList() );
+        verify( session, never() ).commit();
+    }
+
+    @Test
+    void testSessionIsRolledBackWhenPersistingFails()
+        throws JMSException
+    {
+        TextMessage message = createMessage( "a" );
+        when( messageConsumer.receive( anyLong() ) ).thenReturn( message );
+        doThrow( new IllegalStateException( "Batch failed" ) ).when( auditService ).addAudits( anyList() );
+
+        auditConsumer.consumeBatch( session, messageConsumer );
+
+        verify( session ).rollback();
+        verify( session, never() ).commit();
+    }
+
+    @Test
+    void testRedeliveredMessagesAreConsumedOneByOne()
+        throws JMSException
+    {
+        TextMessage messageA = createMessage( "a" );
+        TextMessage messageB = createMessage( "b" );
+        when( messageConsumer.receive( anyLong() ) ).thenReturn( messageA, messageA, messageB, messageA );
+        when( messageConsumer.receiveNoWait() ).thenReturn( messageB, null, messageB, null );
+        doThrow( new IllegalStateException( "Batch failed" ) ).doNothing().when( auditService )
+            .addAudits( anyList() );
+
+        // The failed batch is redelivered and consumed one message at a time
+
+        auditConsumer.consumeBatch( session, messageConsumer );
+        auditConsumer.consumeBatch( session, messageConsumer );
+        auditConsumer.consumeBatch( session, messageConsumer );
+        auditConsumer.consumeBatch( session, messageConsumer );
+
+        assertEquals( List.of( List.of( "a", "b" ), List.of( "a" ), List.of( "b" ), List.of( "a", "b" ) ),
+            getPersistedUids( 4 ) );
+        verify( session ).rollback();
+        verify( session, times( 3 ) ).commit();
+    }
+
+    @Test
+    void testUnreadableMessageIsCommitted()
+        throws JMSException
+    {
+        TextMessage message = mock( TextMessage.class );
+        when( message.getText() ).thenReturn( "{invalid" );
+        when( messageConsumer.receive( anyLong() ) ).thenReturn( message );
+
+        auditConsumer.consumeBatch( session, messageConsumer );
+
+        verify( auditService, never() ).addAudits( anyList() );
+        verify( session ).commit();
+    }
+
+    private static TextMessage createMessage( String uid )
+        throws JMSException
+    {
+        TextMessage message = mock( TextMessage.class );
+        when( message.getText() ).thenReturn(
+            "{\"auditType\":\"CREATE\",\"auditScope\":\"AGGREGATE\",\"createdBy\":\"admin\",\"uid\":\"" + uid
+                + "\"}" );
+        return message;
+    }
+
+    @SuppressWarnings( "unchecked" )
+    private List<List<String>> getPersistedUids( int batches )
+    {
+        ArgumentCaptor<List<Audit>> captor = ArgumentCaptor.forClass( List.class );
+        verify( auditService, times( batches ) ).addAudits( captor.capture() );
+
+        return captor.getAllValues().stream()
+            .map( audits -> audits.stream().map( Audit::getUid ).toList() )
+            .toList();
+    }
+}
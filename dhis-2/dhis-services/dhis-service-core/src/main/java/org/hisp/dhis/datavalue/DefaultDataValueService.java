@@ -32,6 +32,7 @@ import static org.hisp.dhis.system.util.ValidationUtils.dataValueIsValid;
 import static org.hisp.dhis.system.util.ValidationUtils.dataValueIsZeroAndInsignificant;
 
 import java.util.Calendar;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -319,6 +320,13 @@ public class DefaultDataValueService
         }
     }
 
+    @Override
+    @Transactional( readOnly = true )
+    public List<DataValue> getPersistedDataValues( Collection<DataValue> dataValues )
+    {
+        return dataValueStore.getPersistedDataValues( dataValues );
+    }
+
     @Override
     @Transactional( readOnly = true )
     public List<DataValue> getAllDataValues()
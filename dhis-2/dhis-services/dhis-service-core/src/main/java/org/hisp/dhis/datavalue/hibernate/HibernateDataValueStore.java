@@ -35,8 +35,10 @@ import static org.hisp.dhis.commons.util.TextUtils.removeLastOr;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
@@ -313,6 +315,53 @@ public class HibernateDataValueStore extends HibernateGenericStore<DataValue>
         return query.list();
     }
 
+    @Override
+    public List<DataValue> getPersistedDataValues( Collection<DataValue> dataValues )
+    {
+        List<DataValue> result = new ArrayList<>();
+
+        if ( dataValues.isEmpty() )
+        {
+            return result;
+        }
+
+        Map<String, DataValue> keyMap = new HashMap<>();
+
+        for ( DataValue dataValue : dataValues )
+        {
+            keyMap.putIfAbsent( getKey( dataValue.getDataElement().getId(), dataValue.getPeriod().getId(),
+                dataValue.getSource().getId(), dataValue.getCategoryOptionCombo().getId(),
+                dataValue.getAttributeOptionCombo().getId() ), dataValue );
+        }
+
+        String sql = "select dataelementid, periodid, sourceid, categoryoptioncomboid, attributeoptioncomboid, " +
+            "value, storedby, created, lastupdated, comment, followup, deleted " +
+            "from datavalue " +
+            "where (dataelementid, periodid, sourceid, categoryoptioncomboid, attributeoptioncomboid) in (" +
+            keyMap.keySet().stream().map( key -> "(" + key + ")" ).collect( Collectors.joining( "," ) ) + ")";
+
+        jdbcTemplate.query( sql, rs -> {
+            DataValue dataValue = keyMap.get( getKey( rs.getLong( 1 ), rs.getLong( 2 ), rs.getLong( 3 ),
+                rs.getLong( 4 ), rs.getLong( 5 ) ) );
+
+            if ( dataValue != null )
+            {
+                DataValue persisted = new DataValue( dataValue.getDataElement(), dataValue.getPeriod(),
+                    dataValue.getSource(), dataValue.getCategoryOptionCombo(), dataValue.getAttributeOptionCombo(),
+                    rs.getString( 6 ), rs.getString( 7 ), rs.getTimestamp( 9 ), rs.getString( 10 ),
+                    rs.getBoolean( 11 ), rs.getBoolean( 12 ) );
+
+                persisted.setCreated( rs.getTimestamp( 8 ) );
+
+                result.add( persisted );
+            }
+        } );
+
+        log.debug( result.size() + " persisted DataValues returned for " + keyMap.size() + " keys" );
+
+        return result;
+    }
+
     @Override
     public List<DataValue> getAllDataValues()
     {
@@ -459,8 +508,8 @@ public class HibernateDataValueStore extends HibernateGenericStore<DataValue>
 
         if ( params.hasLastUpdated() )
         {
-            where += sqlHelper.whereAnd() + "dv.lastupdated >= "
-                + DateUtils.getMediumDateString( params.getLastUpdated() );
+            where += sqlHelper.whereAnd() + "dv.lastupdated >= '"
+                + DateUtils.getLongDateString( params.getLastUpdated() ) + "'";
         }
 
         if ( !params.isIncludeDeleted() )
@@ -613,6 +662,18 @@ public class HibernateDataValueStore extends HibernateGenericStore<DataValue>
         return deos;
     }
 
+    /**
+     * Returns the key of a data value made up of the identifiers of its
+     * dimensions. The key doubles as an SQL row value of the identifying
+     * columns of the datavalue table.
+     */
+    private static String getKey( long dataElementId, long periodId, long sourceId,
+        long categoryOptionComboId, long attributeOptionComboId )
+    {
+        return dataElementId + "," + periodId + "," + sourceId + "," +
+            categoryOptionComboId + "," + attributeOptionComboId;
+    }
+
     /**
      * Adds a {@see DeflatedDataValue} to a blocking queue
      *
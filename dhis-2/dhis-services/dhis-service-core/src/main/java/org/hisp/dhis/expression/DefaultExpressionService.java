@@ -88,6 +88,7 @@ import java.util.stream.Stream;
 
 import lombok.extern.slf4j.Slf4j;
 
+import org.antlr.v4.runtime.tree.ParseTree;
 import org.apache.commons.lang3.StringUtils;
 import org.hisp.dhis.analytics.DataType;
 import org.hisp.dhis.antlr.Parser;
@@ -130,6 +131,7 @@ import org.hisp.dhis.parser.expression.CommonExpressionVisitor;
 import org.hisp.dhis.parser.expression.ExpressionItem;
 import org.hisp.dhis.parser.expression.ExpressionItemMethod;
 import org.hisp.dhis.parser.expression.ExpressionState;
+import org.hisp.dhis.parser.expression.antlr.ExpressionBaseVisitor;
 import org.hisp.dhis.parser.expression.function.FunctionAggregationType;
 import org.hisp.dhis.parser.expression.function.FunctionMaxDate;
 import org.hisp.dhis.parser.expression.function.FunctionMinDate;
@@ -260,6 +262,18 @@ public class DefaultExpressionService
      */
     private static final Pattern OU_GROUP_PATTERN = Pattern.compile( OU_GROUP_EXPRESSION );
 
+    /**
+     * Visitor which returns the parse tree it is given without visiting it.
+     */
+    private static final ExpressionBaseVisitor<Object> PARSE_TREE_VISITOR = new ExpressionBaseVisitor<>()
+    {
+        @Override
+        public Object visit( ParseTree tree )
+        {
+            return tree;
+        }
+    };
+
     // -------------------------------------------------------------------------
     // Cache
     // -------------------------------------------------------------------------
@@ -269,6 +283,13 @@ public class DefaultExpressionService
      */
     private final Cache<Map<String, Constant>> constantMapCache;
 
+    /**
+     * Cache for expression parse trees, keyed by expression. The parse tree
+     * depends only on the expression grammar, so the same tree is visited for
+     * all parse types and item methods.
+     */
+    private final Cache<ParseTree> parseTreeCache;
+
     // -------------------------------------------------------------------------
     // Constructor
     // -------------------------------------------------------------------------
@@ -293,6 +314,7 @@ public class DefaultExpressionService
         this.statementBuilder = statementBuilder;
         this.i18nManager = i18nManager;
         this.constantMapCache = cacheProvider.createAllConstantsCache();
+        this.parseTreeCache = cacheProvider.createExpressionParseTreeCache();
 
         FunctionSubExpression fn = (FunctionSubExpression) INDICATOR_EXPRESSION_ITEMS.get( SUB_EXPRESSION );
         if ( fn != null )
@@ -760,7 +782,7 @@ public class DefaultExpressionService
     {
         try
         {
-            Object result = Parser.visit( expression, visitor );
+            Object result = visitor.visit( getParseTree( expression ) );
 
             switch ( dataType )
             {
@@ -791,6 +813,27 @@ public class DefaultExpressionService
         return DOUBLE_VALUE_IF_NULL;
     }
 
+    /**
+     * Gets the parse tree of an expression, parsing the expression only if it
+     * is not already cached. Parse trees are not modified by visitors and can
+     * safely be visited concurrently.
+     */
+    private ParseTree getParseTree( String expression )
+    {
+        return parseTreeCache.get( expression, DefaultExpressionService::parse );
+    }
+
+    /**
+     * Parses an expression into a parse tree, throwing a
+     * {@link ParserException} on syntax errors. The expression is parsed by
+     * {@link Parser} like all other expressions, with a visitor which returns
+     * the tree itself instead of walking it.
+     */
+    private static ParseTree parse( String expression )
+    {
+        return (ParseTree) Parser.visit( expression, PARSE_TREE_VISITOR );
+    }
+
     /**
      * Regenerates an expression from the parse tree, with values substituted
      * for constants and orgUnitCounts.
@@ -102,10 +102,13 @@ public class DefaultOrganisationUnitService
 
     private final UserSettingService userSettingService;
 
+    private final OrganisationUnitHierarchyIndexManager hierarchyIndexManager;
+
     public DefaultOrganisationUnitService( OrganisationUnitStore organisationUnitStore,
         IdentifiableObjectManager idObjectManager, OrganisationUnitLevelStore organisationUnitLevelStore,
         CurrentUserService currentUserService, ConfigurationService configurationService,
-        UserSettingService userSettingService, CacheProvider cacheProvider )
+        UserSettingService userSettingService, CacheProvider cacheProvider,
+        OrganisationUnitHierarchyIndexManager hierarchyIndexManager )
     {
         checkNotNull( organisationUnitStore );
         checkNotNull( idObjectManager );
@@ -114,6 +117,7 @@ public class DefaultOrganisationUnitService
         checkNotNull( configurationService );
         checkNotNull( userSettingService );
         checkNotNull( cacheProvider );
+        checkNotNull( hierarchyIndexManager );
 
         this.organisationUnitStore = organisationUnitStore;
         this.idObjectManager = idObjectManager;
@@ -121,6 +125,7 @@ public class DefaultOrganisationUnitService
         this.currentUserService = currentUserService;
         this.configurationService = configurationService;
         this.userSettingService = userSettingService;
+        this.hierarchyIndexManager = hierarchyIndexManager;
         this.inUserOrgUnitHierarchyCache = cacheProvider.createInUserOrgUnitHierarchyCache();
         this.inUserOrgUnitSearchHierarchyCache = cacheProvider.createInUserSearchOrgUnitHierarchyCache();
         this.userCaptureOrgCountThresholdCache = cacheProvider.createUserCaptureOrgUnitThresholdCache();
@@ -509,6 +514,13 @@ public class DefaultOrganisationUnitService
             return false;
         }
 
+        Boolean indexed = isDescendantIndexed( organisationUnit, ancestors );
+
+        if ( indexed != null )
+        {
+            return indexed;
+        }
+
         Set<String> ancestorsUid = new HashSet<>();
         for ( OrganisationUnit ancestor : ancestors )
         {
@@ -549,6 +561,13 @@ public class DefaultOrganisationUnitService
             return false;
         }
 
+        Boolean indexed = isDescendantIndexed( organisationUnit, Set.of( ancestor ) );
+
+        if ( indexed != null )
+        {
+            return indexed;
+        }
+
         OrganisationUnit unit = getOrganisationUnit( organisationUnit.getUid() );
 
         while ( unit != null )
@@ -565,6 +584,58 @@ public class DefaultOrganisationUnitService
 
     }
 
+    @Override
+    @Transactional( readOnly = true )
+    public OrganisationUnitHierarchyIndex getHierarchyIndex()
+    {
+        return hierarchyIndexManager.getIndex();
+    }
+
+    /**
+     * Checks whether the given organisation unit is a descendant of any of the
+     * given ancestors using the {@link OrganisationUnitHierarchyIndex}. The
+     * index is only used when all units are part of it and the parent of the
+     * organisation unit matches the index, as the unit might have been moved
+     * within the current transaction, which the index only reflects once
+     * committed.
+     *
+     * @param organisationUnit the organisation unit.
+     * @param ancestors the ancestors.
+     * @return whether the organisation unit is a descendant, or null if the
+     *         index cannot be used.
+     */
+    private Boolean isDescendantIndexed( OrganisationUnit organisationUnit, Set<OrganisationUnit> ancestors )
+    {
+        OrganisationUnitHierarchyIndex index = getHierarchyIndex();
+        long id = organisationUnit.getId();
+        long parentId = organisationUnit.getParent() != null ? organisationUnit.getParent().getId() : 0L;
+
+        if ( !index.contains( id ) || index.getParentId( id ) != parentId )
+        {
+            return null;
+        }
+
+        for ( OrganisationUnit ancestor : ancestors )
+        {
+            if ( ancestor == null )
+            {
+                continue;
+            }
+
+            if ( !index.contains( ancestor.getId() ) )
+            {
+                return null;
+            }
+
+            if ( index.isDescendant( id, ancestor.getId() ) )
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     @Override
     @Transactional( readOnly = true )
     public boolean isInUserDataViewHierarchy( OrganisationUnit organisationUnit )
@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.organisationunit;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.internal.SessionFactoryImpl;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hisp.dhis.cache.Cache;
+import org.hisp.dhis.cache.CacheProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maintains the {@link OrganisationUnitHierarchyIndex}. The index is loaded
+ * from the database on first use. Subsequent hierarchy changes are captured
+ * from Hibernate events once the transaction which made them is committed and
+ * applied to the in-memory index on next access, without reloading it from the
+ * database. The index hence only reflects the committed hierarchy and never
+ * changes which are not yet visible to other transactions.
+ * <p>
+ * The index is held in a cache region and expires a fixed time after it was
+ * loaded, so that changes made by other servers of a cluster, which are not
+ * seen as Hibernate events, are picked up. If a transaction which changed the
+ * hierarchy fails to commit or caches are cleared, the index is reloaded from
+ * the database on next access.
+ */
+@Slf4j
+@Component
+public class OrganisationUnitHierarchyIndexManager
+    implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener
+{
+    private static final String INDEX_KEY = "index";
+
+    private final OrganisationUnitStore organisationUnitStore;
+
+    /**
+     * Holds the index in a reference, so that applying changes does not
+     * extend the expiry of the index.
+     */
+    private final Cache<AtomicReference<OrganisationUnitHierarchyIndex>> indexCache;
+
+    @PersistenceUnit
+    private EntityManagerFactory emf;
+
+    private final Map<Long, Long> pendingParentIds = new HashMap<>();
+
+    private final Set<Long> pendingRemovedIds = new HashSet<>();
+
+    private volatile boolean dirty = true;
+
+    public OrganisationUnitHierarchyIndexManager( OrganisationUnitStore organisationUnitStore,
+        CacheProvider cacheProvider )
+    {
+        this.organisationUnitStore = organisationUnitStore;
+        this.indexCache = cacheProvider.createOrgUnitHierarchyIndexCache();
+    }
+
+    @PostConstruct
+    protected void init()
+    {
+        SessionFactoryImpl sessionFactory = emf.unwrap( SessionFactoryImpl.class );
+
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService( EventListenerRegistry.class );
+
+        registry.getEventListenerGroup( EventType.POST_COMMIT_INSERT ).appendListener( this );
+        registry.getEventListenerGroup( EventType.POST_COMMIT_UPDATE ).appendListener( this );
+        registry.getEventListenerGroup( EventType.POST_COMMIT_DELETE ).appendListener( this );
+    }
+
+    /**
+     * Returns the current {@link OrganisationUnitHierarchyIndex}, loading it
+     * or applying pending hierarchy changes if required. Must be called within
+     * a transaction.
+     *
+     * @return the {@link OrganisationUnitHierarchyIndex}.
+     */
+    public OrganisationUnitHierarchyIndex getIndex()
+    {
+        OrganisationUnitHierarchyIndex current = getCachedIndex();
+
+        if ( current != null && !dirty )
+        {
+            return current;
+        }
+
+        synchronized ( this )
+        {
+            AtomicReference<OrganisationUnitHierarchyIndex> cached = indexCache.getIfPresent( INDEX_KEY )
+                .orElse( null );
+
+            if ( cached == null )
+            {
+                pendingParentIds.clear();
+                pendingRemovedIds.clear();
+                dirty = false;
+
+                OrganisationUnitHierarchyIndex index = organisationUnitStore.getHierarchyIndex();
+                indexCache.put( INDEX_KEY, new AtomicReference<>( index ) );
+
+                log.debug( "Loaded organisation unit hierarchy index with " + index.size() + " units" );
+
+                return index;
+            }
+
+            if ( dirty )
+            {
+                dirty = false;
+                cached.set( cached.get().apply( pendingParentIds, pendingRemovedIds ) );
+                pendingParentIds.clear();
+                pendingRemovedIds.clear();
+            }
+
+            return cached.get();
+        }
+    }
+
+    /**
+     * Discards the index, which is reloaded from the database on next access.
+     */
+    public synchronized void invalidate()
+    {
+        indexCache.invalidateAll();
+    }
+
+    // -------------------------------------------------------------------------
+    // Hibernate events
+    // -------------------------------------------------------------------------
+
+    @Override
+    public void onPostInsert( PostInsertEvent event )
+    {
+        updateParent( event.getEntity() );
+    }
+
+    @Override
+    public void onPostUpdate( PostUpdateEvent event )
+    {
+        updateParent( event.getEntity() );
+    }
+
+    @Override
+    public void onPostDelete( PostDeleteEvent event )
+    {
+        if ( event.getEntity() instanceof OrganisationUnit )
+        {
+            remove( ((OrganisationUnit) event.getEntity()).getId() );
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed( PostInsertEvent event )
+    {
+        invalidate();
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed( PostUpdateEvent event )
+    {
+        invalidate();
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed( PostDeleteEvent event )
+    {
+        invalidate();
+    }
+
+    @Override
+    public boolean requiresPostCommitHanding( EntityPersister persister )
+    {
+        return OrganisationUnit.class.getName().equals( persister.getEntityName() );
+    }
+
+    // -------------------------------------------------------------------------
+    // Supportive methods
+    // -------------------------------------------------------------------------
+
+    private void updateParent( Object entity )
+    {
+        if ( !(entity instanceof OrganisationUnit) )
+        {
+            return;
+        }
+
+        OrganisationUnit organisationUnit = (OrganisationUnit) entity;
+        long id = organisationUnit.getId();
+        long parentId = organisationUnit.getParent() != null ? organisationUnit.getParent().getId() : 0L;
+
+        synchronized ( this )
+        {
+            OrganisationUnitHierarchyIndex index = getCachedIndex();
+
+            if ( index == null || isUnchanged( index, id, parentId ) )
+            {
+                return;
+            }
+
+            pendingRemovedIds.remove( id );
+            pendingParentIds.put( id, parentId );
+            dirty = true;
+        }
+    }
+
+    private boolean isUnchanged( OrganisationUnitHierarchyIndex index, long id, long parentId )
+    {
+        Long pendingParentId = pendingParentIds.get( id );
+
+        if ( pendingParentId != null )
+        {
+            return pendingParentId == parentId;
+        }
+
+        return !pendingRemovedIds.contains( id ) && index.getParentId( id ) == parentId;
+    }
+
+    private synchronized void remove( long id )
+    {
+        if ( getCachedIndex() == null )
+        {
+            return;
+        }
+
+        pendingParentIds.remove( id );
+        pendingRemovedIds.add( id );
+        dirty = true;
+    }
+
+    private OrganisationUnitHierarchyIndex getCachedIndex()
+    {
+        return indexCache.getIfPresent( INDEX_KEY ).map( AtomicReference::get ).orElse( null );
+    }
+}
@@ -52,6 +52,7 @@ import org.hisp.dhis.commons.util.TextUtils;
 import org.hisp.dhis.dataset.DataSet;
 import org.hisp.dhis.dbms.DbmsManager;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.organisationunit.OrganisationUnitHierarchyIndex;
 import org.hisp.dhis.organisationunit.OrganisationUnitQueryParams;
 import org.hisp.dhis.organisationunit.OrganisationUnitStore;
 import org.hisp.dhis.program.Program;
@@ -356,6 +357,26 @@ public class HibernateOrganisationUnitStore
         return maxLength != null ? maxLength : 0;
     }
 
+    @Override
+    public OrganisationUnitHierarchyIndex getHierarchyIndex()
+    {
+        String hql = "select ou.id, p.id from OrganisationUnit ou left join ou.parent p";
+
+        List<Object[]> rows = getSession().createQuery( hql, Object[].class ).list();
+
+        long[] ids = new long[rows.size()];
+        long[] parentIds = new long[rows.size()];
+
+        for ( int i = 0; i < rows.size(); i++ )
+        {
+            Object[] row = rows.get( i );
+            ids[i] = (Long) row[0];
+            parentIds[i] = row[1] != null ? (Long) row[1] : 0L;
+        }
+
+        return OrganisationUnitHierarchyIndex.of( ids, parentIds );
+    }
+
     @Override
     public boolean isOrgUnitCountAboveThreshold( OrganisationUnitQueryParams params, int threshold )
     {
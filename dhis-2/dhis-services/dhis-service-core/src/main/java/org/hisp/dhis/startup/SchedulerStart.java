@@ -75,6 +75,8 @@ public class SchedulerStart extends AbstractStartupRoutine
 
     private static final String CRON_DAILY_7AM = "0 0 7 ? * *";
 
+    private static final String CRON_EVERY_5_MIN = "0 0/5 * * * *";
+
     private static final String LEADER_JOB_CRON_FORMAT = "0 0/%s * * * *";
 
     enum SystemJob
@@ -96,6 +98,8 @@ public class SchedulerStart extends AbstractStartupRoutine
             "Dataset notification" ),
         REMOVE_EXPIRED_OR_USED_RESERVED_VALUES( CRON_DAILY_2AM, "uwWCT2BMmlq", REMOVE_USED_OR_EXPIRED_RESERVED_VALUES,
             "Remove expired or used reserved values" ),
+        DATA_VALUE_STATISTICS( CRON_EVERY_5_MIN, "Qx3kVpR7sWd", JobType.DATA_VALUE_STATISTICS,
+            "Data value statistics update" ),
         LEADER_ELECTION( LEADER_JOB_CRON_FORMAT, "MoUd5BTQ3lY", JobType.LEADER_ELECTION,
             "Leader election in cluster" );
 
@@ -203,6 +207,7 @@ public class SchedulerStart extends AbstractStartupRoutine
         addDefaultJob( SystemJob.ACCOUNT_EXPIRY_ALERT, jobConfigurations );
         addDefaultJob( SystemJob.DATA_SET_NOTIFICATION, jobConfigurations );
         addDefaultJob( SystemJob.REMOVE_EXPIRED_OR_USED_RESERVED_VALUES, jobConfigurations );
+        addDefaultJob( SystemJob.DATA_VALUE_STATISTICS, jobConfigurations );
         addDefaultJob( SystemJob.SYSTEM_VERSION_UPDATE_CHECK, jobConfigurations );
 
         if ( redisEnabled && verifyNoJobExist( SystemJob.LEADER_ELECTION.name, jobConfigurations ) )
@@ -72,6 +72,7 @@ import org.hisp.dhis.common.DimensionalItemObject;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.common.IllegalQueryException;
 import org.hisp.dhis.common.OrganisationUnitSelectionMode;
+import org.hisp.dhis.common.PageToken;
 import org.hisp.dhis.common.QueryFilter;
 import org.hisp.dhis.common.QueryItem;
 import org.hisp.dhis.common.QueryOperator;
@@ -207,9 +208,35 @@ public class HibernateTrackedEntityInstanceStore
             ids.add( rowSet.getLong( "teiid" ) );
         }
 
+        if ( params.isPageTokenPaging() )
+        {
+            handlePageToken( params, ids );
+        }
+
         return ids;
     }
 
+    /**
+     * Trims the given identifiers, which are fetched with one extra row to
+     * detect whether more tracked entity instances exist, to the page size and
+     * sets the token of the next page on the given params.
+     *
+     * @param params the {@link TrackedEntityInstanceQueryParams}.
+     * @param ids the identifiers ordered by tracked entity instance identifier.
+     */
+    private void handlePageToken( TrackedEntityInstanceQueryParams params, List<Long> ids )
+    {
+        int pageSize = params.getPageSizeWithDefault();
+        boolean hasNextPage = ids.size() > pageSize;
+
+        if ( hasNextPage )
+        {
+            ids.subList( pageSize, ids.size() ).clear();
+        }
+
+        params.setNextPageToken( hasNextPage && !ids.isEmpty() ? PageToken.encode( ids.get( ids.size() - 1 ) ) : null );
+    }
+
     private String encodeAndQuote( Collection<String> elements )
     {
         return getQuotedCommaDelimitedString( elements.stream()
@@ -584,6 +611,15 @@ public class HibernateTrackedEntityInstanceStore
                 .append( ") " );
         }
 
+        if ( params.isPageTokenPaging() && !params.getPageToken().isEmpty() )
+        {
+            trackedEntity
+                .append( whereAnd.whereAnd() )
+                .append( "TEI.trackedentityinstanceid > " )
+                .append( PageToken.decode( params.getPageToken() ) )
+                .append( SPACE );
+        }
+
         if ( params.hasTrackedEntityInstances() )
         {
             trackedEntity
@@ -1223,6 +1259,11 @@ public class HibernateTrackedEntityInstanceStore
      */
     private String getQueryOrderBy( boolean innerOrder, TrackedEntityInstanceQueryParams params, boolean isGridQuery )
     {
+        if ( params.isPageTokenPaging() )
+        {
+            return "ORDER BY TEI.trackedentityinstanceid ASC ";
+        }
+
         if ( params.getOrders() != null
             && (!isGridQuery || (params.getAttributes() != null && !params.getAttributes().isEmpty())) )
         {
@@ -1361,7 +1402,20 @@ public class HibernateTrackedEntityInstanceStore
         StringBuilder limitOffset = new StringBuilder();
         int limit = params.getMaxTeiLimit();
 
-        if ( limit == 0 && !params.isPaging() )
+        if ( params.isPageTokenPaging() )
+        {
+            // Fetch one extra row to detect whether a next page exists
+
+            int pageSize = params.getPageSizeWithDefault() + 1;
+
+            return limitOffset
+                .append( LIMIT )
+                .append( SPACE )
+                .append( limit == 0 ? pageSize : Math.min( limit + 1, pageSize ) )
+                .append( SPACE )
+                .toString();
+        }
+        else if ( limit == 0 && !params.isPaging() )
         {
             return "";
         }
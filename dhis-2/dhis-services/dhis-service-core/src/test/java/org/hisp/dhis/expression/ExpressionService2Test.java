@@ -48,6 +48,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
@@ -62,10 +63,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.antlr.v4.runtime.tree.ParseTree;
 import org.apache.commons.math3.util.Precision;
 import org.hisp.dhis.DhisConvenienceTest;
+import org.hisp.dhis.cache.Cache;
 import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.cache.LocalCache;
 import org.hisp.dhis.cache.NoOpCache;
+import org.hisp.dhis.cache.SimpleCacheBuilder;
 import org.hisp.dhis.category.Category;
 import org.hisp.dhis.category.CategoryCombo;
 import org.hisp.dhis.category.CategoryOption;
@@ -257,6 +262,7 @@ class ExpressionService2Test extends DhisConvenienceTest
     public void setUp()
     {
         when( cacheProvider.createAllConstantsCache() ).thenReturn( new NoOpCache<>() );
+        when( cacheProvider.createExpressionParseTreeCache() ).thenReturn( new NoOpCache<>() );
         target = new DefaultExpressionService( hibernateGenericStore, constantService, dimensionService,
             idObjectManager, statementBuilder, i18nManager, cacheProvider );
 
@@ -746,6 +752,31 @@ class ExpressionService2Test extends DhisConvenienceTest
             target.expressionIsValid( expression, VALIDATION_RULE_EXPRESSION ) );
     }
 
+    @Test
+    void testParseTreeCacheHit()
+    {
+        Cache<ParseTree> parseTreeCache = new LocalCache<>( new SimpleCacheBuilder<ParseTree>() );
+        when( cacheProvider.createExpressionParseTreeCache() ).thenReturn( parseTreeCache );
+        target = new DefaultExpressionService( hibernateGenericStore, constantService, dimensionService,
+            idObjectManager, statementBuilder, i18nManager, cacheProvider );
+
+        assertTrue( target.expressionIsValid( "12 + 4", VALIDATION_RULE_EXPRESSION ).isValid() );
+        ParseTree parseTree = parseTreeCache.getIfPresent( "12 + 4" ).orElse( null );
+        assertNotNull( parseTree );
+
+        assertTrue( target.expressionIsValid( "12 + 4", INDICATOR_EXPRESSION ).isValid() );
+        assertSame( parseTree, parseTreeCache.getIfPresent( "12 + 4" ).orElse( null ) );
+
+        assertEquals( ExpressionValidationOutcome.EXPRESSION_IS_NOT_WELL_FORMED,
+            target.expressionIsValid( "12 x 4", VALIDATION_RULE_EXPRESSION ) );
+        assertFalse( parseTreeCache.getIfPresent( "12 x 4" ).isPresent() );
+
+        // A cached parse tree is visited without parsing the expression again
+
+        parseTreeCache.put( "12 x 4", parseTree );
+        assertTrue( target.expressionIsValid( "12 x 4", VALIDATION_RULE_EXPRESSION ).isValid() );
+    }
+
     @Test
     void testGetExpressionDescription()
     {
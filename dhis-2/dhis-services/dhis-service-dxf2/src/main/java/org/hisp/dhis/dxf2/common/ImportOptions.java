@@ -64,8 +64,19 @@ public class ImportOptions
 
     private ImportReportMode reportMode = ImportReportMode.FULL;
 
+    /**
+     * Indicates whether data values are written without looking up existing
+     * data values. Data values are then counted as imported, and a data value
+     * which already exists is overwritten rather than failing the import.
+     */
     private boolean skipExistingCheck;
 
+    /**
+     * Indicates whether data values are written concurrently, sharded by
+     * organisation unit and period.
+     */
+    private boolean parallel;
+
     private boolean sharing;
 
     private boolean skipNotifications;
@@ -138,6 +149,7 @@ public class ImportOptions
         options.importStrategy = this.importStrategy;
         options.mergeMode = this.mergeMode;
         options.skipExistingCheck = this.skipExistingCheck;
+        options.parallel = this.parallel;
         options.sharing = this.sharing;
         options.skipNotifications = this.skipNotifications;
         options.datasetAllowsPeriods = this.datasetAllowsPeriods;
@@ -282,6 +294,13 @@ public class ImportOptions
         return skipExistingCheck;
     }
 
+    @JsonProperty
+    @JacksonXmlProperty( namespace = DxfNamespaces.DXF_2_0 )
+    public boolean isParallel()
+    {
+        return parallel;
+    }
+
     @JsonProperty
     @JacksonXmlProperty( namespace = DxfNamespaces.DXF_2_0 )
     public boolean isSharing()
@@ -539,6 +558,12 @@ public class ImportOptions
         return this;
     }
 
+    public ImportOptions setParallel( boolean parallel )
+    {
+        this.parallel = parallel;
+        return this;
+    }
+
     public ImportOptions setSharing( boolean sharing )
     {
         this.sharing = sharing;
@@ -661,6 +686,7 @@ public class ImportOptions
             .add( "importStrategy", importStrategy )
             .add( "mergeMode", mergeMode )
             .add( "skipExistingCheck", skipExistingCheck )
+            .add( "parallel", parallel )
             .add( "ignoreEmptyCollection", ignoreEmptyCollection )
             .add( "sharing", sharing )
             .add( "skipNotifications", skipNotifications )
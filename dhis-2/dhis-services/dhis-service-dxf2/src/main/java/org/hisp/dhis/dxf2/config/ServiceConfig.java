@@ -131,6 +131,7 @@ import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.retry.backoff.ExponentialBackOffPolicy;
 import org.springframework.retry.policy.SimpleRetryPolicy;
 import org.springframework.retry.support.RetryTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import com.google.common.base.Functions;
 import com.google.common.collect.ImmutableList;
@@ -142,6 +143,8 @@ import com.google.common.collect.ImmutableMap;
 @Configuration( "dxf2ServiceConfig" )
 public class ServiceConfig
 {
+    private static final int MAX_DATA_VALUE_IMPORT_THREADS = 8;
+
     @Autowired
     @Qualifier( "initialInterval" )
     private ConfigurationPropertyFactoryBean initialInterval;
@@ -204,6 +207,24 @@ public class ServiceConfig
         return retryTemplate;
     }
 
+    /**
+     * Thread pool shared by all parallel data value imports. Each thread
+     * holds database connections for its own batch handlers, so the pool is
+     * bounded to at most {@link #MAX_DATA_VALUE_IMPORT_THREADS} threads.
+     */
+    @Bean( "dataValueImportExecutor" )
+    public ThreadPoolTaskExecutor dataValueImportExecutor()
+    {
+        int threads = Math.min( Runtime.getRuntime().availableProcessors(), MAX_DATA_VALUE_IMPORT_THREADS );
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize( threads );
+        executor.setMaxPoolSize( threads );
+        executor.setThreadNamePrefix( "DATA-VALUE-IMPORT-" );
+        executor.setWaitForTasksToCompleteOnShutdown( true );
+        return executor;
+    }
+
     @Bean
     public Map<ImportStrategy, List<ValidationCheck>> validatorsByImportStrategy()
     {
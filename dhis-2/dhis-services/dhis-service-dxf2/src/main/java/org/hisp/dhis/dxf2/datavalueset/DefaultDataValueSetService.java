@@ -42,13 +42,19 @@ import java.io.OutputStream;
 import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 
 import lombok.AllArgsConstructor;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
 import org.apache.commons.lang3.BooleanUtils;
@@ -87,7 +93,8 @@ import org.hisp.dhis.fileresource.FileResource;
 import org.hisp.dhis.fileresource.FileResourceService;
 import org.hisp.dhis.i18n.I18nManager;
 import org.hisp.dhis.importexport.ImportStrategy;
-import org.hisp.dhis.jdbc.batchhandler.DataValueAuditBatchHandler;
+import org.hisp.dhis.jdbc.batchhandler.CopyDataValueAuditBatchHandler;
+import org.hisp.dhis.jdbc.batchhandler.CopyDataValueBatchHandler;
 import org.hisp.dhis.jdbc.batchhandler.DataValueBatchHandler;
 import org.hisp.dhis.node.types.CollectionNode;
 import org.hisp.dhis.node.types.ComplexNode;
@@ -117,8 +124,11 @@ import org.hisp.dhis.user.CurrentUserServiceTarget;
 import org.hisp.dhis.user.User;
 import org.hisp.dhis.util.DateUtils;
 import org.hisp.dhis.util.ObjectUtils;
+import org.hisp.quick.BatchHandler;
 import org.hisp.quick.BatchHandlerFactory;
 import org.hisp.staxwax.factory.XMLFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -140,6 +150,12 @@ public class DefaultDataValueSetService
 
     private static final int CACHE_MISS_THRESHOLD = 250;
 
+    /**
+     * Number of data values for which existing values are looked up with a
+     * single query during import.
+     */
+    private static final int DATA_VALUE_CHUNK_SIZE = 1000;
+
     private final IdentifiableObjectManager identifiableObjectManager;
 
     private final CategoryService categoryService;
@@ -182,6 +198,13 @@ public class DefaultDataValueSetService
 
     private final SchemaService schemaService;
 
+    /**
+     * Bounded thread pool shared by all parallel imports, so that concurrent
+     * imports queue up instead of adding threads and connections.
+     */
+    @Qualifier( "dataValueImportExecutor" )
+    private final ThreadPoolTaskExecutor dataValueImportExecutor;
+
     @Override
     public void setCurrentUserService( CurrentUserService currentUserService )
     {
@@ -723,31 +746,33 @@ public class DefaultDataValueSetService
         clock.logTime( "Validated outer meta-data" );
         notifier.notify( id, notificationLevel, "Importing data values" );
 
+        long valuesStartTime = clock.getTime();
+
+        DataValueChunk chunk = new DataValueChunk();
+
         List<? extends DataValueEntry> values = dataValueSet.getDataValues();
         int index = 0;
         if ( values != null && !values.isEmpty() )
         {
             for ( DataValueEntry dataValue : values )
             {
-                importDataValue( context, dataSetContext, importCount, now, index++, dataValue );
+                addDataValue( context, dataSetContext, importCount, now, index++, dataValue, chunk );
             }
         }
         DataValueEntry dataValue = reader.readNext();
         while ( dataValue != null )
         {
-            importDataValue( context, dataSetContext, importCount, now, index++, dataValue );
+            addDataValue( context, dataSetContext, importCount, now, index++, dataValue, chunk );
             dataValue = reader.readNext();
         }
 
-        context.getDataValueBatchHandler().flush();
+        importDataValues( context, importCount, chunk );
 
-        if ( !context.isSkipAudit() )
-        {
-            context.getAuditBatchHandler().flush();
-        }
+        long valuesMillis = Math.max( clock.getTime() - valuesStartTime, 1 );
 
         context.getSummary()
             .setImportCount( importCount )
+            .setValuesPerSecond( (double) Math.round( importCount.getTotalCount() * 1000d / valuesMillis ) )
             .setStatus( !context.getSummary().hasConflicts() ? ImportStatus.SUCCESS : ImportStatus.WARNING )
             .setDescription( "Import process completed successfully" );
 
@@ -761,8 +786,48 @@ public class DefaultDataValueSetService
         return context.getSummary();
     }
 
-    private void importDataValue( ImportContext context, DataSetContext dataSetContext, ImportCount importCount,
-        Date now, int index, DataValueEntry dataValue )
+    /**
+     * Validates the given data value and adds it to the given chunk of data
+     * values. The chunk is imported once it reaches
+     * {@link #DATA_VALUE_CHUNK_SIZE}, or before a data value which is already
+     * in the chunk is added, so that the repeated data value is imported
+     * against the data value as written by its previous occurrence.
+     */
+    private void addDataValue( ImportContext context, DataSetContext dataSetContext, ImportCount importCount,
+        Date now, int index, DataValueEntry dataValue, DataValueChunk chunk )
+    {
+        ValidDataValue validValue = validateDataValue( context, dataSetContext, importCount, now, index,
+            dataValue );
+
+        if ( validValue == null )
+        {
+            return;
+        }
+
+        if ( chunk.getKeys().contains( validValue.getInternalValue() ) )
+        {
+            importDataValues( context, importCount, chunk );
+        }
+
+        chunk.getValues().add( validValue );
+        chunk.getKeys().add( validValue.getInternalValue() );
+
+        if ( chunk.getValues().size() >= DATA_VALUE_CHUNK_SIZE )
+        {
+            importDataValues( context, importCount, chunk );
+        }
+    }
+
+    /**
+     * Validates the given data value and creates the internal data value.
+     * Readers may reuse the same entry object for subsequent data values,
+     * hence the properties of the entry which are needed when saving are
+     * captured in the returned object.
+     *
+     * @return the valid data value, or null if the data value is ignored.
+     */
+    private ValidDataValue validateDataValue( ImportContext context, DataSetContext dataSetContext,
+        ImportCount importCount, Date now, int index, DataValueEntry dataValue )
     {
         ImportContext.DataValueContext valueContext = createDataValueContext( index, dataValue, context,
             dataSetContext );
@@ -779,7 +844,7 @@ public class DefaultDataValueSetService
         if ( importValidator.skipDataValue( dataValue, context, dataSetContext, valueContext ) )
         {
             importCount.incrementIgnored();
-            return;
+            return null;
         }
 
         // -----------------------------------------------------------------
@@ -787,24 +852,305 @@ public class DefaultDataValueSetService
         // -----------------------------------------------------------------
         DataValue internalValue = createDataValue( dataValue, context, valueContext, now );
 
-        // -----------------------------------------------------------------
-        // Save, update or delete data value
-        // -----------------------------------------------------------------
-        DataValue existingValue = !context.isSkipExistingCheck()
-            ? context.getDataValueBatchHandler().findObject( internalValue )
-            : null;
+        return new ValidDataValue( valueContext, internalValue, dataValue.getValue(), dataValue.hasCreated() );
+    }
+
+    /**
+     * Saves, updates or deletes the given chunk of valid data values and
+     * clears the chunk. Existing data values for the chunk are looked up with
+     * a single query. Each chunk is written through its own batch handlers,
+     * which are flushed and thereby closed once the chunk is written.
+     * <p>
+     * For parallel imports, the data values are sharded by organisation unit
+     * and period and each shard is written on its own thread. As validation
+     * has already been done in order, conflicts and their indices are not
+     * affected. Values of file data elements are written on the calling
+     * thread, as updating file resources requires the current session.
+     */
+    private void importDataValues( ImportContext context, ImportCount importCount, DataValueChunk chunk )
+    {
+        List<ValidDataValue> values = chunk.getValues();
+
+        if ( values.isEmpty() )
+        {
+            return;
+        }
+
+        List<DataValueWriter> writers = new ArrayList<>();
+        List<Future<?>> futures = new ArrayList<>();
+
+        try
+        {
+            DataValueWriter writer = createDataValueWriter( context, importCount );
+            writers.add( writer );
+
+            Map<DataValue, DataValue> existingValues = getExistingDataValues( context, writer, values );
+
+            if ( !context.getImportOptions().isParallel() )
+            {
+                writeDataValues( context, writer, values, existingValues );
+            }
+            else
+            {
+                writeDataValuesInParallel( context, writer, values, existingValues, writers, futures );
+            }
+        }
+        catch ( RuntimeException ex )
+        {
+            try
+            {
+                awaitShards( futures );
+                flush( context, writers );
+            }
+            catch ( RuntimeException flushEx )
+            {
+                ex.addSuppressed( flushEx );
+            }
+
+            throw ex;
+        }
+
+        flush( context, writers );
+
+        for ( DataValueWriter shardWriter : writers.subList( 1, writers.size() ) )
+        {
+            importCount.incrementImported( shardWriter.getImportCount().getImported() );
+            importCount.incrementUpdated( shardWriter.getImportCount().getUpdated() );
+            importCount.incrementDeleted( shardWriter.getImportCount().getDeleted() );
+            importCount.incrementIgnored( shardWriter.getImportCount().getIgnored() );
+        }
+
+        values.clear();
+        chunk.getKeys().clear();
+    }
+
+    /**
+     * Writes the given valid data values with one writer per
+     * non-empty shard on the import thread pool. The shard writers are added
+     * to the given list of writers and the shard tasks to the given list of
+     * futures, so that the caller can flush them also when writing fails.
+     */
+    private void writeDataValuesInParallel( ImportContext context, DataValueWriter writer,
+        List<ValidDataValue> values, Map<DataValue, DataValue> existingValues, List<DataValueWriter> writers,
+        List<Future<?>> futures )
+    {
+        int shardCount = dataValueImportExecutor.getMaxPoolSize();
+        List<List<ValidDataValue>> shards = new ArrayList<>( shardCount );
+
+        for ( int i = 0; i < shardCount; i++ )
+        {
+            shards.add( new ArrayList<>() );
+        }
+
+        List<ValidDataValue> fileValues = new ArrayList<>();
+
+        for ( ValidDataValue validValue : values )
+        {
+            ImportContext.DataValueContext valueContext = validValue.getValueContext();
+
+            if ( valueContext.getDataElement().isFileType() )
+            {
+                fileValues.add( validValue );
+            }
+            else
+            {
+                int shard = Math.floorMod( Objects.hash( valueContext.getOrgUnit().getId(),
+                    valueContext.getPeriod().getId() ), shardCount );
+
+                shards.get( shard ).add( validValue );
+            }
+        }
+
+        for ( List<ValidDataValue> shard : shards )
+        {
+            if ( !shard.isEmpty() )
+            {
+                DataValueWriter shardWriter = createDataValueWriter( context, new ImportCount() );
+                writers.add( shardWriter );
+
+                futures.add( dataValueImportExecutor.submit(
+                    () -> writeDataValues( context, shardWriter, shard, existingValues ) ) );
+            }
+        }
+
+        writeDataValues( context, writer, fileValues, existingValues );
+
+        awaitShards( futures );
+    }
+
+    /**
+     * Waits for all shards of a chunk to be written, also when one of them
+     * fails, so that no shard is still using its batch handlers when they are
+     * flushed. Futures which have been waited for are removed from the list.
+     *
+     * @throws IllegalStateException if writing any of the shards failed.
+     */
+    private void awaitShards( List<Future<?>> futures )
+    {
+        IllegalStateException failure = null;
+        boolean interrupted = false;
+
+        for ( Future<?> future : futures )
+        {
+            while ( true )
+            {
+                try
+                {
+                    future.get();
+                    break;
+                }
+                catch ( InterruptedException ex )
+                {
+                    interrupted = true;
+                }
+                catch ( ExecutionException ex )
+                {
+                    if ( failure == null )
+                    {
+                        failure = new IllegalStateException( "Data value import failed", ex.getCause() );
+                    }
+                    else
+                    {
+                        failure.addSuppressed( ex.getCause() );
+                    }
+
+                    break;
+                }
+            }
+        }
+
+        futures.clear();
+
+        if ( interrupted )
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        if ( failure != null )
+        {
+            throw failure;
+        }
+    }
+
+    /**
+     * Saves, updates or deletes the given valid data values using the given
+     * writer.
+     */
+    private void writeDataValues( ImportContext context, DataValueWriter writer, List<ValidDataValue> values,
+        Map<DataValue, DataValue> existingValues )
+    {
+        for ( ValidDataValue validValue : values )
+        {
+            importDataValue( context, writer, validValue, existingValues.get( validValue.getInternalValue() ) );
+        }
+    }
+
+    /**
+     * Flushes the batch handlers of the given writers. All handlers are
+     * flushed, and thereby release their connections, even if flushing one of
+     * them fails.
+     */
+    private void flush( ImportContext context, List<DataValueWriter> writers )
+    {
+        RuntimeException failure = null;
+
+        for ( DataValueWriter writer : writers )
+        {
+            try
+            {
+                flush( context, writer );
+            }
+            catch ( RuntimeException ex )
+            {
+                if ( failure == null )
+                {
+                    failure = ex;
+                }
+                else
+                {
+                    failure.addSuppressed( ex );
+                }
+            }
+        }
+
+        writers.clear();
+
+        if ( failure != null )
+        {
+            throw failure;
+        }
+    }
+
+    private void flush( ImportContext context, DataValueWriter writer )
+    {
+        try
+        {
+            writer.getDataValueBatchHandler().flush();
+        }
+        finally
+        {
+            if ( !context.isSkipAudit() )
+            {
+                writer.getAuditBatchHandler().flush();
+            }
+        }
+    }
+
+    /**
+     * Returns the existing data values for the given valid data values,
+     * mapped by themselves. Data values are looked up with a single query
+     * when the given writer writes to the data value table, otherwise through
+     * its batch handler one by one.
+     */
+    private Map<DataValue, DataValue> getExistingDataValues( ImportContext context, DataValueWriter writer,
+        List<ValidDataValue> values )
+    {
+        Map<DataValue, DataValue> existingValues = new HashMap<>();
+
+        if ( context.isSkipExistingCheck() )
+        {
+            return existingValues;
+        }
+
+        BatchHandler<DataValue> batchHandler = writer.getDataValueBatchHandler();
+
+        if ( batchHandler instanceof DataValueBatchHandler )
+        {
+            List<DataValue> internalValues = new ArrayList<>( values.size() );
+            values.forEach( validValue -> internalValues.add( validValue.getInternalValue() ) );
+
+            dataValueService.getPersistedDataValues( internalValues )
+                .forEach( existingValue -> existingValues.put( existingValue, existingValue ) );
+        }
+        else
+        {
+            for ( ValidDataValue validValue : values )
+            {
+                existingValues.computeIfAbsent( validValue.getInternalValue(), batchHandler::findObject );
+            }
+        }
+
+        return existingValues;
+    }
+
+    private void importDataValue( ImportContext context, DataValueWriter writer, ValidDataValue validValue,
+        DataValue existingValue )
+    {
+        ImportCount importCount = writer.getImportCount();
+        ImportContext.DataValueContext valueContext = validValue.getValueContext();
+        DataValue internalValue = validValue.getInternalValue();
 
         // -----------------------------------------------------------------
         // Preserve any existing created date unless overwritten by import
         // -----------------------------------------------------------------
-        if ( existingValue != null && !dataValue.hasCreated() )
+        if ( existingValue != null && !validValue.isHasCreated() )
         {
             internalValue.setCreated( existingValue.getCreated() );
         }
 
         final ImportStrategy strategy = context.getStrategy();
         boolean zeroAndInsignificant = ValidationUtils.dataValueIsZeroAndInsignificant(
-            dataValue.getValue(), valueContext.getDataElement() );
+            validValue.getValue(), valueContext.getDataElement() );
         if ( zeroAndInsignificant && (existingValue == null || strategy.isCreate()) )
         {
             // Ignore value
@@ -819,11 +1165,12 @@ public class DefaultDataValueSetService
         {
             if ( strategy.isCreateAndUpdate() || strategy.isUpdate() )
             {
-                saveDataValueUpdate( context, importCount, dataValue, valueContext, internalValue, existingValue );
+                saveDataValueUpdate( context, writer, validValue.getValue(), valueContext, internalValue,
+                    existingValue );
             }
             else if ( strategy.isDelete() )
             {
-                saveDataValueDelete( context, importCount, dataValue, valueContext, internalValue, existingValue );
+                saveDataValueDelete( context, writer, valueContext, internalValue, existingValue );
             }
             else
             {
@@ -834,7 +1181,7 @@ public class DefaultDataValueSetService
         {
             if ( strategy.isCreateAndUpdate() || strategy.isCreate() )
             {
-                saveDataValueCreate( context, importCount, valueContext, internalValue, existingValue );
+                saveDataValueCreate( context, writer, valueContext, internalValue, existingValue );
             }
             else
             {
@@ -843,21 +1190,21 @@ public class DefaultDataValueSetService
         }
     }
 
-    private void saveDataValueCreate( ImportContext context, ImportCount importCount,
+    private void saveDataValueCreate( ImportContext context, DataValueWriter writer,
         ImportContext.DataValueContext valueContext, DataValue internalValue, DataValue existingValue )
     {
         if ( internalValue.isNullValue() )
         {
-            importCount.incrementIgnored();
+            writer.getImportCount().incrementIgnored();
             return; // Ignore null values
         }
         if ( existingValue != null && existingValue.isDeleted() )
         {
-            importCount.incrementImported();
+            writer.getImportCount().incrementImported();
 
             if ( !context.isDryRun() )
             {
-                context.getDataValueBatchHandler().updateObject( internalValue );
+                writer.getDataValueBatchHandler().updateObject( internalValue );
 
                 if ( valueContext.getDataElement().isFileType() )
                 {
@@ -874,7 +1221,7 @@ public class DefaultDataValueSetService
 
         if ( !context.isDryRun() )
         {
-            added = context.getDataValueBatchHandler().addObject( internalValue );
+            added = writer.getDataValueBatchHandler().addObject( internalValue );
 
             if ( added && valueContext.getDataElement().isFileType() )
             {
@@ -888,57 +1235,58 @@ public class DefaultDataValueSetService
 
         if ( context.isDryRun() || added )
         {
-            importCount.incrementImported();
+            writer.getImportCount().incrementImported();
         }
     }
 
-    private void saveDataValueDelete( ImportContext context, ImportCount importCount,
-        DataValueEntry dataValue, ImportContext.DataValueContext valueContext,
-        DataValue internalValue, DataValue existingValue )
+    private void saveDataValueDelete( ImportContext context, DataValueWriter writer,
+        ImportContext.DataValueContext valueContext, DataValue internalValue, DataValue existingValue )
     {
         internalValue.setDeleted( true );
 
-        importCount.incrementDeleted();
+        writer.getImportCount().incrementDeleted();
 
         if ( !context.isDryRun() )
         {
-            DataValue actualDataValue = valueContext.getActualDataValue( dataValueService );
-            if ( valueContext.getDataElement().isFileType() && actualDataValue != null )
+            DataValue actualDataValue = valueContext.getDataElement().isFileType()
+                ? valueContext.getActualDataValue( dataValueService )
+                : null;
+            if ( actualDataValue != null )
             {
                 FileResource fr = fileResourceService.getFileResource( actualDataValue.getValue() );
 
                 fileResourceService.updateFileResource( fr );
             }
 
-            context.getDataValueBatchHandler().updateObject( internalValue );
+            writer.getDataValueBatchHandler().updateObject( internalValue );
 
             if ( !context.isSkipAudit() )
             {
                 DataValueAudit auditValue = new DataValueAudit( internalValue, existingValue.getValue(),
-                    context.getStoredBy( dataValue ), AuditType.DELETE );
+                    internalValue.getStoredBy(), AuditType.DELETE );
 
-                context.getAuditBatchHandler().addObject( auditValue );
+                writer.getAuditBatchHandler().addObject( auditValue );
             }
         }
     }
 
-    private void saveDataValueUpdate( ImportContext context, ImportCount importCount,
-        DataValueEntry dataValue, ImportContext.DataValueContext valueContext,
+    private void saveDataValueUpdate( ImportContext context, DataValueWriter writer,
+        String value, ImportContext.DataValueContext valueContext,
         DataValue internalValue, DataValue existingValue )
     {
         AuditType auditType = AuditType.UPDATE;
         if ( internalValue.isNullValue() || internalValue.isDeleted()
-            || dataValueIsZeroAndInsignificant( dataValue.getValue(), valueContext.getDataElement() ) )
+            || dataValueIsZeroAndInsignificant( value, valueContext.getDataElement() ) )
         {
             internalValue.setDeleted( true );
 
             auditType = AuditType.DELETE;
 
-            importCount.incrementDeleted();
+            writer.getImportCount().incrementDeleted();
         }
         else
         {
-            importCount.incrementUpdated();
+            writer.getImportCount().incrementUpdated();
         }
         if ( !internalValue.isDeleted()
             && Objects.equals( existingValue.getValue(), internalValue.getValue() )
@@ -948,14 +1296,14 @@ public class DefaultDataValueSetService
         }
         if ( !context.isDryRun() )
         {
-            context.getDataValueBatchHandler().updateObject( internalValue );
+            writer.getDataValueBatchHandler().updateObject( internalValue );
 
             if ( !context.isSkipAudit() )
             {
                 DataValueAudit auditValue = new DataValueAudit( internalValue, existingValue.getValue(),
-                    context.getStoredBy( dataValue ), auditType );
+                    internalValue.getStoredBy(), auditType );
 
-                context.getAuditBatchHandler().addObject( auditValue );
+                writer.getAuditBatchHandler().addObject( auditValue );
             }
 
             if ( valueContext.getDataElement().isFileType() )
@@ -1096,14 +1444,39 @@ public class DefaultDataValueSetService
                 trimToNull( data.getPeriod() ) ) )
 
             // data processing
-            .dataValueBatchHandler( batchHandlerFactory
-                .createBatchHandler( DataValueBatchHandler.class ).init() )
-            .auditBatchHandler( skipAudit ? null
-                : batchHandlerFactory.createBatchHandler( DataValueAuditBatchHandler.class ).init() )
             .singularNameForType( klass -> schemaService.getDynamicSchema( klass ).getSingular() )
             .build();
     }
 
+    /**
+     * Creates a writer with new batch handlers, which must be flushed once
+     * the writer is no longer used. Imports which skip the existing value
+     * check write data values through COPY, see
+     * {@link ImportOptions#isSkipExistingCheck()}. Audits are always written
+     * through COPY.
+     */
+    private DataValueWriter createDataValueWriter( ImportContext context, ImportCount importCount )
+    {
+        BatchHandler<DataValue> dataValueBatchHandler = batchHandlerFactory.createBatchHandler(
+            context.isSkipExistingCheck()
+                ? CopyDataValueBatchHandler.class
+                : DataValueBatchHandler.class )
+            .init();
+
+        try
+        {
+            BatchHandler<DataValueAudit> auditBatchHandler = context.isSkipAudit() ? null
+                : batchHandlerFactory.createBatchHandler( CopyDataValueAuditBatchHandler.class ).init();
+
+            return new DataValueWriter( dataValueBatchHandler, auditBatchHandler, importCount );
+        }
+        catch ( RuntimeException ex )
+        {
+            dataValueBatchHandler.flush();
+            throw ex;
+        }
+    }
+
     private void logDataValueSetImportContextInfo( ImportContext context )
     {
         log.info( String.format( "Is ISO calendar: %b, skip lock exception check: %b",
@@ -1247,4 +1620,46 @@ public class DefaultDataValueSetService
         summary.setDataSetComplete( DateUtils.getMediumDateString( completeDate ) );
     }
 
+    /**
+     * A data value which passed validation, holding the properties of the
+     * {@link DataValueEntry} which are needed when saving it.
+     */
+    @Value
+    private static class ValidDataValue
+    {
+        ImportContext.DataValueContext valueContext;
+
+        DataValue internalValue;
+
+        String value;
+
+        boolean hasCreated;
+    }
+
+    /**
+     * Writes data values and audits through batch handlers and counts the
+     * outcome. Each chunk uses its own writers, and parallel imports use one
+     * writer per shard.
+     */
+    @Value
+    private static class DataValueWriter
+    {
+        BatchHandler<DataValue> dataValueBatchHandler;
+
+        BatchHandler<DataValueAudit> auditBatchHandler;
+
+        ImportCount importCount;
+    }
+
+    /**
+     * A chunk of valid data values which are imported together, along with
+     * their keys. Data values in a chunk are unique by key.
+     */
+    @Value
+    private static class DataValueChunk
+    {
+        List<ValidDataValue> values = new ArrayList<>( DATA_VALUE_CHUNK_SIZE );
+
+        Set<DataValue> keys = new HashSet<>();
+    }
 }
@@ -46,7 +46,6 @@ import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.commons.collection.CachingMap;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.dataset.DataSet;
-import org.hisp.dhis.datavalue.DataValueAudit;
 import org.hisp.dhis.datavalue.DataValueService;
 import org.hisp.dhis.dxf2.common.ImportOptions;
 import org.hisp.dhis.dxf2.importsummary.ImportConflict;
@@ -60,7 +59,6 @@ import org.hisp.dhis.period.Period;
 import org.hisp.dhis.period.PeriodType;
 import org.hisp.dhis.system.callable.IdentifiableObjectCallable;
 import org.hisp.dhis.user.User;
-import org.hisp.quick.BatchHandler;
 
 /**
  * All the state that needs to be tracked during a {@link DataValueSet} import.
@@ -183,10 +181,6 @@ public final class ImportContext
 
     private final IdentifiableObjectCallable<Period> periodCallable;
 
-    private final BatchHandler<org.hisp.dhis.datavalue.DataValue> dataValueBatchHandler;
-
-    private final BatchHandler<DataValueAudit> auditBatchHandler;
-
     private final Function<Class<? extends IdentifiableObject>, String> singularNameForType;
 
     public String getCurrentUserName()
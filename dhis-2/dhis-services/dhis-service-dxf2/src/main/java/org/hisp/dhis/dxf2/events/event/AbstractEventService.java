@@ -66,6 +66,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import lombok.extern.slf4j.Slf4j;
@@ -82,6 +83,7 @@ import org.hisp.dhis.common.IdSchemes;
 import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.common.IllegalQueryException;
 import org.hisp.dhis.common.OrganisationUnitSelectionMode;
+import org.hisp.dhis.common.PageToken;
 import org.hisp.dhis.common.Pager;
 import org.hisp.dhis.common.QueryItem;
 import org.hisp.dhis.common.SlimPager;
@@ -209,6 +211,8 @@ public abstract class AbstractEventService implements EventService
 
     private static final int FLUSH_FREQUENCY = 100;
 
+    private static final int STREAM_CHUNK_SIZE = 500;
+
     // -------------------------------------------------------------------------
     // Caches
     // -------------------------------------------------------------------------
@@ -300,7 +304,11 @@ public abstract class AbstractEventService implements EventService
         Events events = new Events();
         List<Event> eventList = new ArrayList<>();
 
-        if ( params.isPaging() )
+        if ( params.isPageTokenPaging() )
+        {
+            events.setPager( handlePageToken( params, eventList, organisationUnits ) );
+        }
+        else if ( params.isPaging() )
         {
             final Pager pager;
 
@@ -324,6 +332,23 @@ public abstract class AbstractEventService implements EventService
         return events;
     }
 
+    @Transactional( readOnly = true )
+    @Override
+    public void streamEvents( EventSearchParams params, Consumer<List<Event>> consumer )
+    {
+        User user = currentUserService.getCurrentUser();
+
+        validate( params, user );
+
+        List<OrganisationUnit> organisationUnits = getOrganisationUnits( params, user );
+
+        params.handleCurrentUserSelectionMode( user );
+
+        params.setSkipPaging( true );
+
+        eventStore.streamEvents( params, organisationUnits, emptyMap(), STREAM_CHUNK_SIZE, consumer );
+    }
+
     /**
      * This method will apply the logic related to the parameter
      * 'totalPages=false'. This works in conjunction with the method:
@@ -362,6 +387,35 @@ public abstract class AbstractEventService implements EventService
         return new SlimPager( originalPage, originalPageSize, isLastPage );
     }
 
+    /**
+     * Fetches the page of events following the page token of the given params.
+     * Like with 'totalPages=false', one additional event is queried to know
+     * whether this is the last page, and the total is never counted.
+     *
+     * @param params the request params
+     * @param eventList the reference to the list of Event
+     * @return the populated SlimPager instance holding the next page token
+     */
+    private Pager handlePageToken( final EventSearchParams params,
+        final List<Event> eventList, final List<OrganisationUnit> organisationUnits )
+    {
+        final int pageSize = params.getPageSizeWithDefault();
+
+        eventList.addAll( eventStore.getEvents( params, organisationUnits, emptyMap() ) );
+
+        boolean isLastPage = eventList.size() <= pageSize;
+
+        if ( !isLastPage )
+        {
+            eventList.subList( pageSize, eventList.size() ).clear();
+        }
+
+        String nextPageToken = isLastPage || eventList.isEmpty() ? null
+            : PageToken.encode( eventList.get( eventList.size() - 1 ).getId() );
+
+        return new SlimPager( pageSize, isLastPage, nextPageToken );
+    }
+
     @Transactional( readOnly = true )
     @Override
     public Grid getEventsGrid( EventSearchParams params )
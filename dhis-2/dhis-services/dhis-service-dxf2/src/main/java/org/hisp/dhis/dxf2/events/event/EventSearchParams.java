@@ -38,6 +38,7 @@ import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.common.AssignedUserSelectionMode;
 import org.hisp.dhis.common.IdSchemes;
 import org.hisp.dhis.common.OrganisationUnitSelectionMode;
+import org.hisp.dhis.common.PageToken;
 import org.hisp.dhis.common.QueryItem;
 import org.hisp.dhis.event.EventStatus;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
@@ -153,6 +154,12 @@ public class EventSearchParams
 
     private boolean skipPaging;
 
+    /**
+     * Token of the page to return when paging by {@link PageToken}, null when
+     * paging by page number.
+     */
+    private String pageToken;
+
     private boolean includeRelationships;
 
     private List<OrderParam> orders;
@@ -226,6 +233,15 @@ public class EventSearchParams
         return (getPageWithDefault() - 1) * getPageSizeWithDefault();
     }
 
+    /**
+     * Indicates whether paging is done by {@link PageToken} instead of by page
+     * number.
+     */
+    public boolean isPageTokenPaging()
+    {
+        return pageToken != null && !skipPaging;
+    }
+
     /**
      * Sets paging properties to default values.
      */
@@ -568,6 +584,17 @@ public class EventSearchParams
         return this;
     }
 
+    public String getPageToken()
+    {
+        return pageToken;
+    }
+
+    public EventSearchParams setPageToken( String pageToken )
+    {
+        this.pageToken = pageToken;
+        return this;
+    }
+
     public boolean isIncludeAttributes()
     {
         return includeAttributes;
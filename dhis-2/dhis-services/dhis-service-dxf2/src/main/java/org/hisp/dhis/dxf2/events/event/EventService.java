@@ -33,6 +33,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.hisp.dhis.common.Grid;
 import org.hisp.dhis.dxf2.common.ImportOptions;
@@ -54,6 +55,18 @@ public interface EventService
 
     Events getEvents( EventSearchParams params );
 
+    /**
+     * Passes the events matching the given params to the given consumer in
+     * chunks as they are read from the database, with the same access checks
+     * as {@link #getEvents(EventSearchParams)}. Memory use does not depend on
+     * the number of events, which makes this suitable for exporting large
+     * numbers of events. Paging is ignored.
+     *
+     * @param params the {@link EventSearchParams}.
+     * @param consumer the consumer of the chunks of events.
+     */
+    void streamEvents( EventSearchParams params, Consumer<List<Event>> consumer );
+
     EventRows getEventRows( EventSearchParams params );
 
     Grid getEventsGrid( EventSearchParams params );
@@ -30,6 +30,7 @@ package org.hisp.dhis.dxf2.events.event;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
 import org.hisp.dhis.dxf2.events.report.EventRow;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
@@ -64,6 +65,23 @@ public interface EventStore
     List<Event> getEvents( EventSearchParams params, List<OrganisationUnit> organisationUnits,
         Map<String, Set<String>> psdesWithSkipSyncTrue );
 
+    /**
+     * Reads the events matching the given params through a database cursor and
+     * passes them to the given consumer in chunks, so that the complete result
+     * is never held in memory. Must be called within a transaction for the
+     * cursor to be used.
+     *
+     * @param params the {@link EventSearchParams}.
+     * @param organisationUnits the organisation units to search in.
+     * @param psdesWithSkipSyncTrue the data element uids to skip for
+     *        synchronization by program stage uid.
+     * @param chunkSize the maximum number of events passed to the consumer at
+     *        a time.
+     * @param consumer the consumer of the chunks of events.
+     */
+    void streamEvents( EventSearchParams params, List<OrganisationUnit> organisationUnits,
+        Map<String, Set<String>> psdesWithSkipSyncTrue, int chunkSize, Consumer<List<Event>> consumer );
+
     List<Map<String, String>> getEventsGrid( EventSearchParams params, List<OrganisationUnit> organisationUnits );
 
     List<EventRow> getEventRows( EventSearchParams params, List<OrganisationUnit> organisationUnits );
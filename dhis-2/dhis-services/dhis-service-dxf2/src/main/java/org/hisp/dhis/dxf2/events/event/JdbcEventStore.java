@@ -89,6 +89,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import lombok.RequiredArgsConstructor;
@@ -100,6 +101,7 @@ import org.hisp.dhis.common.IdScheme;
 import org.hisp.dhis.common.IdSchemes;
 import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.common.OrganisationUnitSelectionMode;
+import org.hisp.dhis.common.PageToken;
 import org.hisp.dhis.common.QueryFilter;
 import org.hisp.dhis.common.QueryItem;
 import org.hisp.dhis.common.QueryOperator;
@@ -140,6 +142,7 @@ import org.locationtech.jts.io.WKTReader;
 import org.postgresql.util.PGobject;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
@@ -191,6 +194,11 @@ public class JdbcEventStore implements EventStore
 
     private static final String PSI_STATUS = "psi_status";
 
+    /**
+     * Number of rows fetched from the database at a time when streaming events.
+     */
+    private static final int STREAM_FETCH_SIZE = 1000;
+
     private static final String PSI_STATUS_EQ = " psi.status = ";
 
     private static final String PSI_LASTUPDATED_GT = " psi.lastupdated >= ";
@@ -386,8 +394,7 @@ public class JdbcEventStore implements EventStore
 
             while ( resultSet.next() )
             {
-                if ( resultSet.getString( "psi_uid" ) == null
-                    || (params.getCategoryOptionCombo() == null && !isSuper( user ) && !userHasAccess( resultSet )) )
+                if ( !isAccessibleEventRow( resultSet, params, user ) )
                 {
                     continue;
                 }
@@ -398,197 +405,327 @@ public class JdbcEventStore implements EventStore
 
                 if ( !eventUidToEventMap.containsKey( psiUid ) )
                 {
-                    validateIdentifiersPresence( resultSet, params.getIdSchemes(), true );
-
-                    event = new Event();
+                    event = mapEvent( resultSet, params, user );
                     eventUidToEventMap.put( psiUid, event );
+                    events.add( event );
+                }
+                else
+                {
+                    event = eventUidToEventMap.get( psiUid );
+                    addAttributeCategoryOptions( resultSet, event );
+                }
 
-                    if ( !params.isSkipEventId() )
-                    {
-                        event.setUid( psiUid );
-                        event.setEvent( psiUid );
-                    }
+                addEventRowValues( resultSet, params, psdesWithSkipSyncTrue, event, notes, relationshipIds, gson );
+            }
 
-                    event.setTrackedEntityInstance( resultSet.getString( "tei_uid" ) );
-                    event.setStatus( EventStatus.valueOf( resultSet.getString( PSI_STATUS ) ) );
+            return completeEvents( params, user, events, relationshipIds );
+        } );
 
-                    ProgramType programType = ProgramType.fromValue( resultSet.getString( "p_type" ) );
+    }
 
-                    event.setProgram( resultSet.getString( "p_identifier" ) );
-                    event.setProgramType( programType );
-                    event.setProgramStage( resultSet.getString( "ps_identifier" ) );
-                    event.setOrgUnit( resultSet.getString( "ou_identifier" ) );
-                    event.setDeleted( resultSet.getBoolean( "psi_deleted" ) );
+    @Override
+    public void streamEvents( EventSearchParams params, List<OrganisationUnit> organisationUnits,
+        Map<String, Set<String>> psdesWithSkipSyncTrue, int chunkSize, Consumer<List<Event>> consumer )
+    {
+        User user = currentUserService.getCurrentUser();
 
-                    if ( programType != ProgramType.WITHOUT_REGISTRATION )
-                    {
-                        event.setEnrollment( resultSet.getString( "pi_uid" ) );
-                        event.setEnrollmentStatus( EnrollmentStatus
-                            .fromProgramStatus( ProgramStatus.valueOf( resultSet.getString( "pi_status" ) ) ) );
-                        event.setFollowup( resultSet.getBoolean( "pi_followup" ) );
-                    }
+        setAccessiblePrograms( user, params );
 
-                    if ( params.getCategoryOptionCombo() == null && !isSuper( user ) )
-                    {
-                        event.setOptionSize( resultSet.getInt( "option_size" ) );
-                    }
+        final Gson gson = new Gson();
 
-                    event.setAttributeOptionCombo( resultSet.getString( "coc_identifier" ) );
-                    event.setAttributeCategoryOptions( resultSet.getString( "deco_uid" ) );
-                    event.setTrackedEntityInstance( resultSet.getString( "tei_uid" ) );
-
-                    event.setStoredBy( resultSet.getString( "psi_storedby" ) );
-                    event.setOrgUnitName( resultSet.getString( "ou_name" ) );
-                    event.setDueDate( DateUtils.getIso8601NoTz( resultSet.getDate( "psi_duedate" ) ) );
-                    event.setEventDate( DateUtils.getIso8601NoTz( resultSet.getDate( "psi_executiondate" ) ) );
-                    event.setCreated( DateUtils.getIso8601NoTz( resultSet.getDate( "psi_created" ) ) );
-                    event.setCreatedByUserInfo(
-                        jsonToUserInfo( resultSet.getString( "psi_createdbyuserinfo" ), jsonMapper ) );
-                    event.setLastUpdated( DateUtils.getIso8601NoTz( resultSet.getDate( "psi_lastupdated" ) ) );
-                    event.setLastUpdatedByUserInfo(
-                        jsonToUserInfo( resultSet.getString( "psi_lastupdatedbyuserinfo" ), jsonMapper ) );
-
-                    event.setCompletedBy( resultSet.getString( "psi_completedby" ) );
-                    event.setCompletedDate( DateUtils.getIso8601NoTz( resultSet.getDate( "psi_completeddate" ) ) );
-
-                    if ( resultSet.getObject( "psi_geometry" ) != null )
-                    {
-                        try
-                        {
-                            Geometry geom = new WKTReader().read( resultSet.getString( "psi_geometry" ) );
+        final MapSqlParameterSource mapSqlParameterSource = new MapSqlParameterSource();
 
-                            event.setGeometry( geom );
-                        }
-                        catch ( ParseException e )
-                        {
-                            log.error( "Unable to read geometry for event '" + event.getUid() + "': ", e );
-                        }
-                    }
+        // Rows of an event must be adjacent, as an event is complete once a
+        // row of the next event is read
+
+        String sql = buildSql( params, mapSqlParameterSource, organisationUnits, user, true );
+
+        getStreamingJdbcTemplate().query( sql, mapSqlParameterSource, resultSet -> {
+
+            log.debug( "Event stream query SQL: " + sql );
 
-                    if ( resultSet.getObject( "user_assigned" ) != null )
+            List<Event> events = new ArrayList<>( chunkSize );
+            List<Long> relationshipIds = new ArrayList<>();
+            Set<String> notes = new HashSet<>();
+
+            String currentPsiUid = null;
+            Event event = null;
+
+            while ( resultSet.next() )
+            {
+                if ( !isAccessibleEventRow( resultSet, params, user ) )
+                {
+                    continue;
+                }
+
+                String psiUid = resultSet.getString( "psi_uid" );
+
+                if ( !psiUid.equals( currentPsiUid ) )
+                {
+                    if ( events.size() >= chunkSize )
                     {
-                        event.setAssignedUser( resultSet.getString( "user_assigned" ) );
-                        event.setAssignedUserUsername( resultSet.getString( "user_assigned_username" ) );
-                        event.setAssignedUserDisplayName( resultSet.getString( "user_assigned_name" ) );
-                        event.setAssignedUserFirstName( resultSet.getString( "user_assigned_first_name" ) );
-                        event.setAssignedUserSurname( resultSet.getString( "user_assigned_surname" ) );
+                        consumer.accept( completeEvents( params, user, events, relationshipIds ) );
+
+                        events = new ArrayList<>( chunkSize );
+                        relationshipIds.clear();
+                        notes.clear();
                     }
 
+                    event = mapEvent( resultSet, params, user );
+                    currentPsiUid = psiUid;
                     events.add( event );
                 }
                 else
                 {
-                    event = eventUidToEventMap.get( psiUid );
-                    String attributeCategoryCombination = event.getAttributeCategoryOptions();
-                    String currentAttributeCategoryCombination = resultSet.getString( "deco_uid" );
-
-                    if ( !attributeCategoryCombination.contains( currentAttributeCategoryCombination ) )
-                    {
-                        event.setAttributeCategoryOptions(
-                            attributeCategoryCombination + ";" + currentAttributeCategoryCombination );
-                    }
+                    addAttributeCategoryOptions( resultSet, event );
                 }
 
-                if ( !StringUtils.isEmpty( resultSet.getString( "psi_eventdatavalues" ) ) )
-                {
-                    Set<EventDataValue> eventDataValues = convertEventDataValueJsonIntoSet(
-                        resultSet.getString( "psi_eventdatavalues" ) );
+                addEventRowValues( resultSet, params, psdesWithSkipSyncTrue, event, notes, relationshipIds, gson );
+            }
 
-                    for ( EventDataValue dv : eventDataValues )
-                    {
-                        DataValue dataValue = convertEventDataValueIntoDtoDataValue( dv );
+            if ( !events.isEmpty() )
+            {
+                consumer.accept( completeEvents( params, user, events, relationshipIds ) );
+            }
 
-                        if ( params.isSynchronizationQuery() )
-                        {
-                            if ( psdesWithSkipSyncTrue.containsKey( resultSet.getString( "ps_uid" ) )
-                                && psdesWithSkipSyncTrue
-                                    .get( resultSet.getString( "ps_uid" ) ).contains( dv.getDataElement() ) )
-                            {
-                                dataValue.setSkipSynchronization( true );
-                            }
-                            else
-                            {
-                                dataValue.setSkipSynchronization( false );
-                            }
-                        }
+            return null;
+        } );
+    }
 
-                        event.getDataValues().add( dataValue );
-                    }
-                }
+    /**
+     * Returns a template which reads the result set through a database cursor
+     * in batches of {@link #STREAM_FETCH_SIZE} rows instead of loading all rows
+     * into memory. The cursor is only used within a transaction.
+     */
+    private NamedParameterJdbcTemplate getStreamingJdbcTemplate()
+    {
+        JdbcTemplate streamingJdbcTemplate = new JdbcTemplate( jdbcTemplate.getJdbcTemplate().getDataSource() );
+        streamingJdbcTemplate.setFetchSize( STREAM_FETCH_SIZE );
 
-                if ( resultSet.getString( "psinote_value" ) != null
-                    && !notes.contains( resultSet.getString( "psinote_id" ) ) )
-                {
-                    Note note = new Note();
-                    note.setNote( resultSet.getString( "psinote_uid" ) );
-                    note.setValue( resultSet.getString( "psinote_value" ) );
-                    note.setStoredDate( DateUtils.getIso8601NoTz( resultSet.getDate( "psinote_storeddate" ) ) );
-                    note.setStoredBy( resultSet.getString( "psinote_storedby" ) );
+        return new NamedParameterJdbcTemplate( streamingJdbcTemplate );
+    }
 
-                    if ( resultSet.getObject( "usernote_id" ) != null )
-                    {
+    private boolean isAccessibleEventRow( ResultSet resultSet, EventSearchParams params, User user )
+        throws SQLException
+    {
+        return resultSet.getString( "psi_uid" ) != null
+            && (params.getCategoryOptionCombo() != null || isSuper( user ) || userHasAccess( resultSet ));
+    }
 
-                        note.setLastUpdatedBy(
-                            UserInfoSnapshot.of(
-                                resultSet.getLong( "usernote_id" ),
-                                resultSet.getString( "usernote_code" ),
-                                resultSet.getString( "usernote_uid" ),
-                                resultSet.getString( "usernote_username" ),
-                                resultSet.getString( "userinfo_firstname" ),
-                                resultSet.getString( "userinfo_surname" ) ) );
-                    }
+    private Event mapEvent( ResultSet resultSet, EventSearchParams params, User user )
+        throws SQLException
+    {
+        validateIdentifiersPresence( resultSet, params.getIdSchemes(), true );
 
-                    note.setLastUpdated( resultSet.getDate( "psinote_lastupdated" ) );
+        Event event = new Event();
 
-                    event.getNotes().add( note );
-                    notes.add( resultSet.getString( "psinote_id" ) );
-                }
+        String psiUid = resultSet.getString( "psi_uid" );
 
-                if ( params.isIncludeRelationships() && resultSet.getObject( "psi_rl" ) != null )
-                {
-                    PGobject pGobject = (PGobject) resultSet.getObject( "psi_rl" );
+        if ( !params.isSkipEventId() )
+        {
+            event.setUid( psiUid );
+            event.setEvent( psiUid );
+        }
 
-                    if ( pGobject != null )
-                    {
-                        String value = pGobject.getValue();
+        event.setId( resultSet.getLong( "psi_id" ) );
 
-                        relationshipIds.addAll( Lists.newArrayList( gson.fromJson( value, Long[].class ) ) );
-                    }
-                }
+        event.setTrackedEntityInstance( resultSet.getString( "tei_uid" ) );
+        event.setStatus( EventStatus.valueOf( resultSet.getString( PSI_STATUS ) ) );
+
+        ProgramType programType = ProgramType.fromValue( resultSet.getString( "p_type" ) );
+
+        event.setProgram( resultSet.getString( "p_identifier" ) );
+        event.setProgramType( programType );
+        event.setProgramStage( resultSet.getString( "ps_identifier" ) );
+        event.setOrgUnit( resultSet.getString( "ou_identifier" ) );
+        event.setDeleted( resultSet.getBoolean( "psi_deleted" ) );
+
+        if ( programType != ProgramType.WITHOUT_REGISTRATION )
+        {
+            event.setEnrollment( resultSet.getString( "pi_uid" ) );
+            event.setEnrollmentStatus( EnrollmentStatus
+                .fromProgramStatus( ProgramStatus.valueOf( resultSet.getString( "pi_status" ) ) ) );
+            event.setFollowup( resultSet.getBoolean( "pi_followup" ) );
+        }
+
+        if ( params.getCategoryOptionCombo() == null && !isSuper( user ) )
+        {
+            event.setOptionSize( resultSet.getInt( "option_size" ) );
+        }
+
+        event.setAttributeOptionCombo( resultSet.getString( "coc_identifier" ) );
+        event.setAttributeCategoryOptions( resultSet.getString( "deco_uid" ) );
+        event.setTrackedEntityInstance( resultSet.getString( "tei_uid" ) );
+
+        event.setStoredBy( resultSet.getString( "psi_storedby" ) );
+        event.setOrgUnitName( resultSet.getString( "ou_name" ) );
+        event.setDueDate( DateUtils.getIso8601NoTz( resultSet.getDate( "psi_duedate" ) ) );
+        event.setEventDate( DateUtils.getIso8601NoTz( resultSet.getDate( "psi_executiondate" ) ) );
+        event.setCreated( DateUtils.getIso8601NoTz( resultSet.getDate( "psi_created" ) ) );
+        event.setCreatedByUserInfo(
+            jsonToUserInfo( resultSet.getString( "psi_createdbyuserinfo" ), jsonMapper ) );
+        event.setLastUpdated( DateUtils.getIso8601NoTz( resultSet.getDate( "psi_lastupdated" ) ) );
+        event.setLastUpdatedByUserInfo(
+            jsonToUserInfo( resultSet.getString( "psi_lastupdatedbyuserinfo" ), jsonMapper ) );
+
+        event.setCompletedBy( resultSet.getString( "psi_completedby" ) );
+        event.setCompletedDate( DateUtils.getIso8601NoTz( resultSet.getDate( "psi_completeddate" ) ) );
+
+        if ( resultSet.getObject( "psi_geometry" ) != null )
+        {
+            try
+            {
+                Geometry geom = new WKTReader().read( resultSet.getString( "psi_geometry" ) );
+
+                event.setGeometry( geom );
             }
+            catch ( ParseException e )
+            {
+                log.error( "Unable to read geometry for event '" + event.getUid() + "': ", e );
+            }
+        }
+
+        if ( resultSet.getObject( "user_assigned" ) != null )
+        {
+            event.setAssignedUser( resultSet.getString( "user_assigned" ) );
+            event.setAssignedUserUsername( resultSet.getString( "user_assigned_username" ) );
+            event.setAssignedUserDisplayName( resultSet.getString( "user_assigned_name" ) );
+            event.setAssignedUserFirstName( resultSet.getString( "user_assigned_first_name" ) );
+            event.setAssignedUserSurname( resultSet.getString( "user_assigned_surname" ) );
+        }
 
-            final Multimap<String, Relationship> map = eventStore
-                .getRelationshipsByIds( relationshipIds, params );
+        return event;
+    }
+
+    private void addAttributeCategoryOptions( ResultSet resultSet, Event event )
+        throws SQLException
+    {
+        String attributeCategoryCombination = event.getAttributeCategoryOptions();
+        String currentAttributeCategoryCombination = resultSet.getString( "deco_uid" );
 
-            if ( !map.isEmpty() )
+        if ( !attributeCategoryCombination.contains( currentAttributeCategoryCombination ) )
+        {
+            event.setAttributeCategoryOptions(
+                attributeCategoryCombination + ";" + currentAttributeCategoryCombination );
+        }
+    }
+
+    /**
+     * Adds the data values, note and relationship identifiers of the current
+     * row to the given event. An event spans several rows when it has several
+     * notes or attribute category options.
+     */
+    private void addEventRowValues( ResultSet resultSet, EventSearchParams params,
+        Map<String, Set<String>> psdesWithSkipSyncTrue, Event event, Set<String> notes, List<Long> relationshipIds,
+        Gson gson )
+        throws SQLException
+    {
+        if ( !StringUtils.isEmpty( resultSet.getString( "psi_eventdatavalues" ) ) )
+        {
+            Set<EventDataValue> eventDataValues = convertEventDataValueJsonIntoSet(
+                resultSet.getString( "psi_eventdatavalues" ) );
+
+            for ( EventDataValue dv : eventDataValues )
             {
-                events.forEach( e -> e.getRelationships().addAll( map.get( e.getEvent() ) ) );
+                DataValue dataValue = convertEventDataValueIntoDtoDataValue( dv );
+
+                if ( params.isSynchronizationQuery() )
+                {
+                    if ( psdesWithSkipSyncTrue.containsKey( resultSet.getString( "ps_uid" ) )
+                        && psdesWithSkipSyncTrue
+                            .get( resultSet.getString( "ps_uid" ) ).contains( dv.getDataElement() ) )
+                    {
+                        dataValue.setSkipSynchronization( true );
+                    }
+                    else
+                    {
+                        dataValue.setSkipSynchronization( false );
+                    }
+                }
+
+                event.getDataValues().add( dataValue );
             }
+        }
 
-            IdSchemes idSchemes = ObjectUtils.firstNonNull( params.getIdSchemes(), new IdSchemes() );
-            IdScheme dataElementIdScheme = idSchemes.getDataElementIdScheme();
+        if ( resultSet.getString( "psinote_value" ) != null
+            && !notes.contains( resultSet.getString( "psinote_id" ) ) )
+        {
+            Note note = new Note();
+            note.setNote( resultSet.getString( "psinote_uid" ) );
+            note.setValue( resultSet.getString( "psinote_value" ) );
+            note.setStoredDate( DateUtils.getIso8601NoTz( resultSet.getDate( "psinote_storeddate" ) ) );
+            note.setStoredBy( resultSet.getString( "psinote_storedby" ) );
 
-            if ( dataElementIdScheme != IdScheme.ID && dataElementIdScheme != IdScheme.UID )
+            if ( resultSet.getObject( "usernote_id" ) != null )
             {
-                CachingMap<String, String> dataElementUidToIdentifierCache = new CachingMap<>();
 
-                List<Collection<DataValue>> dataValuesList = events.stream().map( Event::getDataValues )
-                    .collect( Collectors.toList() );
-                populateCache( dataElementIdScheme, dataValuesList, dataElementUidToIdentifierCache );
-                convertDataValuesIdentifiers( dataElementIdScheme, dataValuesList, dataElementUidToIdentifierCache );
+                note.setLastUpdatedBy(
+                    UserInfoSnapshot.of(
+                        resultSet.getLong( "usernote_id" ),
+                        resultSet.getString( "usernote_code" ),
+                        resultSet.getString( "usernote_uid" ),
+                        resultSet.getString( "usernote_username" ),
+                        resultSet.getString( "userinfo_firstname" ),
+                        resultSet.getString( "userinfo_surname" ) ) );
             }
 
-            if ( params.getCategoryOptionCombo() == null && !isSuper( user ) )
+            note.setLastUpdated( resultSet.getDate( "psinote_lastupdated" ) );
+
+            event.getNotes().add( note );
+            notes.add( resultSet.getString( "psinote_id" ) );
+        }
+
+        if ( params.isIncludeRelationships() && resultSet.getObject( "psi_rl" ) != null )
+        {
+            PGobject pGobject = (PGobject) resultSet.getObject( "psi_rl" );
+
+            if ( pGobject != null )
             {
-                return events.stream().filter( ev -> ev.getAttributeCategoryOptions() != null
-                    && splitToSet( ev.getAttributeCategoryOptions(), TextUtils.SEMICOLON ).size() == ev
-                        .getOptionSize() )
-                    .collect( Collectors.toList() );
+                String value = pGobject.getValue();
+
+                relationshipIds.addAll( Lists.newArrayList( gson.fromJson( value, Long[].class ) ) );
             }
+        }
+    }
 
-            return events;
-        } );
+    /**
+     * Adds the relationships, converts the data element identifiers and
+     * removes the events the user cannot access through all attribute category
+     * options of the given events.
+     */
+    private List<Event> completeEvents( EventSearchParams params, User user, List<Event> events,
+        List<Long> relationshipIds )
+    {
+        final Multimap<String, Relationship> map = eventStore
+            .getRelationshipsByIds( relationshipIds, params );
+
+        if ( !map.isEmpty() )
+        {
+            events.forEach( e -> e.getRelationships().addAll( map.get( e.getEvent() ) ) );
+        }
+
+        IdSchemes idSchemes = ObjectUtils.firstNonNull( params.getIdSchemes(), new IdSchemes() );
+        IdScheme dataElementIdScheme = idSchemes.getDataElementIdScheme();
+
+        if ( dataElementIdScheme != IdScheme.ID && dataElementIdScheme != IdScheme.UID )
+        {
+            CachingMap<String, String> dataElementUidToIdentifierCache = new CachingMap<>();
+
+            List<Collection<DataValue>> dataValuesList = events.stream().map( Event::getDataValues )
+                .collect( Collectors.toList() );
+            populateCache( dataElementIdScheme, dataValuesList, dataElementUidToIdentifierCache );
+            convertDataValuesIdentifiers( dataElementIdScheme, dataValuesList, dataElementUidToIdentifierCache );
+        }
 
+        if ( params.getCategoryOptionCombo() == null && !isSuper( user ) )
+        {
+            return events.stream().filter( ev -> ev.getAttributeCategoryOptions() != null
+                && splitToSet( ev.getAttributeCategoryOptions(), TextUtils.SEMICOLON ).size() == ev
+                    .getOptionSize() )
+                .collect( Collectors.toList() );
+        }
+
+        return events;
     }
 
     @Override
@@ -982,6 +1119,19 @@ public class JdbcEventStore implements EventStore
      */
     private String buildSql( EventSearchParams params, MapSqlParameterSource mapSqlParameterSource,
         List<OrganisationUnit> organisationUnits, User user )
+    {
+        return buildSql( params, mapSqlParameterSource, organisationUnits, user, false );
+    }
+
+    /**
+     * Builds the event query.
+     *
+     * @param adjacentEventRows whether all rows of an event must follow each
+     *        other in the result, which is achieved by ordering by event
+     *        identifier after the requested order.
+     */
+    private String buildSql( EventSearchParams params, MapSqlParameterSource mapSqlParameterSource,
+        List<OrganisationUnit> organisationUnits, User user, boolean adjacentEventRows )
     {
         StringBuilder sqlBuilder = new StringBuilder().append( "select * from (" );
 
@@ -1011,6 +1161,11 @@ public class JdbcEventStore implements EventStore
 
         sqlBuilder.append( getOrderQuery( params ) );
 
+        if ( adjacentEventRows )
+        {
+            sqlBuilder.append( ", psi_id asc " );
+        }
+
         return sqlBuilder.toString();
     }
 
@@ -1375,6 +1530,14 @@ public class JdbcEventStore implements EventStore
                 .append( " (pi.uid in (:programinstance_uid)) " );
         }
 
+        if ( params.isPageTokenPaging() )
+        {
+            mapSqlParameterSource.addValue( "page_token_id", PageToken.decode( params.getPageToken() ) );
+
+            sqlBuilder.append( hlp.whereAnd() )
+                .append( " psi.programstageinstanceid > :page_token_id " );
+        }
+
         return sqlBuilder.toString();
     }
 
@@ -1629,8 +1792,9 @@ public class JdbcEventStore implements EventStore
         final StringBuilder sqlBuilder = new StringBuilder().append( " " );
         int pageSize = params.getPageSizeWithDefault();
 
-        // When the clients choose to not show the total of pages.
-        if ( !params.isTotalPages() )
+        // When the clients choose to not show the total of pages, or page by
+        // token which never counts the total.
+        if ( !params.isTotalPages() || params.isPageTokenPaging() )
         {
             // Get pageSize + 1, so we are able to know if there is another
             // page available. It adds one additional element into the list,
@@ -1638,7 +1802,12 @@ public class JdbcEventStore implements EventStore
             pageSize++;
         }
 
-        if ( !params.isSkipPaging() )
+        if ( params.isPageTokenPaging() )
+        {
+            // The offset is given by the page token condition
+            sqlBuilder.append( "limit " ).append( pageSize ).append( " " );
+        }
+        else if ( !params.isSkipPaging() )
         {
             sqlBuilder.append( "limit " ).append( pageSize ).append( " offset " )
                 .append( params.getOffset() ).append( " " );
@@ -1687,6 +1856,11 @@ public class JdbcEventStore implements EventStore
 
     private String getOrderQuery( EventSearchParams params )
     {
+        if ( params.isPageTokenPaging() )
+        {
+            return "order by psi_id asc ";
+        }
+
         ArrayList<String> orderFields = new ArrayList<>();
 
         if ( params.getGridOrders() != null )
@@ -64,6 +64,12 @@ public class ImportSummary extends AbstractWebMessageResponse implements ImportC
 
     private String dataSetComplete;
 
+    /**
+     * Import throughput in values per second, only reported by imports which
+     * process values in bulk such as data value set imports.
+     */
+    private Double valuesPerSecond;
+
     private String reference;
 
     private String href;
@@ -219,6 +225,19 @@ public class ImportSummary extends AbstractWebMessageResponse implements ImportC
         return this;
     }
 
+    @JsonProperty
+    @JacksonXmlProperty( namespace = DxfNamespaces.DXF_2_0 )
+    public Double getValuesPerSecond()
+    {
+        return valuesPerSecond;
+    }
+
+    public ImportSummary setValuesPerSecond( Double valuesPerSecond )
+    {
+        this.valuesPerSecond = valuesPerSecond;
+        return this;
+    }
+
     @JsonProperty
     @JacksonXmlProperty( namespace = DxfNamespaces.DXF_2_0 )
     public String getReference()
@@ -309,9 +328,9 @@ public class ImportSummary extends AbstractWebMessageResponse implements ImportC
 
     /**
      * Called to mark a data value that should be skipped/ignored during
-     * validation.
+     * validation. Can be called concurrently by parallel imports.
      */
-    public void skipValue()
+    public synchronized void skipValue()
     {
         importCount.incrementIgnored();
     }
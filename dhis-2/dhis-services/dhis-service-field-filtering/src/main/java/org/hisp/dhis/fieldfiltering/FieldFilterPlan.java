@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.fieldfiltering;
+
+import java.util.List;
+import java.util.Map;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * Field filters compiled for a class. Holds the field paths expanded for the
+ * class, the transformers by full path and an object writer which applies the
+ * field paths while serializing. Plans are immutable and shared between
+ * requests using the same class and field filters.
+ */
+@Getter
+@RequiredArgsConstructor
+class FieldFilterPlan
+{
+    private final List<FieldPath> fieldPaths;
+
+    private final Map<String, List<FieldTransformer>> fieldTransformers;
+
+    /**
+     * Field paths referring to attribute values by attribute identifier.
+     */
+    private final List<FieldPath> attributeValueFieldPaths;
+
+    private final ObjectWriter objectWriter;
+
+    /**
+     * Indicates whether objects can be serialized straight to a generator,
+     * which is not the case when transformers or attribute value fields must
+     * modify the serialized JSON tree.
+     */
+    public boolean isDirect()
+    {
+        return attributeValueFieldPaths.isEmpty()
+            && fieldTransformers.values().stream().allMatch( List::isEmpty );
+    }
+}
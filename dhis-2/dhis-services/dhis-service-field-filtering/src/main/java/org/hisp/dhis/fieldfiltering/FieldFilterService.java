@@ -33,12 +33,17 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 import org.hisp.dhis.attribute.Attribute;
 import org.hisp.dhis.attribute.AttributeService;
 import org.hisp.dhis.attribute.AttributeValue;
+import org.hisp.dhis.cache.Cache;
+import org.hisp.dhis.cache.CacheProvider;
 import org.hisp.dhis.common.BaseIdentifiableObject;
 import org.hisp.dhis.common.CodeGenerator;
 import org.hisp.dhis.common.IdentifiableObject;
@@ -65,6 +70,8 @@ import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.cfg.MapperConfig;
 import com.fasterxml.jackson.databind.introspect.Annotated;
 import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
@@ -72,6 +79,7 @@ import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 
 /**
  * @author Morten Olav Hansen
@@ -96,6 +104,12 @@ public class FieldFilterService
 
     private final AttributeService attributeService;
 
+    /**
+     * Cache of compiled field filter plans, keyed by class, sharing flag and
+     * field filters.
+     */
+    private final Cache<FieldFilterPlan> planCache;
+
     public FieldFilterService(
         FieldPathHelper fieldPathHelper,
         ObjectMapper jsonMapper,
@@ -104,7 +118,8 @@ public class FieldFilterService
         CurrentUserService currentUserService,
         UserGroupService userGroupService,
         UserService userService,
-        AttributeService attributeService )
+        AttributeService attributeService,
+        CacheProvider cacheProvider )
     {
         this.fieldPathHelper = fieldPathHelper;
         this.jsonMapper = configureFieldFilterObjectMapper( jsonMapper );
@@ -114,6 +129,7 @@ public class FieldFilterService
         this.userGroupService = userGroupService;
         this.userService = userService;
         this.attributeService = attributeService;
+        this.planCache = cacheProvider.createFieldFilterPlanCache();
     }
 
     private static class IgnoreJsonSerializerRefinementAnnotationInspector extends JacksonAnnotationIntrospector
@@ -160,35 +176,22 @@ public class FieldFilterService
             return objectNodes;
         }
 
-        List<FieldPath> fieldPaths = FieldFilterParser.parse( params.getFilters() );
-
         if ( params.getUser() == null )
         {
             params.setUser( currentUserService.getCurrentUser() );
         }
 
-        // In case we get a proxied object in we can't just use o.getClass(), we
-        // need to figure out the real class name by using HibernateProxyUtils.
-        Object firstObject = params.getObjects().iterator().next();
-        fieldPathHelper.apply( fieldPaths, HibernateProxyUtils.getRealClass( firstObject ) );
-
-        SimpleFilterProvider filterProvider = getSimpleFilterProvider( fieldPaths, params.isSkipSharing() );
-
-        // only set filter provider on a local copy so that we don't affect
-        // other object mappers (running across other threads)
-        ObjectMapper objectMapper = jsonMapper.copy().setFilterProvider( filterProvider );
-
-        Map<String, List<FieldTransformer>> fieldTransformers = getTransformers( fieldPaths );
+        FieldFilterPlan plan = getPlan( params );
 
         for ( Object object : params.getObjects() )
         {
-            applyAccess( params, fieldPaths, object );
-            applyUserAccessesDisplayName( params, fieldPaths, object );
-            applyUserGroupAccessesDisplayName( params, fieldPaths, object );
-            applyAttributeValuesAttribute( params, fieldPaths, object );
+            applyAccess( params, plan.getFieldPaths(), object );
+            applyUserAccessesDisplayName( params, plan.getFieldPaths(), object );
+            applyUserGroupAccessesDisplayName( params, plan.getFieldPaths(), object );
+            applyAttributeValuesAttribute( params, plan.getFieldPaths(), object );
 
-            ObjectNode objectNode = objectMapper.valueToTree( object );
-            applyTransformers( objectNode, null, "", fieldTransformers );
+            ObjectNode objectNode = valueToTree( plan, object );
+            applyTransformers( objectNode, null, "", plan.getFieldTransformers() );
 
             objectNodes.add( objectNode );
         }
@@ -213,7 +216,9 @@ public class FieldFilterService
     }
 
     /**
-     * Streams filtered object nodes using given JsonGenerator.
+     * Streams filtered object nodes using given JsonGenerator. Objects are
+     * written straight to the generator unless transformers or attribute value
+     * fields require an intermediate JSON tree.
      *
      * @param params Filter params to apply
      * @param generator Pre-created json generator
@@ -232,67 +237,115 @@ public class FieldFilterService
             params.setUser( currentUserService.getCurrentUser() );
         }
 
-        List<FieldPath> fieldPaths = FieldFilterParser.parse( params.getFilters() );
+        FieldFilterPlan plan = getPlan( params );
+        boolean direct = plan.isDirect();
+
+        for ( Object object : params.getObjects() )
+        {
+            applyAccess( params, plan.getFieldPaths(), object );
+            applyUserAccessesDisplayName( params, plan.getFieldPaths(), object );
+            applyUserGroupAccessesDisplayName( params, plan.getFieldPaths(), object );
+            applyAttributeValuesAttribute( params, plan.getFieldPaths(), object );
+
+            if ( direct )
+            {
+                plan.getObjectWriter().writeValue( generator, object );
+            }
+            else
+            {
+                ObjectNode objectNode = valueToTree( plan, object );
+                applyAttributeValueFields( object, objectNode, plan.getAttributeValueFieldPaths() );
+                applyTransformers( objectNode, null, "", plan.getFieldTransformers() );
+
+                generator.writeObject( objectNode );
+            }
+        }
+    }
 
+    /**
+     * Returns the plan for the class of the given objects and the given field
+     * filters, compiling it if not already cached.
+     */
+    private FieldFilterPlan getPlan( FieldFilterParams<?> params )
+    {
         // In case we get a proxied object in we can't just use o.getClass(), we
         // need to figure out the real class name by using HibernateProxyUtils.
-        Object firstObject = params.getObjects().iterator().next();
-        fieldPathHelper.apply( fieldPaths, HibernateProxyUtils.getRealClass( firstObject ) );
+        Class<?> klass = HibernateProxyUtils.getRealClass( params.getObjects().iterator().next() );
+
+        String key = klass.getName() + ":" + params.isSkipSharing() + ":"
+            + String.join( ",", new TreeSet<>( params.getFilters() ) );
+
+        return planCache.get( key, k -> compilePlan( klass, params.getFilters(), params.isSkipSharing() ) );
+    }
 
-        SimpleFilterProvider filterProvider = getSimpleFilterProvider( fieldPaths, params.isSkipSharing() );
+    private FieldFilterPlan compilePlan( Class<?> klass, Set<String> filters, boolean skipSharing )
+    {
+        List<FieldPath> fieldPaths = FieldFilterParser.parse( filters );
+        fieldPathHelper.apply( fieldPaths, klass );
 
-        // only set filter provider on a local copy so that we don't affect
-        // other object mappers (running across other threads)
-        ObjectMapper objectMapper = jsonMapper.copy().setFilterProvider( filterProvider );
+        List<FieldPath> attributeValueFieldPaths = fieldPaths.stream()
+            .filter( path -> path.getProperty() == null && CodeGenerator.isValidUid( path.getFullPath() ) )
+            .collect( Collectors.toList() );
 
-        Map<String, List<FieldTransformer>> fieldTransformers = getTransformers( fieldPaths );
+        // the filter provider is only set on the writer, so that the shared
+        // object mapper and its serializer caches are not affected, objects
+        // are written one by one so the generator is flushed by the caller
 
-        for ( Object object : params.getObjects() )
-        {
-            applyAccess( params, fieldPaths, object );
-            applyUserAccessesDisplayName( params, fieldPaths, object );
-            applyUserGroupAccessesDisplayName( params, fieldPaths, object );
-            applyAttributeValuesAttribute( params, fieldPaths, object );
+        ObjectWriter objectWriter = jsonMapper.writer( getSimpleFilterProvider( fieldPaths, skipSharing ) )
+            .without( SerializationFeature.WRAP_ROOT_VALUE )
+            .without( SerializationFeature.FLUSH_AFTER_WRITE_VALUE );
 
-            ObjectNode objectNode = objectMapper.valueToTree( object );
-            applyAttributeValueFields( object, objectNode, fieldPaths );
-            applyTransformers( objectNode, null, "", fieldTransformers );
+        return new FieldFilterPlan( List.copyOf( fieldPaths ), getTransformers( fieldPaths ),
+            attributeValueFieldPaths, objectWriter );
+    }
 
-            generator.writeObject( objectNode );
+    /**
+     * Serializes the given object into a JSON tree using the writer of the
+     * given plan.
+     */
+    private ObjectNode valueToTree( FieldFilterPlan plan, Object object )
+    {
+        try ( TokenBuffer buffer = new TokenBuffer( jsonMapper, false ) )
+        {
+            plan.getObjectWriter().writeValue( buffer, object );
+
+            return jsonMapper.readTree( buffer.asParser() );
+        }
+        catch ( IOException ex )
+        {
+            throw new IllegalArgumentException( ex.getMessage(), ex );
         }
     }
 
-    private void applyAttributeValueFields( Object object, ObjectNode objectNode, List<FieldPath> fieldPaths )
+    private void applyAttributeValueFields( Object object, ObjectNode objectNode,
+        List<FieldPath> attributeValueFieldPaths )
     {
         if ( !(object instanceof BaseIdentifiableObject) )
         {
             return;
         }
-        for ( FieldPath path : fieldPaths )
+        for ( FieldPath path : attributeValueFieldPaths )
         {
-            if ( path.getProperty() == null && CodeGenerator.isValidUid( path.getFullPath() ) )
+            AttributeValue value = ((BaseIdentifiableObject) object).getAttributeValue( path.getFullPath() );
+            if ( value != null )
             {
-                AttributeValue value = ((BaseIdentifiableObject) object).getAttributeValue( path.getFullPath() );
-                if ( value != null )
+                String v = value.getValue();
+                Attribute attribute = attributeService.getAttribute( value.getAttribute().getUid() );
+                if ( v != null && !v.isBlank() && attribute.getValueType().isJson() )
                 {
-                    String v = value.getValue();
-                    Attribute attribute = attributeService.getAttribute( value.getAttribute().getUid() );
-                    if ( v != null && !v.isBlank() && attribute.getValueType().isJson() )
+                    try
                     {
-                        try
-                        {
-                            objectNode.set( path.getFullPath(), jsonMapper.readTree( v ) );
-                        }
-                        catch ( JsonProcessingException e )
-                        {
-                            objectNode.put( path.getFullPath(), v );
-                        }
+                        objectNode.set( path.getFullPath(), jsonMapper.readTree( v ) );
                     }
-                    else
+                    catch ( JsonProcessingException e )
                     {
                         objectNode.put( path.getFullPath(), v );
                     }
                 }
+                else
+                {
+                    objectNode.put( path.getFullPath(), v );
+                }
             }
         }
     }
@@ -29,6 +29,8 @@ package org.hisp.dhis.fieldfiltering;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
@@ -51,13 +53,21 @@ import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
  *
  * @author Morten Olav Hansen
  */
-@RequiredArgsConstructor
 public class FieldFilterSimpleBeanPropertyFilter extends SimpleBeanPropertyFilter
 {
-    private final List<FieldPath> fieldPaths;
+    /**
+     * Full paths of the field paths, looked up for every serialized property.
+     */
+    private final Set<String> fullPaths;
 
     private final boolean skipSharing;
 
+    public FieldFilterSimpleBeanPropertyFilter( List<FieldPath> fieldPaths, boolean skipSharing )
+    {
+        this.fullPaths = fieldPaths.stream().map( FieldPath::toFullPath ).collect( Collectors.toUnmodifiableSet() );
+        this.skipSharing = skipSharing;
+    }
+
     @Override
     protected boolean include( final BeanPropertyWriter writer )
     {
@@ -91,15 +101,7 @@ public class FieldFilterSimpleBeanPropertyFilter extends SimpleBeanPropertyFilte
             return true;
         }
 
-        for ( FieldPath fieldPath : fieldPaths )
-        {
-            if ( fieldPath.toFullPath().equals( ctx.getFullPath() ) )
-            {
-                return true;
-            }
-        }
-
-        return false;
+        return fullPaths.contains( ctx.getFullPath() );
     }
 
     private PathContext getPath( PropertyWriter writer, JsonGenerator jgen )
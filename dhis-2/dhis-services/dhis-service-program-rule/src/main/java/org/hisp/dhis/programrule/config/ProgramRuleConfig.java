@@ -52,6 +52,9 @@ public class ProgramRuleConfig
     @Autowired
     private ConstantService constantService;
 
+    @Autowired
+    private ProgramRuleEngineContextProvider programRuleEngineContextProvider;
+
     /**
      * This bean is used in the system when an event is intercepted by
      * {@link ProgramRuleEngineListener}. Only the notification rule actions are
@@ -62,7 +65,7 @@ public class ProgramRuleConfig
         NotificationImplementableRuleService notificationImplementableRuleService )
     {
         return new ProgramRuleEngine( programRuleEntityMapperService, programRuleVariableService, constantService,
-            notificationImplementableRuleService, supplementaryDataProvider );
+            notificationImplementableRuleService, supplementaryDataProvider, programRuleEngineContextProvider );
     }
 
     /**
@@ -74,6 +77,6 @@ public class ProgramRuleConfig
         ServerSideImplementableRuleService serverSideImplementableRuleService )
     {
         return new ProgramRuleEngine( programRuleEntityMapperService, programRuleVariableService, constantService,
-            serverSideImplementableRuleService, supplementaryDataProvider );
+            serverSideImplementableRuleService, supplementaryDataProvider, programRuleEngineContextProvider );
     }
 }
@@ -74,6 +74,9 @@ public class ProgramRuleEngine
     @NonNull
     private final SupplementaryDataProvider supplementaryDataProvider;
 
+    @NonNull
+    private final ProgramRuleEngineContextProvider programRuleEngineContextProvider;
+
     public List<RuleEffect> evaluate( ProgramInstance enrollment, Set<ProgramStageInstance> events )
     {
         return evaluateProgramRules( enrollment, null, enrollment.getProgram(), Collections.emptyList(),
@@ -104,6 +107,7 @@ public class ProgramRuleEngine
         ProgramStageInstance programStageInstance, Program program,
         List<TrackedEntityAttributeValue> trackedEntityAttributeValues, List<RuleEvent> ruleEvents )
     {
+        long startNanos = System.nanoTime();
 
         try
         {
@@ -114,8 +118,12 @@ public class ProgramRuleEngine
                 return Collections.emptyList();
             }
 
-            return getRuleEngineEvaluation( ruleEngine, enrollment,
+            List<RuleEffect> ruleEffects = getRuleEngineEvaluation( ruleEngine, enrollment,
                 programStageInstance, trackedEntityAttributeValues );
+
+            programRuleEngineContextProvider.recordEvaluation( startNanos );
+
+            return ruleEffects;
         }
         catch ( Exception e )
         {
@@ -128,6 +136,8 @@ public class ProgramRuleEngine
         ProgramStageInstance programStageInstance, Program program,
         List<TrackedEntityAttributeValue> trackedEntityAttributeValues, List<RuleEvent> ruleEvents )
     {
+        long startNanos = System.nanoTime();
+
         try
         {
             RuleEngine ruleEngine = getRuleEngine( programStageInstance, program, enrollment,
@@ -136,7 +146,12 @@ public class ProgramRuleEngine
             {
                 return Collections.emptyList();
             }
-            return ruleEngine.evaluate().call();
+
+            List<RuleEffects> ruleEffects = ruleEngine.evaluate().call();
+
+            programRuleEngineContextProvider.recordEvaluation( startNanos );
+
+            return ruleEffects;
         }
         catch ( Exception e )
         {
@@ -162,11 +177,11 @@ public class ProgramRuleEngine
 
         RuleEnrollment ruleEnrollment = getRuleEnrollment( enrollment, trackedEntityAttributeValues );
 
-        RuleEngine.Builder builder = getRuleEngineContext( program,
-            programRules )
-                .toEngineBuilder()
-                .triggerEnvironment( TriggerEnvironment.SERVER )
-                .events( ruleEvents );
+        RuleEngine.Builder builder = programRuleEngineContextProvider
+            .getRuleEngineContext( program, programStageUid, programRules )
+            .toEngineBuilder()
+            .triggerEnvironment( TriggerEnvironment.SERVER )
+            .events( ruleEvents );
 
         if ( ruleEnrollment != null )
         {
@@ -222,25 +237,6 @@ public class ProgramRuleEngine
             RuleEngineIntent.DESCRIPTION ).build();
     }
 
-    private RuleEngineContext getRuleEngineContext( Program program, List<ProgramRule> programRules )
-    {
-        List<ProgramRuleVariable> programRuleVariables = programRuleVariableService
-            .getProgramRuleVariable( program );
-
-        Map<String, String> constantMap = constantService.getConstantMap().entrySet()
-            .stream()
-            .collect( Collectors.toMap( Map.Entry::getKey, v -> v.getValue().toString() ) );
-
-        Map<String, List<String>> supplementaryData = supplementaryDataProvider.getSupplementaryData( programRules );
-
-        return RuleEngineContext.builder()
-            .supplementaryData( supplementaryData )
-            .rules( programRuleEntityMapperService.toMappedProgramRules( programRules ) )
-            .ruleVariables( programRuleEntityMapperService.toMappedProgramRuleVariables( programRuleVariables ) )
-            .constantsValue( constantMap )
-            .build();
-    }
-
     private RuleEngine.Builder ruleEngineBuilder( List<ProgramRule> programRules,
         List<ProgramRuleVariable> programRuleVariables, RuleEngineIntent intent )
     {
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.programrule.engine;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import org.hisp.dhis.cache.Cache;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.common.IdentifiableObject;
+import org.hisp.dhis.common.ValueType;
+import org.hisp.dhis.constant.ConstantService;
+import org.hisp.dhis.program.Program;
+import org.hisp.dhis.programrule.ProgramRule;
+import org.hisp.dhis.programrule.ProgramRuleAction;
+import org.hisp.dhis.programrule.ProgramRuleVariable;
+import org.hisp.dhis.programrule.ProgramRuleVariableService;
+import org.hisp.dhis.rules.RuleEngineContext;
+import org.hisp.dhis.rules.models.Rule;
+import org.hisp.dhis.rules.models.RuleVariable;
+import org.springframework.stereotype.Component;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Provides {@link RuleEngineContext} instances for program rule evaluation.
+ * The mapped rules, rule variables and constants of a program and program
+ * stage are cached, so that only the supplementary data is built per
+ * evaluation. The supplementary data holds the members of organisation unit
+ * groups and the user roles of the current user, which can change without any
+ * change to the program rule metadata, and is therefore not cached.
+ * <p>
+ * Cache entries are keyed by a version of the underlying metadata, computed
+ * from the identifiers and last updated timestamps of the program rules,
+ * their actions, the program rule variables and the data elements and
+ * attributes the variables refer to, including their value types, as well as
+ * the constant values. Any change to this metadata therefore results in a new
+ * entry, while stale entries expire from the cache.
+ */
+@Component
+public class ProgramRuleEngineContextProvider
+{
+    private final ProgramRuleEntityMapperService programRuleEntityMapperService;
+
+    private final ProgramRuleVariableService programRuleVariableService;
+
+    private final ConstantService constantService;
+
+    private final SupplementaryDataProvider supplementaryDataProvider;
+
+    private final Cache<CachedContext> contextCache;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evaluationCount = new LongAdder();
+
+    private final LongAdder evaluationNanos = new LongAdder();
+
+    public ProgramRuleEngineContextProvider( ProgramRuleEntityMapperService programRuleEntityMapperService,
+        ProgramRuleVariableService programRuleVariableService, ConstantService constantService,
+        SupplementaryDataProvider supplementaryDataProvider, CacheProvider cacheProvider )
+    {
+        this.programRuleEntityMapperService = programRuleEntityMapperService;
+        this.programRuleVariableService = programRuleVariableService;
+        this.constantService = constantService;
+        this.supplementaryDataProvider = supplementaryDataProvider;
+        this.contextCache = cacheProvider.createProgramRuleEngineContextCache();
+    }
+
+    /**
+     * Returns a {@link RuleEngineContext} for the given program rules, which
+     * must be the implementable rules of the given program and program stage.
+     *
+     * @param program the {@link Program}.
+     * @param programStageUid the program stage uid, may be null.
+     * @param programRules the program rules to evaluate.
+     * @return a {@link RuleEngineContext}.
+     */
+    public RuleEngineContext getRuleEngineContext( Program program, String programStageUid,
+        List<ProgramRule> programRules )
+    {
+        List<ProgramRuleVariable> programRuleVariables = programRuleVariableService
+            .getProgramRuleVariable( program );
+
+        Map<String, String> constantMap = constantService.getConstantMap().entrySet()
+            .stream()
+            .collect( Collectors.toMap( Map.Entry::getKey, v -> v.getValue().toString() ) );
+
+        String key = getCacheKey( program, programStageUid, programRules, programRuleVariables, constantMap );
+
+        CachedContext context = contextCache.getIfPresent( key ).orElse( null );
+
+        if ( context != null )
+        {
+            hitCount.increment();
+        }
+        else
+        {
+            missCount.increment();
+
+            context = new CachedContext(
+                programRuleEntityMapperService.toMappedProgramRules( programRules ),
+                programRuleEntityMapperService.toMappedProgramRuleVariables( programRuleVariables ),
+                constantMap );
+
+            contextCache.put( key, context );
+        }
+
+        return RuleEngineContext.builder()
+            .supplementaryData( supplementaryDataProvider.getSupplementaryData( programRules ) )
+            .rules( context.getRules() )
+            .ruleVariables( context.getRuleVariables() )
+            .constantsValue( context.getConstants() )
+            .build();
+    }
+
+    /**
+     * Records the duration of a program rule evaluation.
+     *
+     * @param startNanos the {@link System#nanoTime()} at the start of the
+     *        evaluation.
+     */
+    public void recordEvaluation( long startNanos )
+    {
+        evaluationCount.increment();
+        evaluationNanos.add( System.nanoTime() - startNanos );
+    }
+
+    /**
+     * Returns the number of lookups which found a context in the cache.
+     */
+    public long getHitCount()
+    {
+        return hitCount.sum();
+    }
+
+    /**
+     * Returns the number of lookups which did not find a context in the cache.
+     */
+    public long getMissCount()
+    {
+        return missCount.sum();
+    }
+
+    /**
+     * Returns the ratio of lookups which found a context in the cache, or 0 if
+     * no lookups were made.
+     */
+    public double getHitRate()
+    {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+
+        return total > 0 ? (double) hits / total : 0d;
+    }
+
+    /**
+     * Returns the number of recorded program rule evaluations.
+     */
+    public long getEvaluationCount()
+    {
+        return evaluationCount.sum();
+    }
+
+    /**
+     * Returns the total time of recorded program rule evaluations in
+     * milliseconds.
+     */
+    public double getEvaluationTimeMillis()
+    {
+        return (double) evaluationNanos.sum() / TimeUnit.MILLISECONDS.toNanos( 1 );
+    }
+
+    // -------------------------------------------------------------------------
+    // Supportive methods
+    // -------------------------------------------------------------------------
+
+    private String getCacheKey( Program program, String programStageUid, List<ProgramRule> programRules,
+        List<ProgramRuleVariable> programRuleVariables, Map<String, String> constantMap )
+    {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+
+        for ( ProgramRule programRule : programRules )
+        {
+            putVersion( hasher, programRule );
+
+            for ( ProgramRuleAction action : programRule.getProgramRuleActions() )
+            {
+                putVersion( hasher, action );
+            }
+        }
+
+        for ( ProgramRuleVariable variable : programRuleVariables )
+        {
+            putVersion( hasher, variable );
+
+            if ( variable.getDataElement() != null )
+            {
+                putVersion( hasher, variable.getDataElement(), variable.getDataElement().getValueType() );
+            }
+
+            if ( variable.getAttribute() != null )
+            {
+                putVersion( hasher, variable.getAttribute(), variable.getAttribute().getValueType() );
+            }
+        }
+
+        new TreeMap<>( constantMap ).forEach( ( uid, value ) -> hasher
+            .putString( uid, StandardCharsets.UTF_8 )
+            .putString( value, StandardCharsets.UTF_8 ) );
+
+        return program.getUid() + ":" + programStageUid + ":" + hasher.hash();
+    }
+
+    private void putVersion( Hasher hasher, IdentifiableObject object )
+    {
+        Date lastUpdated = object.getLastUpdated();
+
+        hasher.putString( object.getUid(), StandardCharsets.UTF_8 )
+            .putLong( lastUpdated != null ? lastUpdated.getTime() : 0L );
+    }
+
+    private void putVersion( Hasher hasher, IdentifiableObject object, ValueType valueType )
+    {
+        putVersion( hasher, object );
+
+        hasher.putString( String.valueOf( valueType ), StandardCharsets.UTF_8 );
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class CachedContext
+    {
+        private final List<Rule> rules;
+
+        private final List<RuleVariable> ruleVariables;
+
+        private final Map<String, String> constants;
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.programrule.engine;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.MONITORING_PROGRAM_RULE_ENGINE_ENABLED;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.monitoring.metrics.MetricsEnabler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Exposes the context cache hit rate and the evaluation latency of the
+ * {@link ProgramRuleEngine}.
+ */
+@Configuration
+@Conditional( ProgramRuleEngineMetricsConfig.ProgramRuleEngineMetricsEnabledCondition.class )
+public class ProgramRuleEngineMetricsConfig
+{
+    @Autowired
+    public void bindToRegistry( MeterRegistry registry, ProgramRuleEngineContextProvider contextProvider )
+    {
+        FunctionCounter.builder( "program.rule.engine.context.cache.hits", contextProvider,
+            ProgramRuleEngineContextProvider::getHitCount )
+            .description( "The number of rule engine contexts served from the cache" )
+            .register( registry );
+
+        FunctionCounter.builder( "program.rule.engine.context.cache.misses", contextProvider,
+            ProgramRuleEngineContextProvider::getMissCount )
+            .description( "The number of rule engine contexts built from program metadata" )
+            .register( registry );
+
+        Gauge.builder( "program.rule.engine.context.cache.hit.rate", contextProvider,
+            ProgramRuleEngineContextProvider::getHitRate )
+            .description( "The ratio of rule engine contexts served from the cache" )
+            .register( registry );
+
+        FunctionTimer.builder( "program.rule.engine.evaluation", contextProvider,
+            ProgramRuleEngineContextProvider::getEvaluationCount,
+            ProgramRuleEngineContextProvider::getEvaluationTimeMillis, TimeUnit.MILLISECONDS )
+            .description( "The time spent evaluating program rules" )
+            .register( registry );
+    }
+
+    static class ProgramRuleEngineMetricsEnabledCondition
+        extends
+        MetricsEnabler
+    {
+        @Override
+        protected ConfigurationKey getConfigKey()
+        {
+            return MONITORING_PROGRAM_RULE_ENGINE_ENABLED;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.programrule.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hisp.dhis.DhisConvenienceTest;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.cache.TestCache;
+import org.hisp.dhis.common.ValueType;
+import org.hisp.dhis.constant.ConstantService;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.program.Program;
+import org.hisp.dhis.programrule.ProgramRule;
+import org.hisp.dhis.programrule.ProgramRuleVariable;
+import org.hisp.dhis.programrule.ProgramRuleVariableService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith( MockitoExtension.class )
+class ProgramRuleEngineContextProviderTest extends DhisConvenienceTest
+{
+    @Mock
+    private ProgramRuleEntityMapperService programRuleEntityMapperService;
+
+    @Mock
+    private ProgramRuleVariableService programRuleVariableService;
+
+    @Mock
+    private ConstantService constantService;
+
+    @Mock
+    private SupplementaryDataProvider supplementaryDataProvider;
+
+    @Mock
+    private CacheProvider cacheProvider;
+
+    private ProgramRuleEngineContextProvider providerToTest;
+
+    private Program program;
+
+    private ProgramRule programRule;
+
+    private List<ProgramRule> programRules;
+
+    private DataElement dataElement;
+
+    @BeforeEach
+    void setUp()
+    {
+        when( cacheProvider.createProgramRuleEngineContextCache() ).thenReturn( new TestCache<>() );
+
+        providerToTest = new ProgramRuleEngineContextProvider( programRuleEntityMapperService,
+            programRuleVariableService, constantService, supplementaryDataProvider, cacheProvider );
+
+        program = createProgram( 'A' );
+        programRule = createProgramRule( 'A', program );
+        programRule.setLastUpdated( new Date( 1000L ) );
+        programRules = List.of( programRule );
+
+        dataElement = createDataElement( 'A' );
+        dataElement.setLastUpdated( new Date( 1000L ) );
+
+        ProgramRuleVariable programRuleVariable = createProgramRuleVariable( 'A', program );
+        programRuleVariable.setLastUpdated( new Date( 1000L ) );
+        programRuleVariable.setDataElement( dataElement );
+
+        when( programRuleVariableService.getProgramRuleVariable( program ) )
+            .thenReturn( List.of( programRuleVariable ) );
+        when( constantService.getConstantMap() ).thenReturn( Map.of( "constantA", createConstant( 'A', 5d ) ) );
+        when( supplementaryDataProvider.getSupplementaryData( programRules ) ).thenReturn( new HashMap<>() );
+    }
+
+    @Test
+    void testContextIsCachedForUnchangedMetadata()
+    {
+        providerToTest.getRuleEngineContext( program, null, programRules );
+        providerToTest.getRuleEngineContext( program, null, programRules );
+
+        verify( programRuleEntityMapperService, times( 1 ) ).toMappedProgramRules( anyList() );
+        verify( programRuleEntityMapperService, times( 1 ) ).toMappedProgramRuleVariables( anyList() );
+        verify( supplementaryDataProvider, times( 2 ) ).getSupplementaryData( programRules );
+
+        assertEquals( 1, providerToTest.getHitCount() );
+        assertEquals( 1, providerToTest.getMissCount() );
+        assertEquals( 0.5d, providerToTest.getHitRate() );
+    }
+
+    @Test
+    void testContextIsRebuiltForUpdatedMetadata()
+    {
+        providerToTest.getRuleEngineContext( program, null, programRules );
+
+        programRule.setLastUpdated( new Date( 2000L ) );
+
+        providerToTest.getRuleEngineContext( program, null, programRules );
+
+        verify( programRuleEntityMapperService, times( 2 ) ).toMappedProgramRules( anyList() );
+        assertEquals( 0, providerToTest.getHitCount() );
+        assertEquals( 2, providerToTest.getMissCount() );
+    }
+
+    @Test
+    void testContextIsRebuiltForChangedDataElementValueType()
+    {
+        providerToTest.getRuleEngineContext( program, null, programRules );
+
+        dataElement.setValueType( ValueType.BOOLEAN );
+
+        providerToTest.getRuleEngineContext( program, null, programRules );
+
+        verify( programRuleEntityMapperService, times( 2 ) ).toMappedProgramRuleVariables( anyList() );
+        assertEquals( 2, providerToTest.getMissCount() );
+    }
+
+    @Test
+    void testContextIsRebuiltForUpdatedDataElement()
+    {
+        providerToTest.getRuleEngineContext( program, null, programRules );
+
+        dataElement.setLastUpdated( new Date( 2000L ) );
+
+        providerToTest.getRuleEngineContext( program, null, programRules );
+
+        verify( programRuleEntityMapperService, times( 2 ) ).toMappedProgramRuleVariables( anyList() );
+        assertEquals( 2, providerToTest.getMissCount() );
+    }
+
+    @Test
+    void testContextIsCachedPerProgramStage()
+    {
+        providerToTest.getRuleEngineContext( program, "stageA", programRules );
+        providerToTest.getRuleEngineContext( program, "stageB", programRules );
+
+        verify( programRuleEntityMapperService, times( 2 ) ).toMappedProgramRules( anyList() );
+        assertEquals( 2, providerToTest.getMissCount() );
+    }
+}
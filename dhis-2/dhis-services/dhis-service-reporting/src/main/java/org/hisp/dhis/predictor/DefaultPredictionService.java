@@ -29,6 +29,7 @@ package org.hisp.dhis.predictor;
 
 import static com.google.common.base.MoreObjects.firstNonNull;
 import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
 import static org.hisp.dhis.common.OrganisationUnitDescendants.DESCENDANTS;
 import static org.hisp.dhis.expression.MissingValueStrategy.NEVER_SKIP;
 import static org.hisp.dhis.expression.ParseType.PREDICTOR_EXPRESSION;
@@ -44,8 +45,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import org.apache.commons.collections4.CollectionUtils;
@@ -61,6 +67,7 @@ import org.hisp.dhis.common.IdentifiableObjectManager;
 import org.hisp.dhis.common.ListMap;
 import org.hisp.dhis.common.MapMap;
 import org.hisp.dhis.commons.util.DebugUtils;
+import org.hisp.dhis.commons.util.SystemUtils;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.dataelement.DataElementOperand;
 import org.hisp.dhis.datavalue.DataValue;
@@ -77,6 +84,8 @@ import org.hisp.dhis.period.PeriodService;
 import org.hisp.dhis.period.PeriodType;
 import org.hisp.dhis.scheduling.JobProgress;
 import org.hisp.dhis.scheduling.parameters.PredictorJobParameters;
+import org.hisp.dhis.setting.SettingKey;
+import org.hisp.dhis.setting.SystemSettingManager;
 import org.hisp.dhis.user.CurrentUserService;
 import org.hisp.dhis.user.CurrentUserServiceTarget;
 import org.hisp.dhis.user.User;
@@ -98,6 +107,12 @@ import com.google.common.collect.Sets;
 public class DefaultPredictionService
     implements PredictionService, AnalyticsServiceTarget, CurrentUserServiceTarget
 {
+    /**
+     * Number of organisation units for which predictions are evaluated
+     * together before they are written.
+     */
+    private static final int ORG_UNITS_PER_BATCH = 500;
+
     private final PredictorService predictorService;
 
     private final ExpressionService expressionService;
@@ -114,6 +129,8 @@ public class DefaultPredictionService
 
     private final BatchHandlerFactory batchHandlerFactory;
 
+    private final SystemSettingManager systemSettingManager;
+
     private AnalyticsService analyticsService;
 
     private CurrentUserService currentUserService;
@@ -206,7 +223,6 @@ public class DefaultPredictionService
     public void predict( Predictor predictor, Date startDate, Date endDate, PredictionSummary predictionSummary )
     {
         Expression generator = predictor.getGenerator();
-        Expression skipTest = predictor.getSampleSkipTest();
         DataElement outputDataElement = predictor.getOutput();
         DataType expressionDataType = DataType.fromValueType( outputDataElement.getValueType() );
 
@@ -249,57 +265,58 @@ public class DefaultPredictionService
 
         predictionSummary.incrementPredictors();
 
-        for ( OrganisationUnitLevel orgUnitLevel : predictor.getOrganisationUnitLevels() )
-        {
-            List<OrganisationUnit> orgUnits = organisationUnitService
-                .getOrganisationUnitsAtOrgUnitLevels( Lists.newArrayList( orgUnitLevel ), currentUserOrgUnits );
-
-            consolidator.init( currentUserOrgUnits, orgUnitLevel.getLevel(), orgUnits,
-                dataValueQueryPeriods, analyticsQueryPeriods, existingOutputPeriods, outputDataElementOperand );
-
-            PredictionData data;
+        PredictionRun run = PredictionRun.builder()
+            .predictor( predictor )
+            .outputPeriods( outputPeriods )
+            .defaultCategoryOptionCombo( defaultCategoryOptionCombo )
+            .preDis( preDis )
+            .samplePeriodsMap( samplePeriodsMap )
+            .allSamplePeriods( allSamplePeriods )
+            .baseExParams( baseExParams )
+            .exInfo( exInfo )
+            .expressionDataType( expressionDataType )
+            .requireData( requireData )
+            .forwardReference( forwardReference )
+            .currentUser( currentUser )
+            .build();
+
+        int parallelism = getParallelism( baseExParams );
+        ForkJoinPool pool = parallelism > 1 ? new ForkJoinPool( parallelism ) : null;
 
-            while ( (data = consolidator.getData()) != null )
+        try
+        {
+            for ( OrganisationUnitLevel orgUnitLevel : predictor.getOrganisationUnitLevels() )
             {
-                List<DataValue> predictions = new ArrayList<>();
+                List<OrganisationUnit> orgUnits = organisationUnitService
+                    .getOrganisationUnitsAtOrgUnitLevels( Lists.newArrayList( orgUnitLevel ), currentUserOrgUnits );
 
-                List<PredictionContext> contexts = PredictionContextGenerator.getContexts(
-                    outputPeriods, data.getValues(), defaultCategoryOptionCombo, preDis );
+                consolidator.init( currentUserOrgUnits, orgUnitLevel.getLevel(), orgUnits,
+                    dataValueQueryPeriods, analyticsQueryPeriods, existingOutputPeriods, outputDataElementOperand );
 
-                for ( PredictionContext c : contexts )
-                {
-                    Map<DimensionalItemObject, Object> valueMap = firstNonNull(
-                        c.getPeriodValueMap().get( c.getOutputPeriod() ), new HashMap<>() );
+                List<PredictionData> batch = new ArrayList<>();
 
-                    List<Period> samplePeriods = new ArrayList<>( samplePeriodsMap.get( c.getOutputPeriod() ) );
+                PredictionData data;
 
-                    samplePeriods.removeAll( getSkippedPeriods( allSamplePeriods, baseExParams, c.getPeriodValueMap(),
-                        skipTest, data.getOrgUnit() ) );
+                while ( (data = consolidator.getData()) != null )
+                {
+                    batch.add( data );
 
-                    if ( !isEvaluationRequired( requireData, exInfo, samplePeriods, valueMap,
-                        c.getPeriodValueMap(), baseExParams.getItemMap() ) )
+                    if ( batch.size() == ORG_UNITS_PER_BATCH )
                     {
-                        continue;
-                    }
+                        predictBatch( run, batch, predictionWriter, pool );
 
-                    Object value = expressionService.getExpressionValue( baseExParams.toBuilder()
-                        .expression( predictor.getGenerator().getExpression() )
-                        .parseType( PREDICTOR_EXPRESSION )
-                        .dataType( expressionDataType )
-                        .valueMap( valueMap )
-                        .days( c.getOutputPeriod().getDaysInPeriod() )
-                        .missingValueStrategy( generator.getMissingValueStrategy() )
-                        .orgUnit( data.getOrgUnit() )
-                        .samplePeriods( samplePeriods )
-                        .periodValueMap( c.getPeriodValueMap() )
-                        .build() );
-
-                    DataValue prediction = processPrediction( predictor, c, value, currentUser, data.getOrgUnit() );
-
-                    rememberPredictedValue( prediction, predictions, contexts, forwardReference );
+                        batch.clear();
+                    }
                 }
 
-                predictionWriter.write( predictions, data.getOldPredictions() );
+                predictBatch( run, batch, predictionWriter, pool );
+            }
+        }
+        finally
+        {
+            if ( pool != null )
+            {
+                pool.shutdown();
             }
         }
 
@@ -310,6 +327,166 @@ public class DefaultPredictionService
     // Supportive Methods
     // -------------------------------------------------------------------------
 
+    /**
+     * Predicts for a batch of organisation units and writes the predictions.
+     * <p>
+     * The organisation units of one level are independent subtrees, so the
+     * predictor expressions for each organisation unit are evaluated in
+     * parallel if a pool is given. The prediction contexts are generated and
+     * the predictions are written on the calling thread, in the order of the
+     * batch, so that Hibernate objects are only accessed from the thread of
+     * the transaction and the prediction summary counts remain exact.
+     *
+     * @param run the invariants of this predictor run.
+     * @param batch the prediction data, one for each organisation unit.
+     * @param predictionWriter the writer for the predictions.
+     * @param pool the pool for parallel evaluation, or null.
+     */
+    private void predictBatch( PredictionRun run, List<PredictionData> batch, PredictionWriter predictionWriter,
+        ForkJoinPool pool )
+    {
+        if ( batch.isEmpty() )
+        {
+            return;
+        }
+
+        List<List<PredictionContext>> batchContexts = batch.stream()
+            .map( data -> PredictionContextGenerator.getContexts( run.getOutputPeriods(), data.getValues(),
+                run.getDefaultCategoryOptionCombo(), run.getPreDis() ) )
+            .collect( toList() );
+
+        List<List<DataValue>> batchPredictions = pool == null
+            ? evaluateBatch( run, batch, batchContexts, false )
+            : evaluateBatchInPool( run, batch, batchContexts, pool );
+
+        for ( int i = 0; i < batch.size(); i++ )
+        {
+            predictionWriter.write( batchPredictions.get( i ), batch.get( i ).getOldPredictions() );
+        }
+    }
+
+    /**
+     * Evaluates a batch of organisation units on the given pool.
+     */
+    private List<List<DataValue>> evaluateBatchInPool( PredictionRun run, List<PredictionData> batch,
+        List<List<PredictionContext>> batchContexts, ForkJoinPool pool )
+    {
+        try
+        {
+            // A parallel stream run as a task in a pool uses that pool
+
+            return pool.submit( () -> evaluateBatch( run, batch, batchContexts, true ) ).get();
+        }
+        catch ( InterruptedException ex )
+        {
+            Thread.currentThread().interrupt();
+
+            throw new IllegalStateException( "Prediction was interrupted", ex );
+        }
+        catch ( ExecutionException ex )
+        {
+            if ( ex.getCause() instanceof RuntimeException )
+            {
+                throw (RuntimeException) ex.getCause();
+            }
+
+            throw new IllegalStateException( ex.getCause() );
+        }
+    }
+
+    /**
+     * Evaluates a batch of organisation units, returning the predictions for
+     * each organisation unit in the order of the batch.
+     */
+    private List<List<DataValue>> evaluateBatch( PredictionRun run, List<PredictionData> batch,
+        List<List<PredictionContext>> batchContexts, boolean parallel )
+    {
+        IntStream indexes = IntStream.range( 0, batch.size() );
+
+        return (parallel ? indexes.parallel() : indexes)
+            .mapToObj( i -> evaluate( run, batch.get( i ).getOrgUnit(), batchContexts.get( i ) ) )
+            .collect( toList() );
+    }
+
+    /**
+     * Evaluates the predictor for the prediction contexts of one organisation
+     * unit.
+     *
+     * @param run the invariants of this predictor run.
+     * @param orgUnit the organisation unit.
+     * @param contexts the prediction contexts of the organisation unit.
+     * @return the predictions.
+     */
+    private List<DataValue> evaluate( PredictionRun run, OrganisationUnit orgUnit, List<PredictionContext> contexts )
+    {
+        Predictor predictor = run.getPredictor();
+        Expression generator = predictor.getGenerator();
+        ExpressionParams baseExParams = run.getBaseExParams();
+
+        List<DataValue> predictions = new ArrayList<>();
+
+        for ( PredictionContext c : contexts )
+        {
+            Map<DimensionalItemObject, Object> valueMap = firstNonNull(
+                c.getPeriodValueMap().get( c.getOutputPeriod() ), new HashMap<>() );
+
+            List<Period> samplePeriods = new ArrayList<>( run.getSamplePeriodsMap().get( c.getOutputPeriod() ) );
+
+            samplePeriods.removeAll( getSkippedPeriods( run.getAllSamplePeriods(), baseExParams,
+                c.getPeriodValueMap(), predictor.getSampleSkipTest(), orgUnit ) );
+
+            if ( !isEvaluationRequired( run.isRequireData(), run.getExInfo(), samplePeriods, valueMap,
+                c.getPeriodValueMap(), baseExParams.getItemMap() ) )
+            {
+                continue;
+            }
+
+            Object value = expressionService.getExpressionValue( baseExParams.toBuilder()
+                .expression( generator.getExpression() )
+                .parseType( PREDICTOR_EXPRESSION )
+                .dataType( run.getExpressionDataType() )
+                .valueMap( valueMap )
+                .days( c.getOutputPeriod().getDaysInPeriod() )
+                .missingValueStrategy( generator.getMissingValueStrategy() )
+                .orgUnit( orgUnit )
+                .samplePeriods( samplePeriods )
+                .periodValueMap( c.getPeriodValueMap() )
+                .build() );
+
+            DataValue prediction = processPrediction( predictor, c, value, run.getCurrentUser(), orgUnit );
+
+            rememberPredictedValue( prediction, predictions, contexts, run.isForwardReference() );
+        }
+
+        return predictions;
+    }
+
+    /**
+     * Returns the number of threads to use for evaluating predictions. Uses
+     * the explicit number from the system setting if available, otherwise one
+     * core is left for fetching and writing data.
+     * <p>
+     * Predictions are evaluated on the calling thread if the expressions refer
+     * to organisation unit groups, data sets or programs. The functions for
+     * these read the lazily loaded members of the Hibernate objects, which
+     * must not be accessed concurrently.
+     *
+     * @param baseExParams the base expression parameters of the predictor.
+     * @return the number of threads to use for evaluating predictions.
+     */
+    private int getParallelism( ExpressionParams baseExParams )
+    {
+        if ( !baseExParams.getOrgUnitGroupMap().isEmpty() || !baseExParams.getDataSetMap().isEmpty()
+            || !baseExParams.getProgramMap().isEmpty() )
+        {
+            return 1;
+        }
+
+        Integer threads = systemSettingManager.getIntegerSetting( SettingKey.PREDICTOR_PARALLELISM );
+
+        return (threads == null || threads <= 0) ? Math.max( 1, SystemUtils.getCpuCores() - 1 ) : threads;
+    }
+
     private DataValue processPrediction( Predictor predictor, PredictionContext c, Object value, User currentUser,
         OrganisationUnit orgUnit )
     {
@@ -629,4 +806,37 @@ public class DefaultPredictionService
         }
         return false;
     }
+
+    /**
+     * Invariants of a predictor run, shared by the evaluation of all
+     * organisation units.
+     */
+    @Getter
+    @Builder
+    private static class PredictionRun
+    {
+        private final Predictor predictor;
+
+        private final List<Period> outputPeriods;
+
+        private final CategoryOptionCombo defaultCategoryOptionCombo;
+
+        private final PredictionDisaggregator preDis;
+
+        private final ListMap<Period, Period> samplePeriodsMap;
+
+        private final Set<Period> allSamplePeriods;
+
+        private final ExpressionParams baseExParams;
+
+        private final ExpressionInfo exInfo;
+
+        private final DataType expressionDataType;
+
+        private final boolean requireData;
+
+        private final boolean forwardReference;
+
+        private final User currentUser;
+    }
 }
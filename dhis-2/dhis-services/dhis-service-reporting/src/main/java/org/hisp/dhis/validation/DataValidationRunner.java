@@ -136,10 +136,17 @@ public class DataValidationRunner
         {
             for ( Period p : ptx.getPeriods() )
             {
+                List<OrganisationUnit> periodOrgUnits = context.getOrgUnitsToValidate( orgUnits, ptx, p );
+
+                if ( periodOrgUnits.isEmpty() )
+                {
+                    continue;
+                }
+
                 DataValidationRun run = new DataValidationRun( context, ptx, p );
-                run.getData( orgUnits );
+                run.getData( periodOrgUnits );
 
-                for ( OrganisationUnit ou : orgUnits )
+                for ( OrganisationUnit ou : periodOrgUnits )
                 {
                     for ( ValidationRuleExtended ruleX : ptx.getRuleXs() )
                     {
@@ -147,9 +154,11 @@ public class DataValidationRunner
                         {
                             return;
                         }
-                        // Skip validation if org unit level does not match
+                        // Skip validation if org unit level does not match or
+                        // if the data has not changed since the last run
                         Set<Integer> levels = ruleX.getOrganisationUnitLevels();
-                        if ( levels.isEmpty() || levels.contains( ou.getLevel() ) )
+                        if ( (levels.isEmpty() || levels.contains( ou.getLevel() ))
+                            && !context.skipUnchangedTuple( ou, ruleX.getRule(), p ) )
                         {
                             run.addValidationResultsToContext( run.validateRule( ou, ruleX ) );
                         }
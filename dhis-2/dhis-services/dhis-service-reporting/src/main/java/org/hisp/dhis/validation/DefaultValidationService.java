@@ -38,6 +38,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -48,13 +49,16 @@ import org.hisp.dhis.category.CategoryService;
 import org.hisp.dhis.common.DimensionItemType;
 import org.hisp.dhis.common.DimensionalItemId;
 import org.hisp.dhis.common.DimensionalItemObject;
+import org.hisp.dhis.common.MapMap;
 import org.hisp.dhis.common.SetMap;
 import org.hisp.dhis.dataanalysis.ValidationRuleExpressionDetails;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.dataelement.DataElementOperand;
 import org.hisp.dhis.dataset.DataSet;
+import org.hisp.dhis.datavalue.DataExportParams;
 import org.hisp.dhis.datavalue.DataValue;
 import org.hisp.dhis.datavalue.DataValueService;
+import org.hisp.dhis.datavalue.DeflatedDataValue;
 import org.hisp.dhis.expression.Expression;
 import org.hisp.dhis.expression.ExpressionInfo;
 import org.hisp.dhis.expression.ExpressionParams;
@@ -256,10 +260,15 @@ public class DefaultValidationService implements ValidationService, CurrentUserS
 
         Map<PeriodType, PeriodTypeExtended> periodTypeXMap = getExtendedPeriods( parameters );
 
-        ExpressionParams baseExParams = getExpressionInfo( periodTypeXMap, parameters.getValidationRules() );
+        SetMap<ValidationRule, DimensionalItemId> ruleItemIds = new SetMap<>();
+
+        ExpressionParams baseExParams = getExpressionInfo( periodTypeXMap, parameters.getValidationRules(),
+            ruleItemIds );
+
+        List<OrganisationUnit> orgUnits = getOrganisationUnits( parameters );
 
         ValidationRunContext.Builder builder = ValidationRunContext.newBuilder()
-            .withOrgUnits( getOrganisationUnits( parameters ) )
+            .withOrgUnits( orgUnits )
             .withPeriodTypeXs( new ArrayList<>( periodTypeXMap.values() ) )
             .withSendNotifications( parameters.isSendNotifications() )
             .withPersistResults( parameters.isPersistResults() )
@@ -276,6 +285,11 @@ public class DefaultValidationService implements ValidationService, CurrentUserS
                 .withCogDimensionConstraints( categoryService.getCogDimensionConstraints( currentUser ) );
         }
 
+        if ( parameters.getDataChangedSince() != null )
+        {
+            addChangedData( builder, parameters, periodTypeXMap, ruleItemIds, baseExParams.getItemMap(), orgUnits );
+        }
+
         List<ValidationResult> initialResults = validationResultService
             .getValidationResults( parameters.getOrgUnit(),
                 parameters.isIncludeOrgUnitDescendants(), parameters.getValidationRules(),
@@ -372,7 +386,7 @@ public class DefaultValidationService implements ValidationService, CurrentUserS
     }
 
     private ExpressionParams getExpressionInfo( Map<PeriodType, PeriodTypeExtended> periodTypeXMap,
-        Collection<ValidationRule> rules )
+        Collection<ValidationRule> rules, SetMap<ValidationRule, DimensionalItemId> ruleItemIds )
     {
         SetMap<PeriodTypeExtended, DimensionalItemId> periodItemIds = new SetMap<>();
 
@@ -386,6 +400,8 @@ public class DefaultValidationService implements ValidationService, CurrentUserS
             Set<DimensionalItemId> rightItemIds = addToExpressionInfo( expressionInfo, rule.getRightSide() );
 
             processItemIds( leftItemIds, rightItemIds, rule, periodTypeXMap, periodItemIds, allItemIds );
+
+            ruleItemIds.putValues( rule, Sets.union( leftItemIds, rightItemIds ) );
         }
 
         expressionInfo.setItemIds( allItemIds );
@@ -397,6 +413,174 @@ public class DefaultValidationService implements ValidationService, CurrentUserS
         return baseExParams;
     }
 
+    /**
+     * Sets up an incremental analysis. Rules which only refer to data elements
+     * and data element operands, which have not been updated since the given
+     * date and which have been evaluated for all their periods as of that
+     * date, are evaluated only for the organisation units and periods with
+     * data values changed (including deleted) since that date. Any other rules
+     * are evaluated in full.
+     *
+     * @param builder the validation context builder.
+     * @param parameters the analysis parameters.
+     * @param periodTypeXMap period type map to extended period types.
+     * @param ruleItemIds map from rule to the item IDs of its expressions.
+     * @param itemMap map from item ID to item.
+     * @param orgUnits the organisation units to validate.
+     */
+    private void addChangedData( ValidationRunContext.Builder builder, ValidationAnalysisParams parameters,
+        Map<PeriodType, PeriodTypeExtended> periodTypeXMap, SetMap<ValidationRule, DimensionalItemId> ruleItemIds,
+        Map<DimensionalItemId, DimensionalItemObject> itemMap, List<OrganisationUnit> orgUnits )
+    {
+        Date since = parameters.getDataChangedSince();
+
+        Set<ValidationRule> incrementalRules = new HashSet<>();
+
+        SetMap<Long, ValidationRule> dataElementRules = new SetMap<>();
+
+        Set<DataElement> dataElements = new HashSet<>();
+
+        for ( ValidationRule rule : parameters.getValidationRules() )
+        {
+            if ( !periodTypeXMap.containsKey( rule.getPeriodType() ) || rule.getLastUpdated() == null
+                || rule.getLastUpdated().after( since )
+                || !isEvaluated( rule, periodTypeXMap.get( rule.getPeriodType() ), parameters ) )
+            {
+                continue; // Evaluate in full.
+            }
+
+            Set<DataElement> ruleDataElements = getDataElements( ruleItemIds.get( rule ), itemMap );
+
+            if ( ruleDataElements != null )
+            {
+                incrementalRules.add( rule );
+                dataElements.addAll( ruleDataElements );
+                ruleDataElements.forEach( de -> dataElementRules.putValue( de.getId(), rule ) );
+            }
+        }
+
+        MapMap<Long, ValidationRule, Set<Period>> changedPeriods = new MapMap<>();
+
+        if ( !dataElements.isEmpty() )
+        {
+            DataExportParams exportParams = new DataExportParams();
+            exportParams.setDataElements( dataElements );
+            exportParams.setLastUpdated( since );
+            exportParams.setIncludeDeleted( true );
+
+            if ( parameters.getAttributeOptionCombo() != null )
+            {
+                exportParams.setAttributeOptionCombos( Sets.newHashSet( parameters.getAttributeOptionCombo() ) );
+            }
+
+            Set<Long> orgUnitIds = orgUnits.stream().map( OrganisationUnit::getId ).collect( Collectors.toSet() );
+
+            Map<Long, Period> periodIdMap = new HashMap<>();
+
+            for ( DeflatedDataValue dv : dataValueService.getDeflatedDataValues( exportParams ) )
+            {
+                if ( !orgUnitIds.contains( dv.getSourceId() ) )
+                {
+                    continue;
+                }
+
+                Period changedPeriod = periodIdMap.computeIfAbsent( dv.getPeriodId(), periodService::getPeriod );
+
+                for ( ValidationRule rule : dataElementRules.get( dv.getDataElementId() ) )
+                {
+                    addChangedPeriods( changedPeriods, dv.getSourceId(), rule, changedPeriod,
+                        periodTypeXMap.get( rule.getPeriodType() ) );
+                }
+            }
+        }
+
+        builder
+            .withIncrementalRules( incrementalRules )
+            .withChangedPeriods( changedPeriods );
+    }
+
+    /**
+     * Indicates whether the given rule has been evaluated for all the periods
+     * of its period type as of the date data has changed since.
+     */
+    private boolean isEvaluated( ValidationRule rule, PeriodTypeExtended periodTypeX,
+        ValidationAnalysisParams parameters )
+    {
+        Set<String> evaluatedPeriods = parameters.getEvaluatedRulePeriods().get( rule.getUid() );
+
+        return evaluatedPeriods != null && periodTypeX.getPeriods().stream()
+            .allMatch( period -> evaluatedPeriods.contains( period.getIsoDate() ) );
+    }
+
+    /**
+     * Gets the data elements of the given items, if all of them are data
+     * elements or data element operands.
+     *
+     * @param itemIds the item IDs, may be null.
+     * @param itemMap map from item ID to item.
+     * @return the data elements, or null if any item is of another type.
+     */
+    private Set<DataElement> getDataElements( Set<DimensionalItemId> itemIds,
+        Map<DimensionalItemId, DimensionalItemObject> itemMap )
+    {
+        Set<DataElement> dataElements = new HashSet<>();
+
+        if ( itemIds == null )
+        {
+            return dataElements;
+        }
+
+        for ( DimensionalItemId itemId : itemIds )
+        {
+            DimensionalItemObject item = itemMap.get( itemId );
+
+            if ( item == null )
+            {
+                return null;
+            }
+            else if ( DimensionItemType.DATA_ELEMENT == item.getDimensionItemType() )
+            {
+                dataElements.add( (DataElement) item );
+            }
+            else if ( DimensionItemType.DATA_ELEMENT_OPERAND == item.getDimensionItemType() )
+            {
+                dataElements.add( ((DataElementOperand) item).getDataElement() );
+            }
+            else
+            {
+                return null;
+            }
+        }
+
+        return dataElements;
+    }
+
+    /**
+     * Adds the periods of the rule which use data of the changed period, being
+     * those starting within the changed period, for the given organisation
+     * unit and rule.
+     */
+    private void addChangedPeriods( MapMap<Long, ValidationRule, Set<Period>> changedPeriods, long orgUnitId,
+        ValidationRule rule, Period changedPeriod, PeriodTypeExtended periodTypeX )
+    {
+        for ( Period period : periodTypeX.getPeriods() )
+        {
+            if ( !changedPeriod.getStartDate().after( period.getStartDate() )
+                && !changedPeriod.getEndDate().before( period.getStartDate() ) )
+            {
+                Set<Period> periods = changedPeriods.getValue( orgUnitId, rule );
+
+                if ( periods == null )
+                {
+                    periods = new HashSet<>();
+                    changedPeriods.putEntry( orgUnitId, rule, periods );
+                }
+
+                periods.add( period );
+            }
+        }
+    }
+
     private Set<DimensionalItemId> addToExpressionInfo( ExpressionInfo exInfo, Expression expr )
     {
         exInfo.setItemIds( new HashSet<>() );
@@ -32,6 +32,7 @@ import static java.util.Objects.requireNonNull;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
 
 import lombok.*;
 
@@ -40,6 +41,7 @@ import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.category.CategoryOptionGroup;
 import org.hisp.dhis.common.DimensionalItemId;
 import org.hisp.dhis.common.DimensionalItemObject;
+import org.hisp.dhis.common.MapMap;
 import org.hisp.dhis.common.MapMapMap;
 import org.hisp.dhis.dataanalysis.ValidationRuleExpressionDetails;
 import org.hisp.dhis.expression.ExpressionParams;
@@ -100,6 +102,21 @@ public class ValidationRunContext
     @Setter
     private ValidationRuleExpressionDetails validationRuleExpressionDetails;
 
+    // -------------------------------------------------------------------------
+    // Incremental analysis
+    // -------------------------------------------------------------------------
+
+    /**
+     * Rules which are only evaluated for organisation units and periods with
+     * changed data, or null if the analysis is not incremental.
+     */
+    private final Set<ValidationRule> incrementalRules;
+
+    /**
+     * Periods with changed data by organisation unit id and incremental rule.
+     */
+    private final MapMap<Long, ValidationRule, Set<Period>> changedPeriods;
+
     // -------------------------------------------------------------------------
     // Id-to-Object Caches
     // -------------------------------------------------------------------------
@@ -117,7 +134,8 @@ public class ValidationRunContext
         Map<DimensionalItemId, DimensionalItemObject> itemMap, ExpressionParams baseExParams,
         CategoryOptionCombo attributeCombo, CategoryOptionCombo defaultAttributeCombo, int maxResults,
         boolean sendNotifications, boolean persistResults,
-        ValidationRuleExpressionDetails validationRuleExpressionDetails )
+        ValidationRuleExpressionDetails validationRuleExpressionDetails,
+        Set<ValidationRule> incrementalRules, MapMap<Long, ValidationRule, Set<Period>> changedPeriods )
     {
         this.orgUnits = orgUnits;
         this.periodTypeXs = periodTypeXs;
@@ -131,6 +149,8 @@ public class ValidationRunContext
         this.sendNotifications = sendNotifications;
         this.persistResults = persistResults;
         this.validationRuleExpressionDetails = validationRuleExpressionDetails;
+        this.incrementalRules = incrementalRules;
+        this.changedPeriods = changedPeriods != null ? changedPeriods : new MapMap<>();
 
         requireNonNull( periodTypeXs, "Missing required property 'periodTypeXs'" );
         requireNonNull( orgUnits, "Missing required property 'orgUnits'" );
@@ -179,6 +199,58 @@ public class ValidationRunContext
 
     }
 
+    public boolean isIncremental()
+    {
+        return incrementalRules != null;
+    }
+
+    /**
+     * Indicates whether the evaluation of a rule for an organisation unit and
+     * period can be skipped in an incremental analysis, because none of the
+     * data the rule depends on has changed.
+     *
+     * @param organisationUnit the organisation unit.
+     * @param validationRule the rule.
+     * @param period the period.
+     * @return true if the evaluation can be skipped.
+     */
+    public boolean skipUnchangedTuple( OrganisationUnit organisationUnit, ValidationRule validationRule,
+        Period period )
+    {
+        if ( !isIncremental() || !incrementalRules.contains( validationRule ) )
+        {
+            return false;
+        }
+
+        Set<Period> periods = changedPeriods.getValue( organisationUnit.getId(), validationRule );
+
+        return periods == null || !periods.contains( period );
+    }
+
+    /**
+     * Gets the organisation units among the given ones for which any rule of
+     * the given period type needs to be evaluated in the given period.
+     *
+     * @param orgUnits the organisation units.
+     * @param periodTypeX the period type extended.
+     * @param period the period.
+     * @return the organisation units to validate.
+     */
+    public List<OrganisationUnit> getOrgUnitsToValidate( List<OrganisationUnit> orgUnits,
+        PeriodTypeExtended periodTypeX, Period period )
+    {
+        if ( !isIncremental() || periodTypeX.getRuleXs().stream()
+            .anyMatch( ruleX -> !incrementalRules.contains( ruleX.getRule() ) ) )
+        {
+            return orgUnits;
+        }
+
+        return orgUnits.stream()
+            .filter( ou -> periodTypeX.getRuleXs().stream()
+                .anyMatch( ruleX -> !skipUnchangedTuple( ou, ruleX.getRule(), period ) ) )
+            .collect( Collectors.toList() );
+    }
+
     public int getNumberOfTasks()
     {
         return (orgUnits.size() + ORG_UNITS_PER_TASK - 1) / ORG_UNITS_PER_TASK;
@@ -29,14 +29,19 @@ package org.hisp.dhis.validation.scheduling;
 
 import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toSet;
 import static org.hisp.dhis.util.DateUtils.addDays;
 
 import java.util.Collection;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
 import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.collections4.SetUtils;
@@ -50,6 +55,7 @@ import org.hisp.dhis.scheduling.JobProgress;
 import org.hisp.dhis.scheduling.JobType;
 import org.hisp.dhis.scheduling.parameters.MonitoringJobParameters;
 import org.hisp.dhis.validation.ValidationAnalysisParams;
+import org.hisp.dhis.validation.ValidationResult;
 import org.hisp.dhis.validation.ValidationRule;
 import org.hisp.dhis.validation.ValidationRuleGroup;
 import org.hisp.dhis.validation.ValidationRuleService;
@@ -64,6 +70,7 @@ import com.google.common.collect.Sets;
  * @author Lars Helge Overland
  * @author Jim Grace
  */
+@Slf4j
 @Component
 @AllArgsConstructor
 public class MonitoringJob implements Job
@@ -97,15 +104,40 @@ public class MonitoringJob implements Job
                 ps -> rules.stream().map( BaseIdentifiableObject::getName ).collect( joining( ", " ) ),
                 () -> getPeriods( params, rules ) );
 
+            Date runStart = new Date();
+
+            // Incremental runs rely on the persisted results of earlier runs
+
+            boolean incremental = params.isIncremental() && params.isPersistResults();
+
             ValidationAnalysisParams parameters = validationService
                 .newParamsBuilder( rules, null, periods )
                 .withIncludeOrgUnitDescendants( true )
                 .withMaxResults( ValidationService.MAX_SCHEDULED_ALERTS )
                 .withSendNotifications( params.isSendNotifications() )
                 .withPersistResults( params.isPersistResults() )
+                .withDataChangedSince( incremental ? params.getLastIncrementalRun() : null )
+                .withEvaluatedRulePeriods( params.getLastIncrementalRunPeriods() )
                 .build();
 
-            validationService.validationAnalysis( parameters, progress );
+            List<ValidationResult> results = validationService.validationAnalysis( parameters, progress );
+
+            // A truncated analysis has not evaluated everything changed since
+            // the last run, so the next run must start from the same point
+
+            boolean truncated = results.size() >= ValidationService.MAX_SCHEDULED_ALERTS;
+
+            if ( incremental && truncated )
+            {
+                log.warn( "Data validation stopped at " + results.size()
+                    + " results, the next incremental run will repeat this run" );
+            }
+            else if ( incremental )
+            {
+                // Persisted with the job configuration when the run is done
+                params.setLastIncrementalRun( runStart );
+                params.setLastIncrementalRunPeriods( getRulePeriods( rules, periods ) );
+            }
 
             progress.completedProcess( "Data validation done" );
         }
@@ -131,6 +163,25 @@ public class MonitoringJob implements Job
             .reduce( Sets.newHashSet(), SetUtils::union );
     }
 
+    /**
+     * Gets the ISO periods of the given periods by the UIDs of the given rules
+     * having their period type.
+     */
+    private Map<String, Set<String>> getRulePeriods( Collection<ValidationRule> rules, List<Period> periods )
+    {
+        Map<String, Set<String>> rulePeriods = new HashMap<>();
+
+        for ( ValidationRule rule : rules )
+        {
+            rulePeriods.put( rule.getUid(), periods.stream()
+                .filter( period -> period.getPeriodType().equals( rule.getPeriodType() ) )
+                .map( Period::getIsoDate )
+                .collect( toSet() ) );
+        }
+
+        return rulePeriods;
+    }
+
     private List<Period> getPeriods( MonitoringJobParameters params, Collection<ValidationRule> rules )
     {
         if ( params.getRelativeStart() != 0 && params.getRelativeEnd() != 0 )
@@ -39,18 +39,22 @@ import static org.hisp.dhis.DhisConvenienceTest.createValidationRule;
 import static org.hisp.dhis.expression.ParseType.SIMPLE_TEST;
 import static org.hisp.dhis.expression.ParseType.VALIDATION_RULE_EXPRESSION;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.lang3.RandomUtils;
 import org.hisp.dhis.analytics.AnalyticsService;
 import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.category.CategoryService;
 import org.hisp.dhis.common.DimensionalItemObject;
+import org.hisp.dhis.common.MapMap;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.datavalue.DataExportParams;
 import org.hisp.dhis.datavalue.DataValue;
@@ -67,6 +71,7 @@ import org.hisp.dhis.period.PeriodType;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -222,6 +227,62 @@ class DataValidationRunnerTest
         assertThat( ctx.getValidationResults().size(), is( 0 ) );
     }
 
+    @Test
+    void verifyIncrementalValidationSkipsUnchangedData()
+    {
+        ValidationRuleExtended vre = createValidationRuleExtended( createExpression2( 'A', "#{FUrCpcvMAmC}" ),
+            createExpression2( 'B', "-10" ), Operator.not_equal_to );
+
+        PeriodTypeExtended periodType = createPeriodTypeExtended( vre );
+        periodType.addDataElement( deA );
+
+        ValidationRunContext ctx = ValidationRunContext.newBuilder()
+            .withOrgUnits( organisationUnits )
+            .withDefaultAttributeCombo( createCategoryOptionCombo( 'A', 'B' ) )
+            .withPeriodTypeXs( List.of( periodType ) )
+            .withMaxResults( 500 )
+            .withIncrementalRules( Set.of( vre.getRule() ) )
+            .withChangedPeriods( new MapMap<>() )
+            .build();
+
+        subject.run( organisationUnits, ctx );
+
+        verify( dataValueService, never() ).getDeflatedDataValues( any( DataExportParams.class ) );
+        assertThat( ctx.getValidationResults().size(), is( 0 ) );
+    }
+
+    @Test
+    void verifyIncrementalValidationFetchesChangedData()
+    {
+        ValidationRuleExtended vre = createValidationRuleExtended( createExpression2( 'A', "#{FUrCpcvMAmC}" ),
+            createExpression2( 'B', "-10" ), Operator.not_equal_to );
+
+        PeriodTypeExtended periodType = createPeriodTypeExtended( vre );
+        periodType.addDataElement( deA );
+
+        MapMap<Long, ValidationRule, Set<Period>> changedPeriods = new MapMap<>();
+        changedPeriods.putEntry( ouB.getId(), vre.getRule(), Set.of( p2 ) );
+
+        ValidationRunContext ctx = ValidationRunContext.newBuilder()
+            .withOrgUnits( organisationUnits )
+            .withDefaultAttributeCombo( createCategoryOptionCombo( 'A', 'B' ) )
+            .withPeriodTypeXs( List.of( periodType ) )
+            .withMaxResults( 500 )
+            .withIncrementalRules( Set.of( vre.getRule() ) )
+            .withChangedPeriods( changedPeriods )
+            .build();
+
+        ArgumentCaptor<DataExportParams> params = ArgumentCaptor.forClass( DataExportParams.class );
+
+        when( dataValueService.getDeflatedDataValues( params.capture() ) ).thenReturn( new ArrayList<>() );
+
+        subject.run( organisationUnits, ctx );
+
+        assertThat( params.getAllValues().size(), is( 1 ) );
+        assertThat( params.getValue().getOrganisationUnits(), is( Set.of( ouB ) ) );
+        assertThat( params.getValue().getIncludedDate(), is( p2.getStartDate() ) );
+    }
+
     private void mockExpressionService( Expression expression, Map<DimensionalItemObject, Object> vals, Double val )
     {
         ExpressionParams params = ExpressionParams.builder()
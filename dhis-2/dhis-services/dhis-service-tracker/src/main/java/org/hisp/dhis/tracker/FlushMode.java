@@ -41,4 +41,11 @@ public enum FlushMode
      * Let the importer decide the flushing.
      */
     AUTO,
+
+    /**
+     * Write new entities with JDBC batch statements after all entities of a
+     * type have been processed, bypassing the Hibernate session. Entity types
+     * without batch support are persisted as in {@link #AUTO}.
+     */
+    BATCH,
 }
@@ -109,6 +109,14 @@ public class TrackerImportParams
     @Builder.Default
     private final ValidationMode validationMode = ValidationMode.FULL;
 
+    /**
+     * Should validation hooks validate independent entities in parallel,
+     * default is not.
+     */
+    @JsonProperty
+    @Builder.Default
+    private final boolean parallelValidation = false;
+
     /**
      * Should text pattern validation be skipped or not, default is not.
      */
@@ -123,6 +123,13 @@ public class TrackerBundle
     @Builder.Default
     private ValidationMode validationMode = ValidationMode.FULL;
 
+    /**
+     * Should validation hooks validate independent entities in parallel,
+     * default is not.
+     */
+    @JsonProperty
+    private boolean parallelValidation;
+
     /**
      * Preheat bundle for all attached objects (or null if preheater not run
      * yet).
@@ -104,6 +104,16 @@ public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends B
 
         Set<String> updatedTeiList = bundle.getUpdatedTeis();
 
+        boolean batchMode = FlushMode.BATCH == bundle.getFlushMode() && isBatchPersistenceSupported();
+
+        //
+        // New entities which are written with JDBC batch statements once all
+        // entities have been processed
+        //
+        List<T> batchDtos = new ArrayList<>();
+
+        List<V> batch = new ArrayList<>();
+
         for ( int idx = 0; idx < dtos.size(); idx++ )
         {
             //
@@ -120,24 +130,41 @@ public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends B
                 //
                 V convertedDto = convert( bundle, trackerDto );
 
+                boolean isNew = isNew( bundle.getPreheat(), trackerDto );
+
+                boolean batched = batchMode && isNew;
+
                 //
-                // Handle comments persistence, if required
+                // Handle comments persistence, if required. Comments of
+                // batched entities are written with the batch
                 //
-                persistComments( bundle.getPreheat(), convertedDto );
+                if ( !batched )
+                {
+                    persistComments( bundle.getPreheat(), convertedDto );
+                }
 
                 //
                 // Handle ownership records, if required
                 //
                 persistOwnership( bundle.getPreheat(), convertedDto );
 
-                updateDataValues( session, bundle.getPreheat(), trackerDto, convertedDto );
+                updateDataValues( session, bundle.getPreheat(), trackerDto, convertedDto, batched );
 
                 //
                 // Save or update the entity
                 //
-                if ( isNew( bundle.getPreheat(), trackerDto ) )
+                if ( isNew )
                 {
-                    session.persist( convertedDto );
+                    if ( batched )
+                    {
+                        batchDtos.add( trackerDto );
+                        batch.add( convertedDto );
+                    }
+                    else
+                    {
+                        session.persist( convertedDto );
+                    }
+
                     typeReport.getStats().incCreated();
                     typeReport.addObjectReport( objectReport );
                     updateAttributes( session, bundle.getPreheat(), trackerDto, convertedDto );
@@ -196,6 +223,19 @@ public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends B
             }
         }
 
+        if ( !batch.isEmpty() )
+        {
+            try
+            {
+                persistBatch( session, bundle, batchDtos, batch );
+            }
+            catch ( Exception e )
+            {
+                throw new PersistenceException( "A batch of " + batch.size() + " Tracker Entities of type '"
+                    + getType().getName() + "' failed to persist.", e );
+            }
+        }
+
         typeReport.getSideEffectDataBundles().addAll( sideEffectDataBundles );
 
         return typeReport;
@@ -230,10 +270,12 @@ public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends B
 
     /**
      * Execute the persistence of Data values linked to the entity being
-     * processed
+     * processed. If {@code batched} is true the entity is not yet persisted
+     * when this method is called and is written later by
+     * {@link #persistBatch(Session, TrackerBundle, List, List)}.
      */
     protected abstract void updateDataValues( Session session, TrackerPreheat preheat,
-        T trackerDto, V hibernateEntity );
+        T trackerDto, V hibernateEntity, boolean batched );
 
     /**
      * Execute the persistence of Attribute values linked to the entity being
@@ -248,6 +290,37 @@ public abstract class AbstractTrackerPersister<T extends TrackerDto, V extends B
      */
     protected abstract void updatePreheat( TrackerPreheat preheat, V convertedDto );
 
+    /**
+     * Informs this persister whether new entities can be written with JDBC
+     * batch statements when the bundle is in {@link FlushMode#BATCH}. Defaults
+     * to false.
+     */
+    protected boolean isBatchPersistenceSupported()
+    {
+        return false;
+    }
+
+    /**
+     * Writes the given new entities, including their comments, with JDBC
+     * batch statements. Invoked once all entities of the bundle have been
+     * processed, only if {@link #isBatchPersistenceSupported()} is true.
+     * Defaults to persisting the entities and their comments one by one in
+     * the Hibernate session.
+     *
+     * @param session a valid Hibernate Session
+     * @param bundle the Bundle to persist
+     * @param trackerDtos the payload entities, in the order of the entities
+     * @param entities the new entities to write
+     */
+    protected void persistBatch( Session session, TrackerBundle bundle, List<T> trackerDtos, List<V> entities )
+    {
+        for ( V entity : entities )
+        {
+            persistComments( bundle.getPreheat(), entity );
+            session.persist( entity );
+        }
+    }
+
     /**
      * informs this persister wether specific entity type should be updated
      * defaults to true, is known to be false for Relationships
@@ -86,7 +86,7 @@ public class EnrollmentPersister extends AbstractTrackerPersister<Enrollment, Pr
 
     @Override
     protected void updateDataValues( Session session, TrackerPreheat preheat,
-        Enrollment enrollment, ProgramInstance programInstance )
+        Enrollment enrollment, ProgramInstance programInstance, boolean batched )
     {
         // DO NOTHING - TEI HAVE NO DATA VALUES
     }
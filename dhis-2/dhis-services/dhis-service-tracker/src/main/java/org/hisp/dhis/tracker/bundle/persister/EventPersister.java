@@ -33,6 +33,7 @@ import java.time.Instant;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -44,6 +45,8 @@ import org.apache.commons.lang3.StringUtils;
 import org.hibernate.Session;
 import org.hisp.dhis.common.AuditType;
 import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.dxf2.events.event.EventCommentStore;
+import org.hisp.dhis.dxf2.events.event.EventStore;
 import org.hisp.dhis.eventdatavalue.EventDataValue;
 import org.hisp.dhis.program.ProgramStageInstance;
 import org.hisp.dhis.reservedvalue.ReservedValueService;
@@ -77,18 +80,25 @@ public class EventPersister extends AbstractTrackerPersister<Event, ProgramStage
 
     private final TrackedEntityDataValueAuditService trackedEntityDataValueAuditService;
 
+    private final EventStore eventStore;
+
+    private final EventCommentStore eventCommentStore;
+
     public EventPersister( ReservedValueService reservedValueService,
         TrackerConverterService<Event, ProgramStageInstance> eventConverter,
         TrackedEntityCommentService trackedEntityCommentService,
         TrackerSideEffectConverterService sideEffectConverterService,
         TrackedEntityAttributeValueAuditService trackedEntityAttributeValueAuditService,
-        TrackedEntityDataValueAuditService trackedEntityDataValueAuditService )
+        TrackedEntityDataValueAuditService trackedEntityDataValueAuditService,
+        EventStore eventStore, EventCommentStore eventCommentStore )
     {
         super( reservedValueService, trackedEntityAttributeValueAuditService );
         this.eventConverter = eventConverter;
         this.trackedEntityCommentService = trackedEntityCommentService;
         this.sideEffectConverterService = sideEffectConverterService;
         this.trackedEntityDataValueAuditService = trackedEntityDataValueAuditService;
+        this.eventStore = eventStore;
+        this.eventCommentStore = eventCommentStore;
     }
 
     @Override
@@ -155,13 +165,67 @@ public class EventPersister extends AbstractTrackerPersister<Event, ProgramStage
 
     @Override
     protected void updateDataValues( Session session, TrackerPreheat preheat,
-        Event event, ProgramStageInstance programStageInstance )
+        Event event, ProgramStageInstance programStageInstance, boolean batched )
+    {
+        handleDataValues( session, preheat, event.getDataValues(), programStageInstance, batched );
+    }
+
+    @Override
+    protected boolean isBatchPersistenceSupported()
+    {
+        return true;
+    }
+
+    @Override
+    protected void persistBatch( Session session, TrackerBundle bundle, List<Event> events,
+        List<ProgramStageInstance> programStageInstances )
     {
-        handleDataValues( session, preheat, event.getDataValues(), programStageInstance );
+        // Write pending changes such as new enrollments referenced by the
+        // events before the events are inserted
+
+        session.flush();
+
+        eventStore.saveEvents( programStageInstances );
+
+        List<String> failedEvents = programStageInstances.stream()
+            .filter( psi -> psi.getId() == 0 )
+            .map( ProgramStageInstance::getUid )
+            .collect( Collectors.toList() );
+
+        if ( !failedEvents.isEmpty() )
+        {
+            throw new PersistenceException( "Events " + failedEvents + " failed to persist." );
+        }
+
+        eventCommentStore.saveAllComments( programStageInstances );
+
+        // Audits reference the events and can only be written once the events
+        // have been assigned an identifier
+
+        Date created = new Date();
+
+        for ( int i = 0; i < events.size(); i++ )
+        {
+            ProgramStageInstance psi = programStageInstances.get( i );
+
+            Map<String, EventDataValue> dataValues = psi.getEventDataValues().stream()
+                .collect( Collectors.toMap( EventDataValue::getDataElement, Function.identity() ) );
+
+            for ( DataValue dv : events.get( i ).getDataValues() )
+            {
+                DataElement dataElement = bundle.getPreheat().getDataElement( dv.getDataElement() );
+
+                EventDataValue eventDataValue = dataValues.getOrDefault( dataElement.getUid(),
+                    new EventDataValue( dataElement.getUid(), null ) );
+
+                logTrackedEntityDataValueHistory( bundle.getPreheat().getUsername(), eventDataValue, dataElement,
+                    psi, getAuditType( null, dv ), created );
+            }
+        }
     }
 
     private void handleDataValues( Session session, TrackerPreheat preheat, Set<DataValue> payloadDataValues,
-        ProgramStageInstance psi )
+        ProgramStageInstance psi, boolean batched )
     {
         Map<String, EventDataValue> dataValueDBMap = Optional.ofNullable( preheat.getEvent( psi.getUid() ) )
             .map( a -> a.getEventDataValues()
@@ -178,23 +242,10 @@ public class EventPersister extends AbstractTrackerPersister<Event, ProgramStage
 
             // EventDataValue.dataElement contains a UID
             EventDataValue eventDataValue = dataValueDBMap.get( dataElement.getUid() );
-            AuditType auditType;
+            AuditType auditType = getAuditType( eventDataValue, dv );
             if ( eventDataValue == null )
             {
                 eventDataValue = new EventDataValue();
-                auditType = AuditType.CREATE;
-            }
-            else
-            {
-                final String persistedValue = eventDataValue.getValue();
-
-                Optional<AuditType> optionalAuditType = Optional.ofNullable( dv.getValue() )
-                    .filter( v -> !dv.getValue().equals( persistedValue ) )
-                    .map( v1 -> AuditType.UPDATE )
-                    .or( () -> Optional.ofNullable( dv.getValue() ).map( a -> AuditType.READ )
-                        .or( () -> Optional.of( AuditType.DELETE ) ) );
-
-                auditType = optionalAuditType.orElse( null );
             }
 
             eventDataValue.setDataElement( dataElement.getUid() );
@@ -224,11 +275,40 @@ public class EventPersister extends AbstractTrackerPersister<Event, ProgramStage
                 psi.getEventDataValues().add( eventDataValue );
             }
 
-            logTrackedEntityDataValueHistory( preheat.getUsername(), eventDataValue, dataElement, psi, auditType,
-                new Date() );
+            // Audits of batched events are written once the events have been
+            // inserted
+
+            if ( !batched )
+            {
+                logTrackedEntityDataValueHistory( preheat.getUsername(), eventDataValue, dataElement, psi, auditType,
+                    new Date() );
+            }
         }
     }
 
+    /**
+     * Gets the audit type for a payload data value, or null if no audit is to
+     * be written. A new data value without a value is not stored and is
+     * therefore not audited.
+     *
+     * @param persistedValue the persisted data value, null if there is none.
+     * @param dv the payload data value.
+     */
+    private AuditType getAuditType( EventDataValue persistedValue, DataValue dv )
+    {
+        if ( persistedValue == null )
+        {
+            return StringUtils.isEmpty( dv.getValue() ) ? null : AuditType.CREATE;
+        }
+
+        if ( dv.getValue() == null )
+        {
+            return AuditType.DELETE;
+        }
+
+        return dv.getValue().equals( persistedValue.getValue() ) ? AuditType.READ : AuditType.UPDATE;
+    }
+
     private void handleDataValueCreatedUpdatedDates( DataValue dv, EventDataValue eventDataValue )
     {
         eventDataValue.setCreated( getFromOrNewDate( dv, DataValue::getCreatedAt ) );
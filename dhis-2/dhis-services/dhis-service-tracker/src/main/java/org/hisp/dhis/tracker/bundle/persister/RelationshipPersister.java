@@ -77,7 +77,7 @@ public class RelationshipPersister
 
     @Override
     protected void updateDataValues( Session session, TrackerPreheat preheat, Relationship trackerDto,
-        org.hisp.dhis.relationship.Relationship hibernateEntity )
+        org.hisp.dhis.relationship.Relationship hibernateEntity, boolean batched )
     {
         // NOTHING TO DO
     }
@@ -69,7 +69,7 @@ public class TrackedEntityPersister extends AbstractTrackerPersister<TrackedEnti
 
     @Override
     protected void updateDataValues( Session session, TrackerPreheat preheat,
-        TrackedEntity trackerDto, TrackedEntityInstance tei )
+        TrackedEntity trackerDto, TrackedEntityInstance tei, boolean batched )
     {
         // DO NOTHING - TEI HAVE NO DATA VALUES
     }
@@ -27,20 +27,25 @@
  */
 package org.hisp.dhis.tracker.preheat.cache;
 
+import static org.hisp.dhis.commons.util.SystemUtils.isTestRun;
+
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiFunction;
 
 import lombok.RequiredArgsConstructor;
 
+import org.apache.commons.lang3.StringUtils;
 import org.cache2k.Cache;
 import org.cache2k.Cache2kBuilder;
 import org.hisp.dhis.common.IdentifiableObject;
 import org.hisp.dhis.common.event.ApplicationCacheClearedEvent;
+import org.hisp.dhis.external.conf.ConfigurationKey;
 import org.hisp.dhis.external.conf.DhisConfigurationProvider;
 import org.hisp.dhis.tracker.TrackerIdScheme;
 import org.springframework.context.event.EventListener;
@@ -56,6 +61,13 @@ import org.springframework.stereotype.Service;
 @Service
 public class DefaultPreheatCacheService implements PreheatCacheService
 {
+    private static final long BYTES_PER_MB = 1024L * 1024L;
+
+    /**
+     * Estimated memory used by a cached object regardless of its identifiers.
+     */
+    private static final int OBJECT_OVERHEAD = 1024;
+
     private final DhisConfigurationProvider config;
 
     private final Environment environment;
@@ -68,21 +80,40 @@ public class DefaultPreheatCacheService implements PreheatCacheService
      *
      * - the value is a Cache2K cache holding the objects to cache
      *
+     * The map is shared by concurrent imports, caches are created atomically
+     * on first use of a key.
+     *
      * Caveat: this data structure may reference multiple times the same
      * objects, if different {@link TrackerIdScheme} are used during different
      * imports.
      */
-    private static final Map<String, Cache<String, IdentifiableObject>> cache = new HashMap<>();
+    private final Map<String, Cache<String, IdentifiableObject>> cache = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
 
     @Override
     public Optional<IdentifiableObject> get( final String cacheKey, final String id )
     {
-        if ( isCacheEnabled() && cache.containsKey( cacheKey ) )
+        if ( !isCacheEnabled() )
         {
-            return Optional.ofNullable( cache.get( cacheKey ).get( id ) );
+            return Optional.empty();
         }
 
-        return Optional.empty();
+        Cache<String, IdentifiableObject> c = cache.get( cacheKey );
+        IdentifiableObject value = c != null ? c.peek( id ) : null;
+
+        if ( value != null )
+        {
+            hitCount.increment();
+        }
+        else
+        {
+            missCount.increment();
+        }
+
+        return Optional.ofNullable( value );
     }
 
     @Override
@@ -117,15 +148,8 @@ public class DefaultPreheatCacheService implements PreheatCacheService
 
     public List<IdentifiableObject> getAll( String cacheKey )
     {
-        List<IdentifiableObject> res = new ArrayList<>();
-        if ( hasKey( cacheKey ) )
-        {
-            cache.get( cacheKey ).keys().forEach( k -> {
-                res.add( cache.get( cacheKey ).get( k ) );
-            } );
-        }
-        return res;
-
+        Cache<String, IdentifiableObject> c = cache.get( cacheKey );
+        return c != null ? new ArrayList<>( c.asMap().values() ) : new ArrayList<>();
     }
 
     @Override
@@ -137,29 +161,7 @@ public class DefaultPreheatCacheService implements PreheatCacheService
 
         if ( isCacheEnabled() )
         {
-            if ( cache.containsKey( cacheKey ) )
-            {
-                cache.get( cacheKey ).put( id, object );
-            }
-            else
-            {
-                Cache<String, IdentifiableObject> c = new Cache2kBuilder<String, IdentifiableObject>()
-                {
-                }
-                    .expireAfterWrite( cacheTTL, TimeUnit.MINUTES )
-                    .name( cacheKey )
-                    .permitNullValues( false )
-                    .entryCapacity( capacity == -1 ? Long.MAX_VALUE : capacity )
-                    .resilienceDuration( 30, TimeUnit.SECONDS ) // cope with at
-                                                                // most 30
-                                                                // seconds
-                    // outage before propagating exceptions
-                    .build();
-
-                c.put( id, object );
-
-                cache.put( cacheKey, c );
-            }
+            cache.computeIfAbsent( cacheKey, key -> createCache( key, cacheTTL, capacity ) ).put( id, object );
         }
     }
 
@@ -176,15 +178,68 @@ public class DefaultPreheatCacheService implements PreheatCacheService
         cache.values().forEach( Cache::removeAll );
     }
 
+    @Override
+    public long getHitCount()
+    {
+        return hitCount.sum();
+    }
+
+    @Override
+    public long getMissCount()
+    {
+        return missCount.sum();
+    }
+
+    @Override
+    public long getSize()
+    {
+        return cache.values().stream().mapToLong( c -> c.asMap().size() ).sum();
+    }
+
+    /**
+     * Creates the cache for the given key. Eviction is based on the estimated
+     * memory used by the cached objects, bounded by
+     * {@link ConfigurationKey#TRACKER_IMPORT_PREHEAT_CACHE_MAX_SIZE}. Each
+     * object weighs at least its share of the maximum size as given by
+     * {@code capacity}, so that the cache never holds more than
+     * {@code capacity} objects.
+     */
+    private Cache<String, IdentifiableObject> createCache( String cacheKey, int cacheTTL, long capacity )
+    {
+        long maxWeight = Long.parseLong( config.getProperty( ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_MAX_SIZE ) )
+            * BYTES_PER_MB;
+        long minWeight = capacity > 0 ? Math.max( 1L, maxWeight / capacity ) : 1L;
+
+        return new Cache2kBuilder<String, IdentifiableObject>()
+        {
+        }
+            .expireAfterWrite( cacheTTL, TimeUnit.MINUTES )
+            .name( cacheKey )
+            .permitNullValues( false )
+            .weigher( ( String id, IdentifiableObject object ) -> (int) Math.min( Integer.MAX_VALUE,
+                Math.max( minWeight, estimateSize( object ) ) ) )
+            .maximumWeight( maxWeight )
+            .strictEviction( true )
+            .resilienceDuration( 30, TimeUnit.SECONDS ) // cope with at most 30
+                                                        // seconds outage
+                                                        // before propagating
+                                                        // exceptions
+            .build();
+    }
+
+    /**
+     * Estimates the memory used by the given object from its identifiers.
+     * Associations are not traversed as they might not be initialized.
+     */
+    private long estimateSize( IdentifiableObject object )
+    {
+        return OBJECT_OVERHEAD + 2L * (StringUtils.length( object.getUid() ) + StringUtils.length( object.getCode() )
+            + StringUtils.length( object.getName() ));
+    }
+
     private boolean isCacheEnabled()
     {
-        return false;
-
-        // Due to concerns and issues with the current cache implementation, we
-        // decided to
-        // deactivate the cache in the preheat completely for now.
-        // return !isTestRun( this.environment.getActiveProfiles() )
-        // && config.isEnabled(
-        // ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_ENABLED );
+        return !isTestRun( this.environment.getActiveProfiles() )
+            && config.isEnabled( ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_ENABLED );
     }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.preheat.cache;
+
+import static org.hisp.dhis.external.conf.ConfigurationKey.MONITORING_TRACKER_PREHEAT_CACHE_ENABLED;
+
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.monitoring.metrics.MetricsEnabler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Exposes hit, miss and size metrics of the {@link PreheatCacheService}
+ * following the Micrometer cache naming conventions.
+ */
+@Configuration
+@Conditional( PreheatCacheMetricsConfig.PreheatCacheMetricsEnabledCondition.class )
+public class PreheatCacheMetricsConfig
+{
+    private static final String CACHE_NAME = "trackerPreheat";
+
+    @Autowired
+    public void bindToRegistry( MeterRegistry registry, PreheatCacheService preheatCacheService )
+    {
+        FunctionCounter.builder( "cache.gets", preheatCacheService, PreheatCacheService::getHitCount )
+            .tags( "cache", CACHE_NAME, "result", "hit" )
+            .description( "The number of times cache lookup methods have returned a cached value" )
+            .register( registry );
+
+        FunctionCounter.builder( "cache.gets", preheatCacheService, PreheatCacheService::getMissCount )
+            .tags( "cache", CACHE_NAME, "result", "miss" )
+            .description( "The number of times cache lookup methods have not returned a value" )
+            .register( registry );
+
+        Gauge.builder( "cache.size", preheatCacheService, PreheatCacheService::getSize )
+            .tags( "cache", CACHE_NAME )
+            .description( "The number of entries in this cache" )
+            .register( registry );
+    }
+
+    static class PreheatCacheMetricsEnabledCondition
+        extends
+        MetricsEnabler
+    {
+        @Override
+        protected ConfigurationKey getConfigKey()
+        {
+            return MONITORING_TRACKER_PREHEAT_CACHE_ENABLED;
+        }
+    }
+}
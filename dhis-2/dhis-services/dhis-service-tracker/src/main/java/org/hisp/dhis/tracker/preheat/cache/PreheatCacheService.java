@@ -100,6 +100,21 @@ public interface PreheatCacheService
      */
     void invalidateCache();
 
+    /**
+     * Returns the number of lookups which found an object in the cache.
+     */
+    long getHitCount();
+
+    /**
+     * Returns the number of lookups which did not find an object in the cache.
+     */
+    long getMissCount();
+
+    /**
+     * Returns the number of objects currently held by all caches.
+     */
+    long getSize();
+
     /**
      * Event handler for {@link ApplicationCacheClearedEvent}.
      *
@@ -34,7 +34,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.hisp.dhis.common.ValueTypedDimensionalItemObject;
 import org.hisp.dhis.option.Option;
@@ -48,6 +50,7 @@ import org.hisp.dhis.tracker.domain.TrackedEntity;
 import org.hisp.dhis.tracker.domain.TrackerDto;
 import org.hisp.dhis.tracker.report.ValidationErrorReporter;
 import org.hisp.dhis.tracker.validation.TrackerValidationHook;
+import org.hisp.dhis.tracker.validation.ValidationFailFastException;
 
 import com.google.common.collect.ImmutableMap;
 
@@ -175,6 +178,12 @@ public abstract class AbstractTrackerDtoValidationHook
     private void validateTrackerDtos( ValidationErrorReporter reporter, TrackerBundle bundle,
         List<? extends TrackerDto> dtos )
     {
+        if ( bundle.isParallelValidation() && isParallelizable() && !removeOnError() )
+        {
+            validateTrackerDtosInParallel( reporter, bundle, dtos );
+            return;
+        }
+
         Iterator<? extends TrackerDto> iter = dtos.iterator();
         while ( iter.hasNext() )
         {
@@ -190,6 +199,59 @@ public abstract class AbstractTrackerDtoValidationHook
         }
     }
 
+    /**
+     * Validates the given entities on the common fork-join pool. Every entity
+     * is validated with its own reporter, and the reporters are merged in the
+     * order of the entities afterwards, so the resulting errors and warnings
+     * are the same as for a sequential validation. In FAIL_FAST mode entities
+     * after the first failing entity are skipped.
+     *
+     * @param reporter validation error reporter
+     * @param bundle tracker bundle
+     * @param dtos entities to validate
+     */
+    private void validateTrackerDtosInParallel( ValidationErrorReporter reporter, TrackerBundle bundle,
+        List<? extends TrackerDto> dtos )
+    {
+        AtomicInteger firstFailedIndex = new AtomicInteger( Integer.MAX_VALUE );
+
+        List<ValidationErrorReporter> dtoReporters = IntStream.range( 0, dtos.size() ).parallel()
+            .mapToObj( i -> validateTrackerDto( reporter, bundle, dtos.get( i ), i, firstFailedIndex ) )
+            .collect( Collectors.toList() );
+
+        for ( ValidationErrorReporter dtoReporter : dtoReporters )
+        {
+            if ( dtoReporter != null )
+            {
+                dtoReporter.getWarningsReportList().forEach( reporter::addWarning );
+                dtoReporter.getReportList().forEach( reporter::addError );
+            }
+        }
+    }
+
+    private ValidationErrorReporter validateTrackerDto( ValidationErrorReporter reporter, TrackerBundle bundle,
+        TrackerDto dto, int index, AtomicInteger firstFailedIndex )
+    {
+        if ( index > firstFailedIndex.get() || !needsToRun( bundle.getStrategy( dto ) ) )
+        {
+            return null;
+        }
+
+        ValidationErrorReporter dtoReporter = new ValidationErrorReporter( reporter.getIdSchemes(),
+            reporter.isFailFast() );
+
+        try
+        {
+            validationMap.get( dto.getTrackerType() ).accept( dtoReporter, bundle, dto );
+        }
+        catch ( ValidationFailFastException e )
+        {
+            firstFailedIndex.accumulateAndGet( index, Math::min );
+        }
+
+        return dtoReporter;
+    }
+
     public boolean needsToRun( TrackerImportStrategy strategy )
     {
         return strategy != TrackerImportStrategy.DELETE;
@@ -205,6 +267,23 @@ public abstract class AbstractTrackerDtoValidationHook
         return false;
     }
 
+    /**
+     * Signal that the implementing Validator hook validates every Tracker
+     * entity independently, so that entities can be validated in parallel
+     * when the bundle requests parallel validation. Such a hook must only read
+     * the entity, the preheat and properties of preheated objects which are
+     * already loaded, as lazy loading Hibernate associations is not thread
+     * safe. Hooks that remove entities on error, look at the errors of other
+     * entities or use services are never run in parallel. Neither are hooks
+     * that traverse associations of preheated objects, such as program stage
+     * data elements, option sets or user roles, or that read or modify other
+     * entities of the bundle, such as the program rule hooks.
+     */
+    public boolean isParallelizable()
+    {
+        return false;
+    }
+
     private boolean didNotPassValidation( ValidationErrorReporter reporter, String uid )
     {
         return reporter.getReportList().stream().anyMatch( r -> r.getUid().equals( uid ) );
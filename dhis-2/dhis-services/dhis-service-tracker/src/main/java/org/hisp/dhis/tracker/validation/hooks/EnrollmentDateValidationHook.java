@@ -99,4 +99,10 @@ public class EnrollmentDateValidationHook
             reporter.addError( enrollment, E1021, enrollment.getOccurredAt() );
         }
     }
+
+    @Override
+    public boolean isParallelizable()
+    {
+        return true;
+    }
 }
@@ -57,4 +57,9 @@ public class EnrollmentGeoValidationHook
         }
     }
 
-}
\ No newline at end of file
+    @Override
+    public boolean isParallelizable()
+    {
+        return true;
+    }
+}
@@ -154,4 +154,4 @@ public class EnrollmentInExistingValidationHook
         }
         return tei;
     }
-}
\ No newline at end of file
+}
@@ -44,4 +44,10 @@ public class EnrollmentNoteValidationHook extends AbstractTrackerDtoValidationHo
         enrollment.setNotes( ValidationUtils.validateNotes( reporter, bundle.getPreheat(), enrollment,
             enrollment.getNotes() ) );
     }
+
+    @Override
+    public boolean isParallelizable()
+    {
+        return true;
+    }
 }
@@ -68,4 +68,4 @@ public class EnrollmentRuleValidationHook
 
         addIssuesToReporter( reporter, enrollment, programRuleIssues );
     }
-}
\ No newline at end of file
+}
@@ -55,4 +55,10 @@ public class EventGeoValidationHook
                 programStage.getFeatureType() );
         }
     }
+
+    @Override
+    public boolean isParallelizable()
+    {
+        return true;
+    }
 }
@@ -44,4 +44,10 @@ public class EventNoteValidationHook extends AbstractTrackerDtoValidationHook
         event
             .setNotes( ValidationUtils.validateNotes( reporter, bundle.getPreheat(), event, event.getNotes() ) );
     }
+
+    @Override
+    public boolean isParallelizable()
+    {
+        return true;
+    }
 }
@@ -69,4 +69,4 @@ public class EventRuleValidationHook
 
         addIssuesToReporter( reporter, event, programRuleIssues );
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker.preheat.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.hisp.dhis.common.CodeGenerator;
+import org.hisp.dhis.external.conf.ConfigurationKey;
+import org.hisp.dhis.external.conf.DhisConfigurationProvider;
+import org.hisp.dhis.program.Program;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.env.Environment;
+
+@ExtendWith( MockitoExtension.class )
+class DefaultPreheatCacheServiceTest
+{
+    @Mock
+    private DhisConfigurationProvider config;
+
+    @Mock
+    private Environment environment;
+
+    private PreheatCacheService cache;
+
+    @BeforeEach
+    void setUp()
+    {
+        when( environment.getActiveProfiles() ).thenReturn( new String[] {} );
+        when( config.isEnabled( ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_ENABLED ) ).thenReturn( true );
+
+        cache = new DefaultPreheatCacheService( config, environment );
+    }
+
+    @Test
+    void shouldCountHitsAndMisses()
+    {
+        when( config.getProperty( ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_MAX_SIZE ) ).thenReturn( "10" );
+        String cacheKey = CodeGenerator.generateUid();
+        Program program = createProgram();
+
+        cache.put( cacheKey, program.getUid(), program, 10, 10 );
+
+        assertTrue( cache.get( cacheKey, program.getUid() ).isPresent() );
+        assertFalse( cache.get( cacheKey, CodeGenerator.generateUid() ).isPresent() );
+        assertFalse( cache.get( CodeGenerator.generateUid(), program.getUid() ).isPresent() );
+        assertEquals( 1, cache.getHitCount() );
+        assertEquals( 2, cache.getMissCount() );
+        assertEquals( 1, cache.getSize() );
+    }
+
+    @Test
+    void shouldNotHoldMoreObjectsThanCapacity()
+    {
+        when( config.getProperty( ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_MAX_SIZE ) ).thenReturn( "10" );
+        String cacheKey = CodeGenerator.generateUid();
+
+        for ( int i = 0; i < 20; i++ )
+        {
+            Program program = createProgram();
+            cache.put( cacheKey, program.getUid(), program, 10, 5 );
+        }
+
+        assertTrue( cache.getAll( cacheKey ).size() <= 5 );
+    }
+
+    @Test
+    void shouldCreateSingleCachePerKeyUnderConcurrentPuts()
+        throws Exception
+    {
+        when( config.getProperty( ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_MAX_SIZE ) ).thenReturn( "10" );
+        String cacheKey = CodeGenerator.generateUid();
+        List<Program> programs = IntStream.range( 0, 100 ).mapToObj( i -> createProgram() )
+            .collect( Collectors.toList() );
+
+        ExecutorService executor = Executors.newFixedThreadPool( 8 );
+        try
+        {
+            List<Future<?>> futures = programs.stream()
+                .map( p -> executor.submit( () -> cache.put( cacheKey, p.getUid(), p, 10, -1 ) ) )
+                .collect( Collectors.toList() );
+
+            for ( Future<?> future : futures )
+            {
+                future.get();
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+
+        assertEquals( 100, cache.getAll( cacheKey ).size() );
+    }
+
+    @Test
+    void shouldNotCacheWhenDisabled()
+    {
+        when( config.isEnabled( ConfigurationKey.TRACKER_IMPORT_PREHEAT_CACHE_ENABLED ) ).thenReturn( false );
+        String cacheKey = CodeGenerator.generateUid();
+        Program program = createProgram();
+
+        cache.put( cacheKey, program.getUid(), program, 10, 10 );
+
+        assertFalse( cache.hasKey( cacheKey ) );
+        assertFalse( cache.get( cacheKey, program.getUid() ).isPresent() );
+        assertEquals( 0, cache.getMissCount() );
+    }
+
+    private Program createProgram()
+    {
+        Program program = new Program();
+        program.setUid( CodeGenerator.generateUid() );
+        program.setName( program.getUid() );
+        return program;
+    }
+}
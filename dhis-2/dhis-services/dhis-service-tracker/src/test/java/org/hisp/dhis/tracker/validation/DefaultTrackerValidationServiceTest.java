@@ -131,6 +131,8 @@ class DefaultTrackerValidationServiceTest
 
         private Boolean needsToRun;
 
+        private boolean parallelizable;
+
         private BiConsumer<ValidationErrorReporter, TrackedEntity> validateTrackedEntity;
 
         private BiConsumer<ValidationErrorReporter, Enrollment> validateEnrollment;
@@ -182,6 +184,12 @@ class DefaultTrackerValidationServiceTest
             // by default we delegate to AbstractTrackerDtoValidationHook
             return Objects.requireNonNullElseGet( this.needsToRun, () -> super.needsToRun( strategy ) );
         }
+
+        @Override
+        public boolean isParallelizable()
+        {
+            return this.parallelizable;
+        }
     }
 
     @Test
@@ -304,6 +312,67 @@ class DefaultTrackerValidationServiceTest
         verifyNoInteractions( hook2 );
     }
 
+    @Test
+    void parallelValidationReportsErrorsInEntityOrder()
+    {
+        List<Event> events = new ArrayList<>();
+        for ( int i = 0; i < 100; i++ )
+        {
+            events.add( event() );
+        }
+
+        TrackerBundle bundle = newBundle()
+            .parallelValidation( true )
+            .events( new ArrayList<>( events ) )
+            .build();
+
+        ValidationHook hook = ValidationHook.builder()
+            .removeOnError( false )
+            .parallelizable( true )
+            .validateEvent( ( reporter, event ) -> reporter.addErrorIf( () -> events.indexOf( event ) % 2 == 0,
+                event, TrackerErrorCode.E1032 ) )
+            .build();
+        service = new DefaultTrackerValidationService( List.of( hook ), Collections.emptyList() );
+
+        TrackerValidationReport report = service.validate( bundle );
+
+        assertEquals( 50, report.getErrors().size() );
+        for ( int i = 0; i < 50; i++ )
+        {
+            assertEquals( events.get( i * 2 ).getUid(), report.getErrors().get( i ).getUid() );
+        }
+        assertEquals( 50, bundle.getEvents().size() );
+    }
+
+    @Test
+    void parallelValidationInFailFastModeReportsFirstInvalidEntity()
+    {
+        List<Event> events = new ArrayList<>();
+        for ( int i = 0; i < 100; i++ )
+        {
+            events.add( event() );
+        }
+
+        TrackerBundle bundle = newBundle()
+            .validationMode( ValidationMode.FAIL_FAST )
+            .parallelValidation( true )
+            .events( new ArrayList<>( events ) )
+            .build();
+
+        ValidationHook hook = ValidationHook.builder()
+            .removeOnError( false )
+            .parallelizable( true )
+            .validateEvent( ( reporter, event ) -> reporter.addErrorIf( () -> events.indexOf( event ) >= 40,
+                event, TrackerErrorCode.E1032 ) )
+            .build();
+        service = new DefaultTrackerValidationService( List.of( hook ), Collections.emptyList() );
+
+        TrackerValidationReport report = service.validate( bundle );
+
+        assertEquals( 1, report.getErrors().size() );
+        assertHasError( report, TrackerErrorCode.E1032, events.get( 40 ) );
+    }
+
     @Test
     void needsToRunPreventsHookExecutionOnImportStrategyDeleteByDefault()
     {
@@ -41,6 +41,7 @@ import org.hisp.dhis.jdbc.batchhandler.MinMaxDataElementBatchHandler;
 import org.hisp.dhis.minmax.MinMaxDataElement;
 import org.hisp.dhis.minmax.MinMaxDataElementService;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.outlierdetection.service.DataValueStatisticsManager;
 import org.hisp.dhis.period.Period;
 import org.hisp.dhis.system.util.MathUtils;
 import org.hisp.quick.BatchHandler;
@@ -68,16 +69,21 @@ public class MinMaxOutlierAnalysisService
 
     private final BatchHandlerFactory batchHandlerFactory;
 
+    private final DataValueStatisticsManager statisticsManager;
+
     public MinMaxOutlierAnalysisService( DataAnalysisStore dataAnalysisStore,
-        MinMaxDataElementService minMaxDataElementService, BatchHandlerFactory batchHandlerFactory )
+        MinMaxDataElementService minMaxDataElementService, BatchHandlerFactory batchHandlerFactory,
+        DataValueStatisticsManager statisticsManager )
     {
         checkNotNull( dataAnalysisStore );
         checkNotNull( minMaxDataElementService );
         checkNotNull( batchHandlerFactory );
+        checkNotNull( statisticsManager );
 
         this.dataAnalysisStore = dataAnalysisStore;
         this.minMaxDataElementService = minMaxDataElementService;
         this.batchHandlerFactory = batchHandlerFactory;
+        this.statisticsManager = statisticsManager;
     }
 
     // -------------------------------------------------------------------------
@@ -119,6 +125,11 @@ public class MinMaxOutlierAnalysisService
 
         List<String> parentPaths = Lists.newArrayList( parent.getPath() );
 
+        boolean useStatistics = statisticsManager.updateStatistics( dataElements.stream()
+            .filter( de -> de.getValueType().isNumeric() )
+            .map( DataElement::getId )
+            .collect( Collectors.toList() ) );
+
         BatchHandler<MinMaxDataElement> batchHandler = batchHandlerFactory
             .createBatchHandler( MinMaxDataElementBatchHandler.class ).init();
 
@@ -128,8 +139,9 @@ public class MinMaxOutlierAnalysisService
             {
                 Set<CategoryOptionCombo> categoryOptionCombos = dataElement.getCategoryOptionCombos();
 
-                List<DataAnalysisMeasures> measuresList = dataAnalysisStore.getDataAnalysisMeasures( dataElement,
-                    categoryOptionCombos, parentPaths, from );
+                List<DataAnalysisMeasures> measuresList = useStatistics
+                    ? statisticsManager.getDataAnalysisMeasures( dataElement, categoryOptionCombos, parent.getPath() )
+                    : dataAnalysisStore.getDataAnalysisMeasures( dataElement, categoryOptionCombos, parentPaths, from );
 
                 for ( DataAnalysisMeasures measures : measuresList )
                 {
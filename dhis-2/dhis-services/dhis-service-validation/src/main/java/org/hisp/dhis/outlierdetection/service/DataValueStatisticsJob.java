@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.outlierdetection.service;
+package org.hisp.dhis.outlierdetection.service;
+
+import static org.hisp.dhis.scheduling.JobProgress.FailurePolicy.SKIP_ITEM;
+
+import java.util.Date;
+import java.util.List;
+
+import lombok.RequiredArgsConstructor;
+
+import org.hisp.dhis.scheduling.Job;
+import org.hisp.dhis.scheduling.JobConfiguration;
+import org.hisp.dhis.scheduling.JobProgress;
+import org.hisp.dhis.scheduling.JobType;
+import org.hisp.dhis.util.DateUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maintains the precomputed data value statistics of the
+ * {@link DataValueStatisticsManager}. Computes the statistics of newly tracked
+ * data elements, applies the recorded changes so that few changes are left to
+ * apply when statistics are read, and stops tracking data elements whose
+ * statistics are no longer read.
+ */
+@Component
+@RequiredArgsConstructor
+public class DataValueStatisticsJob implements Job
+{
+    private final DataValueStatisticsManager statisticsManager;
+
+    @Override
+    public JobType getJobType()
+    {
+        return JobType.DATA_VALUE_STATISTICS;
+    }
+
+    @Override
+    public void execute( JobConfiguration jobConfiguration, JobProgress progress )
+    {
+        progress.startingProcess( "Update data value statistics" );
+
+        progress.startingStage( "Removing statistics which were not read recently" );
+        progress.runStage( 0, removed -> "Stopped tracking " + removed + " data elements",
+            () -> statisticsManager.removeUnreadStatistics(
+                DateUtils.addDays( new Date(), -DataValueStatisticsManager.UNREAD_RETENTION_DAYS ) ) );
+
+        List<Long> dataElementIds = statisticsManager.getTrackedDataElementIds();
+
+        progress.startingStage( "Updating statistics of tracked data elements", dataElementIds.size(), SKIP_ITEM );
+        progress.runStage( dataElementIds, id -> "Data element " + id, statisticsManager::maintainStatistics );
+
+        progress.completedProcess( null );
+    }
+}
@@ -0,0 +1,461 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.outlierdetection.service;
+
+import static org.hisp.dhis.system.util.MathUtils.NUMERIC_LENIENT_REGEXP;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import lombok.extern.slf4j.Slf4j;
+
+import org.hisp.dhis.category.CategoryOptionCombo;
+import org.hisp.dhis.common.IdentifiableObjectUtils;
+import org.hisp.dhis.dataanalysis.DataAnalysisMeasures;
+import org.hisp.dhis.dataelement.DataElement;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Manager for precomputed statistics of numeric data values, held in the
+ * {@code datavaluestatistics} table per data element, org unit, category
+ * option combo and attribute option combo.
+ *
+ * The statistics contain the count, the mean, the sum of squared deviations
+ * from the mean (M2) and the median of the values. The population standard
+ * deviation is {@code sqrt(m2 / count)}, and statistics of several
+ * combinations can be merged using the count, mean and M2.
+ *
+ * Statistics are maintained per data element in three steps:
+ * <ol>
+ * <li>The data element is registered in the {@code datavaluestatisticsupdate}
+ * table when its statistics are first read. From then on, triggers on the
+ * {@code datavalue} table record the distinct combinations of all written data
+ * values of the data element in the {@code datavaluestatisticschange} table,
+ * in the transaction of the write. The triggers exist only while any data
+ * element is registered.</li>
+ * <li>The next {@link DataValueStatisticsJob} run records the id of the next
+ * transaction as the point from which all transactions record their
+ * changes.</li>
+ * <li>Once all transactions before that point have ended, a job run computes
+ * the statistics of all combinations. Subsequent updates, by job runs and
+ * before statistics are read, recompute the combinations recorded as changed
+ * and remove the records they have read.</li>
+ * </ol>
+ * Changes are thereby tracked independently of the last updated timestamp of
+ * data values, which can be set by imports and can be older than the time of
+ * commit. Data elements whose statistics have not been read for
+ * {@link #UNREAD_RETENTION_DAYS} days are no longer tracked.
+ */
+@Slf4j
+@Repository
+public class DataValueStatisticsManager
+{
+    public static final int UNREAD_RETENTION_DAYS = 30;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public DataValueStatisticsManager( NamedParameterJdbcTemplate jdbcTemplate )
+    {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Updates the statistics of the given data elements with the data values
+     * changed since the previous update, and registers data elements without
+     * statistics for tracking. Returns whether the statistics of all data
+     * elements are up to date. When not, statistics must be computed from the
+     * data values until the {@link DataValueStatisticsJob} has computed them.
+     *
+     * @param dataElementIds the data element identifiers.
+     * @return true if the statistics of all data elements are up to date.
+     */
+    @Transactional
+    public boolean updateStatistics( Collection<Long> dataElementIds )
+    {
+        boolean upToDate = true;
+
+        // Sort to lock data elements in a consistent order
+
+        for ( Long dataElementId : new TreeSet<>( dataElementIds ) )
+        {
+            upToDate &= updateReadStatistics( dataElementId );
+        }
+
+        return upToDate;
+    }
+
+    /**
+     * Returns the identifiers of the data elements with tracked statistics.
+     *
+     * @return a list of data element identifiers.
+     */
+    public List<Long> getTrackedDataElementIds()
+    {
+        return jdbcTemplate.queryForList(
+            "select dataelementid from datavaluestatisticsupdate order by dataelementid",
+            new MapSqlParameterSource(), Long.class );
+    }
+
+    /**
+     * Takes the next step in maintaining the statistics of the given data
+     * element, see the class documentation. Statistics are computed in full
+     * here only, so that reads do not wait for them.
+     *
+     * @param dataElementId the data element identifier.
+     * @return true if the statistics are up to date.
+     */
+    @Transactional
+    public boolean maintainStatistics( long dataElementId )
+    {
+        final MapSqlParameterSource params = getParams( dataElementId );
+
+        final List<Map<String, Object>> updates = jdbcTemplate.queryForList(
+            "select lastupdated, trackedfrom from datavaluestatisticsupdate " +
+                "where dataelementid = :data_element_id for update",
+            params );
+
+        if ( updates.isEmpty() )
+        {
+            return false;
+        }
+
+        final Date lastUpdated = (Date) updates.get( 0 ).get( "lastupdated" );
+        final Number trackedFrom = (Number) updates.get( 0 ).get( "trackedfrom" );
+
+        if ( trackedFrom == null )
+        {
+            // Transactions with a higher id see the committed registration
+
+            jdbcTemplate.update( "update datavaluestatisticsupdate " +
+                "set trackedfrom = txid_snapshot_xmax(txid_current_snapshot()) " +
+                "where dataelementid = :data_element_id", params );
+
+            return false;
+        }
+
+        final boolean incremental = lastUpdated != null;
+
+        if ( !incremental && !isEnded( trackedFrom.longValue() ) )
+        {
+            return false;
+        }
+
+        updateChangedStatistics( dataElementId, incremental, params );
+
+        return true;
+    }
+
+    /**
+     * Stops tracking the statistics of data elements which have not been read
+     * since the given date, and removes their statistics and recorded changes.
+     * Drops the triggers on the {@code datavalue} table when no data element
+     * is tracked anymore.
+     *
+     * @param readBefore the date before which statistics were last read.
+     * @return the number of data elements which are no longer tracked.
+     */
+    @Transactional
+    public int removeUnreadStatistics( Date readBefore )
+    {
+        final MapSqlParameterSource params = new MapSqlParameterSource( "read_before", readBefore );
+
+        // @formatter:off
+        final Integer removed = jdbcTemplate.queryForObject(
+            "with removed as (" +
+                "delete from datavaluestatisticsupdate " +
+                "where lastread < :read_before " +
+                "returning dataelementid" +
+            "), " +
+            "statistics as (" +
+                "delete from datavaluestatistics s " +
+                "using removed r " +
+                "where s.dataelementid = r.dataelementid" +
+            ") " +
+            "select count(*) from removed",
+            params, Integer.class );
+        // @formatter:on
+
+        // Includes changes recorded by transactions which still saw the
+        // registration of a removed data element
+
+        jdbcTemplate.update( "delete from datavaluestatisticschange c " +
+            "where not exists (" +
+            "select 1 from datavaluestatisticsupdate u " +
+            "where u.dataelementid = c.dataelementid)", params );
+
+        updateTracking();
+
+        return removed != null ? removed : 0;
+    }
+
+    /**
+     * Returns the SQL for a sub query of the precomputed statistics of the
+     * data elements given by the {@code data_element_ids} named parameter. The
+     * sub query has the columns {@code dataelementid}, {@code sourceid},
+     * {@code categoryoptioncomboid}, {@code attributeoptioncomboid},
+     * {@code middle_value} and {@code std_dev}. The statistics must be up to
+     * date, see {@link #updateStatistics(Collection)}.
+     *
+     * @param median whether to use the median as middle value, otherwise the
+     *        mean is used.
+     * @return the SQL for a sub query.
+     */
+    public String getStatisticsSql( boolean median )
+    {
+        return "select s.dataelementid, s.sourceid, s.categoryoptioncomboid, s.attributeoptioncomboid, " +
+            (median ? "s.median" : "s.mean") + " as middle_value, " +
+            "sqrt(s.m2 / s.valuecount) as std_dev " +
+            "from datavaluestatistics s " +
+            "where s.dataelementid in (:data_element_ids)";
+    }
+
+    /**
+     * Returns the average and population standard deviation of all data values
+     * of the given data element per org unit and category option combo, for
+     * org units in the hierarchy of the given parent path. The statistics of
+     * the attribute option combos are merged. Measures with a standard
+     * deviation of zero are ignored. The statistics must be up to date, see
+     * {@link #updateStatistics(Collection)}.
+     *
+     * @param dataElement the {@link DataElement}.
+     * @param categoryOptionCombos the category option combos to include.
+     * @param parentPath the path of the parent org unit.
+     * @return a list of {@link DataAnalysisMeasures}.
+     */
+    public List<DataAnalysisMeasures> getDataAnalysisMeasures( DataElement dataElement,
+        Collection<CategoryOptionCombo> categoryOptionCombos, String parentPath )
+    {
+        if ( categoryOptionCombos.isEmpty() )
+        {
+            return new ArrayList<>();
+        }
+
+        // @formatter:off
+        final String sql =
+            "select sourceid, categoryoptioncomboid, " +
+                "total / n as average, " +
+                "sqrt(greatest(m2 + squares - (total * total / n), 0) / n) as std_dev " +
+            "from (" +
+                "select s.sourceid, s.categoryoptioncomboid, " +
+                "sum(s.valuecount) as n, " +
+                "sum(s.valuecount * s.mean) as total, " +
+                "sum(s.valuecount * s.mean * s.mean) as squares, " +
+                "sum(s.m2) as m2 " +
+                "from datavaluestatistics s " +
+                "inner join organisationunit ou on s.sourceid = ou.organisationunitid " +
+                "where s.dataelementid = :data_element_id " +
+                "and s.categoryoptioncomboid in (:coc_ids) " +
+                "and ou.path like :parent_path " +
+                "group by s.sourceid, s.categoryoptioncomboid" +
+            ") as merged " +
+            "where n > 0";
+        // @formatter:on
+
+        final SqlParameterSource params = new MapSqlParameterSource()
+            .addValue( "data_element_id", dataElement.getId() )
+            .addValue( "coc_ids", IdentifiableObjectUtils.getIdentifiers( categoryOptionCombos ) )
+            .addValue( "parent_path", parentPath + "%" );
+
+        List<DataAnalysisMeasures> measures = jdbcTemplate.query( sql, params,
+            ( rs, rowNum ) -> new DataAnalysisMeasures( rs.getInt( "sourceid" ), rs.getInt( "categoryoptioncomboid" ),
+                rs.getDouble( "average" ), rs.getDouble( "std_dev" ) ) );
+
+        measures.removeIf( m -> m.getStandardDeviation() == 0.0 );
+
+        return measures;
+    }
+
+    // -------------------------------------------------------------------------
+    // Supportive methods
+    // -------------------------------------------------------------------------
+
+    /**
+     * Updates the statistics of the given data element before they are read,
+     * and registers the data element if it is not tracked. The statistics are
+     * not waited for while a job run holds them.
+     *
+     * @param dataElementId the data element identifier.
+     * @return true if the statistics are up to date.
+     */
+    private boolean updateReadStatistics( long dataElementId )
+    {
+        final MapSqlParameterSource params = getParams( dataElementId );
+
+        final List<Map<String, Object>> updates = jdbcTemplate.queryForList(
+            "select lastupdated from datavaluestatisticsupdate " +
+                "where dataelementid = :data_element_id for update skip locked",
+            params );
+
+        if ( updates.isEmpty() )
+        {
+            int registered = jdbcTemplate.update( "insert into datavaluestatisticsupdate (dataelementid, lastread) " +
+                "values (:data_element_id, :now) on conflict (dataelementid) do nothing", params );
+
+            if ( registered > 0 )
+            {
+                updateTracking();
+
+                log.debug( "Started tracking data value changes for data element: {}", dataElementId );
+            }
+
+            return false;
+        }
+
+        jdbcTemplate.update( "update datavaluestatisticsupdate set lastread = :now " +
+            "where dataelementid = :data_element_id", params );
+
+        if ( updates.get( 0 ).get( "lastupdated" ) == null )
+        {
+            return false;
+        }
+
+        updateChangedStatistics( dataElementId, true, params );
+
+        return true;
+    }
+
+    /**
+     * Recomputes the statistics of the combinations of the given data element
+     * which are recorded as changed, or of all combinations.
+     *
+     * @param dataElementId the data element identifier.
+     * @param incremental whether to recompute the changed combinations only.
+     * @param params the parameters with the data element identifier.
+     */
+    private void updateChangedStatistics( long dataElementId, boolean incremental, MapSqlParameterSource params )
+    {
+        // Changes are consumed in the statement which recomputes them, so
+        // changes of transactions committed later remain for the next update
+
+        final String changedSql = incremental
+            ? "select distinct dataelementid, sourceid, categoryoptioncomboid, attributeoptioncomboid " +
+                "from consumed"
+            : "select distinct dataelementid, sourceid, categoryoptioncomboid, attributeoptioncomboid " +
+                "from datavalue " +
+                "where dataelementid = :data_element_id " +
+                "union " +
+                "select dataelementid, sourceid, categoryoptioncomboid, attributeoptioncomboid " +
+                "from datavaluestatistics " +
+                "where dataelementid = :data_element_id";
+
+        // @formatter:off
+        final String sql =
+            "with consumed as (" +
+                "delete from datavaluestatisticschange " +
+                "where dataelementid = :data_element_id " +
+                "returning dataelementid, sourceid, categoryoptioncomboid, attributeoptioncomboid" +
+            "), " +
+            "changed as (" +
+                changedSql +
+            "), " +
+            "stats as (" +
+                "select dv.dataelementid, dv.sourceid, dv.categoryoptioncomboid, dv.attributeoptioncomboid, " +
+                "count(dv.value) as valuecount, " +
+                "avg(dv.value::double precision) as mean, " +
+                "var_pop(dv.value::double precision) * count(dv.value) as m2, " +
+                "percentile_cont(0.5) within group(order by dv.value::double precision) as median " +
+                "from datavalue dv " +
+                "inner join changed c on dv.dataelementid = c.dataelementid " +
+                "and dv.sourceid = c.sourceid " +
+                "and dv.categoryoptioncomboid = c.categoryoptioncomboid " +
+                "and dv.attributeoptioncomboid = c.attributeoptioncomboid " +
+                "where dv.deleted is false " +
+                "and dv.value ~ :numeric_regexp " +
+                "group by dv.dataelementid, dv.sourceid, dv.categoryoptioncomboid, dv.attributeoptioncomboid" +
+            "), " +
+            "removed as (" +
+                "delete from datavaluestatistics s " +
+                "using changed c " +
+                "where s.dataelementid = c.dataelementid " +
+                "and s.sourceid = c.sourceid " +
+                "and s.categoryoptioncomboid = c.categoryoptioncomboid " +
+                "and s.attributeoptioncomboid = c.attributeoptioncomboid " +
+                "and not exists (" +
+                    "select 1 from stats x " +
+                    "where x.sourceid = s.sourceid " +
+                    "and x.categoryoptioncomboid = s.categoryoptioncomboid " +
+                    "and x.attributeoptioncomboid = s.attributeoptioncomboid)" +
+            ") " +
+            "insert into datavaluestatistics (dataelementid, sourceid, categoryoptioncomboid, " +
+                "attributeoptioncomboid, valuecount, mean, m2, median, lastupdated) " +
+            "select dataelementid, sourceid, categoryoptioncomboid, attributeoptioncomboid, " +
+                "valuecount, mean, m2, median, :now " +
+            "from stats " +
+            "on conflict (dataelementid, sourceid, categoryoptioncomboid, attributeoptioncomboid) do update " +
+            "set valuecount = excluded.valuecount, mean = excluded.mean, m2 = excluded.m2, " +
+                "median = excluded.median, lastupdated = excluded.lastupdated";
+        // @formatter:on
+
+        int updated = jdbcTemplate.update( sql, params );
+
+        jdbcTemplate.update( "update datavaluestatisticsupdate set lastupdated = :now " +
+            "where dataelementid = :data_element_id", params );
+
+        log.debug( "Updated {} data value statistics for data element: {}, incremental: {}",
+            updated, dataElementId, incremental );
+    }
+
+    /**
+     * Creates or drops the triggers on the {@code datavalue} table depending
+     * on whether any data element is tracked.
+     */
+    private void updateTracking()
+    {
+        jdbcTemplate.getJdbcTemplate().execute( "select datavaluestatistics_tracking()" );
+    }
+
+    private MapSqlParameterSource getParams( long dataElementId )
+    {
+        return new MapSqlParameterSource()
+            .addValue( "data_element_id", dataElementId )
+            .addValue( "numeric_regexp", NUMERIC_LENIENT_REGEXP )
+            .addValue( "now", new Date() );
+    }
+
+    /**
+     * Indicates whether all transactions with an id lower than the given
+     * transaction id have ended.
+     *
+     * @param transactionId the transaction id.
+     * @return true if all transactions before the given id have ended.
+     */
+    private boolean isEnded( long transactionId )
+    {
+        return Boolean.TRUE.equals( jdbcTemplate.queryForObject(
+            "select txid_snapshot_xmin(txid_current_snapshot()) >= :transaction_id",
+            new MapSqlParameterSource( "transaction_id", transactionId ), Boolean.class ) );
+    }
+}
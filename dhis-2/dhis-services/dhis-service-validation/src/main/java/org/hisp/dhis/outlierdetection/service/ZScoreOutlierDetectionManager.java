@@ -60,6 +60,10 @@ import org.springframework.stereotype.Repository;
  * middle value whereas the modified z-score uses the median as middle value or
  * more mathematically correct as the <em>measure of central tendency</em>.
  *
+ * When the request does not restrict the data start and end date, and the
+ * precomputed statistics of the {@link DataValueStatisticsManager} are up to
+ * date, the mean or median and standard deviation are read from these instead
+ * of being computed from the data values.
  *
  * @author Lars Helge Overland
  */
@@ -69,9 +73,13 @@ public class ZScoreOutlierDetectionManager
 {
     private final NamedParameterJdbcTemplate jdbcTemplate;
 
-    public ZScoreOutlierDetectionManager( NamedParameterJdbcTemplate jdbcTemplate )
+    private final DataValueStatisticsManager statisticsManager;
+
+    public ZScoreOutlierDetectionManager( NamedParameterJdbcTemplate jdbcTemplate,
+        DataValueStatisticsManager statisticsManager )
     {
         this.jdbcTemplate = jdbcTemplate;
+        this.statisticsManager = statisticsManager;
     }
 
     /**
@@ -84,13 +92,10 @@ public class ZScoreOutlierDetectionManager
     public List<OutlierValue> getOutlierValues( OutlierDetectionRequest request )
     {
         final String ouPathClause = getOrgUnitPathClause( request.getOrgUnits() );
-        final String dataStartDateClause = getDataStartDateClause( request.getDataStartDate() );
-        final String dataEndDateClause = getDataEndDateClause( request.getDataEndDate() );
 
         final boolean modifiedZ = request.getAlgorithm() == OutlierDetectionAlgorithm.MOD_Z_SCORE;
-        final String middle_stats_calc = modifiedZ
-            ? "percentile_cont(0.5) within group(order by dv.value::double precision)"
-            : "avg(dv.value::double precision)";
+
+        final String statsSql = getStatisticsSql( request, modifiedZ );
 
         String order = request.getOrderBy() == Order.MEAN_ABS_DEV
             ? "middle_value_abs_dev"
@@ -130,20 +135,7 @@ public class ZScoreOutlierDetectionManager
             ") as dvs " +
             // Mean or Median and std dev mapping query
             "inner join (" +
-                "select dv.dataelementid as dataelementid, dv.sourceid as sourceid, " +
-                "dv.categoryoptioncomboid as categoryoptioncomboid, " +
-                "dv.attributeoptioncomboid as attributeoptioncomboid, " +
-                middle_stats_calc +" as middle_value, "+
-                "stddev_pop(dv.value::double precision) as std_dev " +
-                "from datavalue dv " +
-                "inner join period pe on dv.periodid = pe.periodid " +
-                "inner join organisationunit ou on dv.sourceid = ou.organisationunitid " +
-                "where dv.dataelementid in (:data_element_ids) " +
-                dataStartDateClause +
-                dataEndDateClause +
-                "and " + ouPathClause + " " +
-                "and dv.deleted is false " +
-                "group by dv.dataelementid, dv.sourceid, dv.categoryoptioncomboid, dv.attributeoptioncomboid" +
+                statsSql +
             ") as stats " +
             // Query join
             "on dvs.dataelementid = stats.dataelementid " +
@@ -184,6 +176,51 @@ public class ZScoreOutlierDetectionManager
         }
     }
 
+    /**
+     * Returns the SQL for the sub query of the mean or median and standard
+     * deviation per data element, org unit, category option combo and
+     * attribute option combo. Precomputed statistics are used when the request
+     * does not restrict the data start and end date and the statistics are up
+     * to date.
+     *
+     * @param request the {@link OutlierDetectionRequest}.
+     * @param modifiedZ whether to use the median as middle value.
+     * @return the SQL for the statistics sub query.
+     */
+    private String getStatisticsSql( OutlierDetectionRequest request, boolean modifiedZ )
+    {
+        if ( request.getDataStartDate() == null && request.getDataEndDate() == null
+            && statisticsManager.updateStatistics( request.getDataElementIds() ) )
+        {
+            return statisticsManager.getStatisticsSql( modifiedZ );
+        }
+
+        final String ouPathClause = getOrgUnitPathClause( request.getOrgUnits() );
+        final String dataStartDateClause = getDataStartDateClause( request.getDataStartDate() );
+        final String dataEndDateClause = getDataEndDateClause( request.getDataEndDate() );
+
+        final String middle_stats_calc = modifiedZ
+            ? "percentile_cont(0.5) within group(order by dv.value::double precision)"
+            : "avg(dv.value::double precision)";
+
+        // @formatter:off
+        return "select dv.dataelementid as dataelementid, dv.sourceid as sourceid, " +
+            "dv.categoryoptioncomboid as categoryoptioncomboid, " +
+            "dv.attributeoptioncomboid as attributeoptioncomboid, " +
+            middle_stats_calc + " as middle_value, " +
+            "stddev_pop(dv.value::double precision) as std_dev " +
+            "from datavalue dv " +
+            "inner join period pe on dv.periodid = pe.periodid " +
+            "inner join organisationunit ou on dv.sourceid = ou.organisationunitid " +
+            "where dv.dataelementid in (:data_element_ids) " +
+            dataStartDateClause +
+            dataEndDateClause +
+            "and " + ouPathClause + " " +
+            "and dv.deleted is false " +
+            "group by dv.dataelementid, dv.sourceid, dv.categoryoptioncomboid, dv.attributeoptioncomboid";
+        // @formatter:on
+    }
+
     /**
      * Returns a {@link RowMapper} for {@link OutlierValue}.
      *
@@ -29,7 +29,9 @@ package org.hisp.dhis.artemis.audit;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.DelayQueue;
 
 import lombok.extern.slf4j.Slf4j;
@@ -63,6 +65,11 @@ public class AuditScheduler
 
     private final BlockingQueue<QueuedAudit> delayed = new DelayQueue<>();
 
+    /**
+     * Audits in the delay queue, for constant-time duplicate checks.
+     */
+    private final Set<QueuedAudit> queued = ConcurrentHashMap.newKeySet();
+
     public AuditScheduler( AuditProducerSupplier auditProducerSupplier )
     {
         this.auditProducerSupplier = auditProducerSupplier;
@@ -83,7 +90,7 @@ public class AuditScheduler
         }
         else
         {
-            if ( !delayed.contains( postponed ) )
+            if ( queued.add( postponed ) )
             {
                 delayed.offer( postponed );
             }
@@ -97,6 +104,8 @@ public class AuditScheduler
 
         delayed.drainTo( expired );
 
+        queued.removeAll( expired );
+
         expired.stream().map( QueuedAudit::getAuditItem ).forEach( auditProducerSupplier::publish );
     }
 }
@@ -0,0 +1,98 @@
+-- Precomputed statistics of numeric data values per data element, org unit,
+-- category option combo and attribute option combo, used for outlier detection
+
+create table if not exists datavaluestatistics (
+    dataelementid int8 not null,
+    sourceid int8 not null,
+    categoryoptioncomboid int8 not null,
+    attributeoptioncomboid int8 not null,
+    valuecount int8 not null,
+    mean float8 not null,
+    m2 float8 not null,
+    median float8 not null,
+    lastupdated timestamp not null,
+    constraint datavaluestatistics_pkey primary key (dataelementid, sourceid, categoryoptioncomboid, attributeoptioncomboid)
+);
+
+-- Data elements with tracked statistics. Statistics are computed once change
+-- tracking of the data element is in effect for all transactions, given by the
+-- transaction id in trackedfrom. Lastread is used to stop tracking data
+-- elements whose statistics are no longer read
+
+create table if not exists datavaluestatisticsupdate (
+    dataelementid int8 not null,
+    trackedfrom int8,
+    lastupdated timestamp,
+    lastread timestamp not null,
+    constraint datavaluestatisticsupdate_pkey primary key (dataelementid)
+);
+
+-- Distinct combinations with changed data values per data element, written by
+-- triggers on the datavalue table for data elements with tracked statistics
+
+create table if not exists datavaluestatisticschange (
+    dataelementid int8 not null,
+    sourceid int8 not null,
+    categoryoptioncomboid int8 not null,
+    attributeoptioncomboid int8 not null,
+    constraint datavaluestatisticschange_pkey primary key (dataelementid, sourceid, categoryoptioncomboid, attributeoptioncomboid)
+);
+
+create or replace function datavaluestatistics_changes() returns trigger as $$
+begin
+    if (tg_op = 'INSERT') then
+        insert into datavaluestatisticschange (dataelementid, sourceid, categoryoptioncomboid, attributeoptioncomboid)
+        select distinct n.dataelementid, n.sourceid, n.categoryoptioncomboid, n.attributeoptioncomboid
+        from new_rows n
+        where n.dataelementid in (select dataelementid from datavaluestatisticsupdate)
+        on conflict do nothing;
+    elsif (tg_op = 'UPDATE') then
+        insert into datavaluestatisticschange (dataelementid, sourceid, categoryoptioncomboid, attributeoptioncomboid)
+        select c.dataelementid, c.sourceid, c.categoryoptioncomboid, c.attributeoptioncomboid
+        from (
+            select n.dataelementid, n.sourceid, n.categoryoptioncomboid, n.attributeoptioncomboid from new_rows n
+            union
+            select o.dataelementid, o.sourceid, o.categoryoptioncomboid, o.attributeoptioncomboid from old_rows o
+        ) as c
+        where c.dataelementid in (select dataelementid from datavaluestatisticsupdate)
+        on conflict do nothing;
+    elsif (tg_op = 'DELETE') then
+        insert into datavaluestatisticschange (dataelementid, sourceid, categoryoptioncomboid, attributeoptioncomboid)
+        select distinct o.dataelementid, o.sourceid, o.categoryoptioncomboid, o.attributeoptioncomboid
+        from old_rows o
+        where o.dataelementid in (select dataelementid from datavaluestatisticsupdate)
+        on conflict do nothing;
+    end if;
+    return null;
+end;
+$$ language plpgsql;
+
+-- Creates the triggers on the datavalue table while any data element has
+-- tracked statistics and drops them otherwise, so that writes of data values
+-- carry no tracking cost on instances which do not read statistics
+
+create or replace function datavaluestatistics_tracking() returns void as $$
+begin
+    perform pg_advisory_xact_lock(hashtext('datavaluestatistics_tracking'));
+
+    if exists (select 1 from datavaluestatisticsupdate) then
+        if not exists (select 1 from pg_trigger where tgrelid = 'datavalue'::regclass and tgname = 'datavalue_statistics_insert') then
+            create trigger datavalue_statistics_insert after insert on datavalue
+                referencing new table as new_rows
+                for each statement execute procedure datavaluestatistics_changes();
+
+            create trigger datavalue_statistics_update after update on datavalue
+                referencing old table as old_rows new table as new_rows
+                for each statement execute procedure datavaluestatistics_changes();
+
+            create trigger datavalue_statistics_delete after delete on datavalue
+                referencing old table as old_rows
+                for each statement execute procedure datavaluestatistics_changes();
+        end if;
+    else
+        drop trigger if exists datavalue_statistics_insert on datavalue;
+        drop trigger if exists datavalue_statistics_update on datavalue;
+        drop trigger if exists datavalue_statistics_delete on datavalue;
+    end if;
+end;
+$$ language plpgsql;
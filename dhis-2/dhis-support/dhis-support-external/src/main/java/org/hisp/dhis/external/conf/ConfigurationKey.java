@@ -339,6 +339,12 @@ public enum ConfigurationKey
      */
     ANALYTICS_CACHE_EXPIRATION( "analytics.cache.expiration", "0" ),
 
+    /**
+     * Number of rows fetched per database round trip for analytics queries
+     * executed on the read-only data source. (default: 1000)
+     */
+    ANALYTICS_QUERY_FETCH_SIZE( "analytics.query.fetch_size", "1000", false ),
+
     /**
      * Artemis support mode, 2 modes supported: EMBEDDED (starts up an embedded
      * Artemis which lives in the same process as your DHIS2 instance), NATIVE
@@ -455,6 +461,23 @@ public enum ConfigurationKey
      */
     MONITORING_CPU_ENABLED( "monitoring.cpu.enabled", Constants.OFF, false ),
 
+    /**
+     * Tracker import preheat cache monitoring. (default: off)
+     */
+    MONITORING_TRACKER_PREHEAT_CACHE_ENABLED( "monitoring.tracker.preheat.cache.enabled", Constants.OFF, false ),
+
+    /**
+     * Enable the metadata cache used by the tracker importer preheat.
+     * (default: off)
+     */
+    TRACKER_IMPORT_PREHEAT_CACHE_ENABLED( "tracker.import.preheat.cache.enabled", Constants.OFF, false ),
+
+    /**
+     * Maximum estimated memory in MB used by each metadata type cached by the
+     * tracker importer preheat. (default: 10)
+     */
+    TRACKER_IMPORT_PREHEAT_CACHE_MAX_SIZE( "tracker.import.preheat.cache.max_size", "10", false ),
+
     /**
      * AppHub base URL. (default: https://apps.dhis2.org).
      */
@@ -509,6 +532,25 @@ public enum ConfigurationKey
      */
     AUDIT_TRACKER_MATRIX( "audit.tracker", "", false ),
 
+    /**
+     * Maximum number of audit messages received from an audit topic which are
+     * persisted to the audit table and committed in a single transaction.
+     * (default: 250).
+     */
+    AUDIT_CONSUMER_BATCH_SIZE( "audit.consumer.batch_size", "250", false ),
+
+    /**
+     * Audit consumer monitoring of batch size, persisted audits and lag.
+     * (default: off)
+     */
+    MONITORING_AUDIT_CONSUMER_ENABLED( "monitoring.audit.consumer.enabled", Constants.OFF, false ),
+
+    /**
+     * Program rule engine monitoring of context cache hits and evaluation
+     * latency. (default: off)
+     */
+    MONITORING_PROGRAM_RULE_ENGINE_ENABLED( "monitoring.program.rule.engine.enabled", Constants.OFF, false ),
+
     /**
      * Enable OIDC. (default: off).
      */
@@ -106,7 +106,8 @@ public class DataSourceConfig
 
         JdbcTemplate jdbcTemplate = new JdbcTemplate(
             MoreObjects.firstNonNull( manager.getReadOnlyDataSource(), dataSource ) );
-        jdbcTemplate.setFetchSize( 1000 );
+        jdbcTemplate.setFetchSize(
+            Integer.parseInt( dhisConfig.getProperty( ConfigurationKey.ANALYTICS_QUERY_FETCH_SIZE ) ) );
 
         return jdbcTemplate;
     }
@@ -89,6 +89,9 @@ public class HibernateDbmsManager
         emptyTable( "smscommands" );
         emptyTable( "incomingsms" );
 
+        emptyTable( "datavaluestatistics" );
+        emptyTable( "datavaluestatisticsupdate" );
+        emptyTable( "datavaluestatisticschange" );
         emptyTable( "datavalueaudit" );
         emptyTable( "datavalue" );
         emptyTable( "completedatasetregistration" );
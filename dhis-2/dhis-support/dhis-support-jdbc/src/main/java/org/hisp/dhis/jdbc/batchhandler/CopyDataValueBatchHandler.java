@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.jdbc.batchhandler;
+
+import java.util.List;
+
+import org.hisp.dhis.datavalue.DataValue;
+import org.hisp.quick.JdbcConfiguration;
+
+/**
+ * {@link DataValueBatchHandler} which writes added data values through the
+ * PostgreSQL COPY protocol instead of multi-row inserts. Added data values are
+ * merged with existing data values through a staging table, which makes the
+ * handler suitable for initial loads and imports which skip the existing
+ * value check. Falls back to regular inserts for other databases.
+ */
+public class CopyDataValueBatchHandler
+    extends DataValueBatchHandler
+{
+    private PostgreSqlCopyWriter copyWriter;
+
+    private Boolean copySupported;
+
+    // -------------------------------------------------------------------------
+    // Constructor
+    // -------------------------------------------------------------------------
+
+    public CopyDataValueBatchHandler( JdbcConfiguration config )
+    {
+        super( config );
+    }
+
+    // -------------------------------------------------------------------------
+    // BatchHandler implementation
+    // -------------------------------------------------------------------------
+
+    @Override
+    public boolean addObject( DataValue object )
+    {
+        if ( !isCopySupported() )
+        {
+            return super.addObject( object );
+        }
+
+        copyWriter.add( getValues( object ) );
+        return true;
+    }
+
+    @Override
+    public boolean insertObject( DataValue object )
+    {
+        flushCopy();
+        return super.insertObject( object );
+    }
+
+    @Override
+    public DataValue findObject( DataValue object )
+    {
+        flushCopy();
+        return super.findObject( object );
+    }
+
+    @Override
+    public boolean objectExists( DataValue object )
+    {
+        flushCopy();
+        return super.objectExists( object );
+    }
+
+    @Override
+    public void updateObject( DataValue object )
+    {
+        flushCopy();
+        super.updateObject( object );
+    }
+
+    @Override
+    public void deleteObject( DataValue object )
+    {
+        flushCopy();
+        super.deleteObject( object );
+    }
+
+    @Override
+    public void flush()
+    {
+        try
+        {
+            flushCopy();
+        }
+        finally
+        {
+            if ( copyWriter != null )
+            {
+                copyWriter.close();
+            }
+
+            super.flush();
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Supportive methods
+    // -------------------------------------------------------------------------
+
+    /**
+     * Writes the buffered objects without closing the handler, so that
+     * subsequent find, update and delete operations see them.
+     */
+    private void flushCopy()
+    {
+        if ( copyWriter != null )
+        {
+            copyWriter.flush();
+        }
+    }
+
+    private boolean isCopySupported()
+    {
+        if ( copySupported == null )
+        {
+            copySupported = PostgreSqlCopyWriter.isSupported( getConfiguration() );
+
+            copyWriter = copySupported
+                ? new PostgreSqlCopyWriter( getConfiguration().getDataSource(), getTableName(), getColumns(),
+                    getUniqueColumns(), List.of( "created" ), null, null )
+                : null;
+        }
+
+        return copySupported;
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.jdbc.batchhandler;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.hisp.quick.JdbcConfiguration;
+import org.hisp.quick.StatementDialect;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.UncategorizedSQLException;
+
+/**
+ * Writes rows to a table through the PostgreSQL COPY protocol. Rows are
+ * buffered as CSV, streamed into a temporary staging table on flush and
+ * merged into the target table from there. If the table has unique columns,
+ * existing rows are updated and the last of several staged rows with the same
+ * unique values wins. Columns listed as insert only, such as the created
+ * timestamp, are not overwritten on existing rows.
+ *
+ * A single connection is obtained on the first flush and used for all flushes
+ * until the writer is closed.
+ */
+class PostgreSqlCopyWriter
+{
+    /**
+     * Number of buffered rows which triggers a flush.
+     */
+    private static final int MAX_BUFFERED_ROWS = 50000;
+
+    private static final String STAGING_ROW_COLUMN = "copyrowid";
+
+    private final DataSource dataSource;
+
+    private final String table;
+
+    private final List<String> columns;
+
+    private final List<String> uniqueColumns;
+
+    private final List<String> insertOnlyColumns;
+
+    private final String idColumn;
+
+    private final String idSequence;
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    private int bufferedRows = 0;
+
+    private Connection connection;
+
+    /**
+     * @param dataSource the data source.
+     * @param table the name of the target table.
+     * @param columns the columns to write.
+     * @param uniqueColumns the unique columns to merge on, can be empty.
+     * @param insertOnlyColumns the columns which are not updated on existing
+     *        rows, can be empty.
+     * @param idColumn the identifier column to populate from a sequence, can
+     *        be null.
+     * @param idSequence the identifier sequence, can be null.
+     */
+    PostgreSqlCopyWriter( DataSource dataSource, String table, List<String> columns,
+        List<String> uniqueColumns, List<String> insertOnlyColumns, String idColumn, String idSequence )
+    {
+        this.dataSource = dataSource;
+        this.table = table;
+        this.columns = columns;
+        this.uniqueColumns = uniqueColumns;
+        this.insertOnlyColumns = insertOnlyColumns;
+        this.idColumn = idColumn;
+        this.idSequence = idSequence;
+    }
+
+    /**
+     * Indicates whether the given JDBC configuration is for PostgreSQL, which
+     * supports the COPY protocol.
+     *
+     * @param configuration the {@link JdbcConfiguration}.
+     * @return true if COPY is supported.
+     */
+    static boolean isSupported( JdbcConfiguration configuration )
+    {
+        return StatementDialect.POSTGRESQL == configuration.getDialect();
+    }
+
+    /**
+     * Adds a row to the buffer. Flushes the buffer if it is full.
+     *
+     * @param values the row values in the order of the columns.
+     */
+    void add( List<Object> values )
+    {
+        for ( int i = 0; i < values.size(); i++ )
+        {
+            if ( i > 0 )
+            {
+                buffer.append( ',' );
+            }
+
+            appendCsvValue( values.get( i ) );
+        }
+
+        buffer.append( '\n' );
+
+        if ( ++bufferedRows >= MAX_BUFFERED_ROWS )
+        {
+            flush();
+        }
+    }
+
+    /**
+     * Copies the buffered rows into the staging table and merges them into
+     * the target table in one transaction.
+     */
+    void flush()
+    {
+        if ( bufferedRows == 0 )
+        {
+            return;
+        }
+
+        String staging = table + "_copystaging";
+        String columnList = String.join( ",", columns );
+
+        try
+        {
+            if ( connection == null )
+            {
+                connection = dataSource.getConnection();
+            }
+
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit( false );
+
+            try ( Statement statement = connection.createStatement() )
+            {
+                statement.execute( "create temp table " + staging + " on commit drop as " +
+                    "select " + columnList + " from " + table + " with no data" );
+                statement.execute( "alter table " + staging + " add column " + STAGING_ROW_COLUMN + " bigserial" );
+
+                connection.unwrap( PGConnection.class ).getCopyAPI().copyIn(
+                    "copy " + staging + " (" + columnList + ") from stdin with (format csv)",
+                    new StringReader( buffer.toString() ) );
+
+                statement.execute( getMergeSql( staging ) );
+
+                connection.commit();
+            }
+            catch ( SQLException | IOException | RuntimeException ex )
+            {
+                connection.rollback();
+                throw ex;
+            }
+            finally
+            {
+                connection.setAutoCommit( autoCommit );
+            }
+        }
+        catch ( SQLException ex )
+        {
+            throw new UncategorizedSQLException( "Copy into table " + table, null, ex );
+        }
+        catch ( IOException ex )
+        {
+            throw new UncheckedIOException( ex );
+        }
+        finally
+        {
+            buffer.setLength( 0 );
+            bufferedRows = 0;
+        }
+    }
+
+    /**
+     * Closes the connection of this writer. Buffered rows which have not been
+     * flushed are discarded.
+     */
+    void close()
+    {
+        buffer.setLength( 0 );
+        bufferedRows = 0;
+
+        if ( connection != null )
+        {
+            try
+            {
+                connection.close();
+            }
+            catch ( SQLException ex )
+            {
+                throw new UncategorizedSQLException( "Close connection for table " + table, null, ex );
+            }
+            finally
+            {
+                connection = null;
+            }
+        }
+    }
+
+    private String getMergeSql( String staging )
+    {
+        String columnList = String.join( ",", columns );
+
+        String insertColumns = idColumn != null ? idColumn + "," + columnList : columnList;
+        String selectColumns = idColumn != null ? "nextval('" + idSequence + "')," + columnList : columnList;
+
+        if ( uniqueColumns.isEmpty() )
+        {
+            return "insert into " + table + " (" + insertColumns + ") " +
+                "select " + selectColumns + " from " + staging + " order by " + STAGING_ROW_COLUMN;
+        }
+
+        String uniqueList = String.join( ",", uniqueColumns );
+
+        String updateList = columns.stream()
+            .filter( column -> !uniqueColumns.contains( column ) && !insertOnlyColumns.contains( column ) )
+            .map( column -> column + " = excluded." + column )
+            .collect( Collectors.joining( "," ) );
+
+        return "insert into " + table + " (" + insertColumns + ") " +
+            "select " + selectColumns + " from (" +
+            "select distinct on (" + uniqueList + ") * from " + staging + " " +
+            "order by " + uniqueList + ", " + STAGING_ROW_COLUMN + " desc) as s " +
+            "order by " + STAGING_ROW_COLUMN + " " +
+            "on conflict (" + uniqueList + ") " +
+            (updateList.isEmpty() ? "do nothing" : "do update set " + updateList);
+    }
+
+    private void appendCsvValue( Object value )
+    {
+        if ( value == null )
+        {
+            return;
+        }
+
+        if ( value instanceof Number || value instanceof Boolean )
+        {
+            buffer.append( value );
+            return;
+        }
+
+        buffer.append( '"' ).append( value.toString().replace( "\"", "\"\"" ) ).append( '"' );
+    }
+}
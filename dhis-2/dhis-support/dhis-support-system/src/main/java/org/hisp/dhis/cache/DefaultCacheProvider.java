@@ -132,7 +132,11 @@ public class DefaultCacheProvider
         jobCancelRequested,
         dataIntegritySummaryCache,
         dataIntegrityDetailsCache,
-        subExpressionCache
+        subExpressionCache,
+        expressionParseTreeCache,
+        fieldFilterPlanCache,
+        programRuleEngineContextCache,
+        orgUnitHierarchyIndexCache
     }
 
     private final Map<String, Cache<?>> allCaches = new ConcurrentHashMap<>();
@@ -646,4 +650,66 @@ public class DefaultCacheProvider
             .forRegion( Region.subExpressionCache.name() )
             .expireAfterWrite( 5, TimeUnit.MINUTES ) );
     }
+
+    /**
+     * Cache for parse trees of expressions. Parse trees are not serializable
+     * and are therefore always kept in memory.
+     */
+    @Override
+    public <V> Cache<V> createExpressionParseTreeCache()
+    {
+        return registerCache( this.<V> newBuilder()
+            .forRegion( Region.expressionParseTreeCache.name() )
+            .expireAfterAccess( 1, TimeUnit.HOURS )
+            .withInitialCapacity( (int) getActualSize( SIZE_1K ) )
+            .forceInMemory()
+            .withMaximumSize( orZeroInTestRun( getActualSize( SIZE_10K ) ) ) );
+    }
+
+    /**
+     * Cache for field filter plans, keyed by class and field filters. Plans
+     * hold object writers and are therefore always kept in memory.
+     */
+    @Override
+    public <V> Cache<V> createFieldFilterPlanCache()
+    {
+        return registerCache( this.<V> newBuilder()
+            .forRegion( Region.fieldFilterPlanCache.name() )
+            .expireAfterAccess( 1, TimeUnit.HOURS )
+            .withInitialCapacity( (int) getActualSize( SIZE_100 ) )
+            .forceInMemory()
+            .withMaximumSize( orZeroInTestRun( getActualSize( SIZE_1K ) ) ) );
+    }
+
+    /**
+     * Cache for mapped program rules, variables and constants per program and
+     * program stage. Entries are keyed by a version of their source metadata
+     * and are therefore always kept in memory.
+     */
+    @Override
+    public <V> Cache<V> createProgramRuleEngineContextCache()
+    {
+        return registerCache( this.<V> newBuilder()
+            .forRegion( Region.programRuleEngineContextCache.name() )
+            .expireAfterWrite( 1, TimeUnit.HOURS )
+            .withInitialCapacity( (int) getActualSize( 20 ) )
+            .forceInMemory()
+            .withMaximumSize( orZeroInTestRun( getActualSize( SIZE_1K ) ) ) );
+    }
+
+    /**
+     * Cache for the organisation unit hierarchy index, which is a single
+     * entry. Local changes are applied to the entry, while changes made by
+     * other servers of a cluster are picked up when the entry expires.
+     */
+    @Override
+    public <V> Cache<V> createOrgUnitHierarchyIndexCache()
+    {
+        return registerCache( this.<V> newBuilder()
+            .forRegion( Region.orgUnitHierarchyIndexCache.name() )
+            .expireAfterWrite( 15, TimeUnit.MINUTES )
+            .withInitialCapacity( (int) SIZE_1 )
+            .forceInMemory()
+            .withMaximumSize( SIZE_1 ) );
+    }
 }
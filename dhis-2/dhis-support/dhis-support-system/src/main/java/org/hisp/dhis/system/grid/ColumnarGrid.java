@@ -0,0 +1,1994 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.system.grid;
+
+import static java.util.stream.Collectors.toList;
+import static org.hisp.dhis.commons.collection.CollectionUtils.mapToList;
+import static org.hisp.dhis.feedback.ErrorCode.E7230;
+
+import java.io.Serializable;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import net.sf.jasperreports.engine.JRException;
+import net.sf.jasperreports.engine.JRField;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.Validate;
+import org.apache.commons.math3.stat.regression.SimpleRegression;
+import org.apache.commons.math3.util.Precision;
+import org.hisp.dhis.common.ExecutionPlan;
+import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.common.GridHeader;
+import org.hisp.dhis.common.IllegalQueryException;
+import org.hisp.dhis.common.PerformanceMetrics;
+import org.hisp.dhis.common.Reference;
+import org.hisp.dhis.common.adapter.JacksonRowDataSerializer;
+import org.hisp.dhis.feedback.ErrorMessage;
+import org.hisp.dhis.system.util.MathUtils;
+import org.springframework.jdbc.support.rowset.SqlRowSet;
+import org.springframework.jdbc.support.rowset.SqlRowSetMetaData;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.collect.Iterables;
+
+/**
+ * Grid implementation which stores values column by column in primitive
+ * backed arrays instead of one list of boxed objects per row. Columns holding
+ * {@link Double} or {@link Long} values are stored as {@code double[]} and
+ * {@code long[]}, and columns holding strings, which for analytics responses
+ * are mostly dimension item identifiers, are dictionary encoded so that each
+ * distinct string is stored once. The storage type of a column is decided by
+ * the first non-null value written to it, and a column falls back to plain
+ * object storage if a value of another type is written later, so values are
+ * always returned exactly as they were added.
+ * <p>
+ * Rows returned by {@link #getRow(int)} and {@link #getRows()} are copies of
+ * the values of the row at the time they are read, so they do not change when
+ * the grid is sorted or limited afterwards. Cells replaced through a row are
+ * written back to the grid, which fails with a
+ * {@link ConcurrentModificationException} if rows or columns of the grid were
+ * reordered, removed or added since the row was read. Rows cannot be
+ * structurally modified; columns are added and removed through the grid.
+ * Cells which have not been written are null.
+ *
+ * @see ListGrid
+ */
+public class ColumnarGrid
+    implements Grid
+{
+    private static final String REGRESSION_SUFFIX = "_regression";
+
+    private static final String CUMULATIVE_SUFFIX = "_cumulative";
+
+    /**
+     * The title of the grid.
+     */
+    private String title;
+
+    /**
+     * The subtitle of the grid.
+     */
+    private String subtitle;
+
+    /**
+     * The name of a potential corresponding table.
+     */
+    private String table;
+
+    /**
+     * A List which represents the column headers of the grid.
+     */
+    private List<GridHeader> headers;
+
+    /**
+     * A Map which can hold arbitrary meta-data.
+     */
+    private Map<String, Object> metaData;
+
+    /**
+     * An Object which can hold execution plans and related data.
+     */
+    private PerformanceMetrics performanceMetrics;
+
+    /**
+     * A Map which can hold internal arbitrary meta data. Will not be
+     * serialized.
+     */
+    private Map<String, Object> internalMetaData;
+
+    /**
+     * The columns of the grid.
+     */
+    private List<Column> columns;
+
+    /**
+     * The number of rows in the grid. The last row is the current row for
+     * writing data.
+     */
+    private int height;
+
+    /**
+     * Indicating the current column in the current row for writing data.
+     */
+    private int currentColumnWriteIndex;
+
+    /**
+     * References.
+     */
+    private List<Reference> refs;
+
+    /**
+     * Indicating the current row in the grid for reading data.
+     */
+    private int currentRowReadIndex = -1;
+
+    /**
+     * Represents a mapping between column names and the index of the column in
+     * the grid.
+     */
+    private Map<String, Integer> columnIndexMap = new HashMap<>();
+
+    private boolean lastDataRow;
+
+    /**
+     * The number of times rows or columns were reordered, removed or inserted,
+     * used to detect writes through rows which were read before.
+     */
+    private int modCount;
+
+    /**
+     * Default constructor.
+     */
+    public ColumnarGrid()
+    {
+        this( new HashMap<>(), new HashMap<>() );
+    }
+
+    /**
+     * @param metaData meta data.
+     * @param internalMetaData internal meta data.
+     */
+    public ColumnarGrid( Map<String, Object> metaData, Map<String, Object> internalMetaData )
+    {
+        this.headers = new ArrayList<>();
+        this.metaData = metaData;
+        this.internalMetaData = internalMetaData;
+        this.columns = new ArrayList<>();
+    }
+
+    /**
+     * Copy constructor. Headers, columns and meta data structures are copied,
+     * while cell values and meta data values which are not collections or
+     * maps are shared with the given grid, as in {@link ListGrid#ListGrid(Grid)}.
+     *
+     * @param grid the grid to copy.
+     */
+    public ColumnarGrid( Grid grid )
+    {
+        this( ListGrid.copyMap( grid.getMetaData() ), ListGrid.copyMap( grid.getInternalMetaData() ) );
+        this.title = grid.getTitle();
+        this.subtitle = grid.getSubtitle();
+        this.table = grid.getTable();
+        this.headers = mapToList( grid.getHeaders(), GridHeader::new );
+        this.performanceMetrics = grid.getPerformanceMetrics();
+        this.refs = grid.getRefs() != null ? new ArrayList<>( grid.getRefs() ) : null;
+        this.lastDataRow = grid.hasLastDataRow();
+
+        if ( grid instanceof ColumnarGrid )
+        {
+            ColumnarGrid source = (ColumnarGrid) grid;
+            int[] allRows = range( 0, source.height );
+            source.columns.forEach( column -> columns.add( column.select( allRows ) ) );
+            this.height = source.height;
+            this.currentColumnWriteIndex = source.currentColumnWriteIndex;
+        }
+        else
+        {
+            addRows( grid );
+        }
+
+        updateColumnIndexMap();
+    }
+
+    // ---------------------------------------------------------------------
+    // Public methods
+    // ---------------------------------------------------------------------
+
+    @Override
+    @JsonProperty
+    public String getTitle()
+    {
+        return title;
+    }
+
+    @Override
+    public Grid setTitle( String title )
+    {
+        this.title = title;
+
+        return this;
+    }
+
+    @Override
+    @JsonProperty
+    public String getSubtitle()
+    {
+        return subtitle;
+    }
+
+    @Override
+    public Grid setSubtitle( String subtitle )
+    {
+        this.subtitle = subtitle;
+
+        return this;
+    }
+
+    @Override
+    @JsonProperty
+    public String getTable()
+    {
+        return table;
+    }
+
+    @Override
+    public Grid setTable( String table )
+    {
+        this.table = table;
+
+        return this;
+    }
+
+    @Override
+    public Grid addHeader( GridHeader header )
+    {
+        headers.add( header );
+
+        updateColumnIndexMap();
+
+        return this;
+    }
+
+    @Override
+    public Grid addHeader( int headerIndex, GridHeader header )
+    {
+        headers.add( headerIndex, header );
+
+        updateColumnIndexMap();
+
+        return this;
+    }
+
+    @Override
+    public Grid addHeaders( int headerIndex, List<GridHeader> gridHeaders )
+    {
+        if ( gridHeaders == null || gridHeaders.isEmpty() )
+        {
+            return this;
+        }
+
+        headers.addAll( headerIndex, gridHeaders );
+
+        updateColumnIndexMap();
+
+        return this;
+    }
+
+    @Override
+    public Grid addEmptyHeaders( int number )
+    {
+        for ( int i = 0; i < number; i++ )
+        {
+            headers.add( new GridHeader( "", false, false ) );
+        }
+
+        updateColumnIndexMap();
+
+        return this;
+    }
+
+    @Override
+    public Grid replaceHeaders( List<GridHeader> gridHeaders )
+    {
+        if ( gridHeaders == null || gridHeaders.isEmpty() )
+        {
+            return this;
+        }
+
+        headers.clear();
+        headers.addAll( gridHeaders );
+
+        updateColumnIndexMap();
+
+        return this;
+    }
+
+    @Override
+    @JsonProperty
+    public List<GridHeader> getHeaders()
+    {
+        return headers;
+    }
+
+    @Override
+    public List<GridHeader> getVisibleHeaders()
+    {
+        return headers.stream()
+            .filter( h -> !h.isHidden() )
+            .collect( Collectors.toList() );
+    }
+
+    @Override
+    public List<GridHeader> getMetadataHeaders()
+    {
+        return headers.stream()
+            .filter( GridHeader::isMeta )
+            .collect( Collectors.toList() );
+    }
+
+    @Override
+    public int getIndexOfHeader( String name )
+    {
+        return headers.indexOf( new GridHeader( name ) );
+    }
+
+    @Override
+    @JsonProperty
+    public int getHeight()
+    {
+        return height;
+    }
+
+    @Override
+    @JsonProperty
+    public int getWidth()
+    {
+        return height > 0 ? columns.size() : 0;
+    }
+
+    @Override
+    @JsonProperty
+    public int getHeaderWidth()
+    {
+        return headers.size();
+    }
+
+    @Override
+    @JsonProperty
+    public Map<String, Object> getMetaData()
+    {
+        return metaData;
+    }
+
+    @Override
+    public Grid setMetaData( Map<String, Object> metaData )
+    {
+        this.metaData = metaData;
+        return this;
+    }
+
+    @Override
+    public Grid addMetaData( String key, Object value )
+    {
+        this.metaData.put( key, value );
+        return this;
+    }
+
+    @Override
+    @JsonIgnore
+    public Map<String, Object> getInternalMetaData()
+    {
+        return internalMetaData;
+    }
+
+    @Override
+    public Grid setInternalMetaData( Map<String, Object> internalMetaData )
+    {
+        this.internalMetaData = internalMetaData;
+        return this;
+    }
+
+    @Override
+    @JsonProperty
+    public PerformanceMetrics getPerformanceMetrics()
+    {
+        return performanceMetrics;
+    }
+
+    @Override
+    public int getVisibleWidth()
+    {
+        if ( height == 0 || headers.isEmpty() )
+        {
+            return 0;
+        }
+
+        int visibleWidth = 0;
+
+        for ( int i = 0; i < columns.size(); i++ )
+        {
+            if ( !headers.get( i ).isHidden() )
+            {
+                visibleWidth++;
+            }
+        }
+
+        return visibleWidth;
+    }
+
+    @Override
+    public Grid addRow()
+    {
+        height++;
+
+        currentColumnWriteIndex = 0;
+
+        return this;
+    }
+
+    @Override
+    public Grid addRows( Grid grid )
+    {
+        for ( List<Object> row : grid.getRows() )
+        {
+            addRow();
+
+            for ( Object value : row )
+            {
+                addValue( value );
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public Grid addValue( Object value )
+    {
+        if ( height == 0 )
+        {
+            throw new IllegalStateException( "Grid has no row to add values to" );
+        }
+
+        int columnIndex = currentColumnWriteIndex++;
+
+        if ( columnIndex == columns.size() )
+        {
+            columns.add( new NullColumn() );
+        }
+
+        setValue( height - 1, columnIndex, value );
+
+        return this;
+    }
+
+    @Override
+    public Grid addValues( Object[] values )
+    {
+        for ( Object value : values )
+        {
+            addValue( value );
+        }
+
+        return this;
+    }
+
+    @Override
+    public Grid addValuesVar( Object... values )
+    {
+        return addValues( values );
+    }
+
+    @Override
+    public Grid addValuesAsList( List<Object> values )
+    {
+        for ( Object value : values )
+        {
+            addValue( value );
+        }
+
+        return this;
+    }
+
+    @Override
+    public Grid addEmptyValue()
+    {
+        addValue( StringUtils.EMPTY );
+
+        return this;
+    }
+
+    @Override
+    public Grid addEmptyValues( int number )
+    {
+        for ( int i = 0; i < number; i++ )
+        {
+            addEmptyValue();
+        }
+
+        return this;
+    }
+
+    @Override
+    public Grid addNullValues( int number )
+    {
+        for ( int i = 0; i < number; i++ )
+        {
+            addValue( null );
+        }
+
+        return this;
+    }
+
+    @Override
+    public List<Object> getRow( int rowIndex )
+    {
+        return new Row( Objects.checkIndex( rowIndex, height ) );
+    }
+
+    @Override
+    @JsonProperty
+    @JsonSerialize( using = JacksonRowDataSerializer.class )
+    public List<List<Object>> getRows()
+    {
+        return new Rows();
+    }
+
+    @Override
+    @JsonProperty
+    public List<Reference> getRefs()
+    {
+        return refs;
+    }
+
+    @Override
+    public List<List<Object>> getVisibleRows()
+    {
+        List<List<Object>> tempGrid = new ArrayList<>();
+
+        if ( headers != null && headers.size() > 0 )
+        {
+            for ( int rowIndex = 0; rowIndex < height; rowIndex++ )
+            {
+                List<Object> tempRow = new ArrayList<>();
+
+                for ( int i = 0; i < columns.size(); i++ )
+                {
+                    if ( !headers.get( i ).isHidden() )
+                    {
+                        tempRow.add( columns.get( i ).get( rowIndex ) );
+                    }
+                }
+
+                tempGrid.add( tempRow );
+            }
+        }
+
+        return tempGrid;
+    }
+
+    @Override
+    public List<Object> getColumn( int columnIndex )
+    {
+        List<Object> column = new ArrayList<>( height );
+
+        if ( height > 0 )
+        {
+            Column source = columns.get( columnIndex );
+
+            for ( int i = 0; i < height; i++ )
+            {
+                column.add( source.get( i ) );
+            }
+        }
+
+        return column;
+    }
+
+    @Override
+    public Object getValue( int rowIndex, int columnIndex )
+    {
+        if ( rowIndex < 0 || rowIndex >= height || columnIndex < 0 || columnIndex >= columns.size() )
+        {
+            throw new IllegalArgumentException( "Grid does not contain the requested row / column" );
+        }
+
+        return columns.get( columnIndex ).get( rowIndex );
+    }
+
+    @Override
+    public Grid addColumn( List<Object> columnValues )
+    {
+        return addColumn( columns.size(), columnValues );
+    }
+
+    @Override
+    public Grid addColumn( int columnIndex, List<Object> columnValues )
+    {
+        if ( height != columnValues.size() )
+        {
+            throw new IllegalStateException( "Number of column values (" + columnValues.size()
+                + ") is not equal to number of rows (" + height + ")" );
+        }
+
+        if ( height > 0 )
+        {
+            columns.add( columnIndex, toColumn( columnValues ) );
+            modCount++;
+        }
+
+        return this;
+    }
+
+    @Override
+    public Grid addAndPopulateColumnsBefore( int referenceColumnIndex, Map<Object, List<?>> valueMap, int newColumns )
+    {
+        Validate.inclusiveBetween( 0, getWidth() - 1, referenceColumnIndex );
+        Validate.notNull( valueMap );
+
+        Column referenceColumn = columns.get( referenceColumnIndex );
+
+        List<Column> populatedColumns = new ArrayList<>( newColumns );
+
+        for ( int i = 0; i < newColumns; i++ )
+        {
+            populatedColumns.add( new NullColumn() );
+        }
+
+        for ( int rowIndex = 0; rowIndex < height; rowIndex++ )
+        {
+            List<?> list = valueMap.get( referenceColumn.get( rowIndex ) );
+
+            for ( int i = 0; list != null && i < newColumns; i++ )
+            {
+                populatedColumns.set( i,
+                    write( populatedColumns.get( i ), rowIndex, Iterables.get( list, i, null ) ) );
+            }
+        }
+
+        columns.addAll( referenceColumnIndex, populatedColumns );
+        modCount++;
+
+        return this;
+    }
+
+    @Override
+    public Grid removeEmptyColumns()
+    {
+        if ( getWidth() == 0 )
+        {
+            return this;
+        }
+
+        int lastCol = getWidth() - 1;
+
+        for ( int i = lastCol; i >= 0; i-- )
+        {
+            if ( columnIsEmpty( i ) )
+            {
+                removeColumn( i );
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public boolean columnIsEmpty( int columnIndex )
+    {
+        if ( height == 0 )
+        {
+            return true;
+        }
+
+        Column column = columns.get( columnIndex );
+
+        for ( int i = 0; i < height; i++ )
+        {
+            if ( column.get( i ) != null )
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public Grid removeColumn( int columnIndex )
+    {
+        if ( headers.size() > 0 )
+        {
+            headers.remove( columnIndex );
+        }
+
+        if ( height > 0 || columnIndex < columns.size() )
+        {
+            columns.remove( columnIndex );
+            modCount++;
+        }
+
+        updateColumnIndexMap();
+
+        return this;
+    }
+
+    @Override
+    public Grid removeColumn( GridHeader header )
+    {
+        int index = headers.indexOf( header );
+
+        if ( index != -1 )
+        {
+            removeColumn( index );
+        }
+
+        return this;
+    }
+
+    @Override
+    public Grid removeCurrentWriteRow()
+    {
+        if ( height == 0 )
+        {
+            throw new IllegalStateException( "Grid has no row to remove" );
+        }
+
+        height--;
+        modCount++;
+
+        for ( Column column : columns )
+        {
+            column.set( height, null );
+        }
+
+        currentColumnWriteIndex = columns.size();
+
+        return this;
+    }
+
+    @Override
+    public boolean hasMetaDataKey( String key )
+    {
+        return metaData != null && metaData.containsKey( key );
+    }
+
+    @Override
+    public boolean hasInternalMetaDataKey( String key )
+    {
+        return internalMetaData != null && internalMetaData.containsKey( key );
+    }
+
+    @Override
+    public Grid limitGrid( int limit )
+    {
+        if ( limit < 0 )
+        {
+            throw new IllegalStateException( "Illegal limit: " + limit );
+        }
+
+        if ( limit > 0 && limit <= getHeight() )
+        {
+            retainRows( 0, limit );
+        }
+
+        return this;
+    }
+
+    @Override
+    public Grid limitGrid( int startPos, int endPos )
+    {
+        if ( startPos < 0 || endPos < startPos || endPos > getHeight() )
+        {
+            throw new IllegalStateException(
+                "Illegal start / end pos: " + startPos + ", " + endPos + ", " + getHeight() );
+        }
+
+        retainRows( startPos, endPos );
+
+        return this;
+    }
+
+    @Override
+    public Grid sortGrid( int columnIndex, int order )
+    {
+        if ( order == 0 )
+        {
+            return this; // No sorting
+        }
+
+        columnIndex--;
+
+        if ( columnIndex < 0 || columnIndex >= getWidth() )
+        {
+            throw new IllegalArgumentException( "Column index out of bounds: " + columnIndex );
+        }
+
+        Column column = columns.get( columnIndex );
+
+        Integer[] rowIndexes = new Integer[height];
+
+        Arrays.setAll( rowIndexes, i -> i );
+
+        // Stable sort, consistent with sorting the rows of a list grid
+
+        Arrays.sort( rowIndexes, ( row1, row2 ) -> column.compare( row1, row2, order ) );
+
+        selectRows( Arrays.stream( rowIndexes ).mapToInt( Integer::intValue ).toArray() );
+
+        return this;
+    }
+
+    @Override
+    public Grid addRegressionColumn( int columnIndex, boolean addHeader )
+    {
+        SimpleRegression regression = new SimpleRegression();
+
+        List<Object> column = getColumn( columnIndex );
+
+        int index = 0;
+
+        for ( Object value : column )
+        {
+            // 0 omitted from regression
+
+            if ( value != null && !MathUtils.isEqual( Double.parseDouble( String.valueOf( value ) ), 0d ) )
+            {
+                regression.addData( index++, Double.parseDouble( String.valueOf( value ) ) );
+            }
+        }
+
+        List<Object> regressionColumn = new ArrayList<>();
+
+        for ( int i = 0; i < column.size(); i++ )
+        {
+            final double predicted = regression.predict( i );
+
+            // Enough values must exist for regression
+
+            if ( !Double.isNaN( predicted ) )
+            {
+                regressionColumn.add( Precision.round( predicted, 1 ) );
+            }
+            else
+            {
+                regressionColumn.add( null );
+            }
+        }
+
+        addColumn( regressionColumn );
+
+        if ( addHeader && columnIndex < headers.size() )
+        {
+            GridHeader header = headers.get( columnIndex );
+
+            if ( header != null )
+            {
+                GridHeader regressionHeader = new GridHeader(
+                    header.getName() + REGRESSION_SUFFIX,
+                    header.getColumn() + REGRESSION_SUFFIX,
+                    header.getValueType(),
+                    header.isHidden(),
+                    header.isMeta() );
+
+                addHeader( regressionHeader );
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public Grid addRegressionToGrid( int startColumnIndex, int numberOfColumns )
+    {
+        for ( int i = 0; i < numberOfColumns; i++ )
+        {
+            int columnIndex = i + startColumnIndex;
+
+            this.addRegressionColumn( columnIndex, true );
+        }
+
+        return this;
+    }
+
+    @Override
+    public Grid addCumulativeColumn( int columnIndex, boolean addHeader )
+    {
+        List<Object> column = getColumn( columnIndex );
+
+        List<Object> cumulativeColumn = new ArrayList<>();
+
+        double sum = 0d;
+
+        for ( Object value : column )
+        {
+            double number = value != null ? Double.parseDouble( String.valueOf( value ) ) : 0d;
+
+            sum += number;
+
+            cumulativeColumn.add( sum );
+        }
+
+        addColumn( cumulativeColumn );
+
+        if ( addHeader && columnIndex < headers.size() )
+        {
+            GridHeader header = headers.get( columnIndex );
+
+            if ( header != null )
+            {
+                GridHeader cumulativeHeader = new GridHeader(
+                    header.getName() + CUMULATIVE_SUFFIX,
+                    header.getColumn() + CUMULATIVE_SUFFIX,
+                    header.getValueType(),
+                    header.isHidden(),
+                    header.isMeta() );
+
+                addHeader( cumulativeHeader );
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public Grid addCumulativesToGrid( int startColumnIndex, int numberOfColumns )
+    {
+        for ( int i = 0; i < numberOfColumns; i++ )
+        {
+            int columnIndex = i + startColumnIndex;
+
+            this.addCumulativeColumn( columnIndex, true );
+        }
+
+        return this;
+    }
+
+    @Override
+    public Grid substituteMetaData( Map<? extends Object, ? extends Object> metaDataMap )
+    {
+        if ( metaDataMap == null || headers == null || headers.isEmpty() )
+        {
+            return this;
+        }
+
+        for ( int colIndex = 0; colIndex < headers.size(); colIndex++ )
+        {
+            GridHeader header = headers.get( colIndex );
+
+            // Header
+
+            Object headerMetaName = metaDataMap.get( header.getName() );
+
+            if ( headerMetaName != null )
+            {
+                header.setName( String.valueOf( headerMetaName ) );
+            }
+
+            if ( header.isMeta() )
+            {
+                // Column cells
+
+                substituteMetaData( colIndex, colIndex, metaDataMap );
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public Grid substituteMetaData( int sourceColumnIndex, int targetColumnIndex,
+        Map<? extends Object, ? extends Object> metaDataMap )
+    {
+        if ( metaDataMap == null || height == 0 )
+        {
+            return this;
+        }
+
+        Column sourceColumn = columns.get( sourceColumnIndex );
+
+        // Substitute each distinct value once when replacing values in place
+
+        if ( sourceColumnIndex == targetColumnIndex && sourceColumn instanceof StringColumn
+            && ((StringColumn) sourceColumn).substitute( metaDataMap, height ) )
+        {
+            return this;
+        }
+
+        for ( int rowIndex = 0; rowIndex < height; rowIndex++ )
+        {
+            Object metaValue = metaDataMap.get( sourceColumn.get( rowIndex ) );
+
+            if ( metaValue != null )
+            {
+                setValue( rowIndex, targetColumnIndex, metaValue );
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public List<Integer> getMetaColumnIndexes()
+    {
+        List<Integer> indexes = new ArrayList<>();
+
+        for ( int i = 0; i < headers.size(); i++ )
+        {
+            GridHeader header = headers.get( i );
+
+            if ( header != null && header.isMeta() )
+            {
+                indexes.add( i );
+            }
+        }
+
+        return indexes;
+    }
+
+    @Override
+    public Set<Object> getUniqueValues( String columnName )
+    {
+        int columnIndex = getIndexOfHeader( columnName );
+
+        Set<Object> values = new HashSet<>();
+
+        if ( columnIndex != -1 )
+        {
+            values.addAll( getColumn( columnIndex ) );
+        }
+
+        return values;
+    }
+
+    @Override
+    @SuppressWarnings( "unchecked" )
+    public <T> Map<String, T> getAsMap( int valueIndex, String keySeparator )
+    {
+        Map<String, T> map = new HashMap<>();
+
+        for ( int rowIndex = 0; rowIndex < height; rowIndex++ )
+        {
+            List<Object> metaDataRow = new ArrayList<>( new Row( rowIndex ) );
+
+            metaDataRow.remove( valueIndex );
+
+            String key = StringUtils.join( metaDataRow, keySeparator );
+
+            T value = (T) columns.get( valueIndex ).get( rowIndex );
+
+            map.put( key, value );
+        }
+
+        return map;
+    }
+
+    // -------------------------------------------------------------------------
+    // JRDataSource implementation
+    // -------------------------------------------------------------------------
+
+    @Override
+    public boolean next()
+        throws JRException
+    {
+        boolean next = ++currentRowReadIndex < getHeight();
+
+        if ( !next )
+        {
+            currentRowReadIndex = -1; // Reset and return false
+        }
+
+        return next;
+    }
+
+    @Override
+    public Object getFieldValue( JRField field )
+        throws JRException
+    {
+        Integer index = columnIndexMap.get( field.getName() );
+
+        return index != null ? getRow( currentRowReadIndex ).get( index ) : null;
+    }
+
+    // -------------------------------------------------------------------------
+    // SQL utility methods
+    // -------------------------------------------------------------------------
+
+    @Override
+    public Grid addHeaders( ResultSet rs )
+    {
+        try
+        {
+            ResultSetMetaData rsmd = rs.getMetaData();
+
+            int columnNo = rsmd.getColumnCount();
+
+            for ( int i = 1; i <= columnNo; i++ )
+            {
+                addHeader( new GridHeader( rsmd.getColumnLabel( i ), false, false ) );
+            }
+        }
+        catch ( SQLException ex )
+        {
+            throw new RuntimeException( ex );
+        }
+
+        return this;
+    }
+
+    @Override
+    public Grid addHeaders( SqlRowSet rs )
+    {
+        SqlRowSetMetaData rsmd = rs.getMetaData();
+
+        int columnNo = rsmd.getColumnCount();
+
+        for ( int i = 1; i <= columnNo; i++ )
+        {
+            addHeader( new GridHeader( rsmd.getColumnLabel( i ), false, false ) );
+        }
+
+        return this;
+    }
+
+    @Override
+    public Grid addRows( ResultSet rs )
+    {
+        try
+        {
+            int cols = rs.getMetaData().getColumnCount();
+
+            while ( rs.next() )
+            {
+                addRow();
+
+                for ( int i = 1; i <= cols; i++ )
+                {
+                    addValue( rs.getObject( i ) );
+                }
+            }
+        }
+        catch ( SQLException ex )
+        {
+            throw new RuntimeException( ex );
+        }
+
+        return this;
+    }
+
+    @Override
+    public Grid addRows( SqlRowSet rs, int maxLimit )
+    {
+        int cols = rs.getMetaData().getColumnCount();
+
+        while ( rs.next() )
+        {
+            addRow();
+
+            for ( int i = 1; i <= cols; i++ )
+            {
+                addValue( rs.getObject( i ) );
+
+                if ( maxLimit > 0 && i > maxLimit )
+                {
+                    throw new IllegalStateException(
+                        "Number of rows produced by query is larger than the max limit: " + maxLimit );
+                }
+            }
+        }
+
+        return this;
+    }
+
+    @Override
+    public Grid addPerformanceMetrics( List<ExecutionPlan> plans )
+    {
+        if ( plans.isEmpty() )
+        {
+            return this;
+        }
+
+        double total = plans.stream()
+            .map( ExecutionPlan::getTimeInMillis )
+            .reduce( 0.0, Double::sum );
+
+        performanceMetrics = new PerformanceMetrics();
+        performanceMetrics.setTotalTimeInMillis( Precision.round( total, 3 ) );
+        performanceMetrics.setExecutionPlans( plans );
+
+        return this;
+    }
+
+    @Override
+    public Grid addReference( Reference reference )
+    {
+        if ( refs == null )
+        {
+            refs = new ArrayList<>();
+        }
+
+        refs.add( reference );
+
+        return this;
+    }
+
+    @Override
+    public Grid addRows( SqlRowSet rs )
+    {
+        return addRows( rs, -1 );
+    }
+
+    @Override
+    public void retainColumns( Set<String> headers )
+    {
+        final List<String> exclusions = getHeaders().stream().map( GridHeader::getName ).collect( toList() );
+        exclusions.removeAll( headers );
+
+        for ( final String headerToExclude : exclusions )
+        {
+            final int headerIndex = getIndexOfHeader( headerToExclude );
+
+            if ( headerIndex != -1 )
+            {
+                removeColumn( getHeaders().get( headerIndex ) );
+            }
+        }
+    }
+
+    @Override
+    public List<Integer> repositionHeaders( List<String> headers )
+    {
+        final List<String> headerNames = mapToList( getHeaders(), GridHeader::getName );
+        final List<GridHeader> orderedHeaders = new ArrayList<>();
+        final List<Integer> columnIndexes = new ArrayList<>();
+
+        for ( String header : headers )
+        {
+            if ( headerNames.contains( header ) )
+            {
+                int headerIndex = getIndexOfHeader( header );
+                orderedHeaders.add( getHeaders().get( headerIndex ) );
+                columnIndexes.add( headerIndex );
+            }
+            else
+            {
+                throw new IllegalQueryException( new ErrorMessage( E7230, header ) );
+            }
+        }
+
+        replaceHeaders( orderedHeaders );
+
+        return columnIndexes;
+    }
+
+    @Override
+    public void repositionColumns( List<Integer> columnIndexes )
+    {
+        if ( height == 0 )
+        {
+            return;
+        }
+
+        List<Column> orderedColumns = new ArrayList<>( columns.size() );
+        Set<Column> usedColumns = Collections.newSetFromMap( new IdentityHashMap<>() );
+
+        for ( int i = 0; i < columns.size(); i++ )
+        {
+            Column column = columns.get( columnIndexes.get( i ) );
+
+            // Columns are mutable, a column used twice must be copied
+
+            orderedColumns.add( usedColumns.add( column ) ? column : column.select( range( 0, height ) ) );
+        }
+
+        columns = orderedColumns;
+        modCount++;
+    }
+
+    @Override
+    public boolean hasLastDataRow()
+    {
+        return lastDataRow;
+    }
+
+    @Override
+    public void setLastDataRow( boolean lastDataRow )
+    {
+        this.lastDataRow = lastDataRow;
+    }
+
+    // -------------------------------------------------------------------------
+    // Supportive methods
+    // -------------------------------------------------------------------------
+
+    /**
+     * Sets the value of the given cell, replacing the column with a more
+     * general column if its storage type cannot hold the value.
+     *
+     * @param rowIndex the row index.
+     * @param columnIndex the column index.
+     * @param value the value, may be null.
+     */
+    private void setValue( int rowIndex, int columnIndex, Object value )
+    {
+        Column column = columns.get( columnIndex );
+        Column target = write( column, rowIndex, value );
+
+        if ( target != column )
+        {
+            columns.set( columnIndex, target );
+        }
+    }
+
+    /**
+     * Writes the given value to the given column, or to a more general copy of
+     * the column if the column cannot hold the value.
+     *
+     * @param column the column.
+     * @param rowIndex the row index.
+     * @param value the value, may be null.
+     * @return the column holding the value.
+     */
+    private Column write( Column column, int rowIndex, Object value )
+    {
+        if ( value != null && !column.accepts( value ) )
+        {
+            column = column instanceof NullColumn ? Column.of( value ) : new ObjectColumn( column, height );
+        }
+
+        column.set( rowIndex, value );
+
+        return column;
+    }
+
+    /**
+     * Returns a column holding the given values.
+     *
+     * @param values the values.
+     * @return a column.
+     */
+    private Column toColumn( List<Object> values )
+    {
+        Column column = new NullColumn();
+
+        for ( int i = 0; i < values.size(); i++ )
+        {
+            column = write( column, i, values.get( i ) );
+        }
+
+        return column;
+    }
+
+    /**
+     * Retains the rows between the given start position, inclusive, and end
+     * position, exclusive.
+     */
+    private void retainRows( int startPos, int endPos )
+    {
+        selectRows( range( startPos, endPos ) );
+    }
+
+    /**
+     * Replaces the rows of the grid with the given rows, in the given order.
+     *
+     * @param rowIndexes the indexes of the rows to retain.
+     */
+    private void selectRows( int[] rowIndexes )
+    {
+        columns.replaceAll( column -> column.select( rowIndexes ) );
+
+        height = rowIndexes.length;
+        modCount++;
+    }
+
+    private static int[] range( int startPos, int endPos )
+    {
+        int[] range = new int[endPos - startPos];
+        Arrays.setAll( range, i -> startPos + i );
+        return range;
+    }
+
+    /**
+     * Updates the mapping between header columns and grid indexes. This method
+     * should be invoked whenever the columns are manipulated.
+     */
+    private void updateColumnIndexMap()
+    {
+        columnIndexMap.clear();
+
+        for ( int i = 0; i < headers.size(); i++ )
+        {
+            columnIndexMap.put( headers.get( i ).getColumn(), i );
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // toString
+    // -------------------------------------------------------------------------
+
+    @Override
+    public String toString()
+    {
+        StringBuilder builder = new StringBuilder( "[\n" );
+
+        if ( headers != null && headers.size() > 0 )
+        {
+            builder.append( mapToList( headers, GridHeader::getName ) ).append( "\n" );
+        }
+
+        for ( List<Object> row : getRows() )
+        {
+            builder.append( row ).append( "\n" );
+        }
+
+        return builder.append( "]" ).toString();
+    }
+
+    // -------------------------------------------------------------------------
+    // Row views
+    // -------------------------------------------------------------------------
+
+    /**
+     * The rows of the grid, each read as a copy when accessed.
+     */
+    private class Rows
+        extends AbstractList<List<Object>>
+        implements RandomAccess
+    {
+        @Override
+        public List<Object> get( int rowIndex )
+        {
+            return getRow( rowIndex );
+        }
+
+        @Override
+        public int size()
+        {
+            return height;
+        }
+    }
+
+    /**
+     * A copy of a single row of the grid. Replaced cells are written back to
+     * the row of the grid it was read from.
+     */
+    private class Row
+        extends AbstractList<Object>
+        implements RandomAccess
+    {
+        private final int rowIndex;
+
+        private final int expectedModCount;
+
+        private final Object[] values;
+
+        Row( int rowIndex )
+        {
+            this.rowIndex = rowIndex;
+            this.expectedModCount = modCount;
+            this.values = new Object[columns.size()];
+
+            for ( int i = 0; i < values.length; i++ )
+            {
+                values[i] = columns.get( i ).get( rowIndex );
+            }
+        }
+
+        @Override
+        public Object get( int columnIndex )
+        {
+            return values[columnIndex];
+        }
+
+        @Override
+        public Object set( int columnIndex, Object value )
+        {
+            if ( modCount != expectedModCount )
+            {
+                throw new ConcurrentModificationException(
+                    "Rows or columns of the grid were changed after the row was read" );
+            }
+
+            Object previous = values[Objects.checkIndex( columnIndex, values.length )];
+            setValue( rowIndex, columnIndex, value );
+            values[columnIndex] = value;
+            return previous;
+        }
+
+        @Override
+        public int size()
+        {
+            return values.length;
+        }
+    }
+
+    // -------------------------------------------------------------------------
+    // Columns
+    // -------------------------------------------------------------------------
+
+    /**
+     * Storage for the values of a single column. Rows which have not been
+     * written are null.
+     */
+    private abstract static class Column
+        implements Serializable
+    {
+        /**
+         * Returns a column which can hold the given value, based on its type.
+         */
+        static Column of( Object value )
+        {
+            if ( value instanceof Double )
+            {
+                return new DoubleColumn();
+            }
+            else if ( value instanceof Long )
+            {
+                return new LongColumn();
+            }
+            else if ( value instanceof String )
+            {
+                return new StringColumn();
+            }
+
+            return new ObjectColumn();
+        }
+
+        /**
+         * Returns the value of the given row.
+         */
+        abstract Object get( int rowIndex );
+
+        /**
+         * Indicates whether this column can hold the given non-null value.
+         */
+        abstract boolean accepts( Object value );
+
+        /**
+         * Sets the value of the given row. The value must be null or accepted
+         * by this column.
+         */
+        abstract void set( int rowIndex, Object value );
+
+        /**
+         * Returns a new column of the same type holding the values of the
+         * given rows, in the given order.
+         */
+        abstract Column select( int[] rowIndexes );
+
+        /**
+         * Compares the values of the given rows with the semantics of
+         * {@link ListGrid.GridRowComparator}, where null and non-comparable
+         * values are sorted after other values in descending order and before
+         * other values in ascending order.
+         */
+        @SuppressWarnings( "unchecked" )
+        int compare( int row1, int row2, int order )
+        {
+            Object value1 = get( row1 );
+            Object value2 = get( row2 );
+
+            boolean invalid1 = !(value1 instanceof Comparable<?>);
+            boolean invalid2 = !(value2 instanceof Comparable<?>);
+
+            if ( invalid1 && invalid2 )
+            {
+                return 0;
+            }
+            else if ( invalid1 )
+            {
+                return order > 0 ? 1 : -1;
+            }
+            else if ( invalid2 )
+            {
+                return order > 0 ? -1 : 1;
+            }
+
+            return order > 0 ? ((Comparable<Object>) value2).compareTo( value1 )
+                : ((Comparable<Object>) value1).compareTo( value2 );
+        }
+
+        static int capacity( int currentCapacity, int rowIndex )
+        {
+            return Math.max( rowIndex + 1, currentCapacity + (currentCapacity >> 1) + 16 );
+        }
+    }
+
+    /**
+     * Column without any non-null values.
+     */
+    private static class NullColumn
+        extends Column
+    {
+        @Override
+        Object get( int rowIndex )
+        {
+            return null;
+        }
+
+        @Override
+        boolean accepts( Object value )
+        {
+            return false;
+        }
+
+        @Override
+        void set( int rowIndex, Object value )
+        {
+            // Only null values are written to this column
+        }
+
+        @Override
+        Column select( int[] rowIndexes )
+        {
+            return new NullColumn();
+        }
+    }
+
+    /**
+     * Column of {@link Double} values stored as primitives.
+     */
+    private static class DoubleColumn
+        extends Column
+    {
+        private double[] values = new double[0];
+
+        private final BitSet present = new BitSet();
+
+        @Override
+        Object get( int rowIndex )
+        {
+            return present.get( rowIndex ) ? values[rowIndex] : null;
+        }
+
+        @Override
+        boolean accepts( Object value )
+        {
+            return value instanceof Double;
+        }
+
+        @Override
+        void set( int rowIndex, Object value )
+        {
+            if ( value == null )
+            {
+                present.clear( rowIndex );
+                return;
+            }
+
+            if ( rowIndex >= values.length )
+            {
+                values = Arrays.copyOf( values, capacity( values.length, rowIndex ) );
+            }
+
+            values[rowIndex] = (Double) value;
+            present.set( rowIndex );
+        }
+
+        @Override
+        Column select( int[] rowIndexes )
+        {
+            DoubleColumn column = new DoubleColumn();
+            column.values = new double[rowIndexes.length];
+
+            for ( int i = 0; i < rowIndexes.length; i++ )
+            {
+                if ( present.get( rowIndexes[i] ) )
+                {
+                    column.values[i] = values[rowIndexes[i]];
+                    column.present.set( i );
+                }
+            }
+
+            return column;
+        }
+
+        @Override
+        int compare( int row1, int row2, int order )
+        {
+            if ( present.get( row1 ) && present.get( row2 ) )
+            {
+                return order > 0 ? Double.compare( values[row2], values[row1] )
+                    : Double.compare( values[row1], values[row2] );
+            }
+
+            return super.compare( row1, row2, order );
+        }
+    }
+
+    /**
+     * Column of {@link Long} values stored as primitives.
+     */
+    private static class LongColumn
+        extends Column
+    {
+        private long[] values = new long[0];
+
+        private final BitSet present = new BitSet();
+
+        @Override
+        Object get( int rowIndex )
+        {
+            return present.get( rowIndex ) ? values[rowIndex] : null;
+        }
+
+        @Override
+        boolean accepts( Object value )
+        {
+            return value instanceof Long;
+        }
+
+        @Override
+        void set( int rowIndex, Object value )
+        {
+            if ( value == null )
+            {
+                present.clear( rowIndex );
+                return;
+            }
+
+            if ( rowIndex >= values.length )
+            {
+                values = Arrays.copyOf( values, capacity( values.length, rowIndex ) );
+            }
+
+            values[rowIndex] = (Long) value;
+            present.set( rowIndex );
+        }
+
+        @Override
+        Column select( int[] rowIndexes )
+        {
+            LongColumn column = new LongColumn();
+            column.values = new long[rowIndexes.length];
+
+            for ( int i = 0; i < rowIndexes.length; i++ )
+            {
+                if ( present.get( rowIndexes[i] ) )
+                {
+                    column.values[i] = values[rowIndexes[i]];
+                    column.present.set( i );
+                }
+            }
+
+            return column;
+        }
+
+        @Override
+        int compare( int row1, int row2, int order )
+        {
+            if ( present.get( row1 ) && present.get( row2 ) )
+            {
+                return order > 0 ? Long.compare( values[row2], values[row1] )
+                    : Long.compare( values[row1], values[row2] );
+            }
+
+            return super.compare( row1, row2, order );
+        }
+    }
+
+    /**
+     * Dictionary encoded column of {@link String} values. Each row holds the
+     * code of its value, where 0 represents null and code {@code n} represents
+     * the value at position {@code n - 1} in the dictionary.
+     */
+    private static class StringColumn
+        extends Column
+    {
+        private int[] codes = new int[0];
+
+        private final List<String> dictionary = new ArrayList<>();
+
+        private final Map<String, Integer> dictionaryIndex = new HashMap<>();
+
+        @Override
+        Object get( int rowIndex )
+        {
+            int code = rowIndex < codes.length ? codes[rowIndex] : 0;
+
+            return code == 0 ? null : dictionary.get( code - 1 );
+        }
+
+        @Override
+        boolean accepts( Object value )
+        {
+            return value instanceof String;
+        }
+
+        @Override
+        void set( int rowIndex, Object value )
+        {
+            if ( rowIndex >= codes.length )
+            {
+                if ( value == null )
+                {
+                    return;
+                }
+
+                codes = Arrays.copyOf( codes, capacity( codes.length, rowIndex ) );
+            }
+
+            codes[rowIndex] = value == null ? 0 : encode( (String) value );
+        }
+
+        private int encode( String value )
+        {
+            return dictionaryIndex.computeIfAbsent( value, v -> {
+                dictionary.add( v );
+                return dictionary.size();
+            } );
+        }
+
+        @Override
+        Column select( int[] rowIndexes )
+        {
+            StringColumn column = new StringColumn();
+            column.dictionary.addAll( dictionary );
+            column.dictionaryIndex.putAll( dictionaryIndex );
+            column.codes = new int[rowIndexes.length];
+
+            for ( int i = 0; i < rowIndexes.length; i++ )
+            {
+                column.codes[i] = rowIndexes[i] < codes.length ? codes[rowIndexes[i]] : 0;
+            }
+
+            return column;
+        }
+
+        /**
+         * Replaces the values of this column with the corresponding values of
+         * the given map by rewriting the dictionary. This is only possible if
+         * all mapped values are strings and null values are not mapped.
+         *
+         * @param map the map of values.
+         * @param height the number of rows of the grid.
+         * @return true if the values were replaced, false if not possible.
+         */
+        boolean substitute( Map<?, ?> map, int height )
+        {
+            List<String> substitutes = new ArrayList<>( dictionary.size() );
+
+            for ( String value : dictionary )
+            {
+                Object substitute = map.get( value );
+
+                if ( substitute != null && !(substitute instanceof String) )
+                {
+                    return false;
+                }
+
+                substitutes.add( substitute != null ? (String) substitute : value );
+            }
+
+            for ( int i = 0; i < height; i++ )
+            {
+                if ( get( i ) == null )
+                {
+                    if ( map.get( null ) != null )
+                    {
+                        return false;
+                    }
+
+                    break;
+                }
+            }
+
+            dictionary.clear();
+            dictionary.addAll( substitutes );
+            dictionaryIndex.clear();
+
+            for ( int i = 0; i < dictionary.size(); i++ )
+            {
+                dictionaryIndex.putIfAbsent( dictionary.get( i ), i + 1 );
+            }
+
+            return true;
+        }
+    }
+
+    /**
+     * Column of arbitrary values.
+     */
+    private static class ObjectColumn
+        extends Column
+    {
+        private Object[] values = new Object[0];
+
+        ObjectColumn()
+        {
+        }
+
+        /**
+         * Creates a column holding the values of the given column.
+         *
+         * @param column the column to copy.
+         * @param height the number of rows to copy.
+         */
+        ObjectColumn( Column column, int height )
+        {
+            values = new Object[height];
+            Arrays.setAll( values, column::get );
+        }
+
+        @Override
+        Object get( int rowIndex )
+        {
+            return rowIndex < values.length ? values[rowIndex] : null;
+        }
+
+        @Override
+        boolean accepts( Object value )
+        {
+            return true;
+        }
+
+        @Override
+        void set( int rowIndex, Object value )
+        {
+            if ( rowIndex >= values.length )
+            {
+                if ( value == null )
+                {
+                    return;
+                }
+
+                values = Arrays.copyOf( values, capacity( values.length, rowIndex ) );
+            }
+
+            values[rowIndex] = value;
+        }
+
+        @Override
+        Column select( int[] rowIndexes )
+        {
+            ObjectColumn column = new ObjectColumn();
+            column.values = new Object[rowIndexes.length];
+            Arrays.setAll( column.values, i -> get( rowIndexes[i] ) );
+            return column;
+        }
+    }
+}
@@ -45,6 +45,7 @@ import java.io.StringWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -61,6 +62,7 @@ import net.sf.jasperreports.engine.JasperReport;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.CellType;
@@ -68,6 +70,7 @@ import org.apache.poi.ss.usermodel.Font;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.velocity.VelocityContext;
 import org.hisp.dhis.common.DimensionalItemObject;
 import org.hisp.dhis.common.DimensionalObjectUtils;
@@ -113,6 +116,18 @@ public class GridUtils
 
     private static final int JXL_MAX_COLS = 256;
 
+    private static final int XLSX_MAX_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows();
+
+    private static final int XLSX_MAX_COLS = SpreadsheetVersion.EXCEL2007.getMaxColumns();
+
+    private static final int XLSX_MAX_SHEET_NAME_LENGTH = 31;
+
+    /**
+     * Number of rows kept in memory when writing XLSX workbooks, rows outside
+     * of the window are flushed to a temporary file.
+     */
+    private static final int XLSX_ROW_WINDOW = 100;
+
     private static final String FONT_ARIAL = "Arial";
 
     private static final NodeFilter HTML_ROW_FILTER = new OrFilter( new TagNameFilter( "td" ),
@@ -314,6 +329,146 @@ public class GridUtils
                 "Grid will be truncated, no of columns is greater than JXL max limit: " + cols + "/" + JXL_MAX_COLS );
         }
 
+        List<GridHeader> headers = ListUtils.subList( grid.getVisibleHeaders(), 0, JXL_MAX_COLS );
+
+        int rowNumber = addXlsHeaderRows( grid, headers, sheet, headerCellStyle );
+
+        for ( List<Object> row : grid.getVisibleRows() )
+        {
+            Row xlsRow = sheet.createRow( rowNumber );
+            xlsRow.setRowStyle( cellStyle );
+            int columnIndex = 0;
+
+            List<Object> columns = ListUtils.subList( row, 0, JXL_MAX_COLS );
+
+            for ( Object column : columns )
+            {
+                xlsRow.createCell( columnIndex++, CellType.STRING ).setCellValue( getXlsValue( column ) );
+            }
+
+            rowNumber++;
+        }
+    }
+
+    /**
+     * Writes a XLSX (Excel workbook) representation of the given list of Grids
+     * to the given OutputStream. The workbook is streamed, meaning that only a
+     * window of rows is held in memory while the other rows are flushed to a
+     * compressed temporary file. Grids with more rows than fit in a sheet are
+     * continued on additional sheets.
+     */
+    public static void toXlsx( List<Grid> grids, OutputStream out )
+        throws Exception
+    {
+        SXSSFWorkbook workbook = new SXSSFWorkbook( XLSX_ROW_WINDOW );
+        workbook.setCompressTempFiles( true );
+
+        try
+        {
+            CellStyle headerCellStyle = createHeaderCellStyle( workbook );
+            CellStyle cellStyle = createCellStyle( workbook );
+
+            for ( int i = 0; i < grids.size(); i++ )
+            {
+                Grid grid = grids.get( i );
+
+                String sheetName = CodecUtils
+                    .filenameEncode( StringUtils.defaultIfEmpty( grid.getTitle(), XLS_SHEET_PREFIX + (i + 1) ) );
+
+                toXlsxInternal( grid, workbook, sheetName, headerCellStyle, cellStyle );
+            }
+
+            workbook.write( out );
+        }
+        finally
+        {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    /**
+     * Writes a XLSX (Excel workbook) representation of the given Grid to the
+     * given OutputStream. The workbook is streamed as described in
+     * {@link #toXlsx(List, OutputStream)}.
+     */
+    public static void toXlsx( Grid grid, OutputStream out )
+        throws Exception
+    {
+        toXlsx( Collections.singletonList( grid ), out );
+    }
+
+    private static void toXlsxInternal( Grid grid, Workbook workbook, String sheetName, CellStyle headerCellStyle,
+        CellStyle cellStyle )
+    {
+        int sheetNumber = 1;
+
+        Sheet sheet = workbook.createSheet( getXlsxSheetName( sheetName, sheetNumber ) );
+
+        if ( grid == null )
+        {
+            return;
+        }
+
+        List<GridHeader> headers = grid.getHeaders();
+        List<GridHeader> visibleHeaders = grid.getVisibleHeaders();
+
+        if ( visibleHeaders.size() > XLSX_MAX_COLS )
+        {
+            log.warn( "Grid will be truncated, no of columns is greater than XLSX max limit: "
+                + visibleHeaders.size() + "/" + XLSX_MAX_COLS );
+
+            visibleHeaders = visibleHeaders.subList( 0, XLSX_MAX_COLS );
+        }
+
+        // Read visible cells from the rows directly to avoid copying the grid
+
+        int[] visibleColumns = new int[visibleHeaders.size()];
+
+        for ( int i = 0, columnIndex = 0; i < headers.size() && columnIndex < visibleColumns.length; i++ )
+        {
+            if ( !headers.get( i ).isHidden() )
+            {
+                visibleColumns[columnIndex++] = i;
+            }
+        }
+
+        int rowNumber = addXlsHeaderRows( grid, visibleHeaders, sheet, headerCellStyle );
+
+        if ( visibleColumns.length == 0 )
+        {
+            return;
+        }
+
+        for ( List<Object> row : grid.getRows() )
+        {
+            if ( rowNumber == XLSX_MAX_ROWS )
+            {
+                sheet = workbook.createSheet( getXlsxSheetName( sheetName, ++sheetNumber ) );
+                rowNumber = addXlsHeaderRows( grid, visibleHeaders, sheet, headerCellStyle );
+            }
+
+            Row xlsRow = sheet.createRow( rowNumber++ );
+            xlsRow.setRowStyle( cellStyle );
+
+            for ( int columnIndex = 0; columnIndex < visibleColumns.length
+                && visibleColumns[columnIndex] < row.size(); columnIndex++ )
+            {
+                xlsRow.createCell( columnIndex, CellType.STRING )
+                    .setCellValue( getXlsValue( row.get( visibleColumns[columnIndex] ) ) );
+            }
+        }
+    }
+
+    /**
+     * Adds the title, subtitle and header rows of the given grid to the given
+     * sheet.
+     *
+     * @return the number of the first row after the header rows.
+     */
+    private static int addXlsHeaderRows( Grid grid, List<GridHeader> headers, Sheet sheet,
+        CellStyle headerCellStyle )
+    {
         int rowNumber = 0;
 
         int columnIndex = 0;
@@ -335,7 +490,6 @@ public class GridUtils
             rowNumber++;
         }
 
-        List<GridHeader> headers = ListUtils.subList( grid.getVisibleHeaders(), 0, JXL_MAX_COLS );
         Row headerRow = sheet.createRow( ++rowNumber );
         for ( GridHeader header : headers )
         {
@@ -344,32 +498,29 @@ public class GridUtils
             cell.setCellValue( header.getColumn() );
         }
 
-        rowNumber++;
-
-        for ( List<Object> row : grid.getVisibleRows() )
-        {
-            Row xlsRow = sheet.createRow( rowNumber );
-            xlsRow.setRowStyle( cellStyle );
-            columnIndex = 0;
+        return ++rowNumber;
+    }
 
-            List<Object> columns = ListUtils.subList( row, 0, JXL_MAX_COLS );
+    /**
+     * Returns the name of the given part of a sheet, where parts after the
+     * first are suffixed with the part number. The name is truncated to the
+     * maximum sheet name length while keeping the suffix.
+     */
+    private static String getXlsxSheetName( String sheetName, int part )
+    {
+        String suffix = part > 1 ? " (" + part + ")" : EMPTY;
 
-            for ( Object column : columns )
-            {
-                if ( column != null && Number.class.isAssignableFrom( column.getClass() ) )
-                {
-                    xlsRow.createCell( columnIndex++, CellType.STRING )
-                        .setCellValue( String.valueOf( maybeFormat( column ) ) );
-                }
-                else
-                {
-                    xlsRow.createCell( columnIndex++, CellType.STRING )
-                        .setCellValue( column != null ? String.valueOf( column ) : EMPTY );
-                }
-            }
+        return StringUtils.left( sheetName, XLSX_MAX_SHEET_NAME_LENGTH - suffix.length() ) + suffix;
+    }
 
-            rowNumber++;
+    private static String getXlsValue( Object value )
+    {
+        if ( value != null && Number.class.isAssignableFrom( value.getClass() ) )
+        {
+            return String.valueOf( maybeFormat( value ) );
         }
+
+        return value != null ? String.valueOf( value ) : EMPTY;
     }
 
     /**
@@ -40,6 +40,8 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -167,6 +169,38 @@ public class ListGrid
         this.grid = new ArrayList<>();
     }
 
+    /**
+     * Copy constructor. Headers, rows and meta data structures are copied,
+     * while cell values and meta data values which are not collections or
+     * maps are shared with the given grid. This is considerably cheaper than
+     * serialization based cloning, and relies on cell values not being
+     * mutated in place.
+     *
+     * @param grid the grid to copy.
+     */
+    public ListGrid( Grid grid )
+    {
+        this.title = grid.getTitle();
+        this.subtitle = grid.getSubtitle();
+        this.table = grid.getTable();
+        this.headers = mapToList( grid.getHeaders(), GridHeader::new );
+        this.metaData = copyMap( grid.getMetaData() );
+        this.internalMetaData = copyMap( grid.getInternalMetaData() );
+        this.performanceMetrics = grid.getPerformanceMetrics();
+        this.grid = new ArrayList<>( grid.getHeight() );
+        this.refs = grid.getRefs() != null ? new ArrayList<>( grid.getRefs() ) : null;
+        this.lastDataRow = grid.hasLastDataRow();
+
+        for ( List<Object> row : grid.getRows() )
+        {
+            this.grid.add( new ArrayList<>( row ) );
+        }
+
+        this.currentRowWriteIndex = this.grid.size() - 1;
+
+        updateColumnIndexMap();
+    }
+
     // ---------------------------------------------------------------------
     // Public methods
     // ---------------------------------------------------------------------
@@ -1266,6 +1300,55 @@ public class ListGrid
         }
     }
 
+    /**
+     * Returns a copy of the given map, where values which are maps or
+     * collections are copied recursively.
+     *
+     * @param map the map to copy, may be null.
+     * @return a copy of the map, or null if the given map is null.
+     */
+    static Map<String, Object> copyMap( Map<String, Object> map )
+    {
+        if ( map == null )
+        {
+            return null;
+        }
+
+        Map<String, Object> copy = new HashMap<>( map.size() );
+        map.forEach( ( key, value ) -> copy.put( key, copyValue( value ) ) );
+        return copy;
+    }
+
+    /**
+     * Returns a copy of the given value if it is a map, list or set, otherwise
+     * returns the value itself.
+     *
+     * @param value the value.
+     * @return a copy of the value, or the value itself.
+     */
+    @SuppressWarnings( "unchecked" )
+    private static Object copyValue( Object value )
+    {
+        if ( value instanceof Map )
+        {
+            Map<Object, Object> copy = new LinkedHashMap<>();
+            ((Map<Object, Object>) value).forEach( ( key, val ) -> copy.put( key, copyValue( val ) ) );
+            return copy;
+        }
+        else if ( value instanceof List )
+        {
+            return ((List<Object>) value).stream().map( ListGrid::copyValue )
+                .collect( Collectors.toCollection( ArrayList::new ) );
+        }
+        else if ( value instanceof Set )
+        {
+            return ((Set<Object>) value).stream().map( ListGrid::copyValue )
+                .collect( Collectors.toCollection( LinkedHashSet::new ) );
+        }
+
+        return value;
+    }
+
     /**
      * Updates the mapping between header columns and grid indexes. This method
      * should be invoked whenever the columns are manipulated.
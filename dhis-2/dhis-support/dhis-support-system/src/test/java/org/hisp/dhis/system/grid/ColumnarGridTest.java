@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.system.grid;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.common.GridHeader;
+import org.hisp.dhis.common.ValueType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ColumnarGrid}.
+ */
+class ColumnarGridTest
+{
+    private Grid grid;
+
+    @BeforeEach
+    void setUp()
+    {
+        grid = new ColumnarGrid();
+        grid.addHeader( new GridHeader( "dx", "Data", ValueType.TEXT, false, true ) );
+        grid.addHeader( new GridHeader( "ou", "Org unit", ValueType.TEXT, false, true ) );
+        grid.addHeader( new GridHeader( "value", "Value", ValueType.NUMBER, false, false ) );
+        grid.addRow().addValuesVar( "deA", "ouA", 3d );
+        grid.addRow().addValuesVar( "deA", "ouB", 1d );
+        grid.addRow().addValuesVar( "deB", "ouA", null );
+        grid.addRow().addValuesVar( "deB", "ouB", 2d );
+    }
+
+    @Test
+    void testGetValues()
+    {
+        assertEquals( 4, grid.getHeight() );
+        assertEquals( 3, grid.getWidth() );
+        assertEquals( List.of( "deA", "ouB", 1d ), grid.getRow( 1 ) );
+        assertEquals( "deB", grid.getValue( 3, 0 ) );
+        assertNull( grid.getValue( 2, 2 ) );
+        assertEquals( List.of( "ouA", "ouB", "ouA", "ouB" ), grid.getColumn( 1 ) );
+        assertThrows( IllegalArgumentException.class, () -> grid.getValue( 4, 0 ) );
+    }
+
+    @Test
+    void testSetValueOfOtherType()
+    {
+        grid.getRow( 0 ).set( 2, 3 );
+        grid.getRow( 1 ).set( 0, 7L );
+
+        assertEquals( 3, grid.getValue( 0, 2 ) );
+        assertEquals( 1d, grid.getValue( 1, 2 ) );
+        assertEquals( 7L, grid.getValue( 1, 0 ) );
+        assertEquals( "deB", grid.getValue( 2, 0 ) );
+    }
+
+    @Test
+    void testSortGrid()
+    {
+        grid.sortGrid( 3, 1 );
+
+        assertEquals( List.of( 3d, 2d, 1d ), grid.getColumn( 2 ).subList( 0, 3 ) );
+        assertNull( grid.getValue( 3, 2 ) );
+        assertEquals( List.of( "deA", "deB", "deA", "deB" ), grid.getColumn( 0 ) );
+
+        grid.sortGrid( 3, -1 );
+
+        assertNull( grid.getValue( 0, 2 ) );
+        assertEquals( List.of( "ouA", "ouB", "ouB", "ouA" ), grid.getColumn( 1 ) );
+    }
+
+    @Test
+    void testLimitGrid()
+    {
+        grid.limitGrid( 1, 3 );
+
+        assertEquals( 2, grid.getHeight() );
+        assertEquals( List.of( "deA", "ouB", 1d ), grid.getRow( 0 ) );
+        assertEquals( List.of( "deB", "ouA" ), grid.getRow( 1 ).subList( 0, 2 ) );
+    }
+
+    @Test
+    void testSubstituteMetaData()
+    {
+        grid.substituteMetaData( Map.of( "deA", "Data element A", "ouB", "Org unit B", "dx", "Data element" ) );
+
+        assertEquals( "Data element", grid.getHeaders().get( 0 ).getName() );
+        assertEquals( List.of( "Data element A", "Data element A", "deB", "deB" ), grid.getColumn( 0 ) );
+        assertEquals( List.of( "ouA", "Org unit B", "ouA", "Org unit B" ), grid.getColumn( 1 ) );
+    }
+
+    @Test
+    void testSubstituteMetaDataWithNonStringValue()
+    {
+        grid.substituteMetaData( 0, 0, Map.of( "deA", 1 ) );
+
+        assertEquals( List.of( 1, 1, "deB", "deB" ), grid.getColumn( 0 ) );
+    }
+
+    @Test
+    void testAddAndRemoveColumns()
+    {
+        grid.addColumn( 1, List.of( 1L, 2L, 3L, 4L ) );
+        grid.addHeader( 1, new GridHeader( "count" ) );
+
+        assertEquals( List.of( "deA", 1L, "ouA", 3d ), grid.getRow( 0 ) );
+
+        grid.removeColumn( 0 );
+
+        assertEquals( List.of( 4L, "ouB", 2d ), grid.getRow( 3 ) );
+        assertEquals( 1, grid.getIndexOfHeader( "ou" ) );
+    }
+
+    @Test
+    void testRepositionColumns()
+    {
+        grid.repositionColumns( grid.repositionHeaders( List.of( "value", "dx", "ou" ) ) );
+
+        assertEquals( List.of( 3d, "deA", "ouA" ), grid.getRow( 0 ) );
+        assertEquals( "value", grid.getHeaders().get( 0 ).getName() );
+    }
+
+    @Test
+    void testRemoveCurrentWriteRow()
+    {
+        grid.removeCurrentWriteRow();
+
+        assertEquals( 3, grid.getHeight() );
+
+        grid.addRow().addValuesVar( "deC", "ouC" );
+
+        assertEquals( List.of( "deC", "ouC" ), grid.getRow( 3 ).subList( 0, 2 ) );
+        assertNull( grid.getValue( 3, 2 ) );
+    }
+
+    @Test
+    void testGetAsMap()
+    {
+        Map<String, Object> map = grid.getAsMap( 2, "-" );
+
+        assertEquals( 3d, map.get( "deA-ouA" ) );
+        assertNull( map.get( "deB-ouA" ) );
+        assertTrue( map.containsKey( "deB-ouA" ) );
+    }
+
+    @Test
+    void testAddRows()
+    {
+        Grid listGrid = new ListGrid();
+        listGrid.addRow().addValuesVar( "deC", "ouC", 5d );
+
+        grid.addRows( listGrid );
+
+        assertEquals( 5, grid.getHeight() );
+        assertEquals( listGrid.getRow( 0 ), grid.getRow( 4 ) );
+        assertSame( grid, grid.addRow().addValue( "deD" ) );
+    }
+
+    @Test
+    void testRowIsNotChangedBySortAndLimit()
+    {
+        List<Object> row = grid.getRow( 0 );
+        List<List<Object>> rows = List.copyOf( grid.getRows() );
+
+        grid.sortGrid( 3, 1 );
+        grid.limitGrid( 1 );
+
+        assertEquals( List.of( "deA", "ouA", 3d ), row );
+        assertEquals( List.of( "deB", "ouB", 2d ), rows.get( 3 ) );
+        assertEquals( 1, grid.getHeight() );
+    }
+
+    @Test
+    void testSetValueOnRowReadBeforeSort()
+    {
+        List<Object> row = grid.getRow( 1 );
+
+        row.set( 2, 5d );
+
+        assertEquals( 5d, row.get( 2 ) );
+        assertEquals( 5d, grid.getValue( 1, 2 ) );
+
+        grid.sortGrid( 3, 1 );
+
+        assertThrows( ConcurrentModificationException.class, () -> row.set( 2, 6d ) );
+        assertEquals( List.of( 5d, 3d, 2d ), grid.getColumn( 2 ).subList( 0, 3 ) );
+    }
+
+    @Test
+    void testCopyConstructor()
+    {
+        grid.addMetaData( "items", new HashMap<>( Map.of( "deA", "Data element A" ) ) );
+
+        Grid copy = new ColumnarGrid( grid );
+
+        assertEquals( grid.getHeaders(), copy.getHeaders() );
+        assertEquals( grid.getRows(), copy.getRows() );
+        assertEquals( 2, copy.getIndexOfHeader( "value" ) );
+
+        copy.getRow( 0 ).set( 0, "deC" );
+        copy.sortGrid( 3, 1 );
+        copy.addRow().addValuesVar( "deD", "ouD", 4d );
+        ((Map<?, ?>) copy.getMetaData().get( "items" )).clear();
+
+        assertEquals( 4, grid.getHeight() );
+        assertEquals( List.of( "deA", "ouA", 3d ), grid.getRow( 0 ) );
+        assertEquals( 1, ((Map<?, ?>) grid.getMetaData().get( "items" )).size() );
+    }
+
+    @Test
+    void testCopyConstructorFromListGrid()
+    {
+        Grid listGrid = new ListGrid();
+        listGrid.addHeader( new GridHeader( "dx" ) );
+        listGrid.addRow().addValue( "deA" );
+        listGrid.addRow().addValue( "deB" );
+
+        Grid copy = new ColumnarGrid( listGrid );
+
+        assertEquals( List.of( "deA", "deB" ), copy.getColumn( 0 ) );
+        assertEquals( 0, copy.getIndexOfHeader( "dx" ) );
+    }
+}
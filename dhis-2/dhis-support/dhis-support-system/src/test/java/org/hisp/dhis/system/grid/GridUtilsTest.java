@@ -29,14 +29,20 @@ package org.hisp.dhis.system.grid;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.commons.io.IOUtils;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.hisp.dhis.common.CodeGenerator;
 import org.hisp.dhis.common.DimensionalItemObject;
 import org.hisp.dhis.common.Grid;
+import org.hisp.dhis.common.GridHeader;
 import org.hisp.dhis.period.Period;
 import org.hisp.dhis.period.PeriodType;
 import org.junit.jupiter.api.Test;
@@ -62,6 +68,37 @@ class GridUtilsTest
         assertEquals( "TitleA", grids.get( 0 ).getTitle() );
     }
 
+    @Test
+    void testToXlsx()
+        throws Exception
+    {
+        Grid grid = new ListGrid();
+        grid.setTitle( "TitleA" );
+        grid.addHeader( new GridHeader( "dx", false, true ) );
+        grid.addHeader( new GridHeader( "ou", true, true ) );
+        grid.addHeader( new GridHeader( "value", false, false ) );
+        grid.addRow().addValuesVar( "deA", "ouA", 12L );
+        grid.addRow().addValuesVar( "deB", "ouB", null );
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GridUtils.toXlsx( grid, out );
+
+        try ( Workbook workbook = new XSSFWorkbook( new ByteArrayInputStream( out.toByteArray() ) ) )
+        {
+            assertEquals( 1, workbook.getNumberOfSheets() );
+            Sheet sheet = workbook.getSheet( "TitleA" );
+            assertNotNull( sheet );
+            assertEquals( "TitleA", sheet.getRow( 0 ).getCell( 0 ).getStringCellValue() );
+            assertEquals( "dx", sheet.getRow( 2 ).getCell( 0 ).getStringCellValue() );
+            assertEquals( "value", sheet.getRow( 2 ).getCell( 1 ).getStringCellValue() );
+            assertEquals( "deA", sheet.getRow( 3 ).getCell( 0 ).getStringCellValue() );
+            assertEquals( "12", sheet.getRow( 3 ).getCell( 1 ).getStringCellValue() );
+            assertEquals( "deB", sheet.getRow( 4 ).getCell( 0 ).getStringCellValue() );
+            assertEquals( "", sheet.getRow( 4 ).getCell( 1 ).getStringCellValue() );
+            assertNull( sheet.getRow( 4 ).getCell( 2 ) );
+        }
+    }
+
     @Test
     void testGetGridIndexByDimensionItem()
     {
@@ -27,12 +27,14 @@
  */
 package org.hisp.dhis.datavalue;
 
+import static org.hisp.dhis.util.DateUtils.addDays;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Set;
 
@@ -413,6 +415,30 @@ class DataValueServiceTest extends TransactionalIntegrationTest
         assertEquals( 4, dataValues.size() );
     }
 
+    @Test
+    void testGetPersistedDataValues()
+    {
+        DataValue dataValueA = new DataValue( deA, peA, ouA, optionCombo, optionCombo, "1" );
+        DataValue dataValueB = new DataValue( deB, peA, ouA, optionCombo, optionCombo, "2" );
+        DataValue dataValueC = new DataValue( deC, peC, ouD, optionCombo, optionCombo, "3" );
+        dataValueService.addDataValue( dataValueA );
+        dataValueService.addDataValue( dataValueB );
+        dataValueService.addDataValue( dataValueC );
+        dataValueService.deleteDataValue( dataValueB );
+        dbmsManager.flushSession();
+        DataValue lookupA = new DataValue( deA, peA, ouA, optionCombo, optionCombo );
+        DataValue lookupB = new DataValue( deB, peA, ouA, optionCombo, optionCombo );
+        DataValue lookupD = new DataValue( deD, peA, ouA, optionCombo, optionCombo );
+        List<DataValue> dataValues = dataValueService.getPersistedDataValues( List.of( lookupA, lookupB, lookupD ) );
+        assertEquals( 2, dataValues.size() );
+        assertTrue( dataValues.contains( lookupA ) );
+        assertTrue( dataValues.contains( lookupB ) );
+        DataValue persistedB = dataValues.get( dataValues.indexOf( lookupB ) );
+        assertEquals( "2", persistedB.getValue() );
+        assertTrue( persistedB.isDeleted() );
+        assertNotNull( persistedB.getCreated() );
+    }
+
     @Test
     void testGetDataValuesDataElementsPeriodsOrgUnits()
     {
@@ -493,6 +519,21 @@ class DataValueServiceTest extends TransactionalIntegrationTest
         assertEquals( 1, dataValueService.getDataValueCountLastUpdatedBetween( getDate( 1970, 1, 1 ), null, false ) );
     }
 
+    @Test
+    void testGetDeflatedDataValuesLastUpdated()
+    {
+        DataValue dataValueA = new DataValue( deA, peA, ouA, optionCombo, optionCombo, "1" );
+        DataValue dataValueB = new DataValue( deA, peB, ouA, optionCombo, optionCombo, "2" );
+        dataValueService.addDataValue( dataValueA );
+        dataValueService.addDataValue( dataValueB );
+        dbmsManager.flushSession();
+        Date now = new Date();
+        assertEquals( 2, dataValueService.getDeflatedDataValues( new DataExportParams()
+            .setDataElements( Set.of( deA ) ).setLastUpdated( addDays( now, -1 ) ) ).size() );
+        assertEquals( 0, dataValueService.getDeflatedDataValues( new DataExportParams()
+            .setDataElements( Set.of( deA ) ).setLastUpdated( addDays( now, 1 ) ) ).size() );
+    }
+
     @Test
     void testVAlidateMissingDataElement()
     {
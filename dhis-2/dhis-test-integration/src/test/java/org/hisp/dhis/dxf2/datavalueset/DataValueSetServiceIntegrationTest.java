@@ -30,9 +30,15 @@ package org.hisp.dhis.dxf2.datavalueset;
 import static org.hisp.dhis.util.DateUtils.getMediumDateString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.StringJoiner;
 
 import org.hisp.dhis.DhisTest;
 import org.hisp.dhis.category.CategoryOptionCombo;
@@ -275,6 +281,71 @@ class DataValueSetServiceIntegrationTest extends DhisTest
         assertDataValuesCount( 14 );
     }
 
+    /**
+     * Import data values spanning several chunks, where one data value is
+     * repeated within the first chunk. Then import the same data values again
+     * with other values, which updates all of them.
+     */
+    @Test
+    void testImportUpdateValuesJsonMultipleChunks()
+    {
+        assertImportUpdateValuesJsonMultipleChunks( ImportOptions.getDefaultImportOptions() );
+    }
+
+    /**
+     * Import 12 data values spread over several organisation units and
+     * periods, and therefore over several shards, with parallel writes. Then
+     * import 6 data values, where 4 are updates.
+     */
+    @Test
+    void testImportUpdateValuesXmlParallel()
+    {
+        ImportOptions options = ImportOptions.getDefaultImportOptions().setParallel( true );
+        assertDataValuesCount( 0 );
+        in = readFile( "datavalueset/dataValueSetB.xml" );
+        ImportSummary summary = dataValueSetService.importDataValueSetXml( in, options );
+        assertSuccessWithImportedUpdatedDeleted( 12, 0, 0, summary );
+        assertDataValuesCount( 12 );
+        // Update
+        in = readFile( "datavalueset/dataValueSetBUpdate.xml" );
+        summary = dataValueSetService.importDataValueSetXml( in, options );
+        assertSuccessWithImportedUpdatedDeleted( 2, 4, 0, summary );
+        assertDataValuesCount( 14 );
+    }
+
+    /**
+     * Import data values spanning several chunks, and therefore several
+     * writers per chunk, with parallel writes. Then update all of them.
+     */
+    @Test
+    void testImportUpdateValuesJsonMultipleChunksParallel()
+    {
+        assertImportUpdateValuesJsonMultipleChunks( ImportOptions.getDefaultImportOptions().setParallel( true ) );
+    }
+
+    /**
+     * Import 12 data values, then import 6 data values where 4 already exist
+     * while skipping the existing value check. Existing data values are
+     * overwritten and counted as imported.
+     */
+    @Test
+    void testImportUpdateValuesXmlSkipExistingCheck()
+    {
+        ImportOptions options = ImportOptions.getDefaultImportOptions().setSkipExistingCheck( true );
+        assertDataValuesCount( 0 );
+        in = readFile( "datavalueset/dataValueSetB.xml" );
+        ImportSummary summary = dataValueSetService.importDataValueSetXml( in, options );
+        assertSuccessWithImportedUpdatedDeleted( 12, 0, 0, summary );
+        assertDataValuesCount( 12 );
+        // Overwrite
+        in = readFile( "datavalueset/dataValueSetBUpdate.xml" );
+        summary = dataValueSetService.importDataValueSetXml( in, options );
+        assertSuccessWithImportedUpdatedDeleted( 6, 0, 0, summary );
+        assertDataValuesCount( 14 );
+        assertEquals( "20009", dataValueService.getDataValue( deC, peA, ouA,
+            categoryService.getDefaultCategoryOptionCombo() ).getValue() );
+    }
+
     /**
      * When updating a data value with a specified created date, the specified
      * created date should be used.
@@ -415,6 +486,68 @@ class DataValueSetServiceIntegrationTest extends DhisTest
         assertDataValuesCount( 0 );
     }
 
+    /**
+     * Imports data values for 300 daily periods, which spans several chunks,
+     * and then updates all of them, asserting the counts and values of the
+     * first data value, which is repeated, and of the last data value.
+     */
+    private void assertImportUpdateValuesJsonMultipleChunks( ImportOptions options )
+    {
+        int days = 300;
+        int count = days * 9;
+        CategoryOptionCombo coc = categoryService.getDefaultCategoryOptionCombo();
+        assertDataValuesCount( 0 );
+        ImportSummary summary = dataValueSetService.importDataValueSetJson(
+            createDailyDataValueSetJson( days, 1, true ), options );
+        assertSuccessWithImportedUpdatedDeleted( count, 1, 0, summary );
+        assertDataValuesCount( count );
+        Period first = periodService.getPeriod( "20120101" );
+        Period last = periodService.getPeriod( "20121026" );
+        assertEquals( "99999", dataValueService.getDataValue( deA, first, ouA, coc ).getValue() );
+        assertEquals( String.valueOf( count ), dataValueService.getDataValue( deC, last, ouC, coc ).getValue() );
+        // Update
+        summary = dataValueSetService.importDataValueSetJson(
+            createDailyDataValueSetJson( days, 10001, false ), options );
+        assertSuccessWithImportedUpdatedDeleted( 0, count, 0, summary );
+        assertDataValuesCount( count );
+        assertEquals( "10001", dataValueService.getDataValue( deA, first, ouA, coc ).getValue() );
+        assertEquals( String.valueOf( count + 10000 ),
+            dataValueService.getDataValue( deC, last, ouC, coc ).getValue() );
+    }
+
+    /**
+     * Creates a data value set with a data value for each data element and
+     * organisation unit for the given number of daily periods from
+     * 2012-01-01, with consecutive values from the given first value.
+     * Optionally repeats the first data value with value 99999.
+     */
+    private InputStream createDailyDataValueSetJson( int days, int firstValue, boolean repeatFirst )
+    {
+        StringJoiner dataValues = new StringJoiner( ",", "{\"dataValues\":[", "]}" );
+        String template = "{\"dataElement\":\"%s\",\"period\":\"%s\",\"orgUnit\":\"%s\",\"value\":\"%d\"}";
+        int value = firstValue;
+
+        for ( int day = 0; day < days; day++ )
+        {
+            String period = LocalDate.of( 2012, 1, 1 ).plusDays( day ).format( DateTimeFormatter.BASIC_ISO_DATE );
+
+            for ( OrganisationUnit ou : List.of( ouA, ouB, ouC ) )
+            {
+                for ( DataElement de : List.of( deA, deB, deC ) )
+                {
+                    dataValues.add( String.format( template, de.getUid(), period, ou.getUid(), value++ ) );
+
+                    if ( repeatFirst && value == firstValue + 1 )
+                    {
+                        dataValues.add( String.format( template, de.getUid(), period, ou.getUid(), 99999 ) );
+                    }
+                }
+            }
+        }
+
+        return new ByteArrayInputStream( dataValues.toString().getBytes( StandardCharsets.UTF_8 ) );
+    }
+
     private InputStream readFile( String filename )
     {
         try
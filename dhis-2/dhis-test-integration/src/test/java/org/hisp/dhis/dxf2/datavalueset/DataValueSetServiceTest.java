@@ -72,7 +72,7 @@ import org.hisp.dhis.dxf2.importsummary.ImportStatus;
 import org.hisp.dhis.dxf2.importsummary.ImportSummary;
 import org.hisp.dhis.feedback.ErrorCode;
 import org.hisp.dhis.importexport.ImportStrategy;
-import org.hisp.dhis.jdbc.batchhandler.DataValueAuditBatchHandler;
+import org.hisp.dhis.jdbc.batchhandler.CopyDataValueAuditBatchHandler;
 import org.hisp.dhis.jdbc.batchhandler.DataValueBatchHandler;
 import org.hisp.dhis.mock.batchhandler.MockBatchHandler;
 import org.hisp.dhis.mock.batchhandler.MockBatchHandlerFactory;
@@ -210,7 +210,7 @@ class DataValueSetServiceTest extends TransactionalIntegrationTest
         mockDataValueAuditBatchHandler = new MockBatchHandler<>();
         mockBatchHandlerFactory = new MockBatchHandlerFactory();
         mockBatchHandlerFactory.registerBatchHandler( DataValueBatchHandler.class, mockDataValueBatchHandler );
-        mockBatchHandlerFactory.registerBatchHandler( DataValueAuditBatchHandler.class,
+        mockBatchHandlerFactory.registerBatchHandler( CopyDataValueAuditBatchHandler.class,
             mockDataValueAuditBatchHandler );
         setDependency( BatchHandlerFactoryTarget.class, BatchHandlerFactoryTarget::setBatchHandlerFactory,
             mockBatchHandlerFactory, dataValueSetService );
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.fieldfiltering;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.hisp.dhis.attribute.AttributeService;
+import org.hisp.dhis.cache.Cache;
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.cache.LocalCache;
+import org.hisp.dhis.cache.SimpleCacheBuilder;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.schema.SchemaService;
+import org.hisp.dhis.security.acl.AclService;
+import org.hisp.dhis.test.integration.SingleSetupIntegrationTestBase;
+import org.hisp.dhis.user.CurrentUserService;
+import org.hisp.dhis.user.UserGroupService;
+import org.hisp.dhis.user.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+/**
+ * Tests {@link FieldFilterService} with a plan cache that retains entries, as
+ * the cache of the application context is disabled in test runs.
+ */
+class FieldFilterServiceTest extends SingleSetupIntegrationTestBase
+{
+    @Autowired
+    private FieldPathHelper fieldPathHelper;
+
+    @Autowired
+    @Qualifier( "jsonMapper" )
+    private ObjectMapper jsonMapper;
+
+    @Autowired
+    private SchemaService schemaService;
+
+    @Autowired
+    private AclService aclService;
+
+    @Autowired
+    private CurrentUserService currentUserService;
+
+    @Autowired
+    private UserGroupService userGroupService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AttributeService attributeService;
+
+    private Cache<FieldFilterPlan> planCache;
+
+    private FieldFilterService service;
+
+    @BeforeEach
+    void setUp()
+    {
+        planCache = new LocalCache<>( new SimpleCacheBuilder<FieldFilterPlan>() );
+
+        CacheProvider cacheProvider = mock( CacheProvider.class );
+        when( cacheProvider.<FieldFilterPlan> createFieldFilterPlanCache() ).thenReturn( planCache );
+
+        service = new FieldFilterService( fieldPathHelper, jsonMapper, schemaService, aclService,
+            currentUserService, userGroupService, userService, attributeService, cacheProvider );
+    }
+
+    @Test
+    void testPlanIsCachedAndReused()
+    {
+        DataElement dataElementA = createDataElement( 'A' );
+        DataElement dataElementB = createDataElement( 'B' );
+
+        ObjectNode nodeA = service.toObjectNode( dataElementA, List.of( "id", "name" ) );
+        List<FieldFilterPlan> plans = planCache.getAll().collect( Collectors.toList() );
+        assertEquals( 1, plans.size() );
+
+        // The order of the filters does not change the plan
+
+        ObjectNode nodeB = service.toObjectNode( dataElementB, List.of( "name", "id" ) );
+        assertEquals( 1, planCache.getAll().count() );
+        assertSame( plans.get( 0 ), planCache.getAll().findFirst().orElseThrow() );
+
+        assertEquals( dataElementA.getUid(), nodeA.get( "id" ).asText() );
+        assertEquals( dataElementA.getName(), nodeA.get( "name" ).asText() );
+        assertEquals( dataElementB.getUid(), nodeB.get( "id" ).asText() );
+        assertEquals( dataElementB.getName(), nodeB.get( "name" ).asText() );
+        assertEquals( 2, nodeB.size() );
+    }
+
+    @Test
+    void testPlanIsCachedPerFiltersAndClass()
+    {
+        DataElement dataElement = createDataElement( 'A' );
+        OrganisationUnit orgUnit = createOrganisationUnit( 'A' );
+
+        ObjectNode idNode = service.toObjectNode( dataElement, List.of( "id" ) );
+        ObjectNode nameNode = service.toObjectNode( dataElement, List.of( "name" ) );
+        ObjectNode orgUnitNode = service.toObjectNode( orgUnit, List.of( "id" ) );
+
+        assertEquals( 3, planCache.getAll().count() );
+        assertTrue( idNode.has( "id" ) );
+        assertFalse( idNode.has( "name" ) );
+        assertTrue( nameNode.has( "name" ) );
+        assertFalse( nameNode.has( "id" ) );
+        assertEquals( orgUnit.getUid(), orgUnitNode.get( "id" ).asText() );
+    }
+
+    @Test
+    void testStreamWithCachedPlanMatchesObjectNodes()
+        throws IOException
+    {
+        DataElement dataElement = createDataElement( 'A' );
+        List<String> filters = List.of( "id", "name", "valueType" );
+
+        ObjectNode expected = service.toObjectNode( dataElement, filters );
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        service.toObjectNodesStream( FieldFilterParams.of( List.of( dataElement ), filters ), outputStream );
+
+        assertEquals( 1, planCache.getAll().count() );
+        assertEquals( expected, jsonMapper.readTree( outputStream.toByteArray() ) );
+    }
+}
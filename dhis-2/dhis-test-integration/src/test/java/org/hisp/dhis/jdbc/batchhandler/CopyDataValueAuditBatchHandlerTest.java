@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.jdbc.batchhandler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.hisp.dhis.category.CategoryOptionCombo;
+import org.hisp.dhis.category.CategoryService;
+import org.hisp.dhis.common.AuditType;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.dataelement.DataElementService;
+import org.hisp.dhis.datavalue.DataValue;
+import org.hisp.dhis.datavalue.DataValueAudit;
+import org.hisp.dhis.datavalue.DataValueAuditService;
+import org.hisp.dhis.datavalue.DataValueService;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.organisationunit.OrganisationUnitService;
+import org.hisp.dhis.period.MonthlyPeriodType;
+import org.hisp.dhis.period.Period;
+import org.hisp.dhis.period.PeriodService;
+import org.hisp.dhis.period.PeriodType;
+import org.hisp.dhis.test.integration.IntegrationTestBase;
+import org.hisp.quick.BatchHandler;
+import org.hisp.quick.BatchHandlerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class CopyDataValueAuditBatchHandlerTest extends IntegrationTestBase
+{
+    @Autowired
+    private BatchHandlerFactory batchHandlerFactory;
+
+    @Autowired
+    private DataValueService dataValueService;
+
+    @Autowired
+    private DataValueAuditService auditService;
+
+    @Autowired
+    private DataElementService dataElementService;
+
+    @Autowired
+    private PeriodService periodService;
+
+    @Autowired
+    private OrganisationUnitService organisationUnitService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    private BatchHandler<DataValueAudit> batchHandler;
+
+    private DataValue dataValueA;
+
+    private DataValue dataValueB;
+
+    private String storedBy = "johndoe";
+
+    // -------------------------------------------------------------------------
+    // Fixture
+    // -------------------------------------------------------------------------
+
+    @Override
+    public void setUpTest()
+    {
+        batchHandler = batchHandlerFactory.createBatchHandler( CopyDataValueAuditBatchHandler.class );
+        DataElement dataElementA = createDataElement( 'A' );
+        dataElementService.addDataElement( dataElementA );
+        CategoryOptionCombo categoryOptionComboA = categoryService.getDefaultCategoryOptionCombo();
+        PeriodType periodType = PeriodType.getPeriodTypeByName( MonthlyPeriodType.NAME );
+        Period periodA = createPeriod( periodType, getDate( 2000, 1, 1 ), getDate( 2000, 1, 31 ) );
+        periodService.addPeriod( periodA );
+        OrganisationUnit unitA = createOrganisationUnit( 'A' );
+        OrganisationUnit unitB = createOrganisationUnit( 'B' );
+        organisationUnitService.addOrganisationUnit( unitA );
+        organisationUnitService.addOrganisationUnit( unitB );
+        dataValueA = createDataValue( dataElementA, periodA, unitA, categoryOptionComboA, categoryOptionComboA, "10" );
+        dataValueB = createDataValue( dataElementA, periodA, unitB, categoryOptionComboA, categoryOptionComboA, "10" );
+        dataValueService.addDataValue( dataValueA );
+        dataValueService.addDataValue( dataValueB );
+        batchHandler.init();
+    }
+
+    @Override
+    public void tearDownTest()
+    {
+        batchHandler.flush();
+    }
+
+    // -------------------------------------------------------------------------
+    // Tests
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testAddObject()
+    {
+        batchHandler.addObject( new DataValueAudit( dataValueA, "11", storedBy, AuditType.UPDATE ) );
+        batchHandler.addObject( new DataValueAudit( dataValueA, "12", storedBy, AuditType.UPDATE ) );
+        batchHandler.addObject( new DataValueAudit( dataValueB, "21", storedBy, AuditType.UPDATE ) );
+        batchHandler.flush();
+        assertEquals( 2, auditService.getDataValueAudits( dataValueA ).size() );
+        assertEquals( 1, auditService.getDataValueAudits( dataValueB ).size() );
+    }
+
+    @Test
+    void testAddObjectNullValues()
+    {
+        batchHandler.addObject( new DataValueAudit( dataValueA, null, null, AuditType.DELETE ) );
+        batchHandler.flush();
+        List<DataValueAudit> audits = auditService.getDataValueAudits( dataValueA );
+        assertEquals( 1, audits.size() );
+        assertNull( audits.get( 0 ).getValue() );
+        assertNull( audits.get( 0 ).getModifiedBy() );
+        assertEquals( AuditType.DELETE, audits.get( 0 ).getAuditType() );
+    }
+
+    @Test
+    void testAddObjectEscapedValues()
+    {
+        String value = "Quote \" comma , newline \n backslash \\ end";
+        batchHandler.addObject( new DataValueAudit( dataValueA, value, "", AuditType.UPDATE ) );
+        batchHandler.flush();
+        List<DataValueAudit> audits = auditService.getDataValueAudits( dataValueA );
+        assertEquals( 1, audits.size() );
+        assertEquals( value, audits.get( 0 ).getValue() );
+        assertEquals( "", audits.get( 0 ).getModifiedBy() );
+    }
+
+    @Test
+    void testAddObjectAfterFlush()
+    {
+        batchHandler.addObject( new DataValueAudit( dataValueA, "11", storedBy, AuditType.UPDATE ) );
+        batchHandler.flush();
+        batchHandler.addObject( new DataValueAudit( dataValueA, "12", storedBy, AuditType.UPDATE ) );
+        batchHandler.flush();
+        assertEquals( 2, auditService.getDataValueAudits( dataValueA ).size() );
+    }
+}
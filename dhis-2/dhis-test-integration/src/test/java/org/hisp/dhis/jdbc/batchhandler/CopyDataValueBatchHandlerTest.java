@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.jdbc.batchhandler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.hisp.dhis.category.CategoryOptionCombo;
+import org.hisp.dhis.category.CategoryService;
+import org.hisp.dhis.dataelement.DataElement;
+import org.hisp.dhis.dataelement.DataElementService;
+import org.hisp.dhis.datavalue.DataExportParams;
+import org.hisp.dhis.datavalue.DataValue;
+import org.hisp.dhis.datavalue.DataValueService;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.organisationunit.OrganisationUnitService;
+import org.hisp.dhis.period.MonthlyPeriodType;
+import org.hisp.dhis.period.Period;
+import org.hisp.dhis.period.PeriodService;
+import org.hisp.dhis.period.PeriodType;
+import org.hisp.dhis.test.integration.IntegrationTestBase;
+import org.hisp.quick.BatchHandler;
+import org.hisp.quick.BatchHandlerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.google.common.collect.Sets;
+
+class CopyDataValueBatchHandlerTest extends IntegrationTestBase
+{
+    @Autowired
+    private BatchHandlerFactory batchHandlerFactory;
+
+    @Autowired
+    private DataValueService dataValueService;
+
+    @Autowired
+    private DataElementService dataElementService;
+
+    @Autowired
+    private PeriodService periodService;
+
+    @Autowired
+    private OrganisationUnitService organisationUnitService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    private BatchHandler<DataValue> batchHandler;
+
+    private DataElement dataElementA;
+
+    private CategoryOptionCombo categoryOptionComboA;
+
+    private Period periodA;
+
+    private Period periodB;
+
+    private OrganisationUnit unitA;
+
+    private OrganisationUnit unitB;
+
+    // -------------------------------------------------------------------------
+    // Fixture
+    // -------------------------------------------------------------------------
+
+    @Override
+    public void setUpTest()
+    {
+        batchHandler = batchHandlerFactory.createBatchHandler( CopyDataValueBatchHandler.class );
+        dataElementA = createDataElement( 'A' );
+        dataElementService.addDataElement( dataElementA );
+        categoryOptionComboA = categoryService.getDefaultCategoryOptionCombo();
+        PeriodType periodType = PeriodType.getPeriodTypeByName( MonthlyPeriodType.NAME );
+        periodA = createPeriod( periodType, getDate( 2000, 1, 1 ), getDate( 2000, 1, 31 ) );
+        periodB = createPeriod( periodType, getDate( 2000, 2, 1 ), getDate( 2000, 2, 28 ) );
+        periodService.addPeriod( periodA );
+        periodService.addPeriod( periodB );
+        unitA = createOrganisationUnit( 'A' );
+        unitB = createOrganisationUnit( 'B' );
+        organisationUnitService.addOrganisationUnit( unitA );
+        organisationUnitService.addOrganisationUnit( unitB );
+        batchHandler.init();
+    }
+
+    @Override
+    public void tearDownTest()
+    {
+        batchHandler.flush();
+    }
+
+    // -------------------------------------------------------------------------
+    // Tests
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testAddObject()
+    {
+        DataValue dataValueA = createDataValue( dataElementA, periodA, unitA, categoryOptionComboA,
+            categoryOptionComboA, "10" );
+        DataValue dataValueB = createDataValue( dataElementA, periodA, unitB, categoryOptionComboA,
+            categoryOptionComboA, "11" );
+        DataValue dataValueC = createDataValue( dataElementA, periodB, unitA, categoryOptionComboA,
+            categoryOptionComboA, "12" );
+        batchHandler.addObject( dataValueA );
+        batchHandler.addObject( dataValueB );
+        batchHandler.addObject( dataValueC );
+        batchHandler.flush();
+        List<DataValue> values = dataValueService.getDataValues( new DataExportParams()
+            .setDataElements( Sets.newHashSet( dataElementA ) ).setPeriods( Sets.newHashSet( periodA, periodB ) )
+            .setOrganisationUnits( Sets.newHashSet( unitA, unitB ) ) );
+        assertNotNull( values );
+        assertEquals( 3, values.size() );
+        assertTrue( values.contains( dataValueA ) );
+        assertTrue( values.contains( dataValueB ) );
+        assertTrue( values.contains( dataValueC ) );
+    }
+
+    @Test
+    void testAddObjectUpdatesExistingAndPreservesCreated()
+    {
+        DataValue dataValueA = createDataValue( dataElementA, periodA, unitA, categoryOptionComboA,
+            categoryOptionComboA, "10", getDate( 2010, 1, 1 ), getDate( 2010, 1, 1 ) );
+        batchHandler.addObject( dataValueA );
+        batchHandler.flush();
+        DataValue dataValueB = createDataValue( dataElementA, periodA, unitA, categoryOptionComboA,
+            categoryOptionComboA, "20", getDate( 2020, 1, 1 ), getDate( 2020, 1, 1 ) );
+        dataValueB.setComment( "Updated" );
+        batchHandler.addObject( dataValueB );
+        batchHandler.flush();
+        DataValue dataValue = dataValueService.getDataValue( dataElementA, periodA, unitA, categoryOptionComboA,
+            categoryOptionComboA );
+        assertNotNull( dataValue );
+        assertEquals( "20", dataValue.getValue() );
+        assertEquals( "Updated", dataValue.getComment() );
+        assertEquals( getDate( 2010, 1, 1 ), dataValue.getCreated() );
+        assertEquals( getDate( 2020, 1, 1 ), dataValue.getLastUpdated() );
+    }
+
+    @Test
+    void testAddObjectDuplicatesInBatch()
+    {
+        batchHandler.addObject( createDataValue( dataElementA, periodA, unitA, categoryOptionComboA,
+            categoryOptionComboA, "10" ) );
+        batchHandler.addObject( createDataValue( dataElementA, periodA, unitA, categoryOptionComboA,
+            categoryOptionComboA, "11" ) );
+        batchHandler.flush();
+        List<DataValue> values = dataValueService.getDataValues( new DataExportParams()
+            .setDataElements( Sets.newHashSet( dataElementA ) ).setPeriods( Sets.newHashSet( periodA ) )
+            .setOrganisationUnits( Sets.newHashSet( unitA ) ) );
+        assertEquals( 1, values.size() );
+        assertEquals( "11", values.get( 0 ).getValue() );
+    }
+
+    @Test
+    void testAddObjectNullValues()
+    {
+        DataValue dataValueA = createDataValue( dataElementA, periodA, unitA, categoryOptionComboA,
+            categoryOptionComboA, "10" );
+        dataValueA.setComment( null );
+        dataValueA.setStoredBy( null );
+        batchHandler.addObject( dataValueA );
+        batchHandler.flush();
+        DataValue dataValue = dataValueService.getDataValue( dataElementA, periodA, unitA, categoryOptionComboA,
+            categoryOptionComboA );
+        assertNotNull( dataValue );
+        assertEquals( "10", dataValue.getValue() );
+        assertNull( dataValue.getComment() );
+        assertNull( dataValue.getStoredBy() );
+    }
+
+    @Test
+    void testAddObjectEscapedValues()
+    {
+        String comment = "Quote \" comma , newline \n backslash \\ end";
+        DataValue dataValueA = createDataValue( dataElementA, periodA, unitA, categoryOptionComboA,
+            categoryOptionComboA, "\"10\"" );
+        dataValueA.setComment( comment );
+        dataValueA.setStoredBy( "" );
+        batchHandler.addObject( dataValueA );
+        batchHandler.flush();
+        DataValue dataValue = dataValueService.getDataValue( dataElementA, periodA, unitA, categoryOptionComboA,
+            categoryOptionComboA );
+        assertNotNull( dataValue );
+        assertEquals( "\"10\"", dataValue.getValue() );
+        assertEquals( comment, dataValue.getComment() );
+        assertEquals( "", dataValue.getStoredBy() );
+    }
+
+    @Test
+    void testFindObjectSeesBufferedObjects()
+    {
+        DataValue dataValueA = createDataValue( dataElementA, periodA, unitA, categoryOptionComboA,
+            categoryOptionComboA, "10" );
+        batchHandler.addObject( dataValueA );
+        assertTrue( batchHandler.objectExists( dataValueA ) );
+        assertEquals( "10", batchHandler.findObject( dataValueA ).getValue() );
+    }
+}
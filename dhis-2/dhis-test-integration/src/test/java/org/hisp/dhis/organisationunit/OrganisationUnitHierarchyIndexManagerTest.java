@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.organisationunit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.hisp.dhis.cache.CacheProvider;
+import org.hisp.dhis.common.event.ApplicationCacheClearedEvent;
+import org.hisp.dhis.test.integration.IntegrationTestBase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Tests that the {@link OrganisationUnitHierarchyIndexManager} only applies
+ * committed hierarchy changes and that {@link OrganisationUnitService} falls
+ * back to the session state where the index does not apply. The test is not
+ * transactional, so that changes are committed and Hibernate post commit
+ * events are fired.
+ */
+class OrganisationUnitHierarchyIndexManagerTest extends IntegrationTestBase
+{
+    @Autowired
+    private OrganisationUnitHierarchyIndexManager hierarchyIndexManager;
+
+    @Autowired
+    private OrganisationUnitService organisationUnitService;
+
+    @Autowired
+    private CacheProvider cacheProvider;
+
+    private OrganisationUnit unitA;
+
+    private OrganisationUnit unitB;
+
+    private OrganisationUnit unitC;
+
+    @Override
+    protected void setUpTest()
+    {
+        // The database is emptied between tests without Hibernate events
+
+        hierarchyIndexManager.invalidate();
+
+        unitA = createOrganisationUnit( 'A' );
+        organisationUnitService.addOrganisationUnit( unitA );
+        unitB = createOrganisationUnit( 'B', unitA );
+        organisationUnitService.addOrganisationUnit( unitB );
+        unitC = createOrganisationUnit( 'C', unitB );
+        organisationUnitService.addOrganisationUnit( unitC );
+    }
+
+    @Test
+    void testLoadIndex()
+    {
+        OrganisationUnitHierarchyIndex index = getIndex();
+
+        assertEquals( 3, index.size() );
+        assertEquals( 0L, index.getParentId( unitA.getId() ) );
+        assertEquals( unitA.getId(), index.getParentId( unitB.getId() ) );
+        assertEquals( unitB.getId(), index.getParentId( unitC.getId() ) );
+        assertEquals( 3, index.getLevel( unitC.getId() ) );
+    }
+
+    @Test
+    void testCommittedInsertIsApplied()
+    {
+        getIndex();
+
+        OrganisationUnit unitD = createOrganisationUnit( 'D', unitC );
+        organisationUnitService.addOrganisationUnit( unitD );
+
+        OrganisationUnitHierarchyIndex index = getIndex();
+        assertEquals( 4, index.size() );
+        assertEquals( unitC.getId(), index.getParentId( unitD.getId() ) );
+        assertTrue( index.isDescendant( unitD.getId(), unitA.getId() ) );
+    }
+
+    @Test
+    void testCommittedMoveIsApplied()
+    {
+        getIndex();
+
+        unitC.setParent( unitA );
+        organisationUnitService.updateOrganisationUnit( unitC );
+
+        OrganisationUnitHierarchyIndex index = getIndex();
+        assertEquals( unitA.getId(), index.getParentId( unitC.getId() ) );
+        assertFalse( index.isDescendant( unitC.getId(), unitB.getId() ) );
+    }
+
+    @Test
+    void testCommittedDeleteIsApplied()
+    {
+        getIndex();
+
+        organisationUnitService.deleteOrganisationUnit( unitC );
+
+        OrganisationUnitHierarchyIndex index = getIndex();
+        assertEquals( 2, index.size() );
+        assertFalse( index.contains( unitC.getId() ) );
+    }
+
+    @Test
+    void testFlushedMoveIsNotAppliedBeforeCommit()
+    {
+        getIndex();
+
+        transactionTemplate.execute( status -> {
+            unitC.setParent( unitA );
+            organisationUnitService.updateOrganisationUnit( unitC );
+            dbmsManager.flushSession();
+
+            // Other transactions must not see the uncommitted move
+
+            assertEquals( unitB.getId(), hierarchyIndexManager.getIndex().getParentId( unitC.getId() ) );
+
+            status.setRollbackOnly();
+            return null;
+        } );
+
+        assertEquals( unitB.getId(), getIndex().getParentId( unitC.getId() ) );
+    }
+
+    @Test
+    void testIndexIsReloadedWhenCachesAreCleared()
+    {
+        getIndex();
+
+        // Changes made by other servers are not seen as Hibernate events
+
+        jdbcTemplate.update( "update organisationunit set parentid = ? where organisationunitid = ?",
+            unitA.getId(), unitC.getId() );
+        assertEquals( unitB.getId(), getIndex().getParentId( unitC.getId() ) );
+
+        cacheProvider.handleApplicationCachesCleared( new ApplicationCacheClearedEvent() );
+        assertEquals( unitA.getId(), getIndex().getParentId( unitC.getId() ) );
+    }
+
+    @Test
+    void testIsDescendant()
+    {
+        getIndex();
+
+        assertTrue( organisationUnitService.isDescendant( unitC, unitA ) );
+        assertTrue( organisationUnitService.isDescendant( unitC, Set.of( unitB ) ) );
+        assertTrue( organisationUnitService.isDescendant( unitC, Set.of( unitC ) ) );
+        assertFalse( organisationUnitService.isDescendant( unitA, unitC ) );
+        assertFalse( organisationUnitService.isDescendant( unitB, Set.of( unitC ) ) );
+    }
+
+    @Test
+    void testIsDescendantOfUnitMovedInTransaction()
+    {
+        getIndex();
+
+        OrganisationUnit unitD = createOrganisationUnit( 'D' );
+        organisationUnitService.addOrganisationUnit( unitD );
+
+        transactionTemplate.execute( status -> {
+            unitC.setParent( unitD );
+
+            // The index still has the committed parent, so the session state
+            // is used
+
+            assertTrue( organisationUnitService.isDescendant( unitC, unitD ) );
+            assertFalse( organisationUnitService.isDescendant( unitC, Set.of( unitA ) ) );
+
+            status.setRollbackOnly();
+            return null;
+        } );
+    }
+
+    @Test
+    void testIsDescendantOfUnitNotInIndex()
+    {
+        getIndex();
+
+        OrganisationUnit unitD = createOrganisationUnit( 'D', unitC );
+
+        assertTrue( organisationUnitService.isDescendant( unitD, Set.of( unitA ) ) );
+        assertFalse( organisationUnitService.isDescendant( unitC, Set.of( unitD ) ) );
+    }
+
+    private OrganisationUnitHierarchyIndex getIndex()
+    {
+        return transactionTemplate.execute( status -> hierarchyIndexManager.getIndex() );
+    }
+}
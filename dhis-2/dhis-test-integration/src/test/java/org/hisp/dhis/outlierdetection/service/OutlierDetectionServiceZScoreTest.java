@@ -31,9 +31,11 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Date;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -46,6 +48,9 @@ import org.hisp.dhis.commons.util.TextUtils;
 import org.hisp.dhis.dataelement.DataElement;
 import org.hisp.dhis.datavalue.DataValue;
 import org.hisp.dhis.datavalue.DataValueService;
+import org.hisp.dhis.dxf2.datavalueset.DataValueSetService;
+import org.hisp.dhis.dxf2.importsummary.ImportStatus;
+import org.hisp.dhis.dxf2.importsummary.ImportSummary;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.outlierdetection.OutlierDetectionAlgorithm;
 import org.hisp.dhis.outlierdetection.OutlierDetectionQuery;
@@ -58,10 +63,14 @@ import org.hisp.dhis.period.Period;
 import org.hisp.dhis.period.PeriodService;
 import org.hisp.dhis.system.util.MathUtils;
 import org.hisp.dhis.test.integration.IntegrationTestBase;
+import org.hisp.dhis.user.User;
+import org.hisp.dhis.user.UserService;
+import org.hisp.dhis.util.DateUtils;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import com.google.common.math.StatsAccumulator;
 
 /**
@@ -85,6 +94,15 @@ class OutlierDetectionServiceZScoreTest extends IntegrationTestBase
     @Autowired
     private OutlierDetectionService subject;
 
+    @Autowired
+    private DataValueStatisticsManager statisticsManager;
+
+    @Autowired
+    private DataValueSetService dataValueSetService;
+
+    @Autowired
+    private UserService _userService;
+
     private DataElement deA;
 
     private DataElement deB;
@@ -123,6 +141,7 @@ class OutlierDetectionServiceZScoreTest extends IntegrationTestBase
         idObjectManager.save( ouA );
         idObjectManager.save( ouB );
         coc = categoryService.getDefaultCategoryOptionCombo();
+        userService = _userService;
     }
 
     @Test
@@ -275,6 +294,85 @@ class OutlierDetectionServiceZScoreTest extends IntegrationTestBase
         assertFalse( outlier.getFollowup() );
     }
 
+    @Test
+    void testGetOutlierValuesAfterDataValueUpdate()
+    {
+        DataValue outlierValue = new DataValue( deA, m04, ouA, coc, coc, "81" );
+        addDataValues( new DataValue( deA, m01, ouA, coc, coc, "31" ), new DataValue( deA, m02, ouA, coc, coc, "34" ),
+            new DataValue( deA, m03, ouA, coc, coc, "38" ), outlierValue,
+            new DataValue( deA, m05, ouA, coc, coc, "39" ), new DataValue( deA, m06, ouA, coc, coc, "33" ) );
+        OutlierDetectionRequest request = new OutlierDetectionRequest.Builder()
+            .withDataElements( Lists.newArrayList( deA, deB ) )
+            .withStartEndDate( getDate( 2020, 1, 1 ), getDate( 2021, 1, 1 ) ).withOrgUnits( Lists.newArrayList( ouA ) )
+            .withAlgorithm( OutlierDetectionAlgorithm.Z_SCORE ).withThreshold( 2.0 ).build();
+        assertStatisticsUpToDate();
+        OutlierDetectionResponse response = subject.getOutlierValues( request );
+        assertEquals( 1, response.getOutlierValues().size() );
+        assertContainsOutlierValue( response, 81d );
+        outlierValue.setValue( "36" );
+        dataValueService.updateDataValue( outlierValue );
+        response = subject.getOutlierValues( request );
+        assertEquals( 0, response.getOutlierValues().size() );
+    }
+
+    @Test
+    void testGetOutlierValuesAfterImportWithOldLastUpdated()
+    {
+        User user = createAndInjectAdminUser();
+        user.setOrganisationUnits( Sets.newHashSet( ouA, ouB ) );
+        injectSecurityContext( user );
+        addDataValues( new DataValue( deA, m01, ouA, coc, coc, "31" ), new DataValue( deA, m02, ouA, coc, coc, "34" ),
+            new DataValue( deA, m03, ouA, coc, coc, "38" ), new DataValue( deA, m04, ouA, coc, coc, "81" ),
+            new DataValue( deA, m05, ouA, coc, coc, "39" ), new DataValue( deA, m06, ouA, coc, coc, "33" ) );
+        OutlierDetectionRequest request = new OutlierDetectionRequest.Builder()
+            .withDataElements( Lists.newArrayList( deA, deB ) )
+            .withStartEndDate( getDate( 2020, 1, 1 ), getDate( 2021, 1, 1 ) ).withOrgUnits( Lists.newArrayList( ouA ) )
+            .withAlgorithm( OutlierDetectionAlgorithm.Z_SCORE ).withThreshold( 2.0 ).build();
+        assertStatisticsUpToDate();
+        OutlierDetectionResponse response = subject.getOutlierValues( request );
+        assertEquals( 1, response.getOutlierValues().size() );
+        assertContainsOutlierValue( response, 81d );
+        // Imported value keeps a last updated date before the previous update
+        String json = "{\"dataValues\":[{\"dataElement\":\"deabcdefghA\",\"period\":\"202002\"," +
+            "\"orgUnit\":\"ouabcdefghA\",\"value\":\"81\",\"lastUpdated\":\"2000-01-01\"}]}";
+        ImportSummary summary = dataValueSetService
+            .importDataValueSetJson( new ByteArrayInputStream( json.getBytes( StandardCharsets.UTF_8 ) ) );
+        assertEquals( ImportStatus.SUCCESS, summary.getStatus() );
+        assertEquals( 1, summary.getImportCount().getUpdated() );
+        assertStatisticsUpToDate();
+        response = subject.getOutlierValues( request );
+        assertEquals( 0, response.getOutlierValues().size() );
+    }
+
+    @Test
+    void testRemoveUnreadStatistics()
+    {
+        addDataValues( new DataValue( deA, m01, ouA, coc, coc, "31" ), new DataValue( deA, m02, ouA, coc, coc, "34" ) );
+        assertStatisticsUpToDate();
+        assertEquals( List.of( deA.getId(), deB.getId() ), statisticsManager.getTrackedDataElementIds() );
+        assertEquals( 0, statisticsManager.removeUnreadStatistics( getDate( 2020, 1, 1 ) ) );
+        assertEquals( 2, statisticsManager.removeUnreadStatistics( DateUtils.addDays( new Date(), 1 ) ) );
+        assertTrue( statisticsManager.getTrackedDataElementIds().isEmpty() );
+        assertFalse( statisticsManager.updateStatistics( List.of( deA.getId() ) ) );
+    }
+
+    /**
+     * Asserts that the precomputed statistics of the data elements become up
+     * to date. Data elements without statistics are registered by the first
+     * update, and their statistics are computed by up to two runs of the
+     * statistics job.
+     */
+    private void assertStatisticsUpToDate()
+    {
+        List<Long> dataElementIds = List.of( deA.getId(), deB.getId() );
+        statisticsManager.updateStatistics( dataElementIds );
+        for ( int i = 0; i < 2; i++ )
+        {
+            statisticsManager.getTrackedDataElementIds().forEach( statisticsManager::maintainStatistics );
+        }
+        assertTrue( statisticsManager.updateStatistics( dataElementIds ) );
+    }
+
     private void assertContainsOutlierValue( OutlierDetectionResponse response, Double value )
     {
         assertTrue( response.getOutlierValues().stream().anyMatch( ov -> MathUtils.isEqual( ov.getValue(), value ) ) );
@@ -31,6 +31,7 @@ import static com.google.common.collect.Sets.newHashSet;
 import static org.hisp.dhis.common.OrganisationUnitDescendants.SELECTED;
 import static org.hisp.dhis.expression.ExpressionService.SYMBOL_DAYS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import java.util.Date;
 import java.util.HashSet;
@@ -68,6 +69,8 @@ import org.hisp.dhis.program.Program;
 import org.hisp.dhis.program.ProgramService;
 import org.hisp.dhis.scheduling.JobProgress;
 import org.hisp.dhis.scheduling.NoopJobProgress;
+import org.hisp.dhis.setting.SettingKey;
+import org.hisp.dhis.setting.SystemSettingManager;
 import org.hisp.dhis.test.integration.IntegrationTestBase;
 import org.hisp.dhis.user.CurrentUserService;
 import org.hisp.dhis.user.CurrentUserServiceTarget;
@@ -130,6 +133,9 @@ class PredictionServiceTest extends IntegrationTestBase
     @Autowired
     private UserService _userService;
 
+    @Autowired
+    private SystemSettingManager systemSettingManager;
+
     private OrganisationUnitLevel orgUnitLevel1;
 
     private OrganisationUnitLevel orgUnitLevel2;
@@ -323,6 +329,7 @@ class PredictionServiceTest extends IntegrationTestBase
     @Override
     public void tearDownTest()
     {
+        systemSettingManager.deleteSystemSetting( SettingKey.PREDICTOR_PARALLELISM );
         setDependency( CurrentUserServiceTarget.class, CurrentUserServiceTarget::setCurrentUserService,
             currentUserService, predictionService );
     }
@@ -1272,6 +1279,76 @@ class PredictionServiceTest extends IntegrationTestBase
         assertEquals( "32.0", getDataValue( dataElementX, defaultCombo, sourceF, makeMonth( 2021, 8 ) ) );
     }
 
+    @Test
+    void testPredictInParallelMatchesSequential()
+    {
+        List<OrganisationUnit> sources = Lists.newArrayList( sourceA, sourceB, sourceC, sourceD, sourceE, sourceF );
+        for ( int month = 6; month <= 9; month++ )
+        {
+            for ( int i = 0; i < sources.size(); i++ )
+            {
+                useDataValue( dataElementA, makeMonth( 2021, month ), sources.get( i ), month * 10 + i );
+            }
+        }
+        dataValueBatchHandler.flush();
+        String a = "#{" + dataElementA.getUid() + "}";
+        Set<OrganisationUnitLevel> allLevels = Sets.newHashSet( orgUnitLevel1, orgUnitLevel2, orgUnitLevel3 );
+        Predictor sequential = createPredictor( dataElementY, defaultCombo, "A",
+            new Expression( "sum(" + a + ") + " + a, "description", MissingValueStrategy.SKIP_IF_ALL_VALUES_MISSING ),
+            null, periodTypeMonthly, allLevels, 2, 0, 0 );
+        Predictor parallel = createPredictor( dataElementZ, defaultCombo, "B",
+            new Expression( "sum(" + a + ") + " + a, "description", MissingValueStrategy.SKIP_IF_ALL_VALUES_MISSING ),
+            null, periodTypeMonthly, allLevels, 2, 0, 0 );
+
+        systemSettingManager.saveSystemSetting( SettingKey.PREDICTOR_PARALLELISM, 1 );
+        PredictionSummary sequentialSummary = new PredictionSummary();
+        predictionService.predict( sequential, monthStart( 2021, 8 ), monthStart( 2021, 10 ), sequentialSummary );
+
+        systemSettingManager.saveSystemSetting( SettingKey.PREDICTOR_PARALLELISM, 4 );
+        PredictionSummary parallelSummary = new PredictionSummary();
+        predictionService.predict( parallel, monthStart( 2021, 8 ), monthStart( 2021, 10 ), parallelSummary );
+
+        assertEquals( "Pred 1 Ins 12 Upd 0 Del 0 Unch 0", shortSummary( sequentialSummary ) );
+        assertEquals( shortSummary( sequentialSummary ), shortSummary( parallelSummary ) );
+        for ( OrganisationUnit source : sources )
+        {
+            for ( int month = 8; month <= 9; month++ )
+            {
+                String expected = getDataValue( dataElementY, defaultCombo, source, makeMonth( 2021, month ) );
+                assertNotNull( expected );
+                assertEquals( expected, getDataValue( dataElementZ, defaultCombo, source, makeMonth( 2021, month ) ) );
+            }
+        }
+        assertEquals( "210", getDataValue( dataElementZ, defaultCombo, sourceA, makeMonth( 2021, 8 ) ) );
+    }
+
+    @Test
+    void testPredictOrgUnitGroupFallsBackToSequential()
+    {
+        systemSettingManager.saveSystemSetting( SettingKey.PREDICTOR_PARALLELISM, 4 );
+        useDataValue( dataElementA, makeMonth( 2021, 8 ), sourceA, 1 );
+        useDataValue( dataElementA, makeMonth( 2021, 8 ), sourceB, 2 );
+        useDataValue( dataElementA, makeMonth( 2021, 8 ), sourceC, 4 );
+        useDataValue( dataElementA, makeMonth( 2021, 8 ), sourceD, 8 );
+        useDataValue( dataElementA, makeMonth( 2021, 8 ), sourceE, 16 );
+        useDataValue( dataElementA, makeMonth( 2021, 8 ), sourceF, 32 );
+        dataValueBatchHandler.flush();
+        Expression expression = new Expression( "if(orgUnit.group( " + ouGroupA.getUid() + " , " + ouGroupB.getUid()
+            + " ), #{" + dataElementA.getUid() + "}, 64)", "description",
+            MissingValueStrategy.SKIP_IF_ALL_VALUES_MISSING );
+        Set<OrganisationUnitLevel> allLevels = Sets.newHashSet( orgUnitLevel1, orgUnitLevel2, orgUnitLevel3 );
+        Predictor predictor = createPredictor( dataElementX, defaultCombo, "A", expression, null, periodTypeMonthly,
+            allLevels, 1, 0, 0 );
+        predictionService.predict( predictor, monthStart( 2021, 8 ), monthStart( 2021, 9 ), summary );
+        assertEquals( "Pred 1 Ins 6 Upd 0 Del 0 Unch 0", shortSummary( summary ) );
+        assertEquals( "1.0", getDataValue( dataElementX, defaultCombo, sourceA, makeMonth( 2021, 8 ) ) );
+        assertEquals( "64.0", getDataValue( dataElementX, defaultCombo, sourceB, makeMonth( 2021, 8 ) ) );
+        assertEquals( "4.0", getDataValue( dataElementX, defaultCombo, sourceC, makeMonth( 2021, 8 ) ) );
+        assertEquals( "56.0", getDataValue( dataElementX, defaultCombo, sourceD, makeMonth( 2021, 8 ) ) );
+        assertEquals( "64.0", getDataValue( dataElementX, defaultCombo, sourceE, makeMonth( 2021, 8 ) ) );
+        assertEquals( "32.0", getDataValue( dataElementX, defaultCombo, sourceF, makeMonth( 2021, 8 ) ) );
+    }
+
     @Test
     void testPredictOrgUnitDataSet()
     {
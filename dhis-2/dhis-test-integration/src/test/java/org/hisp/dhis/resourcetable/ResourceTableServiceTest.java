@@ -27,7 +27,12 @@
  */
 package org.hisp.dhis.resourcetable;
 
+import static org.hisp.dhis.resourcetable.ResourceTableType.DATA_ELEMENT_GROUP_SET_STRUCTURE;
+import static org.hisp.dhis.resourcetable.ResourceTableType.DATE_PERIOD_STRUCTURE;
+import static org.hisp.dhis.resourcetable.ResourceTableType.PERIOD_STRUCTURE;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
 
@@ -37,9 +42,12 @@ import org.hisp.dhis.dataelement.DataElementGroup;
 import org.hisp.dhis.dataelement.DataElementGroupSet;
 import org.hisp.dhis.dataset.DataSet;
 import org.hisp.dhis.dataset.DataSetService;
+import org.hisp.dhis.dbms.DbmsManager;
 import org.hisp.dhis.organisationunit.OrganisationUnit;
 import org.hisp.dhis.period.MonthlyPeriodType;
 import org.hisp.dhis.period.PeriodType;
+import org.hisp.dhis.setting.SettingKey;
+import org.hisp.dhis.setting.SystemSettingManager;
 import org.hisp.dhis.test.integration.SingleSetupIntegrationTestBase;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -59,6 +67,12 @@ class ResourceTableServiceTest extends SingleSetupIntegrationTestBase
     @Autowired
     private DataSetService dataSetService;
 
+    @Autowired
+    private DbmsManager dbmsManager;
+
+    @Autowired
+    private SystemSettingManager systemSettingManager;
+
     @Override
     public void setUpTest()
     {
@@ -123,4 +137,47 @@ class ResourceTableServiceTest extends SingleSetupIntegrationTestBase
             resourceTableService::generateCategoryOptionComboTable );
         generators.forEach( gen -> assertDoesNotThrow( gen::run ) );
     }
+
+    @Test
+    void testIsResourceTableUpToDate()
+    {
+        resourceTableService.generateDataElementGroupSetTable();
+        resourceTableService.generatePeriodTable();
+
+        assertTrue( resourceTableService.isResourceTableUpToDate( DATA_ELEMENT_GROUP_SET_STRUCTURE ) );
+        assertTrue( resourceTableService.isResourceTableUpToDate( PERIOD_STRUCTURE ) );
+
+        DataElementGroup degE = createDataElementGroup( 'E' );
+        idObjectManager.save( degE );
+        dbmsManager.flushSession();
+
+        assertFalse( resourceTableService.isResourceTableUpToDate( DATA_ELEMENT_GROUP_SET_STRUCTURE ) );
+        assertTrue( resourceTableService.isResourceTableUpToDate( PERIOD_STRUCTURE ) );
+
+        resourceTableService.generateDataElementGroupSetTable();
+
+        assertTrue( resourceTableService.isResourceTableUpToDate( DATA_ELEMENT_GROUP_SET_STRUCTURE ) );
+    }
+
+    @Test
+    void testIsResourceTableUpToDateAfterCalendarChange()
+    {
+        resourceTableService.generatePeriodTable();
+        resourceTableService.generateDatePeriodTable();
+
+        assertTrue( resourceTableService.isResourceTableUpToDate( PERIOD_STRUCTURE ) );
+        assertTrue( resourceTableService.isResourceTableUpToDate( DATE_PERIOD_STRUCTURE ) );
+
+        try
+        {
+            systemSettingManager.saveSystemSetting( SettingKey.CALENDAR, "ethiopian" );
+
+            assertFalse( resourceTableService.isResourceTableUpToDate( PERIOD_STRUCTURE ) );
+            assertFalse( resourceTableService.isResourceTableUpToDate( DATE_PERIOD_STRUCTURE ) );
+        }
+        finally
+        {
+            systemSettingManager.deleteSystemSetting( SettingKey.CALENDAR );
+        }
+    }
 }
@@ -42,9 +42,11 @@ import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import org.hisp.dhis.analytics.AggregationType;
 import org.hisp.dhis.common.OrganisationUnitSelectionMode;
+import org.hisp.dhis.common.PageToken;
 import org.hisp.dhis.common.QueryItem;
 import org.hisp.dhis.common.QueryOperator;
 import org.hisp.dhis.common.ValueType;
@@ -406,6 +408,64 @@ class TrackedEntityInstanceStoreTest extends TransactionalIntegrationTest
         assertEquals( teiB.getUid(), teis.get( 1 ).getUid() );
     }
 
+    @Test
+    void testQueryIdsWithPageToken()
+    {
+        List<Long> allIds = saveAllAndGetIds();
+
+        TrackedEntityInstanceQueryParams params = new TrackedEntityInstanceQueryParams()
+            .setPageToken( "" ).setPageSize( 4 );
+        List<Long> ids = teiStore.getTrackedEntityInstanceIds( params );
+        assertEquals( allIds.subList( 0, 4 ), ids );
+        assertEquals( PageToken.encode( allIds.get( 3 ) ), params.getNextPageToken() );
+
+        params = new TrackedEntityInstanceQueryParams()
+            .setPageToken( params.getNextPageToken() ).setPageSize( 4 );
+        ids = teiStore.getTrackedEntityInstanceIds( params );
+        assertEquals( allIds.subList( 4, 6 ), ids );
+        assertNull( params.getNextPageToken() );
+    }
+
+    @Test
+    void testQueryIdsWithPageTokenOnPageBoundary()
+    {
+        List<Long> allIds = saveAllAndGetIds();
+
+        TrackedEntityInstanceQueryParams params = new TrackedEntityInstanceQueryParams()
+            .setPageToken( "" ).setPageSize( 3 );
+        List<Long> ids = teiStore.getTrackedEntityInstanceIds( params );
+        assertEquals( allIds.subList( 0, 3 ), ids );
+        assertEquals( PageToken.encode( allIds.get( 2 ) ), params.getNextPageToken() );
+
+        // The last page is full, which must not produce a token to an empty
+        // page
+
+        params = new TrackedEntityInstanceQueryParams()
+            .setPageToken( params.getNextPageToken() ).setPageSize( 3 );
+        ids = teiStore.getTrackedEntityInstanceIds( params );
+        assertEquals( allIds.subList( 3, 6 ), ids );
+        assertNull( params.getNextPageToken() );
+
+        params = new TrackedEntityInstanceQueryParams()
+            .setPageToken( PageToken.encode( allIds.get( 5 ) ) ).setPageSize( 3 );
+        assertTrue( teiStore.getTrackedEntityInstanceIds( params ).isEmpty() );
+        assertNull( params.getNextPageToken() );
+    }
+
+    @Test
+    void testQueryIdsWithPageTokenIgnoresOrder()
+    {
+        List<Long> allIds = saveAllAndGetIds();
+
+        TrackedEntityInstanceQueryParams params = new TrackedEntityInstanceQueryParams()
+            .setPageToken( PageToken.encode( allIds.get( 1 ) ) ).setPageSize( 2 );
+        params.setOrders( Lists.newArrayList( OrderParam.builder().field( TrackedEntityInstanceQueryParams.CREATED_ID )
+            .direction( OrderParam.SortDirection.DESC ).build() ) );
+        List<Long> ids = teiStore.getTrackedEntityInstanceIds( params );
+        assertEquals( allIds.subList( 2, 4 ), ids );
+        assertEquals( PageToken.encode( allIds.get( 3 ) ), params.getNextPageToken() );
+    }
+
     @Test
     void testPotentialDuplicateInGridQuery()
     {
@@ -463,4 +523,12 @@ class TrackedEntityInstanceStoreTest extends TransactionalIntegrationTest
         assertThat( grid.get( 0 ).keySet(), hasSize( 9 ) );
         assertThat( grid.get( 0 ).get( atC.getUid() ), is( "OrganisationUnitC" ) );
     }
+
+    private List<Long> saveAllAndGetIds()
+    {
+        List<TrackedEntityInstance> teis = List.of( teiA, teiB, teiC, teiD, teiE, teiF );
+        teis.forEach( teiStore::save );
+        dbmsManager.flushSession();
+        return teis.stream().map( TrackedEntityInstance::getId ).sorted().collect( Collectors.toList() );
+    }
 }
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2004-2022, University of Oslo
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ * list of conditions and the following disclaimer.
+ *
+ * Redistributions in binary form must reproduce the above copyright notice,
+ * this list of conditions and the following disclaimer in the documentation
+ * and/or other materials provided with the distribution.
+ * Neither the name of the HISP project nor the names of its contributors may
+ * be used to endorse or promote products derived from this software without
+ * specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package org.hisp.dhis.tracker;
+
+import static java.util.Collections.emptyMap;
+import static org.hisp.dhis.tracker.Assertions.assertNoImportErrors;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.hisp.dhis.common.PageToken;
+import org.hisp.dhis.common.SlimPager;
+import org.hisp.dhis.dxf2.events.event.DataValue;
+import org.hisp.dhis.dxf2.events.event.Event;
+import org.hisp.dhis.dxf2.events.event.EventSearchParams;
+import org.hisp.dhis.dxf2.events.event.EventService;
+import org.hisp.dhis.dxf2.events.event.EventStore;
+import org.hisp.dhis.dxf2.events.event.Events;
+import org.hisp.dhis.organisationunit.OrganisationUnit;
+import org.hisp.dhis.webapi.controller.event.mapper.OrderParam;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class EventStoreTest extends TrackerTest
+{
+    @Autowired
+    private EventStore eventStore;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private TrackerImportService trackerImportService;
+
+    private OrganisationUnit orgUnit;
+
+    @Override
+    protected void initTest()
+        throws IOException
+    {
+        setUpMetadata( "tracker/simple_metadata.json" );
+        injectAdminUser();
+        assertNoImportErrors( trackerImportService.importTracker( fromJson( "tracker/event_and_enrollment_with_data_values.json" ) ) );
+        orgUnit = manager.get( OrganisationUnit.class, "h4w96yEMlzO" );
+        manager.flush();
+    }
+
+    @Test
+    void testGetEventsWithPageTokenReturnsFirstPageAndExtraRow()
+    {
+        List<Long> allIds = getIds( eventStore.getEvents( pageTokenParams( "", 2 ), List.of( orgUnit ), emptyMap() ) );
+        assertEquals( 2, allIds.size() );
+        assertTrue( allIds.get( 0 ) < allIds.get( 1 ) );
+
+        List<Event> events = eventStore.getEvents( pageTokenParams( "", 1 ), List.of( orgUnit ), emptyMap() );
+
+        // One extra row tells the caller that another page exists
+        assertEquals( allIds, getIds( events ) );
+    }
+
+    @Test
+    void testGetEventsWithPageTokenStartsAfterToken()
+    {
+        List<Long> allIds = getIds( eventStore.getEvents( pageTokenParams( "", 2 ), List.of( orgUnit ), emptyMap() ) );
+
+        List<Event> events = eventStore.getEvents(
+            pageTokenParams( PageToken.encode( allIds.get( 0 ) ), 1 ), List.of( orgUnit ), emptyMap() );
+
+        assertEquals( List.of( allIds.get( 1 ) ), getIds( events ) );
+    }
+
+    @Test
+    void testGetEventsWithPageTokenOfLastEventReturnsNoEvents()
+    {
+        List<Long> allIds = getIds( eventStore.getEvents( pageTokenParams( "", 2 ), List.of( orgUnit ), emptyMap() ) );
+
+        List<Event> events = eventStore.getEvents(
+            pageTokenParams( PageToken.encode( allIds.get( 1 ) ), 1 ), List.of( orgUnit ), emptyMap() );
+
+        assertTrue( events.isEmpty() );
+    }
+
+    @Test
+    void testGetEventsWithPageTokenIgnoresOrder()
+    {
+        List<Long> allIds = getIds( eventStore.getEvents( pageTokenParams( "", 2 ), List.of( orgUnit ), emptyMap() ) );
+
+        EventSearchParams params = pageTokenParams( "", 2 );
+        params.setOrders( List.of( OrderParam.builder().field( "occurredAt" )
+            .direction( OrderParam.SortDirection.DESC ).build() ) );
+
+        assertEquals( allIds, getIds( eventStore.getEvents( params, List.of( orgUnit ), emptyMap() ) ) );
+    }
+
+    @Test
+    void testGetEventsWithPageTokenPagesThroughAllEvents()
+    {
+        Events firstPage = eventService.getEvents( pageTokenParams( "", 1 ) );
+
+        assertEquals( 1, firstPage.getEvents().size() );
+        String nextPageToken = ((SlimPager) firstPage.getPager()).getNextPageToken();
+        assertEquals( PageToken.encode( firstPage.getEvents().get( 0 ).getId() ), nextPageToken );
+
+        Events lastPage = eventService.getEvents( pageTokenParams( nextPageToken, 1 ) );
+
+        assertEquals( 1, lastPage.getEvents().size() );
+        assertTrue( lastPage.getEvents().get( 0 ).getId() > firstPage.getEvents().get( 0 ).getId() );
+        assertNull( ((SlimPager) lastPage.getPager()).getNextPageToken() );
+    }
+
+    @Test
+    void testStreamEventsReturnsSameEventsAsGetEvents()
+    {
+        List<Event> events = eventStore.getEvents( skipPagingParams(), List.of( orgUnit ), emptyMap() );
+
+        List<List<Event>> chunks = new ArrayList<>();
+        eventStore.streamEvents( skipPagingParams(), List.of( orgUnit ), emptyMap(), 1, chunks::add );
+
+        assertEquals( 2, chunks.size() );
+        assertEquals( 1, chunks.get( 0 ).size() );
+        assertEquals( 1, chunks.get( 1 ).size() );
+        assertEquals( getDataValuesByEvent( events ), getDataValuesByEvent(
+            chunks.stream().flatMap( List::stream ).collect( Collectors.toList() ) ) );
+    }
+
+    @Test
+    void testStreamEventsInOneChunk()
+    {
+        List<List<Event>> chunks = new ArrayList<>();
+        eventStore.streamEvents( skipPagingParams(), List.of( orgUnit ), emptyMap(), 10, chunks::add );
+
+        assertEquals( 1, chunks.size() );
+        assertEquals( getDataValuesByEvent( eventStore.getEvents( skipPagingParams(), List.of( orgUnit ),
+            emptyMap() ) ), getDataValuesByEvent( chunks.get( 0 ) ) );
+    }
+
+    @Test
+    void testStreamEventsMarksDataValuesSkippedForSynchronization()
+    {
+        Map<String, Set<String>> psdesWithSkipSyncTrue = Map.of( "NpsdDv6kKSO", Set.of( "DATAEL00001" ) );
+
+        EventSearchParams params = skipPagingParams();
+        params.setSynchronizationQuery( true );
+        List<Event> events = eventStore.getEvents( params, List.of( orgUnit ), psdesWithSkipSyncTrue );
+
+        List<Event> streamed = new ArrayList<>();
+        params = skipPagingParams();
+        params.setSynchronizationQuery( true );
+        eventStore.streamEvents( params, List.of( orgUnit ), psdesWithSkipSyncTrue, 10, streamed::addAll );
+
+        assertTrue( getDataValue( events, "D9PbzJY8bJO" ).isSkipSynchronization() );
+        assertTrue( getDataValue( streamed, "D9PbzJY8bJO" ).isSkipSynchronization() );
+    }
+
+    private EventSearchParams skipPagingParams()
+    {
+        EventSearchParams params = new EventSearchParams();
+        params.setOrgUnit( orgUnit );
+        params.setSkipPaging( true );
+        return params;
+    }
+
+    private static Map<String, Set<String>> getDataValuesByEvent( List<Event> events )
+    {
+        return events.stream().collect( Collectors.toMap( Event::getEvent, e -> e.getDataValues().stream()
+            .map( dv -> dv.getDataElement() + "=" + dv.getValue() ).collect( Collectors.toSet() ) ) );
+    }
+
+    private static DataValue getDataValue( List<Event> events, String event )
+    {
+        return events.stream().filter( e -> event.equals( e.getEvent() ) ).findFirst().orElseThrow()
+            .getDataValues().iterator().next();
+    }
+
+    private EventSearchParams pageTokenParams( String pageToken, int pageSize )
+    {
+        EventSearchParams params = new EventSearchParams();
+        params.setOrgUnit( orgUnit );
+        params.setPageToken( pageToken );
+        params.setPageSize( pageSize );
+        return params;
+    }
+
+    private static List<Long> getIds( List<Event> events )
+    {
+        return events.stream().map( Event::getId ).collect( Collectors.toList() );
+    }
+}
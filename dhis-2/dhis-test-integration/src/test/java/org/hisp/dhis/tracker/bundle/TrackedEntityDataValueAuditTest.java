@@ -31,6 +31,7 @@ import static org.hisp.dhis.tracker.Assertions.assertNoImportErrors;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.util.List;
@@ -42,6 +43,8 @@ import org.hisp.dhis.program.ProgramStageInstance;
 import org.hisp.dhis.trackedentity.TrackedEntityDataValueAuditQueryParams;
 import org.hisp.dhis.trackedentitydatavalue.TrackedEntityDataValueAudit;
 import org.hisp.dhis.trackedentitydatavalue.TrackedEntityDataValueAuditService;
+import org.hisp.dhis.tracker.FlushMode;
+import org.hisp.dhis.tracker.TrackerImportParams;
 import org.hisp.dhis.tracker.TrackerImportService;
 import org.hisp.dhis.tracker.TrackerTest;
 import org.junit.jupiter.api.Test;
@@ -130,4 +133,67 @@ public class TrackedEntityDataValueAuditTest extends TrackerTest
             assertEquals( a.getProgramStageInstance().getUid(), psi.getUid() );
         } );
     }
+
+    @Test
+    void testTrackedEntityDataValueAuditCreateInBatchFlushMode()
+        throws IOException
+    {
+        assertNoImportErrors( trackerImportService.importTracker(
+            withFlushMode( fromJson( "tracker/event_and_enrollment_with_data_values.json" ), FlushMode.BATCH ) ) );
+
+        List<TrackedEntityDataValueAudit> createdAudit = getCreatedAudits();
+
+        assertEquals( 1, createdAudit.size() );
+        assertEquals( "value1", createdAudit.get( 0 ).getValue() );
+    }
+
+    @Test
+    void testNoTrackedEntityDataValueAuditCreateForEmptyValue()
+        throws IOException
+    {
+        TrackerImportParams params = fromJson( "tracker/event_and_enrollment_with_data_values.json" );
+        params.getEvents().forEach( e -> e.getDataValues().forEach( dv -> dv.setValue( null ) ) );
+
+        assertNoImportErrors( trackerImportService.importTracker( params ) );
+
+        assertTrue( getCreatedAudits().isEmpty() );
+    }
+
+    @Test
+    void testNoTrackedEntityDataValueAuditCreateForEmptyValueInBatchFlushMode()
+        throws IOException
+    {
+        TrackerImportParams params = fromJson( "tracker/event_and_enrollment_with_data_values.json" );
+        params.getEvents().forEach( e -> e.getDataValues().forEach( dv -> dv.setValue( null ) ) );
+
+        assertNoImportErrors( trackerImportService.importTracker( withFlushMode( params, FlushMode.BATCH ) ) );
+
+        assertTrue( getCreatedAudits().isEmpty() );
+    }
+
+    private List<TrackedEntityDataValueAudit> getCreatedAudits()
+    {
+        DataElement dataElement = manager.search( DataElement.class, DE );
+        ProgramStageInstance psi = manager.search( ProgramStageInstance.class, PSI );
+        assertNotNull( dataElement );
+        assertNotNull( psi );
+
+        return dataValueAuditService.getTrackedEntityDataValueAudits(
+            new TrackedEntityDataValueAuditQueryParams()
+                .setDataElements( List.of( dataElement ) )
+                .setProgramStageInstances( List.of( psi ) )
+                .setAuditType( AuditType.CREATE ) );
+    }
+
+    private TrackerImportParams withFlushMode( TrackerImportParams params, FlushMode flushMode )
+    {
+        return TrackerImportParams.builder()
+            .user( params.getUser() )
+            .flushMode( flushMode )
+            .trackedEntities( params.getTrackedEntities() )
+            .enrollments( params.getEnrollments() )
+            .events( params.getEvents() )
+            .relationships( params.getRelationships() )
+            .build();
+    }
 }
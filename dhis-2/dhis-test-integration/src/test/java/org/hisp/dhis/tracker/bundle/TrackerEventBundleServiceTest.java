@@ -35,6 +35,7 @@ import java.util.List;
 
 import org.hisp.dhis.program.ProgramStageInstance;
 import org.hisp.dhis.program.ProgramStageInstanceStore;
+import org.hisp.dhis.tracker.FlushMode;
 import org.hisp.dhis.tracker.TrackerImportParams;
 import org.hisp.dhis.tracker.TrackerImportService;
 import org.hisp.dhis.tracker.TrackerImportStrategy;
@@ -75,6 +76,26 @@ class TrackerEventBundleServiceTest extends TrackerTest
         assertEquals( 8, programStageInstances.size() );
     }
 
+    @Test
+    void testCreateEventDataInBatchFlushMode()
+        throws IOException
+    {
+        TrackerImportParams params = fromJson( "tracker/event_events_and_enrollment.json" );
+        TrackerImportParams trackerImportParams = TrackerImportParams.builder()
+            .user( params.getUser() )
+            .flushMode( FlushMode.BATCH )
+            .trackedEntities( params.getTrackedEntities() )
+            .enrollments( params.getEnrollments() )
+            .events( params.getEvents() )
+            .relationships( params.getRelationships() )
+            .build();
+        TrackerImportReport trackerImportReport = trackerImportService.importTracker( trackerImportParams );
+        assertNoImportErrors( trackerImportReport );
+
+        List<ProgramStageInstance> programStageInstances = programStageInstanceStore.getAll();
+        assertEquals( 8, programStageInstances.size() );
+    }
+
     @Test
     void testUpdateSingleEventData()
         throws IOException
@@ -193,4 +193,46 @@ class ProgramRuleIntegrationTest extends TrackerTest
             "Generated by program rule (`ProgramRulC`) - DataElement `DATAEL00001` is being replaced in event `EVENT123456`",
             warningReports.get( 0 ).getWarningMessage() );
     }
+
+    @Test
+    void testImportEventInProgramStageWithAssignRuleAndParallelValidation()
+        throws IOException
+    {
+        TrackerImportParams params = withParallelValidation( fromJson( "tracker/tei_enrollment_event.json" ) );
+
+        TrackerImportReport trackerImportReport = trackerImportService.importTracker( params );
+
+        assertNoImportErrors( trackerImportReport );
+        List<TrackerWarningReport> warningReports = trackerImportReport.getValidationReport().getWarnings();
+        assertEquals( 4, warningReports.size() );
+        assertEquals( 3,
+            warningReports.stream().filter( w -> w.getTrackerType().equals( TrackerType.EVENT ) ).count() );
+        assertEquals( 1,
+            warningReports.stream().filter( w -> w.getTrackerType().equals( TrackerType.ENROLLMENT ) ).count() );
+
+        params = withParallelValidation( fromJson( "tracker/event_update_datavalue.json" ) );
+        params.setImportStrategy( TrackerImportStrategy.CREATE_AND_UPDATE );
+
+        trackerImportReport = trackerImportService.importTracker( params );
+
+        assertNoImportErrors( trackerImportReport );
+        warningReports = trackerImportReport.getValidationReport().getWarnings();
+        assertEquals( 3, warningReports.size() );
+        assertEquals( TrackerErrorCode.E1308, warningReports.get( 0 ).getWarningCode() );
+        assertEquals(
+            "Generated by program rule (`ProgramRulC`) - DataElement `DATAEL00001` is being replaced in event `EVENT123456`",
+            warningReports.get( 0 ).getWarningMessage() );
+    }
+
+    private TrackerImportParams withParallelValidation( TrackerImportParams params )
+    {
+        return TrackerImportParams.builder()
+            .user( params.getUser() )
+            .parallelValidation( true )
+            .trackedEntities( params.getTrackedEntities() )
+            .enrollments( params.getEnrollments() )
+            .events( params.getEvents() )
+            .relationships( params.getRelationships() )
+            .build();
+    }
 }
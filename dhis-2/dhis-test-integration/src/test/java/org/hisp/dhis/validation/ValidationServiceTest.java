@@ -40,6 +40,7 @@ import static org.hisp.dhis.expression.Operator.less_than;
 import static org.hisp.dhis.expression.Operator.less_than_or_equal_to;
 import static org.hisp.dhis.expression.Operator.not_equal_to;
 import static org.hisp.dhis.expression.ParseType.SIMPLE_TEST;
+import static org.hisp.dhis.util.DateUtils.addDays;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 
@@ -1080,6 +1081,40 @@ class ValidationServiceTest extends IntegrationTestBase
         assertResultsEquals( reference, results );
     }
 
+    @Test
+    void testValidateIncrementalRuleNotEvaluated()
+    {
+        useDataValue( dataElementA, periodA, sourceA, "5" );
+        Expression expressionLeft = new Expression( "#{" + dataElementA.getUid() + "}", "exprLeft" );
+        Expression expressionRight = new Expression( "1", "exprRight" );
+        ValidationRule rule = createValidationRule( "V", less_than_or_equal_to, expressionLeft, expressionRight,
+            ptMonthly );
+        validationRuleService.saveValidationRule( rule );
+        // No data changed since, but the rule has not been evaluated yet
+        Date since = addDays( new Date(), 1 );
+        Collection<ValidationResult> results = runValidationAnalysis( validationService
+            .newParamsBuilder( Sets.newHashSet( rule ), sourceA, Sets.newHashSet( periodA ) )
+            .withDataChangedSince( since )
+            .build() );
+        Collection<ValidationResult> reference = new HashSet<>();
+        reference.add( new ValidationResult( rule, periodA, sourceA, defaultCombo, 5.0, 1.0, dayInPeriodA ) );
+        assertResultsEquals( reference, results );
+        // Rule evaluated for its period, and no results persisted
+        results = runValidationAnalysis( validationService
+            .newParamsBuilder( Sets.newHashSet( rule ), sourceA, Sets.newHashSet( periodA ) )
+            .withDataChangedSince( since )
+            .withEvaluatedRulePeriods( Map.of( rule.getUid(), Set.of( periodA.getIsoDate() ) ) )
+            .build() );
+        assertResultsEmpty( results );
+        // Rule evaluated for another period only
+        results = runValidationAnalysis( validationService
+            .newParamsBuilder( Sets.newHashSet( rule ), sourceA, Sets.newHashSet( periodA ) )
+            .withDataChangedSince( since )
+            .withEvaluatedRulePeriods( Map.of( rule.getUid(), Set.of( periodB.getIsoDate() ) ) )
+            .build() );
+        assertResultsEquals( reference, results );
+    }
+
     @Test
     void testValidateSkipIfAllValuesAreMissing()
     {
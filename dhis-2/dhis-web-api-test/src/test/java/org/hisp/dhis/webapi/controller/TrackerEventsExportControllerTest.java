@@ -27,6 +27,7 @@
  */
 package org.hisp.dhis.webapi.controller;
 
+import static org.hisp.dhis.web.WebClient.Accept;
 import static org.hisp.dhis.webapi.controller.TrackerControllerAssertions.assertHasMember;
 import static org.hisp.dhis.webapi.controller.TrackerControllerAssertions.assertHasNoMember;
 import static org.hisp.dhis.webapi.controller.TrackerControllerAssertions.assertHasOnlyMembers;
@@ -36,6 +37,8 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.hisp.dhis.common.CodeGenerator;
@@ -66,9 +69,11 @@ import org.hisp.dhis.webapi.DhisControllerConvenienceTest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 
 class TrackerEventsExportControllerTest extends DhisControllerConvenienceTest
 {
+    private static final MediaType TEXT_CSV = new MediaType( "text", "csv" );
 
     @Autowired
     private IdentifiableObjectManager manager;
@@ -274,6 +279,53 @@ class TrackerEventsExportControllerTest extends DhisControllerConvenienceTest
             event.getArray( "dataValues" ).getObject( 0 ).getString( "updatedBy.username" ).string() );
     }
 
+    @Test
+    void getEventsWithSkipPagingReturnsSameEventsAsPaging()
+    {
+        TrackedEntityInstance tei = trackedEntityInstance();
+        ProgramInstance programInstance = programInstance( tei );
+        Set<String> expected = Set.of( programStageInstance( programInstance ).getUid(),
+            programStageInstance( programInstance ).getUid(), programStageInstance( programInstance ).getUid() );
+
+        JsonObject paged = GET( "/tracker/events?orgUnit={ou}&pageSize=50&fields=event", orgUnit.getUid() )
+            .content( HttpStatus.OK );
+        JsonObject streamed = GET( "/tracker/events?orgUnit={ou}&skipPaging=true&fields=event", orgUnit.getUid() )
+            .content( HttpStatus.OK );
+
+        assertEquals( expected, getEventUids( paged.getArray( "instances" ) ) );
+        assertEquals( expected, getEventUids( streamed.getArray( "instances" ) ) );
+    }
+
+    @Test
+    void getCsvEventsWithSkipPagingReturnsSameRowsAsPaging()
+    {
+        TrackedEntityInstance tei = trackedEntityInstance();
+        ProgramInstance programInstance = programInstance( tei );
+        DataElement dataElement = createDataElement( 'A' );
+        dataElement.setValueType( ValueType.NUMBER );
+        manager.save( dataElement );
+        programStageInstanceWithDataValue( programInstance, dataElement, "6" );
+        programStageInstanceWithDataValue( programInstance, dataElement, "7" );
+
+        List<String> paged = getCsvLines(
+            GET( "/tracker/events?orgUnit={ou}&pageSize=50", orgUnit.getUid(), Accept( TEXT_CSV ) ) );
+        List<String> streamed = getCsvLines(
+            GET( "/tracker/events?orgUnit={ou}&skipPaging=true", orgUnit.getUid(), Accept( TEXT_CSV ) ) );
+
+        assertEquals( 3, streamed.size() );
+        assertEquals( paged.get( 0 ), streamed.get( 0 ) );
+        assertEquals( Set.copyOf( paged ), Set.copyOf( streamed ) );
+    }
+
+    @Test
+    void getCsvEventsWithSkipPagingWritesHeaderWhenThereAreNoEvents()
+    {
+        List<String> streamed = getCsvLines(
+            GET( "/tracker/events?orgUnit={ou}&skipPaging=true", orgUnit.getUid(), Accept( TEXT_CSV ) ) );
+
+        assertEquals( 1, streamed.size() );
+    }
+
     @Test
     void getEventByIdNotFound()
     {
@@ -283,6 +335,23 @@ class TrackerEventsExportControllerTest extends DhisControllerConvenienceTest
                 .getMessage() );
     }
 
+    private static Set<String> getEventUids( JsonArray events )
+    {
+        Set<String> uids = new HashSet<>();
+
+        for ( int i = 0; i < events.size(); i++ )
+        {
+            uids.add( events.getObject( i ).getString( "event" ).string() );
+        }
+
+        return uids;
+    }
+
+    private static List<String> getCsvLines( HttpResponse response )
+    {
+        return List.of( response.content( TEXT_CSV.toString() ).split( "\n" ) );
+    }
+
     private TrackedEntityType trackedEntityTypeAccessible()
     {
         TrackedEntityType type = trackedEntityType( 'A' );
@@ -361,6 +430,19 @@ class TrackerEventsExportControllerTest extends DhisControllerConvenienceTest
         return programStageInstance;
     }
 
+    private ProgramStageInstance programStageInstanceWithDataValue( ProgramInstance programInstance,
+        DataElement dataElement, String value )
+    {
+        ProgramStageInstance programStageInstance = programStageInstance( programInstance );
+        programStageInstance.setLastUpdatedByUserInfo( UserInfoSnapshot.from( user ) );
+        EventDataValue eventDataValue = new EventDataValue();
+        eventDataValue.setValue( value );
+        eventDataValue.setDataElement( dataElement.getUid() );
+        programStageInstance.setEventDataValues( Set.of( eventDataValue ) );
+        manager.update( programStageInstance );
+        return programStageInstance;
+    }
+
     private UserAccess userAccess()
     {
         UserAccess a = new UserAccess();
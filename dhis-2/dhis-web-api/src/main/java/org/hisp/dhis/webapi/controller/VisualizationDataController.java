@@ -186,6 +186,22 @@ public class VisualizationDataController
         GridUtils.toXls( grid, response.getOutputStream() );
     }
 
+    @GetMapping( value = "/visualizations/{uid}/data.xlsx" )
+    public void getVisualizationDataXlsx( @PathVariable( "uid" ) String uid,
+        @RequestParam( value = "ou", required = false ) String organisationUnitUid,
+        @RequestParam( value = "date", required = false ) Date date,
+        HttpServletResponse response )
+        throws Exception
+    {
+        Grid grid = getReportTableGrid( uid, organisationUnitUid, date );
+
+        String filename = filenameEncode( grid.getTitle() ) + ".xlsx";
+        contextUtils.configureResponse( response, ContextUtils.CONTENT_TYPE_EXCEL_XLSX,
+            CacheStrategy.RESPECT_SYSTEM_SETTING, filename, true );
+
+        GridUtils.toXlsx( grid, response.getOutputStream() );
+    }
+
     @GetMapping( value = "/visualizations/{uid}/data.csv" )
     public void getVisualizationDataCsv( @PathVariable( "uid" ) String uid,
         @RequestParam( value = "ou", required = false ) String organisationUnitUid,
@@ -42,12 +42,14 @@ import static org.springframework.http.MediaType.TEXT_XML_VALUE;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -59,6 +61,7 @@ import javax.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.hisp.dhis.category.CategoryOptionCombo;
 import org.hisp.dhis.common.AssignedUserSelectionMode;
@@ -642,8 +645,6 @@ public class EventController
     {
         EventSearchParams params = requestToSearchParamsMapper.map( eventCriteria );
 
-        Events events = eventService.getEvents( params );
-
         OutputStream outputStream = response.getOutputStream();
         response.setContentType( "application/csv" );
 
@@ -659,9 +660,52 @@ public class EventController
             response.addHeader( "Content-Disposition", "attachment; filename=" + eventCriteria.getAttachment() );
         }
 
+        if ( params.isSkipPaging() )
+        {
+            streamCsvEvents( params, outputStream, !skipHeader );
+            return;
+        }
+
+        Events events = eventService.getEvents( params );
+
         csvEventService.writeEvents( outputStream, events.getEvents(), !skipHeader );
     }
 
+    /**
+     * Writes the events to the output stream in chunks as they are read from
+     * the database, so that exporting without paging does not hold all events
+     * in memory.
+     *
+     * @param params the {@link EventSearchParams}.
+     * @param outputStream the output stream, closed when all events are
+     *        written.
+     * @param withHeader whether to write the CSV header.
+     */
+    private void streamCsvEvents( EventSearchParams params, OutputStream outputStream, boolean withHeader )
+        throws IOException
+    {
+        OutputStream chunkOutputStream = CloseShieldOutputStream.wrap( outputStream );
+        AtomicBoolean header = new AtomicBoolean( withHeader );
+
+        eventService.streamEvents( params, events -> {
+            if ( !events.isEmpty() )
+            {
+                try
+                {
+                    csvEventService.writeEvents( chunkOutputStream, events, header.getAndSet( false ) );
+                }
+                catch ( IOException ex )
+                {
+                    throw new UncheckedIOException( ex );
+                }
+            }
+        } );
+
+        // Writes the header if there were no events and closes the stream
+
+        csvEventService.writeEvents( outputStream, Collections.emptyList(), header.get() );
+    }
+
     // -------------------------------------------------------------------------
     // Rows Read
     // -------------------------------------------------------------------------
@@ -350,7 +350,8 @@ public class RequestToSearchParamsMapper
             eventCriteria.getFilter(),
             dataElementOrders.keySet(),
             false,
-            eventCriteria.isIncludeDeleted() );
+            eventCriteria.isIncludeDeleted() )
+                .setPageToken( eventCriteria.getPageToken() );
     }
 
     private List<OrderParam> getOrderParams( List<OrderCriteria> order )
@@ -35,8 +35,10 @@ import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.zip.GZIPOutputStream;
 
 import javax.servlet.http.HttpServletRequest;
@@ -45,6 +47,7 @@ import javax.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 
+import org.apache.commons.io.output.CloseShieldOutputStream;
 import org.hisp.dhis.common.DhisApiVersion;
 import org.hisp.dhis.commons.collection.CollectionUtils;
 import org.hisp.dhis.dxf2.events.event.Event;
@@ -72,6 +75,8 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.google.common.collect.Lists;
 
@@ -105,6 +110,9 @@ public class TrackerEventsExportController
     @NonNull
     private final FieldFilterService fieldFilterService;
 
+    @NonNull
+    private final ObjectMapper jsonMapper;
+
     @GetMapping( produces = APPLICATION_JSON_VALUE )
     public PagingWrapper<ObjectNode> getEvents(
         TrackerEventCriteria eventCriteria, HttpServletRequest request,
@@ -140,6 +148,59 @@ public class TrackerEventsExportController
 
     }
 
+    /**
+     * Exports all events matching the criteria. Events are written to the
+     * response in chunks as they are read from the database, so that memory
+     * use does not depend on the number of exported events.
+     */
+    @GetMapping( produces = APPLICATION_JSON_VALUE, params = "skipPaging=true" )
+    public void getEventsWithoutPaging(
+        TrackerEventCriteria eventCriteria, HttpServletRequest request, HttpServletResponse response,
+        @RequestParam( defaultValue = DEFAULT_FIELDS_PARAM ) List<String> fields )
+        throws IOException
+    {
+        EventSearchParams eventSearchParams = requestToSearchParamsMapper.map( eventCriteria );
+
+        response.setContentType( APPLICATION_JSON_VALUE );
+
+        // The generator is only closed on success, so that its buffered
+        // content is discarded if reading the events fails before anything was
+        // sent and the error can still be rendered
+
+        JsonGenerator generator = jsonMapper.getFactory().createGenerator( response.getOutputStream() );
+        generator.writeStartObject();
+        generator.writeArrayFieldStart( "instances" );
+
+        if ( !areAllEnrollmentsInvalid( eventCriteria, eventSearchParams ) )
+        {
+            boolean hasHref = hasHref( fields, eventCriteria.getSkipEventId() );
+
+            eventService.streamEvents( eventSearchParams, events -> {
+                if ( hasHref )
+                {
+                    events.forEach( e -> e.setHref( getUri( e.getEvent(), request ) ) );
+                }
+
+                try
+                {
+                    for ( ObjectNode objectNode : fieldFilterService
+                        .toObjectNodes( EVENTS_MAPPER.fromCollection( events ), fields ) )
+                    {
+                        generator.writeTree( objectNode );
+                    }
+                }
+                catch ( IOException ex )
+                {
+                    throw new UncheckedIOException( ex );
+                }
+            } );
+        }
+
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.close();
+    }
+
     @GetMapping( produces = { CONTENT_TYPE_CSV, CONTENT_TYPE_CSV_GZIP, CONTENT_TYPE_TEXT_CSV } )
     public void getCsvEvents(
         TrackerEventCriteria eventCriteria,
@@ -162,13 +223,6 @@ public class TrackerEventsExportController
             return;
         }
 
-        Events events = eventService.getEvents( eventSearchParams );
-
-        if ( hasHref( fields, eventCriteria.getSkipEventId() ) )
-        {
-            events.getEvents().forEach( e -> e.setHref( getUri( e.getEvent(), request ) ) );
-        }
-
         OutputStream outputStream = response.getOutputStream();
         response.setContentType( CONTENT_TYPE_CSV );
 
@@ -179,9 +233,63 @@ public class TrackerEventsExportController
             response.setContentType( CONTENT_TYPE_CSV_GZIP );
         }
 
+        boolean hasHref = hasHref( fields, eventCriteria.getSkipEventId() );
+
+        if ( eventSearchParams.isSkipPaging() )
+        {
+            streamCsvEvents( eventSearchParams, request, outputStream, hasHref, !skipHeader );
+            return;
+        }
+
+        Events events = eventService.getEvents( eventSearchParams );
+
+        if ( hasHref )
+        {
+            events.getEvents().forEach( e -> e.setHref( getUri( e.getEvent(), request ) ) );
+        }
+
         csvEventService.writeEvents( outputStream, EVENTS_MAPPER.fromCollection( events.getEvents() ), !skipHeader );
     }
 
+    /**
+     * Writes the events to the output stream in chunks as they are read from
+     * the database, so that exporting without paging does not hold all events
+     * in memory. The output stream is closed when all events are written.
+     */
+    private void streamCsvEvents( EventSearchParams eventSearchParams, HttpServletRequest request,
+        OutputStream outputStream, boolean hasHref, boolean withHeader )
+        throws IOException
+    {
+        OutputStream chunkOutputStream = CloseShieldOutputStream.wrap( outputStream );
+        AtomicBoolean header = new AtomicBoolean( withHeader );
+
+        eventService.streamEvents( eventSearchParams, events -> {
+            if ( events.isEmpty() )
+            {
+                return;
+            }
+
+            if ( hasHref )
+            {
+                events.forEach( e -> e.setHref( getUri( e.getEvent(), request ) ) );
+            }
+
+            try
+            {
+                csvEventService.writeEvents( chunkOutputStream, EVENTS_MAPPER.fromCollection( events ),
+                    header.getAndSet( false ) );
+            }
+            catch ( IOException ex )
+            {
+                throw new UncheckedIOException( ex );
+            }
+        } );
+
+        // Writes the header if there were no events and closes the stream
+
+        csvEventService.writeEvents( outputStream, Collections.emptyList(), header.get() );
+    }
+
     private boolean areAllEnrollmentsInvalid( TrackerEventCriteria eventCriteria, EventSearchParams eventSearchParams )
     {
         return !CollectionUtils.isEmpty( eventCriteria.getEnrollments() ) &&
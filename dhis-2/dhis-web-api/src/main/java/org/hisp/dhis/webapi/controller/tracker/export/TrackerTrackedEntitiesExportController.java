@@ -93,7 +93,7 @@ public class TrackerTrackedEntitiesExportController
         if ( criteria.isPagingRequest() )
         {
 
-            Long count = criteria.isTotalPages()
+            Long count = criteria.isTotalPages() && !queryParams.isPageTokenPaging()
                 ? (long) trackedEntityInstanceService.getTrackedEntityInstanceCount( queryParams, true, true )
                 : null;
 
@@ -102,6 +102,7 @@ public class TrackerTrackedEntitiesExportController
                     .page( queryParams.getPageWithDefault() )
                     .total( count )
                     .pageSize( queryParams.getPageSizeWithDefault() )
+                    .nextPageToken( queryParams.getNextPageToken() )
                     .build() );
         }
 
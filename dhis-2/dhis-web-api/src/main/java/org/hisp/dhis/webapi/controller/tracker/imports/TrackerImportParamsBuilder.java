@@ -42,6 +42,7 @@ import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParam
 import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamsBuilder.TrackerImportParamKey.IMPORT_MODE_KEY;
 import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamsBuilder.TrackerImportParamKey.IMPORT_STRATEGY_KEY;
 import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamsBuilder.TrackerImportParamKey.ORG_UNIT_ID_SCHEME_KEY;
+import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamsBuilder.TrackerImportParamKey.PARALLEL_VALIDATION_KEY;
 import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamsBuilder.TrackerImportParamKey.PROGRAM_ID_SCHEME_KEY;
 import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamsBuilder.TrackerImportParamKey.PROGRAM_STAGE_ID_SCHEME_KEY;
 import static org.hisp.dhis.webapi.controller.tracker.imports.TrackerImportParamsBuilder.TrackerImportParamKey.SKIP_RULE_ENGINE_KEY;
@@ -84,6 +85,7 @@ public class TrackerImportParamsBuilder
     {
         return TrackerImportParams.builder()
             .validationMode( getEnumWithDefault( ValidationMode.class, parameters, VALIDATION_MODE_KEY, FULL ) )
+            .parallelValidation( getBooleanValueOrDefault( parameters, PARALLEL_VALIDATION_KEY ) )
             .importMode( getEnumWithDefault( TrackerBundleMode.class, parameters, IMPORT_MODE_KEY, COMMIT ) )
             .idSchemes( getTrackerIdentifiers( parameters ) )
             .importStrategy(
@@ -207,6 +209,7 @@ public class TrackerImportParamsBuilder
     enum TrackerImportParamKey
     {
         VALIDATION_MODE_KEY( "validationMode" ),
+        PARALLEL_VALIDATION_KEY( "parallelValidation" ),
         IMPORT_MODE_KEY( "importMode" ),
         IMPORT_STRATEGY_KEY( "importStrategy" ),
         ATOMIC_MODE_KEY( "atomicMode" ),